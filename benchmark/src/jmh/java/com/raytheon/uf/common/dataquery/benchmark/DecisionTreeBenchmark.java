@@ -0,0 +1,162 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.dataquery.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.raytheon.uf.common.dataquery.DecisionTree;
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint;
+
+/**
+ * Measures {@link DecisionTree#searchTree(Map)} over a large set of
+ * registered criteria, with and without the decision node indexes.
+ *
+ * The criteria are modeled on the ones CAVE resources and plugin notifiers
+ * register for grid data: mostly EQUALS constraints on the model, parameter
+ * and level, with some IN lists, level ranges and wildcards mixed in. The
+ * searched metadata maps are drawn from the same values, with the level as a
+ * Double the way it appears in the dataURI map of a record.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DecisionTreeBenchmark {
+
+    private static final int SEARCH_COUNT = 1000;
+
+    private static final String[] PLUGINS = { "grid", "radar", "satellite",
+            "obs", "sfcobs", "bufrua", "warning", "ffmp" };
+
+    @Param({ "10000" })
+    public int criteriaCount;
+
+    @Param({ "true", "false" })
+    public boolean indexed;
+
+    private DecisionTree<Integer> tree;
+
+    private Map<String, Object>[] searches;
+
+    private int next;
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Trial)
+    public void setup() {
+        DecisionTree.setIndexEnabled(indexed);
+        Random random = new Random(0);
+        tree = new DecisionTree<>();
+        for (int i = 0; i < criteriaCount; i++) {
+            Map<String, RequestConstraint> criteria = new HashMap<>();
+            criteria.put("pluginName", new RequestConstraint(
+                    PLUGINS[random.nextInt(PLUGINS.length)]));
+            criteria.put("info.datasetId",
+                    new RequestConstraint(model(random)));
+            switch (random.nextInt(10)) {
+            case 0:
+                criteria.put("info.parameter.abbreviation",
+                        new RequestConstraint(new String[] {
+                                parameter(random), parameter(random),
+                                parameter(random) }));
+                break;
+            case 1:
+                criteria.put("info.parameter.abbreviation",
+                        RequestConstraint.WILDCARD);
+                break;
+            default:
+                criteria.put("info.parameter.abbreviation",
+                        new RequestConstraint(parameter(random)));
+            }
+            if (random.nextInt(5) == 0) {
+                int low = 100 * random.nextInt(10);
+                criteria.put("info.level.levelonevalue",
+                        new RequestConstraint(Integer.toString(low),
+                                Integer.toString(low + 200)));
+            } else {
+                criteria.put("info.level.levelonevalue",
+                        new RequestConstraint(level(random)));
+            }
+            tree.insertCriteria(criteria, i, false);
+        }
+        tree.rebuildTree();
+
+        searches = new Map[SEARCH_COUNT];
+        for (int i = 0; i < searches.length; i++) {
+            Map<String, Object> search = new HashMap<>();
+            search.put("pluginName", PLUGINS[random.nextInt(PLUGINS.length)]);
+            search.put("info.datasetId", model(random));
+            search.put("info.parameter.abbreviation", parameter(random));
+            search.put("info.level.levelonevalue",
+                    Double.valueOf(level(random)));
+            searches[i] = search;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DecisionTree.setIndexEnabled(true);
+    }
+
+    private static String model(Random random) {
+        return "model" + random.nextInt(50);
+    }
+
+    private static String parameter(Random random) {
+        return "P" + random.nextInt(200);
+    }
+
+    private static String level(Random random) {
+        return Integer.toString(50 * random.nextInt(20));
+    }
+
+    @Benchmark
+    public List<Integer> searchTree() {
+        Map<String, Object> search = searches[next];
+        next = (next + 1) % searches.length;
+        return tree.searchTree(search);
+    }
+
+}
@@ -0,0 +1,198 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.pointdata.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.raytheon.uf.common.pointdata.ParameterDescription;
+import com.raytheon.uf.common.pointdata.PointDataContainer;
+import com.raytheon.uf.common.pointdata.PointDataCursor;
+import com.raytheon.uf.common.pointdata.PointDataDescription;
+import com.raytheon.uf.common.pointdata.PointDataDescription.Type;
+import com.raytheon.uf.common.pointdata.PointDataView;
+import com.raytheon.uf.common.pointdata.elements.FloatPointDataObject;
+import com.raytheon.uf.common.pointdata.elements.StringPointDataObject;
+
+/**
+ * Measures scanning and building a {@link PointDataContainer} shaped like a
+ * day of METAR and RAOB observations, through a {@link PointDataView} per row
+ * and through a single {@link PointDataCursor}, and the cost of string
+ * columns with and without dictionary encoding.
+ * 
+ * decodeStrings sets string columns from freshly allocated values the way
+ * the thrift deserializer does. Run with the gc profiler for allocation
+ * rates. Dictionary encoding is a JVM wide setting, these benchmarks fork
+ * with it enabled and {@link PlainStringPointDataContainerBenchmark} repeats
+ * them with it disabled.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+@State(Scope.Thread)
+@Fork(jvmArgsAppend = "-Dpointdata.string.dictionary=true")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PointDataContainerBenchmark {
+
+    private static final int LEVELS = 22;
+
+    private static final int STATIONS = 2000;
+
+    private static final String[] REPORT_TYPES = { "METAR", "SPECI", "SYNOP",
+            "MAROB" };
+
+    /** Number of observations */
+    @Param({ "100000", "1000000" })
+    public int size;
+
+    private PointDataDescription description;
+
+    private PointDataContainer container;
+
+    private String[][] stringValues;
+
+    private StringPointDataObject[] decoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        description = new PointDataDescription();
+        ParameterDescription pressure = new ParameterDescription("prMan",
+                Type.FLOAT);
+        pressure.setNumDims(2);
+        pressure.setDimensionAsInt(LEVELS);
+        description.parameters = new ParameterDescription[] {
+                new ParameterDescription("stationId", Type.STRING),
+                new ParameterDescription("reportType", Type.STRING),
+                new ParameterDescription("timeObs", Type.LONG),
+                new ParameterDescription("temperature", Type.FLOAT),
+                new ParameterDescription("dewpoint", Type.FLOAT),
+                new ParameterDescription("skyCover", Type.INT), pressure };
+        container = build();
+
+        Random random = new Random(0);
+        stringValues = new String[2][size];
+        for (int i = 0; i < size; i++) {
+            stringValues[0][i] = station(random);
+            stringValues[1][i] = REPORT_TYPES[random
+                    .nextInt(REPORT_TYPES.length)];
+        }
+        decoded = new StringPointDataObject[stringValues.length];
+    }
+
+    private static String station(Random random) {
+        return "K" + (1000 + random.nextInt(STATIONS));
+    }
+
+    private PointDataContainer build() {
+        Random random = new Random(0);
+        PointDataContainer container = PointDataContainer.build(description);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            PointDataView view = container.append();
+            view.setString("stationId", station(random));
+            view.setString("reportType",
+                    REPORT_TYPES[random.nextInt(REPORT_TYPES.length)]);
+            view.setLong("timeObs", now - i * 60000L);
+            view.setFloat("temperature", random.nextFloat() * 40);
+            view.setFloat("dewpoint", random.nextFloat() * 30);
+            view.setInt("skyCover", random.nextInt(8));
+            for (int level = 0; level < LEVELS; level++) {
+                view.setFloat("prMan", 1000 - level * 40, level);
+            }
+        }
+        return container;
+    }
+
+    @Benchmark
+    public PointDataContainer buildContainer() {
+        return build();
+    }
+
+    @Benchmark
+    public double scanView() {
+        double sum = 0;
+        for (int i = 0; i < container.getCurrentSz(); i++) {
+            PointDataView view = container.readRandom(i);
+            if ("METAR".equals(view.getString("reportType"))) {
+                sum += view.getFloat("temperature")
+                        - view.getFloat("dewpoint")
+                        + view.getFloat("prMan", LEVELS - 1);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double scanCursor() {
+        double sum = 0;
+        PointDataCursor cursor = container.cursor();
+        StringPointDataObject reportType = cursor
+                .getStringColumn("reportType");
+        FloatPointDataObject temperature = cursor
+                .getFloatColumn("temperature");
+        FloatPointDataObject dewpoint = cursor.getFloatColumn("dewpoint");
+        FloatPointDataObject pressure = cursor.getFloatColumn("prMan");
+        while (cursor.next()) {
+            if ("METAR".equals(cursor.getString(reportType))) {
+                sum += cursor.getFloat(temperature)
+                        - cursor.getFloat(dewpoint)
+                        + cursor.getFloat(pressure, LEVELS - 1);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public StringPointDataObject[] decodeStrings() {
+        for (int c = 0; c < stringValues.length; c++) {
+            String[] values = new String[size];
+            for (int i = 0; i < size; i++) {
+                // a new instance per value, as read off the wire
+                values[i] = new String(stringValues[c][i]);
+            }
+            StringPointDataObject column = new StringPointDataObject();
+            column.setStringData(values);
+            decoded[c] = column;
+        }
+        return decoded;
+    }
+
+}
@@ -0,0 +1,126 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.JAXBException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.raytheon.uf.common.serialization.JAXBManager;
+import com.raytheon.uf.common.serialization.jaxb.JaxbMarshallerStrategy;
+import com.raytheon.uf.common.serialization.jaxb.PooledJaxbMarshallerStrategy;
+import com.raytheon.uf.common.style.ParamLevelMatchCriteria;
+import com.raytheon.uf.common.style.StyleRule;
+import com.raytheon.uf.common.style.StyleRuleset;
+import com.raytheon.uf.common.style.image.ImagePreferences;
+
+/**
+ * Marshals and unmarshals a style rules localization file with a
+ * {@link JAXBManager} using the pooled and the non pooled marshaller
+ * strategies. Run with multiple threads (-t) to measure contention on the
+ * pool.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JaxbSerializationBenchmark {
+
+    /** Number of style rules in the file */
+    @Param({ "10", "500" })
+    public int rules;
+
+    /**
+     * pooled: PooledJaxbMarshallerStrategy. default: a new marshaller for
+     * every call.
+     */
+    @Param({ "pooled", "default" })
+    public String strategy;
+
+    private JAXBManager manager;
+
+    private StyleRuleset ruleset;
+
+    private String xml;
+
+    @Setup(Level.Trial)
+    public void setup() throws JAXBException {
+        JaxbMarshallerStrategy marshStrategy;
+        if ("pooled".equals(strategy)) {
+            marshStrategy = new PooledJaxbMarshallerStrategy();
+        } else {
+            marshStrategy = new JaxbMarshallerStrategy();
+        }
+        manager = new JAXBManager(marshStrategy, StyleRuleset.class,
+                ParamLevelMatchCriteria.class, ImagePreferences.class);
+
+        List<StyleRule> styleRules = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            ParamLevelMatchCriteria criteria = new ParamLevelMatchCriteria();
+            criteria.setParameterName(Arrays.asList("param" + i, "alias" + i));
+            ImagePreferences prefs = new ImagePreferences();
+            prefs.setDefaultColormap("Grid/gridded data");
+            prefs.setColorMapUnits("K");
+            prefs.setInterpolate(i % 2 == 0);
+            StyleRule rule = new StyleRule();
+            rule.setMatchCriteria(criteria);
+            rule.setPreferences(prefs);
+            styleRules.add(rule);
+        }
+        ruleset = new StyleRuleset();
+        ruleset.setStyleRules(styleRules);
+        xml = manager.marshalToXml(ruleset);
+    }
+
+    @Benchmark
+    public String marshal() throws JAXBException {
+        return manager.marshalToXml(ruleset);
+    }
+
+    @Benchmark
+    public StyleRuleset unmarshal() throws JAXBException {
+        return manager.unmarshalFromXml(StyleRuleset.class, xml);
+    }
+
+}
@@ -0,0 +1,104 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.raytheon.uf.common.json.JsonException;
+import com.raytheon.uf.common.json.impl.JsonSrvImpl;
+
+/**
+ * Serializes and deserializes a query result shaped document with the
+ * {@link JsonSrvImpl}, which borrows its object mappers from a JacksonPool.
+ * Run with multiple threads (-t) to measure contention on the pool.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonSerializationBenchmark {
+
+    /** Number of rows in the document */
+    @Param({ "10", "1000" })
+    public int rows;
+
+    private JsonSrvImpl service;
+
+    private Map<String, Object> document;
+
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setup() throws JsonException {
+        service = new JsonSrvImpl();
+        Random random = new Random(0);
+        List<Map<String, Object>> results = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("dataURI", "/grid/" + i + "/GFS/T/FHAG/2.0");
+            row.put("refTime", System.currentTimeMillis() - i * 3600000L);
+            row.put("fcstTime", i * 3600);
+            row.put("levelOneValue", random.nextDouble());
+            row.put("ensembleId", null);
+            results.add(row);
+        }
+        document = new HashMap<>();
+        document.put("results", results);
+        document.put("numResults", rows);
+        json = service.serialize(document, false);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonException {
+        return service.serialize(document, false);
+    }
+
+    @Benchmark
+    public Object deserialize() throws JsonException {
+        return service.deserialize(json, HashMap.class);
+    }
+
+}
@@ -0,0 +1,170 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.transport.TIOStreamTransport;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.raytheon.uf.common.serialization.thrift.PooledStreamOutputTransport;
+import com.raytheon.uf.common.serialization.thrift.SelfDescribingBinaryProtocol;
+import com.raytheon.uf.common.util.ByteArrayOutputStreamPool;
+import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
+import com.raytheon.uf.common.util.ResizeableByteArrayOutputStream;
+
+/**
+ * Compares encoding and decoding of large float and short arrays (the payload
+ * of FloatDataRecord and ShortDataRecord) through the chunked stream path and
+ * the direct buffer path of {@link SelfDescribingBinaryProtocol}.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PrimitiveArrayBenchmark {
+
+    /** Number of array elements */
+    @Param({ "1000000", "10000000", "50000000" })
+    public int size;
+
+    /**
+     * chunked: TIOStreamTransport, arrays copied through 1KiB chunks.
+     * direct: PooledStreamOutputTransport/TMemoryInputTransport, arrays copied
+     * once.
+     */
+    @Param({ "chunked", "direct" })
+    public String path;
+
+    private float[] floats;
+
+    private short[] shorts;
+
+    private byte[] encodedFloats;
+
+    private byte[] encodedShorts;
+
+    private ResizeableByteArrayOutputStream chunkedOut;
+
+    private PooledByteArrayOutputStream directOut;
+
+    @Setup(Level.Trial)
+    public void setup() throws TException {
+        Random random = new Random(0);
+        floats = new float[size];
+        shorts = new short[size];
+        for (int i = 0; i < size; i++) {
+            floats[i] = random.nextFloat();
+            shorts[i] = (short) random.nextInt();
+        }
+        chunkedOut = new ResizeableByteArrayOutputStream(size * 4 + 1);
+        directOut = ByteArrayOutputStreamPool.getInstance()
+                .getStream(size * 4 + 1);
+
+        SelfDescribingBinaryProtocol proto = outputProtocol();
+        proto.writeF32List(floats);
+        encodedFloats = bytesWritten();
+        proto = outputProtocol();
+        proto.writeI16List(shorts);
+        encodedShorts = bytesWritten();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        directOut.returnToPool();
+    }
+
+    private SelfDescribingBinaryProtocol outputProtocol() {
+        TTransport transport;
+        if ("direct".equals(path)) {
+            directOut.reset();
+            transport = new PooledStreamOutputTransport(directOut);
+        } else {
+            chunkedOut.reset();
+            transport = new TIOStreamTransport(chunkedOut);
+        }
+        return new SelfDescribingBinaryProtocol(transport);
+    }
+
+    private byte[] bytesWritten() {
+        if ("direct".equals(path)) {
+            return directOut.toByteArray();
+        }
+        return chunkedOut.toByteArray();
+    }
+
+    private SelfDescribingBinaryProtocol inputProtocol(byte[] bytes) {
+        TTransport transport;
+        if ("direct".equals(path)) {
+            transport = new TMemoryInputTransport(bytes);
+        } else {
+            transport = new TIOStreamTransport(new ByteArrayInputStream(bytes));
+        }
+        return new SelfDescribingBinaryProtocol(transport);
+    }
+
+    @Benchmark
+    public int encodeFloats() throws TException {
+        outputProtocol().writeF32List(floats);
+        return "direct".equals(path) ? directOut.size() : chunkedOut.size();
+    }
+
+    @Benchmark
+    public float[] decodeFloats() throws TException {
+        return inputProtocol(encodedFloats).readF32List(size);
+    }
+
+    @Benchmark
+    public int encodeShorts() throws TException {
+        outputProtocol().writeI16List(shorts);
+        return "direct".equals(path) ? directOut.size() : chunkedOut.size();
+    }
+
+    @Benchmark
+    public short[] decodeShorts() throws TException {
+        return inputProtocol(encodedShorts).readI16List(size);
+    }
+
+}
@@ -0,0 +1,264 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.raytheon.uf.common.dataaccess.response.GetGridDataResponse;
+import com.raytheon.uf.common.dataaccess.response.GridResponseData;
+import com.raytheon.uf.common.dataplugin.message.DataURINotificationMessage;
+import com.raytheon.uf.common.dataquery.requests.DbQueryRequest;
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint;
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint.ConstraintType;
+import com.raytheon.uf.common.dataquery.responses.DbQueryResponse;
+import com.raytheon.uf.common.pointdata.ParameterDescription;
+import com.raytheon.uf.common.pointdata.PointDataContainer;
+import com.raytheon.uf.common.pointdata.PointDataDescription;
+import com.raytheon.uf.common.pointdata.PointDataDescription.Type;
+import com.raytheon.uf.common.pointdata.PointDataThriftContainer;
+import com.raytheon.uf.common.pointdata.PointDataView;
+import com.raytheon.uf.common.serialization.DynamicSerializationManager;
+import com.raytheon.uf.common.serialization.DynamicSerializationManager.SerializationType;
+import com.raytheon.uf.common.serialization.SerializationException;
+import com.raytheon.uf.common.serialization.thrift.ThriftClassCodec;
+import com.raytheon.uf.common.util.ByteArrayOutputStreamPool;
+import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
+
+/**
+ * Round trips of the messages that dominate thrift traffic between CAVE and
+ * EDEX. Each payload is measured with the MethodHandle codecs and with the
+ * reflective BeanMap path, and decoding is measured both from a byte array and
+ * through the streaming transport used by the http client.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ThriftSerializationBenchmark {
+
+    @Param({ "dbQueryResponse", "pointDataContainer", "dataURINotification",
+            "gridDataResponse", "requestConstraints" })
+    public String payload;
+
+    /** Relative size of the payload, e.g. rows, obs or uris */
+    @Param({ "1000" })
+    public int size;
+
+    @Param({ "true", "false" })
+    public boolean codecs;
+
+    private DynamicSerializationManager manager;
+
+    private Object message;
+
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setup() throws SerializationException {
+        ThriftClassCodec.setEnabled(codecs);
+        manager = DynamicSerializationManager
+                .getManager(SerializationType.Thrift);
+        Random random = new Random(0);
+        switch (payload) {
+        case "dbQueryResponse":
+            message = dbQueryResponse(random);
+            break;
+        case "pointDataContainer":
+            // point data goes over the wire in its thrift compliant form
+            message = PointDataThriftContainer.from(pointDataContainer(random));
+            break;
+        case "dataURINotification":
+            message = dataURINotification(random);
+            break;
+        case "gridDataResponse":
+            message = gridDataResponse(random);
+            break;
+        case "requestConstraints":
+            message = requestConstraints(random);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown payload: " + payload);
+        }
+        encoded = manager.serialize(message);
+    }
+
+    private DbQueryResponse dbQueryResponse(Random random) {
+        List<Map<String, Object>> results = new ArrayList<>(size);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("dataURI", "/grid/" + i + "/GFS/T/FHAG/2.0");
+            row.put("dataTime.refTime", new Date(now - i * 3600000L));
+            row.put("dataTime.fcstTime", i * 3600);
+            row.put("level.levelonevalue", random.nextDouble());
+            row.put("info.ensembleId", null);
+            results.add(row);
+        }
+        DbQueryResponse response = new DbQueryResponse();
+        response.setResults(results);
+        return response;
+    }
+
+    private PointDataContainer pointDataContainer(Random random) {
+        PointDataDescription description = new PointDataDescription();
+        description.parameters = new ParameterDescription[] {
+                new ParameterDescription("stationId", Type.STRING),
+                new ParameterDescription("timeObs", Type.LONG),
+                new ParameterDescription("temperature", Type.FLOAT),
+                new ParameterDescription("dewpoint", Type.FLOAT),
+                new ParameterDescription("windSpeed", Type.FLOAT),
+                new ParameterDescription("windDir", Type.FLOAT),
+                new ParameterDescription("visibility", Type.FLOAT),
+                new ParameterDescription("skyCover", Type.INT) };
+        PointDataContainer container = PointDataContainer.build(description,
+                size);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            PointDataView view = container.append();
+            view.setString("stationId", "K" + (1000 + i));
+            view.setLong("timeObs", now - i * 60000L);
+            view.setFloat("temperature", random.nextFloat() * 40);
+            view.setFloat("dewpoint", random.nextFloat() * 30);
+            view.setFloat("windSpeed", random.nextFloat() * 50);
+            view.setFloat("windDir", random.nextFloat() * 360);
+            view.setFloat("visibility", random.nextFloat() * 10);
+            view.setInt("skyCover", random.nextInt(8));
+        }
+        return container;
+    }
+
+    private DataURINotificationMessage dataURINotification(Random random) {
+        String[] uris = new String[size];
+        for (int i = 0; i < size; i++) {
+            uris[i] = "/obs/2026-10-15_12:00:00.0/METAR/" + random.nextInt()
+                    + "/K" + (1000 + i) + "/" + random.nextFloat() + "/"
+                    + random.nextFloat();
+        }
+        DataURINotificationMessage msg = new DataURINotificationMessage();
+        msg.setDataURIs(uris);
+        return msg;
+    }
+
+    private GetGridDataResponse gridDataResponse(Random random) {
+        // size is the edge length in points of each grid
+        int nx = size;
+        int ny = size / 2;
+        List<GridResponseData> gridData = new ArrayList<>();
+        for (String param : Arrays.asList("T", "RH", "uW", "vW")) {
+            GridResponseData data = new GridResponseData();
+            data.setParameter(param);
+            data.setUnit("K");
+            data.setLevel("2.0FHAG");
+            data.setLocationName("GFS");
+            float[] grid = new float[nx * ny];
+            for (int i = 0; i < grid.length; i++) {
+                grid[i] = random.nextFloat();
+            }
+            data.setGridData(grid);
+            gridData.add(data);
+        }
+        Map<String, Integer> nxValues = new HashMap<>();
+        nxValues.put("GFS", nx);
+        Map<String, Integer> nyValues = new HashMap<>();
+        nyValues.put("GFS", ny);
+        GetGridDataResponse response = new GetGridDataResponse();
+        response.setGridData(gridData);
+        response.setSiteNxValues(nxValues);
+        response.setSiteNyValues(nyValues);
+        return response;
+    }
+
+    private DbQueryRequest requestConstraints(Random random) {
+        Map<String, RequestConstraint> constraints = new LinkedHashMap<>();
+        for (int i = 0; i < size / 10; i++) {
+            constraints.put("field" + i + ".equals", new RequestConstraint(
+                    "value" + random.nextInt()));
+            constraints.put("field" + i + ".in", new RequestConstraint(
+                    Arrays.asList("a" + i, "b" + i, "c" + i)));
+            constraints.put("field" + i + ".between", new RequestConstraint(
+                    Integer.toString(i), Integer.toString(i + 100)));
+            constraints.put("field" + i + ".like", new RequestConstraint("K%"
+                    + i, ConstraintType.LIKE));
+        }
+        DbQueryRequest request = new DbQueryRequest(constraints);
+        request.setEntityClass("com.raytheon.uf.common.dataplugin.PluginDataObject");
+        return request;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws SerializationException {
+        return manager.serialize(message);
+    }
+
+    @Benchmark
+    public int serializePooled() throws Exception {
+        try (PooledByteArrayOutputStream out = ByteArrayOutputStreamPool
+                .getInstance().getStream(encoded.length + 1)) {
+            manager.serialize(message, out);
+            return out.size();
+        }
+    }
+
+    @Benchmark
+    public Object deserialize() throws SerializationException {
+        return manager.deserialize(encoded);
+    }
+
+    @Benchmark
+    public Object deserializeStreaming() throws SerializationException {
+        return manager.deserializeStreaming(new ByteArrayInputStream(encoded));
+    }
+
+    @Benchmark
+    public Object roundTrip() throws SerializationException {
+        return manager.deserialize(manager.serialize(message));
+    }
+
+}
@@ -0,0 +1,172 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.raytheon.uf.common.util.ArraysUtil;
+
+/**
+ * Compares the id correlation done by PointDataPluginDao.getPointData: sorting
+ * the hdf5 index and id of each record, then finding the id of each row that
+ * was retrieved from hdf5. The "pairs" implementation is the previous one,
+ * sorting an object per record and searching with a pointer that is reset on
+ * every miss; "primitive" is {@link ArraysUtil#sortPaired(int[], int[])} and
+ * {@link ArraysUtil#correlateSorted(int[], int[], int[], int)}.
+ * 
+ * The records arrive in database order, which is unrelated to their hdf5
+ * index, and a small fraction of the retrieved rows has no matching record.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IndexCorrelationBenchmark {
+
+    /** Number of records */
+    @Param({ "10000", "100000", "500000" })
+    public int points;
+
+    @Param({ "pairs", "primitive" })
+    public String implementation;
+
+    private int[] indexes;
+
+    private int[] ids;
+
+    private int[] retrievedIndexes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(0);
+        indexes = new int[points];
+        ids = new int[points];
+        for (int i = 0; i < points; i++) {
+            indexes[i] = i;
+            ids[i] = 1000000 + i;
+        }
+        // database order
+        for (int i = points - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = tmp;
+        }
+        retrievedIndexes = Arrays.copyOf(indexes, points);
+        Arrays.sort(retrievedIndexes);
+        // rows whose record has since been purged
+        for (int i = 0; i < points / 100; i++) {
+            retrievedIndexes[random.nextInt(points)] += 1;
+        }
+        Arrays.sort(retrievedIndexes);
+    }
+
+    @Benchmark
+    public int[] correlate() {
+        int[] idx = Arrays.copyOf(indexes, points);
+        int[] id = Arrays.copyOf(ids, points);
+        if ("pairs".equals(implementation)) {
+            return correlatePairs(idx, id, retrievedIndexes);
+        }
+        ArraysUtil.sortPaired(idx, id);
+        return ArraysUtil.correlateSorted(idx, id, retrievedIndexes, -1);
+    }
+
+    private static class IndexIdPair implements Comparable<IndexIdPair> {
+        public int index;
+
+        public int id;
+
+        @Override
+        public int compareTo(IndexIdPair o) {
+            if (index == o.index) {
+                return 0;
+            }
+
+            return index < o.index ? -1 : 1;
+        }
+
+    }
+
+    private static int[] correlatePairs(int[] indexes, int[] ids,
+            int[] retrievedIndexes) {
+        IndexIdPair[] iip = new IndexIdPair[ids.length];
+        for (int i = 0; i < iip.length; i++) {
+            iip[i] = new IndexIdPair();
+            iip[i].index = indexes[i];
+            iip[i].id = ids[i];
+        }
+
+        Arrays.sort(iip);
+
+        for (int i = 0; i < iip.length; i++) {
+            indexes[i] = iip[i].index;
+            ids[i] = iip[i].id;
+        }
+
+        int[] correlatedIds = new int[retrievedIndexes.length];
+        int originalPointer = 0;
+        for (int i = 0; i < correlatedIds.length; i++) {
+            int k;
+            for (k = originalPointer; k < iip.length; k++) {
+                if (iip[k].index == retrievedIndexes[i]) {
+                    correlatedIds[i] = iip[k].id;
+                    originalPointer = k + 1;
+                    break;
+                }
+            }
+
+            if (k >= iip.length) {
+                for (k = 0; (k < originalPointer) && (k < iip.length); k++) {
+                    if (iip[k].index == retrievedIndexes[i]) {
+                        correlatedIds[i] = iip[k].id;
+                        break;
+                    }
+                }
+                correlatedIds[i] = -1;
+            }
+        }
+        return correlatedIds;
+    }
+
+}
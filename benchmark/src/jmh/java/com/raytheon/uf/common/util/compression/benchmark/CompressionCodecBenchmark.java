@@ -0,0 +1,145 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util.compression.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.raytheon.uf.common.util.ByteArrayOutputStreamPool;
+import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
+import com.raytheon.uf.common.util.compression.CompressionCodecs;
+import com.raytheon.uf.common.util.compression.ICompressionCodec;
+
+/**
+ * Compression and decompression throughput of each
+ * {@link ICompressionCodec}. Multiply ops/s by the size param to get bytes
+ * per second. Codecs contributed through ServiceLoader, such as zstd, can be
+ * measured by adding them to the classpath and passing -p codec=zstd.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CompressionCodecBenchmark {
+
+    @Param({ "gzip", "deflate", "lz4" })
+    public String codec;
+
+    /** Number of uncompressed bytes */
+    @Param({ "4194304" })
+    public int size;
+
+    /**
+     * grid: a smooth float field, similar to model grid data. random:
+     * incompressible bytes.
+     */
+    @Param({ "grid", "random" })
+    public String data;
+
+    private ICompressionCodec compressionCodec;
+
+    private byte[] uncompressed;
+
+    private byte[] compressed;
+
+    private byte[] readBuffer;
+
+    private PooledByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        compressionCodec = CompressionCodecs.require(codec);
+        uncompressed = new byte[size];
+        Random random = new Random(0);
+        if ("grid".equals(data)) {
+            FloatBuffer floats = ByteBuffer.wrap(uncompressed).asFloatBuffer();
+            int nx = (int) Math.sqrt(floats.capacity());
+            for (int i = 0; floats.hasRemaining(); i++) {
+                double x = (i % nx) / (double) nx;
+                double y = (i / nx) / (double) nx;
+                float value = (float) (273 + 20 * Math.sin(6 * x)
+                        * Math.cos(4 * y) + random.nextGaussian() * 0.05);
+                floats.put(value);
+            }
+        } else {
+            random.nextBytes(uncompressed);
+        }
+        compressed = CompressionCodecs.compress(compressionCodec,
+                uncompressed);
+        readBuffer = new byte[64 * 1024];
+        out = ByteArrayOutputStreamPool.getInstance().getStream(size + 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        out.returnToPool();
+    }
+
+    @Benchmark
+    public int compress() throws IOException {
+        out.reset();
+        try (OutputStream stream = compressionCodec.compress(out)) {
+            stream.write(uncompressed);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public long decompress() throws IOException {
+        long total = 0;
+        try (InputStream stream = compressionCodec
+                .decompress(new ByteArrayInputStream(compressed))) {
+            int n;
+            while ((n = stream.read(readBuffer)) >= 0) {
+                total += n;
+            }
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,182 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.distribution.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.raytheon.uf.edex.distribution.RequestPatternIndex;
+import com.raytheon.uf.edex.distribution.RequestPatterns;
+
+/**
+ * Compares routing a corpus of WMO headers by running every plugin's
+ * {@link RequestPatterns} against each header with routing through a
+ * {@link RequestPatternIndex}.
+ *
+ * The patterns are modeled on the distribution files shipped with the
+ * plugins: most are anchored to a product identifier with some character
+ * classes and an office id, a few are unanchored or use alternation and so
+ * cannot be prefix indexed. The headers are random TTAAii CCCC DDHHMM [BBB]
+ * headers drawn from the same identifiers, so most headers match a plugin.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DistributionRoutingBenchmark {
+
+    private static final int HEADER_COUNT = 10_000;
+
+    private static final int PATTERNS_PER_PLUGIN = 10;
+
+    private static final String[] OFFICES = { "KWBC", "KWNS", "KWNH", "KNES",
+            "KWAL", "KOUN", "KLWX", "PHFO", "PANC", "TJSJ" };
+
+    private static final String ALPHA = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    /** Total number of accept patterns across all plugins */
+    @Param({ "100", "500", "2000" })
+    public int patternCount;
+
+    private Map<String, RequestPatterns> patterns;
+
+    private RequestPatternIndex index;
+
+    private String[] headers;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(0);
+        patterns = new HashMap<>();
+        int plugins = Math.max(1, patternCount / PATTERNS_PER_PLUGIN);
+        for (int p = 0; p < plugins; p++) {
+            RequestPatterns pluginPatterns = new RequestPatterns();
+            for (int i = 0; i < PATTERNS_PER_PLUGIN; i++) {
+                pluginPatterns.getPatterns().add(randomPattern(random));
+            }
+            if (random.nextInt(4) == 0) {
+                pluginPatterns.getExclusionPatterns()
+                        .add("^" + randomId(random, 4) + ".. KWBC");
+            }
+            pluginPatterns.compilePatterns();
+            patterns.put("plugin" + p, pluginPatterns);
+        }
+        index = new RequestPatternIndex(patterns);
+
+        headers = new String[HEADER_COUNT];
+        for (int i = 0; i < headers.length; i++) {
+            StringBuilder header = new StringBuilder(24);
+            header.append(randomId(random, 4))
+                    .append(String.format("%02d", random.nextInt(100)))
+                    .append(' ').append(OFFICES[random.nextInt(OFFICES.length)])
+                    .append(' ').append(String.format("%02d%02d%02d",
+                            1 + random.nextInt(28), random.nextInt(24),
+                            random.nextInt(60)));
+            if (random.nextInt(10) == 0) {
+                header.append(" RR").append(ALPHA.charAt(random.nextInt(3)));
+            }
+            headers[i] = header.toString();
+        }
+    }
+
+    /**
+     * Identifiers are biased toward a handful of T1T2 designators, like the
+     * real feed, so the prefixes of patterns and headers overlap.
+     */
+    private static String randomId(Random random, int length) {
+        StringBuilder id = new StringBuilder(length);
+        id.append("SFUAW".charAt(random.nextInt(5)));
+        for (int i = 1; i < length; i++) {
+            id.append(ALPHA.charAt(random.nextInt(i == 1 ? 8 : 26)));
+        }
+        return id.toString();
+    }
+
+    private static String randomPattern(Random random) {
+        String office = OFFICES[random.nextInt(OFFICES.length)];
+        switch (random.nextInt(10)) {
+        case 0:
+            // unanchored
+            return ".*" + office + ".*";
+        case 1:
+            // alternation
+            return "^(" + randomId(random, 2) + "|" + randomId(random, 2)
+                    + ")[A-Z]{2}[0-9]{2} " + office;
+        case 2:
+            // literal
+            return "^" + randomId(random, 4) + String.format("%02d",
+                    random.nextInt(100)) + " " + office;
+        default:
+            return "^" + randomId(random, 2 + random.nextInt(3))
+                    + "[A-Z0-9]* " + office;
+        }
+    }
+
+    private String nextHeader() {
+        String header = headers[next];
+        next = (next + 1) % headers.length;
+        return header;
+    }
+
+    @Benchmark
+    public List<String> linear() {
+        String header = nextHeader();
+        List<String> plugins = new ArrayList<>();
+        for (Map.Entry<String, RequestPatterns> entry : patterns.entrySet()) {
+            if (entry.getValue().isDesiredHeader(header)) {
+                plugins.add(entry.getKey());
+            }
+        }
+        return plugins;
+    }
+
+    @Benchmark
+    public Object indexed() {
+        return index.getMatchingPlugins(nextHeader());
+    }
+
+}
@@ -30,6 +30,8 @@ import java.security.cert.X509Certificate;
 import javax.net.ssl.SSLContext;
 
 import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
@@ -69,6 +71,8 @@ import com.raytheon.uf.common.util.app.AppInfo;
  * Jan 27, 2016  5170      tjensen      Removed log interceptors. Logging moved to methods where 
  *                                       message type is known.
  * Jan 31, 2017  6083      bsteffen     Remove local trust strategy
+ * Oct 15, 2026            agent        Accept every registered compression
+ *                                       codec when gzip is enabled
  * 
  * </pre>
  * 
@@ -219,6 +223,8 @@ public class ApacheHttpClientCreator {
          */
         if (!config.isGzipEnabled()) {
             clientBuilder.disableContentCompression();
+        } else {
+            addCodecInterceptors(clientBuilder);
         }
         return clientBuilder.build();
     }
@@ -271,10 +277,27 @@ public class ApacheHttpClientCreator {
          */
         if (!config.isGzipEnabled()) {
             clientBuilder.disableContentCompression();
+        } else {
+            addCodecInterceptors(clientBuilder);
         }
         return clientBuilder.build();
     }
 
+    /**
+     * Adds support for the non gzip codecs registered with
+     * {@link com.raytheon.uf.common.util.compression.CompressionCodecs}. The
+     * interceptors must run first so the builtin gzip interceptors do not
+     * reject or overwrite other encodings.
+     * 
+     * @param clientBuilder
+     */
+    private static void addCodecInterceptors(HttpClientBuilder clientBuilder) {
+        CompressionCodecInterceptor interceptor = new CompressionCodecInterceptor();
+        clientBuilder.addInterceptorFirst((HttpRequestInterceptor) interceptor);
+        clientBuilder
+                .addInterceptorFirst((HttpResponseInterceptor) interceptor);
+    }
+
     private static void setUserAgent(HttpClientBuilder clientBuilder) {
         AppInfo appInfo = AppInfo.getInstance();
         if (appInfo == null || appInfo.getName() == null) {
@@ -0,0 +1,152 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.comm;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.protocol.HttpContext;
+
+import com.raytheon.uf.common.util.compression.CompressionCodecs;
+import com.raytheon.uf.common.util.compression.DeflateCodec;
+import com.raytheon.uf.common.util.compression.GzipCodec;
+import com.raytheon.uf.common.util.compression.ICompressionCodec;
+
+/**
+ * Extends the content compression apache http client provides for gzip and
+ * deflate to every codec registered with {@link CompressionCodecs}. Requests
+ * advertise only the codecs enabled for negotiation in Accept-Encoding, which
+ * is gzip and deflate unless others are enabled. Responses encoded with a codec other than
+ * gzip or deflate are decoded here, before the built in content decoding
+ * runs.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+class CompressionCodecInterceptor
+        implements HttpRequestInterceptor, HttpResponseInterceptor {
+
+    @Override
+    public void process(HttpRequest request, HttpContext context)
+            throws HttpException, IOException {
+        if (!request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            StringBuilder acceptEncoding = new StringBuilder();
+            for (String name : CompressionCodecs.getNegotiatedNames()) {
+                if (acceptEncoding.length() > 0) {
+                    acceptEncoding.append(", ");
+                }
+                acceptEncoding.append(name);
+            }
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING,
+                    acceptEncoding.toString());
+        }
+    }
+
+    @Override
+    public void process(HttpResponse response, HttpContext context)
+            throws HttpException, IOException {
+        HttpEntity entity = response.getEntity();
+        if (entity == null || entity.getContentLength() == 0) {
+            return;
+        }
+        Header encoding = entity.getContentEncoding();
+        if (encoding == null) {
+            return;
+        }
+        String name = encoding.getValue().trim();
+        if (GzipCodec.NAME.equalsIgnoreCase(name)
+                || DeflateCodec.NAME.equalsIgnoreCase(name)) {
+            /* handled by apache */
+            return;
+        }
+        ICompressionCodec codec = CompressionCodecs.get(name);
+        if (codec != null) {
+            response.setEntity(new DecompressingEntity(entity, codec));
+            response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+            response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+            response.removeHeaders(HttpHeaders.CONTENT_MD5);
+        }
+    }
+
+    /**
+     * Entity that decodes the content of the wrapped entity with a codec.
+     */
+    private static class DecompressingEntity extends HttpEntityWrapper {
+
+        private final ICompressionCodec codec;
+
+        public DecompressingEntity(HttpEntity entity,
+                ICompressionCodec codec) {
+            super(entity);
+            this.codec = codec;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return codec.decompress(wrappedEntity.getContent());
+        }
+
+        @Override
+        public void writeTo(OutputStream outstream) throws IOException {
+            try (InputStream in = getContent()) {
+                byte[] buffer = new byte[8 * 1024];
+                int n;
+                while ((n = in.read(buffer)) >= 0) {
+                    outstream.write(buffer, 0, n);
+                }
+            }
+        }
+
+        @Override
+        public Header getContentEncoding() {
+            return null;
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return true;
+        }
+    }
+
+}
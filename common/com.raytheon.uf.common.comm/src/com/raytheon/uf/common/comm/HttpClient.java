@@ -30,7 +30,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.zip.GZIPOutputStream;
 
 import javax.net.ssl.SSLPeerUnverifiedException;
 
@@ -66,6 +65,9 @@ import com.raytheon.uf.common.status.UFStatus;
 import com.raytheon.uf.common.status.UFStatus.Priority;
 import com.raytheon.uf.common.util.ByteArrayOutputStreamPool;
 import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
+import com.raytheon.uf.common.util.compression.CompressionCodecs;
+import com.raytheon.uf.common.util.compression.GzipCodec;
+import com.raytheon.uf.common.util.compression.ICompressionCodec;
 import com.raytheon.uf.common.util.rate.TokenBucket;
 
 /**
@@ -110,6 +112,8 @@ import com.raytheon.uf.common.util.rate.TokenBucket;
  * Feb 22, 2016  5306        njensen     Get new HttpClientContext if host or port change
  * Nov 29, 2016  5937        tgurney     Add optional rate limiting to postDynamicSerialize
  * Mar 24, 2017  DR 19830    D. Friedman Retry with delay on connection or 503 errors.
+ * Oct 15, 2026              agent       Added postBinaryDynamicSerialize()
+ * Oct 15, 2026              agent       Pluggable request compression codec
  *
  * </pre>
  *
@@ -171,6 +175,9 @@ public class HttpClient {
 
     private boolean gzipRequests = false;
 
+    /** Codec used to compress requests when compression is enabled */
+    private ICompressionCodec requestCodec = new GzipCodec();
+
     /** number of requests currently in process by the application per host */
     private final Map<String, AtomicInteger> currentRequestsCount = new ConcurrentHashMap<>();
 
@@ -272,6 +279,20 @@ public class HttpClient {
         this.gzipRequests = compress;
     }
 
+    /**
+     * Sets the codec used to compress outgoing requests when compression is
+     * enabled, gzip by default. The server must be able to decode the
+     * Content-Encoding, so only use codecs the server is known to support.
+     *
+     * @param codecName
+     *            name of a codec registered with {@link CompressionCodecs}
+     * @throws IllegalArgumentException
+     *             if no codec is registered with the name
+     */
+    public void setRequestCodec(String codecName) {
+        this.requestCodec = CompressionCodecs.require(codecName);
+    }
+
     /**
      * Get global instance of this class
      *
@@ -640,17 +661,12 @@ public class HttpClient {
 
         HttpPost put = new HttpPost(address);
         if (gzipRequests) {
-            PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
-                    .getInstance().getStream(message.length);
-            GZIPOutputStream gzipStream = new GZIPOutputStream(byteStream);
-            gzipStream.write(message);
-            gzipStream.finish();
-            gzipStream.flush();
-            byte[] gzipMessage = byteStream.toByteArray();
-            gzipStream.close();
-            if (message.length > gzipMessage.length) {
-                message = gzipMessage;
-                put.setHeader("Content-Encoding", "gzip");
+            ICompressionCodec codec = requestCodec;
+            byte[] compressedMessage = CompressionCodecs.compress(codec,
+                    message);
+            if (message.length > compressedMessage.length) {
+                message = compressedMessage;
+                put.setHeader("Content-Encoding", codec.getName());
             }
         }
 
@@ -682,14 +698,15 @@ public class HttpClient {
             boolean stream, TokenBucket rateLimiter)
             throws CommunicationException, Exception {
         HttpPost put = new HttpPost(address);
+        ICompressionCodec codec = gzipRequests ? requestCodec : null;
         DynamicSerializeEntity dse = new DynamicSerializeEntity(obj, stream,
-                gzipRequests);
+                codec);
         if (rateLimiter != null) {
             dse.setRateLimiter(rateLimiter);
         }
         put.setEntity(dse);
-        if (gzipRequests) {
-            put.setHeader("Content-Encoding", "gzip");
+        if (codec != null) {
+            put.setHeader("Content-Encoding", codec.getName());
         }
         // always stream the response for memory efficiency
         DynamicSerializeStreamHandler handlerCallback = new DynamicSerializeStreamHandler();
@@ -744,6 +761,32 @@ public class HttpClient {
         return executePostMethod(put);
     }
 
+    /**
+     * Post a message generated by the handler to an http address, and stream
+     * the response back through DynamicSerialize without buffering the whole
+     * response in memory. See postBinary(String, OStreamHandler) for details
+     * on how the handler is used.
+     *
+     * @param address
+     * @param handler
+     *            the handler responsible for generating the message to be
+     *            posted
+     * @return the deserialized object response
+     * @throws CommunicationException
+     */
+    public Object postBinaryDynamicSerialize(String address,
+            OStreamHandler handler) throws CommunicationException {
+        OStreamEntity entity = new OStreamEntity(handler);
+        HttpPost put = new HttpPost(address);
+        put.setEntity(entity);
+
+        DynamicSerializeStreamHandler handlerCallback = new DynamicSerializeStreamHandler();
+        HttpClientResponse resp = this.process(put, handlerCallback);
+        checkStatusCode(resp);
+
+        return handlerCallback.getResponseObject();
+    }
+
     /**
      * Post a string to an endpoint and stream the result back.
      *
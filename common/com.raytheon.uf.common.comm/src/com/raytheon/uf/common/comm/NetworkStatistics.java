@@ -35,6 +35,7 @@ import java.util.Map;
  * Nov 1, 2011             mschenke    Initial creation
  * Jan 27, 2016 5170       tjensen     Improve network statistic to track messages,
  *                                      byte tracking only performed when configured
+ * Oct 15, 2026            agent       Track client side cache hits and misses
  * 
  * </pre>
  * 
@@ -127,10 +128,77 @@ public class NetworkStatistics {
         }
     }
 
+    /**
+     * Tracks requests that were answered by a client side cache instead of
+     * going over the network.
+     */
+    public static class CacheTraffic {
+
+        private String identifier;
+
+        private long hits;
+
+        private long misses;
+
+        private long bytesSaved;
+
+        private CacheTraffic(String identifier) {
+            this.identifier = identifier;
+        }
+
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return the fraction of requests that were cache hits, between 0
+         *         and 1
+         */
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        /**
+         * @return the number of bytes that did not need to be received
+         *         because of cache hits
+         */
+        public long getBytesSaved() {
+            return bytesSaved;
+        }
+
+        @Override
+        public CacheTraffic clone() {
+            CacheTraffic newTraffic = new CacheTraffic(identifier);
+            newTraffic.hits = hits;
+            newTraffic.misses = misses;
+            newTraffic.bytesSaved = bytesSaved;
+            return newTraffic;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Cache Stats for '%s' : %d hits, %d misses"
+                    + " (%.1f%% hit rate), saved %s", identifier, hits,
+                    misses, getHitRate() * 100,
+                    NetworkStatistics.toString(bytesSaved));
+        }
+    }
+
     private NetworkTraffic totalTraffic = new NetworkTraffic(null);
 
     private Map<String, NetworkTraffic> mappedTraffic = new LinkedHashMap<String, NetworkTraffic>();
 
+    private Map<String, CacheTraffic> cacheTraffic = new LinkedHashMap<>();
+
     public NetworkStatistics() {
 
     }
@@ -206,6 +274,52 @@ public class NetworkStatistics {
         this.log(bytesSent, bytesReceived);
     }
 
+    /**
+     * Log a request that was answered from a client side cache
+     *
+     * @param cacheIdentifier
+     * @param bytesSaved
+     *            the size of the cached response
+     */
+    public synchronized void logCacheHit(String cacheIdentifier,
+            long bytesSaved) {
+        CacheTraffic traffic = getCacheTraffic(cacheIdentifier);
+        traffic.hits += 1;
+        traffic.bytesSaved += bytesSaved;
+    }
+
+    /**
+     * Log a request that could not be answered from a client side cache
+     *
+     * @param cacheIdentifier
+     */
+    public synchronized void logCacheMiss(String cacheIdentifier) {
+        getCacheTraffic(cacheIdentifier).misses += 1;
+    }
+
+    private CacheTraffic getCacheTraffic(String cacheIdentifier) {
+        CacheTraffic traffic = cacheTraffic.get(cacheIdentifier);
+        if (traffic == null) {
+            traffic = new CacheTraffic(cacheIdentifier);
+            cacheTraffic.put(cacheIdentifier, traffic);
+        }
+        return traffic;
+    }
+
+    /**
+     * Get a copy of the stats of every client side cache
+     *
+     * @return copy of cache stats
+     */
+    public synchronized CacheTraffic[] getCacheTrafficStats() {
+        CacheTraffic[] traffic = new CacheTraffic[cacheTraffic.size()];
+        int i = 0;
+        for (CacheTraffic t : cacheTraffic.values()) {
+            traffic[i++] = t.clone();
+        }
+        return traffic;
+    }
+
     /**
      * Get a copy of the total traffic stats at point of calling
      * 
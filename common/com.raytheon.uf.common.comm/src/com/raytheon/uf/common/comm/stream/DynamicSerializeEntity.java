@@ -22,7 +22,6 @@ package com.raytheon.uf.common.comm.stream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.zip.GZIPOutputStream;
 
 import org.apache.http.entity.AbstractHttpEntity;
 
@@ -30,8 +29,9 @@ import com.raytheon.uf.common.serialization.DynamicSerializationManager;
 import com.raytheon.uf.common.serialization.DynamicSerializationManager.SerializationType;
 import com.raytheon.uf.common.serialization.SerializationException;
 import com.raytheon.uf.common.serialization.SerializationUtil;
-import com.raytheon.uf.common.util.ByteArrayOutputStreamPool;
-import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
+import com.raytheon.uf.common.util.compression.CompressionCodecs;
+import com.raytheon.uf.common.util.compression.GzipCodec;
+import com.raytheon.uf.common.util.compression.ICompressionCodec;
 import com.raytheon.uf.common.util.rate.TokenBucket;
 import com.raytheon.uf.common.util.stream.RateLimitingOutputStream;
 
@@ -47,6 +47,7 @@ import com.raytheon.uf.common.util.stream.RateLimitingOutputStream;
  * Jan 22, 2013            njensen     Initial creation
  * Oct 30, 2015 4710       bclement    ByteArrayOutputStream renamed to PooledByteArrayOutputStream
  * Nov 29, 2016 5937       tgurney     Add optional rate limiting
+ * Oct 15, 2026            agent       Compress with any ICompressionCodec
  *
  * </pre>
  *
@@ -59,7 +60,7 @@ public class DynamicSerializeEntity extends AbstractHttpEntity {
 
     private boolean stream;
 
-    private boolean gzip;
+    private ICompressionCodec codec;
 
     private byte[] objAsBytes;
 
@@ -78,13 +79,31 @@ public class DynamicSerializeEntity extends AbstractHttpEntity {
      *            is true, stream will be ignored.
      */
     public DynamicSerializeEntity(Object obj, boolean stream, boolean gzip) {
+        this(obj, stream, gzip ? new GzipCodec() : null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param obj
+     *            the object to be sent over http
+     * @param stream
+     *            whether or not to stream the object over http. Ignored if a
+     *            codec is provided.
+     * @param codec
+     *            codec to compress the object's bytes with, or null to send
+     *            them uncompressed. Note that if there is a codec, stream
+     *            will be ignored.
+     */
+    public DynamicSerializeEntity(Object obj, boolean stream,
+            ICompressionCodec codec) {
         super();
         this.obj = obj;
-        this.setChunked(!gzip && stream);
-        this.gzip = gzip;
+        this.setChunked(codec == null && stream);
+        this.codec = codec;
         this.stream = stream;
-        if (gzip) {
-            // TODO can't support streaming gzip at this time
+        if (codec != null) {
+            // TODO can't support streaming compression at this time
             this.stream = false;
         }
     }
@@ -157,7 +176,8 @@ public class DynamicSerializeEntity extends AbstractHttpEntity {
     }
 
     /**
-     * Converts the object to bytes, and gzips those bytes if gzip is true.
+     * Converts the object to bytes, and compresses those bytes if there is a
+     * codec.
      *
      * @return the DynamicSerialize bytes representing the object
      * @throws IOException
@@ -169,15 +189,8 @@ public class DynamicSerializeEntity extends AbstractHttpEntity {
         } catch (SerializationException e) {
             throw new IOException("Error serializing object " + obj, e);
         }
-        if (gzip) {
-            PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
-                    .getInstance().getStream(bytes.length);
-            GZIPOutputStream gzipStream = new GZIPOutputStream(byteStream);
-            gzipStream.write(bytes);
-            gzipStream.finish();
-            gzipStream.flush();
-            bytes = byteStream.toByteArray();
-            gzipStream.close();
+        if (codec != null) {
+            bytes = CompressionCodecs.compress(codec, bytes);
         }
         return bytes;
     }
@@ -38,6 +38,7 @@ import com.raytheon.uf.common.serialization.SerializationException;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Jan 24, 2013            njensen     Initial creation
+ * Oct 15, 2026            agent       Decode through a pooled buffer
  * 
  * </pre>
  * 
@@ -60,7 +61,7 @@ public class DynamicSerializeStreamHandler implements IStreamHandler {
     public void handleStream(InputStream is) throws CommunicationException {
         try {
             resp = DynamicSerializationManager.getManager(
-                    SerializationType.Thrift).deserialize(is);
+                    SerializationType.Thrift).deserializeStreaming(is);
         } catch (SerializationException e) {
             throw new CommunicationException(
                     "Error deserializing streamed response", e);
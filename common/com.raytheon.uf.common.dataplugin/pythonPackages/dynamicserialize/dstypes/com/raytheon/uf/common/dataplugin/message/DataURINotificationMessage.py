@@ -19,18 +19,64 @@
 ##
 
 # File auto-generated against equivalent DynamicSerialize Java class
+#
+#     SOFTWARE HISTORY
+#
+#    Date            Ticket#       Engineer       Description
+#    ------------    ----------    -----------    --------------------------
+#    Oct 15, 2026                  agent          Added dictionary encoded form.
+#
 
 class DataURINotificationMessage(object):
 
     def __init__(self):
         self.dataURIs = None
         self.ids = None
+        self.uriPrefixes = None
+        self.uriPrefixIndices = None
+        self.uriSuffixes = None
 
     def getDataURIs(self):
         return self.dataURIs
 
     def setDataURIs(self, dataURIs):
         self.dataURIs = dataURIs
+        self._decode()
+
+    def getUriPrefixes(self):
+        return self.uriPrefixes
+
+    def setUriPrefixes(self, uriPrefixes):
+        self.uriPrefixes = uriPrefixes
+        self._decode()
+
+    def getUriPrefixIndices(self):
+        return self.uriPrefixIndices
+
+    def setUriPrefixIndices(self, uriPrefixIndices):
+        self.uriPrefixIndices = uriPrefixIndices
+        self._decode()
+
+    def getUriSuffixes(self):
+        return self.uriSuffixes
+
+    def setUriSuffixes(self, uriSuffixes):
+        self.uriSuffixes = uriSuffixes
+        self._decode()
+
+    def _decode(self):
+        # rebuild the dataURIs of a dictionary encoded message once every
+        # encoded field has been set, a prefix index of -1 means no prefix
+        if self.dataURIs is not None or self.uriPrefixes is None \
+                or self.uriPrefixIndices is None or self.uriSuffixes is None:
+            return
+        uris = []
+        for index, suffix in zip(self.uriPrefixIndices, self.uriSuffixes):
+            if index < 0:
+                uris.append(suffix)
+            else:
+                uris.append(self.uriPrefixes[index] + suffix)
+        self.dataURIs = uris
 
     def getIds(self):
         return self.ids
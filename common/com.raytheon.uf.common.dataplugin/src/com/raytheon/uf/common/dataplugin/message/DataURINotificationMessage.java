@@ -19,6 +19,11 @@
  **/
 package com.raytheon.uf.common.dataplugin.message;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import com.raytheon.uf.common.serialization.ISerializableObject;
 import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
 import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
@@ -26,12 +31,22 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
 /**
  * A message that contains a set of DataURIs that have been updated
  * 
+ * Large batches can be sent in a dictionary encoded form created by
+ * {@link #encode(String[])}. The leading plugin and refTime segments that many
+ * URIs have in common are sent once in uriPrefixes and each URI is sent as the
+ * index of its prefix and the remainder of the URI. The URIs are decoded as
+ * soon as all three encoded fields have been set by the deserializer, so
+ * receivers always use {@link #getDataURIs()}. An encoded message has no
+ * dataURIs until it has been through serialization, it should only be created
+ * to be sent to another JVM.
+ * 
  * <pre>
  * SOFTWARE HISTORY
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Sep 2, 2008             chammack    Initial creation
  * Feb 15, 2013 1638       mschenke    Moved from com.raytheon.edex.common project
+ * Oct 15, 2026            agent       Added dictionary encoded form.
  * </pre>
  * 
  * @author chammack
@@ -40,9 +55,99 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
 @DynamicSerialize
 public class DataURINotificationMessage implements ISerializableObject {
 
+    /** Number of leading segments, plugin name and refTime, in a prefix */
+    private static final int PREFIX_SEGMENTS = 2;
+
+    /** Prefix index of a URI that has no prefix */
+    private static final int NO_PREFIX = -1;
+
     @DynamicSerializeElement
     private String[] dataURIs;
 
+    @DynamicSerializeElement
+    private String[] uriPrefixes;
+
+    @DynamicSerializeElement
+    private int[] uriPrefixIndices;
+
+    @DynamicSerializeElement
+    private String[] uriSuffixes;
+
+    /**
+     * Create a message that holds the data URIs in dictionary encoded form.
+     * 
+     * @param dataURIs
+     * @return the encoded message
+     */
+    public static DataURINotificationMessage encode(String[] dataURIs) {
+        Map<String, Integer> prefixMap = new HashMap<>();
+        List<String> prefixes = new ArrayList<>();
+        int[] indices = new int[dataURIs.length];
+        String[] suffixes = new String[dataURIs.length];
+        for (int i = 0; i < dataURIs.length; i++) {
+            String uri = dataURIs[i];
+            int end = prefixEnd(uri);
+            if (end < 0) {
+                indices[i] = NO_PREFIX;
+                suffixes[i] = uri;
+                continue;
+            }
+            String prefix = uri.substring(0, end);
+            Integer index = prefixMap.get(prefix);
+            if (index == null) {
+                index = prefixes.size();
+                prefixMap.put(prefix, index);
+                prefixes.add(prefix);
+            }
+            indices[i] = index;
+            suffixes[i] = uri.substring(end);
+        }
+
+        DataURINotificationMessage msg = new DataURINotificationMessage();
+        msg.uriPrefixes = prefixes.toArray(new String[0]);
+        msg.uriPrefixIndices = indices;
+        msg.uriSuffixes = suffixes;
+        return msg;
+    }
+
+    /**
+     * @return the index just past the prefix of the uri, or -1 if the uri is
+     *         too short to have a prefix
+     */
+    private static int prefixEnd(String uri) {
+        if (uri == null) {
+            return -1;
+        }
+        int end = 0;
+        for (int i = 0; i <= PREFIX_SEGMENTS; i++) {
+            end = uri.indexOf('/', end) + 1;
+            if (end == 0) {
+                return -1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Rebuild the dataURIs once every encoded field has been set.
+     */
+    private void decode() {
+        if (dataURIs != null || uriPrefixes == null
+                || uriPrefixIndices == null || uriSuffixes == null) {
+            return;
+        }
+        String[] uris = new String[uriSuffixes.length];
+        for (int i = 0; i < uris.length; i++) {
+            int index = uriPrefixIndices[i];
+            if (index == NO_PREFIX) {
+                uris[i] = uriSuffixes[i];
+            } else {
+                uris[i] = uriPrefixes[index].concat(uriSuffixes[i]);
+            }
+        }
+        dataURIs = uris;
+    }
+
     /**
      * @return the dataURIs
      */
@@ -56,6 +161,56 @@ public class DataURINotificationMessage implements ISerializableObject {
      */
     public void setDataURIs(String[] dataURIs) {
         this.dataURIs = dataURIs;
+        // the deserializer sets an encoded message's dataURIs to null
+        decode();
+    }
+
+    /**
+     * @return the distinct leading segments of the encoded URIs
+     */
+    public String[] getUriPrefixes() {
+        return uriPrefixes;
+    }
+
+    /**
+     * @param uriPrefixes
+     *            the distinct leading segments of the encoded URIs
+     */
+    public void setUriPrefixes(String[] uriPrefixes) {
+        this.uriPrefixes = uriPrefixes;
+        decode();
+    }
+
+    /**
+     * @return for each encoded URI the index of its prefix
+     */
+    public int[] getUriPrefixIndices() {
+        return uriPrefixIndices;
+    }
+
+    /**
+     * @param uriPrefixIndices
+     *            for each encoded URI the index of its prefix
+     */
+    public void setUriPrefixIndices(int[] uriPrefixIndices) {
+        this.uriPrefixIndices = uriPrefixIndices;
+        decode();
+    }
+
+    /**
+     * @return the encoded URIs without their prefixes
+     */
+    public String[] getUriSuffixes() {
+        return uriSuffixes;
+    }
+
+    /**
+     * @param uriSuffixes
+     *            the encoded URIs without their prefixes
+     */
+    public void setUriSuffixes(String[] uriSuffixes) {
+        this.uriSuffixes = uriSuffixes;
+        decode();
     }
 
 }
@@ -22,17 +22,28 @@ package com.raytheon.uf.common.dataquery;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import com.raytheon.uf.common.dataquery.requests.RequestConstraint;
 import com.raytheon.uf.common.dataquery.requests.RequestConstraint.ConstraintType;
+import com.raytheon.uf.common.status.IPerformanceStatusHandler;
+import com.raytheon.uf.common.status.PerformanceStatus;
+import com.raytheon.uf.common.time.util.ITimer;
+import com.raytheon.uf.common.time.util.TimeUtil;
+import com.raytheon.uf.common.util.concurrent.NamedThreadFactory;
 
 /**
  * 
@@ -43,6 +54,12 @@ import com.raytheon.uf.common.dataquery.requests.RequestConstraint.ConstraintTyp
  * The algorithm is based on the idea that searches must be as fast as possible,
  * work on wildcarded attributes, and inserts are relatively infrequent.
  * 
+ * Inserts and removes that rebuild the tree only update the branch of the
+ * criteria being inserted or removed. Over many updates the tree can drift
+ * from the shape a full rebuild would produce, trees that change often can
+ * call {@link #setRebalanceDelay(long)} to have a full rebuild scheduled once
+ * enough updates have accumulated.
+ * 
  * <pre>
  * SOFTWARE HISTORY
  * Date          Ticket#  Engineer    Description
@@ -54,6 +71,10 @@ import com.raytheon.uf.common.dataquery.requests.RequestConstraint.ConstraintTyp
  *                                    {@link ConstraintType#ISNULL}
  * Dec 18, 2013  2579     bsteffen    Replace synchronization with a
  *                                    read/write lock.
+ * Oct 15, 2026           agent       Index the children of decision nodes by
+ *                                    constraint value.
+ * Oct 15, 2026           agent       Update the tree incrementally on insert
+ *                                    and remove, log rebuild times.
  * 
  * </pre>
  * 
@@ -65,6 +86,12 @@ public class DecisionTree<T> {
 
     private static final double LOG_2 = Math.log(2.0);
 
+    private static final IPerformanceStatusHandler perfLog = PerformanceStatus
+            .getHandler("DecisionTree:");
+
+    private static volatile boolean indexEnabled = Boolean.parseBoolean(
+            System.getProperty("decisiontree.index.enabled", "true"));
+
     public static enum NodeType {
         LEAF, DECISION
     };
@@ -80,6 +107,12 @@ public class DecisionTree<T> {
 
         public RequestConstraint decision;
 
+        /** Index of nodeChildren by decision, null for leaves */
+        public ChildIndex index;
+
+        /** The examples of a leaf, in the same order as values */
+        public List<DataPair> pairs;
+
         public void rebuildTree(List<DataPair> examples,
                 List<String> usedAttribs, int lvl) {
             EntropyPair[] entropyPair = null;
@@ -187,6 +220,7 @@ public class DecisionTree<T> {
                     System.out
                             .println("Error in the algorithm, this shouldn't happen");
                 }
+                this.index = new ChildIndex(nodeChildren);
 
             } else {
                 makeLeaf(examples);
@@ -220,10 +254,216 @@ public class DecisionTree<T> {
         private void makeLeaf(List<DataPair> leafExamples) {
             this.type = NodeType.LEAF;
             this.values = new ArrayList<T>();
+            this.pairs = new ArrayList<DataPair>(leafExamples);
             for (DataPair e : leafExamples) {
                 this.values.add(e.data);
             }
         }
+
+        /**
+         * @return the child whose decision equals the value, or null
+         */
+        private Node findChild(RequestConstraint value) {
+            if (index == null) {
+                return null;
+            }
+            int i = index.equalTo(value).nextSetBit(0);
+            return i < 0 ? null : nodeChildren.get(i);
+        }
+
+        /**
+         * Turn a leaf back into a decision node so it can be rebuilt.
+         */
+        private void clearLeaf() {
+            this.type = NodeType.DECISION;
+            this.values = null;
+            this.pairs = null;
+        }
+    }
+
+    /**
+     * Groups the children of a decision node by the type of their decision
+     * so that a search only evaluates the children that can possibly match a
+     * value:
+     * <ul>
+     * <li>EQUALS and IN children are hashed by each of their values, a String
+     * value is matched with a single lookup.</li>
+     * <li>Range children with numeric bounds are sorted by lower bound, a
+     * Number value only evaluates the children whose lower bound it reaches.
+     * </li>
+     * <li>Everything else, and any value the shortcuts cannot handle, falls
+     * back to {@link RequestConstraint#evaluate(Object)}.</li>
+     * </ul>
+     * The children matched by the index are always the same as the children
+     * matched by evaluating every constraint.
+     */
+    private class ChildIndex {
+
+        /** Children with no decision or the wildcard */
+        private final BitSet always = new BitSet();
+
+        /** EQUALS and IN children by each of their values */
+        private final Map<String, BitSet> byValue = new HashMap<>();
+
+        /** All EQUALS and IN children */
+        private final BitSet valueChildren = new BitSet();
+
+        /** Range children with numeric bounds ordered by lower bound */
+        private int[] ranges = new int[0];
+
+        private double[] lowerBounds = new double[0];
+
+        /** Children that must always be evaluated */
+        private final BitSet others = new BitSet();
+
+        /** Children by their exact decision */
+        private final Map<RequestConstraint, BitSet> byDecision = new HashMap<>();
+
+        private final List<Node> children;
+
+        public ChildIndex(List<Node> children) {
+            this.children = children;
+            List<double[]> rangeList = new ArrayList<>();
+            for (int i = 0; i < children.size(); i += 1) {
+                RequestConstraint c = children.get(i).decision;
+                bitSet(byDecision, c).set(i);
+                if (c == null || c == RequestConstraint.WILDCARD) {
+                    always.set(i);
+                    continue;
+                }
+                ConstraintType type = c.getConstraintType();
+                if (type == ConstraintType.EQUALS
+                        && c.getConstraintValue() != null) {
+                    valueChildren.set(i);
+                    bitSet(byValue, c.getConstraintValue()).set(i);
+                } else if (type == ConstraintType.IN
+                        && c.getConstraintValue() != null) {
+                    valueChildren.set(i);
+                    for (String value : c.splitConstraintValueList()) {
+                        bitSet(byValue, value).set(i);
+                    }
+                } else {
+                    double lower = lowerBound(c);
+                    if (Double.isNaN(lower)) {
+                        others.set(i);
+                    } else {
+                        rangeList.add(new double[] { lower, i });
+                    }
+                }
+            }
+            if (!rangeList.isEmpty()) {
+                double[][] sorted = rangeList
+                        .toArray(new double[rangeList.size()][]);
+                Arrays.sort(sorted, (a, b) -> Double.compare(a[0], b[0]));
+                ranges = new int[sorted.length];
+                lowerBounds = new double[sorted.length];
+                for (int i = 0; i < sorted.length; i += 1) {
+                    lowerBounds[i] = sorted[i][0];
+                    ranges[i] = (int) sorted[i][1];
+                }
+            }
+        }
+
+        private <K> BitSet bitSet(Map<K, BitSet> map, K key) {
+            BitSet bits = map.get(key);
+            if (bits == null) {
+                bits = new BitSet();
+                map.put(key, bits);
+            }
+            return bits;
+        }
+
+        /**
+         * @return the smallest number a range constraint can match, or NaN if
+         *         the constraint is not a range with numeric bounds
+         */
+        private double lowerBound(RequestConstraint c) {
+            if (c.getConstraintValue() == null) {
+                return Double.NaN;
+            }
+            try {
+                switch (c.getConstraintType()) {
+                case BETWEEN:
+                    String[] bounds = c.splitBetweenValueList();
+                    if (bounds.length != 2) {
+                        return Double.NaN;
+                    }
+                    Double.parseDouble(bounds[1]);
+                    return Double.parseDouble(bounds[0]);
+                case GREATER_THAN:
+                case GREATER_THAN_EQUALS:
+                    return Double.parseDouble(c.getConstraintValue());
+                case LESS_THAN:
+                case LESS_THAN_EQUALS:
+                    Double.parseDouble(c.getConstraintValue());
+                    return Double.NEGATIVE_INFINITY;
+                default:
+                    return Double.NaN;
+                }
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+
+        /**
+         * @return the children whose decision evaluates true for the value
+         */
+        public BitSet evaluate(Object value) {
+            BitSet matched = (BitSet) always.clone();
+            if (value instanceof Number || value instanceof Date) {
+                evaluate(valueChildren, value, matched);
+            } else if (value != null) {
+                BitSet bits = byValue.get(value.toString());
+                if (bits != null) {
+                    matched.or(bits);
+                }
+            }
+
+            if (value instanceof Number) {
+                double d = ((Number) value).doubleValue();
+                for (int i = 0; i < ranges.length
+                        && lowerBounds[i] <= d; i += 1) {
+                    if (children.get(ranges[i]).decision.evaluate(value)) {
+                        matched.set(ranges[i]);
+                    }
+                }
+            } else if (value != null) {
+                for (int range : ranges) {
+                    if (children.get(range).decision.evaluate(value)) {
+                        matched.set(range);
+                    }
+                }
+            }
+
+            evaluate(others, value, matched);
+            return matched;
+        }
+
+        private void evaluate(BitSet candidates, Object value, BitSet matched) {
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates
+                    .nextSetBit(i + 1)) {
+                if (children.get(i).decision.evaluate(value)) {
+                    matched.set(i);
+                }
+            }
+        }
+
+        /**
+         * @return the children whose decision equals the value
+         */
+        public BitSet equalTo(Object value) {
+            if (value == null || value instanceof RequestConstraint) {
+                BitSet bits = byDecision.get(value);
+                return bits == null ? new BitSet(0) : bits;
+            }
+            BitSet matched = new BitSet();
+            for (int i = 0; i < children.size(); i += 1) {
+                if (value.equals(children.get(i).decision)) {
+                    matched.set(i);
+                }
+            }
+            return matched;
+        }
     }
 
     protected class DataPair {
@@ -244,10 +484,55 @@ public class DecisionTree<T> {
 
     private Node head;
 
+    /**
+     * False when criteria have been inserted without rebuilding, the tree
+     * must then be fully rebuilt to include them.
+     */
+    private boolean treeCurrent = true;
+
+    /** Number of incremental updates since the last full rebuild */
+    private int updatesSinceRebuild = 0;
+
+    /** Delay before a scheduled rebalance, negative to never rebalance */
+    private volatile long rebalanceDelay = -1;
+
+    private boolean rebalanceScheduled = false;
+
     public DecisionTree() {
         dataPairs = new ArrayList<DataPair>();
     }
 
+    /**
+     * Schedule a full rebuild of the tree, the given time after the number of
+     * incremental updates since the last rebuild exceeds a quarter of the
+     * size of the tree. Updates made while the rebuild is pending are folded
+     * into the same rebuild.
+     * 
+     * @param delayMillis
+     *            delay before rebuilding, negative to never rebuild
+     *            automatically
+     */
+    public void setRebalanceDelay(long delayMillis) {
+        this.rebalanceDelay = delayMillis;
+    }
+
+    /**
+     * @return true if searches use the indexes of decision nodes
+     */
+    public static boolean isIndexEnabled() {
+        return indexEnabled;
+    }
+
+    /**
+     * Switch between indexed searches and evaluating every constraint of
+     * every node that is visited.
+     * 
+     * @param indexEnabled
+     */
+    public static void setIndexEnabled(boolean indexEnabled) {
+        DecisionTree.indexEnabled = indexEnabled;
+    }
+
     public void insertCriteria(Map<String, RequestConstraint> searchCriteria,
             T item, boolean rebuild) {
         if (searchCriteria == null)
@@ -259,7 +544,12 @@ public class DecisionTree<T> {
         lock.writeLock().lock();
         try {
             this.dataPairs.add(e);
-            if (rebuild) {
+            if (!rebuild) {
+                treeCurrent = false;
+            } else if (treeCurrent && head != null) {
+                insertIntoTree(e);
+                updated();
+            } else {
                 rebuildTree();
             }
         } finally {
@@ -270,6 +560,11 @@ public class DecisionTree<T> {
     public void rebuildTree() {
         lock.writeLock().lock();
         try {
+            ITimer timer = TimeUtil.getTimer();
+            timer.start();
+            int updates = updatesSinceRebuild;
+            treeCurrent = true;
+            updatesSinceRebuild = 0;
             if (this.dataPairs.size() == 0) {
                 this.head = null;
                 return;
@@ -277,11 +572,128 @@ public class DecisionTree<T> {
 
             this.head = new Node();
             this.head.rebuildTree(dataPairs, new ArrayList<String>(), 0);
+            timer.stop();
+            perfLog.logDuration("Rebuilt tree of " + dataPairs.size()
+                    + " criteria after " + updates + " incremental updates",
+                    timer.getElapsedTime());
         } finally {
             lock.writeLock().unlock();
         }
     }
 
+    /**
+     * Add criteria to the branch of the tree that it belongs to. A new branch
+     * is grown where no node has a matching decision, and a leaf is only
+     * rebuilt when the criteria have attributes the leaf has not decided on.
+     * 
+     * @param pair
+     */
+    private void insertIntoTree(DataPair pair) {
+        List<String> usedAttribs = new ArrayList<String>();
+        Node node = head;
+        int lvl = 0;
+        while (node.type != NodeType.LEAF) {
+            RequestConstraint value = pair.metadata.get(node.decisionAttribute);
+            Node child = node.findChild(value);
+            usedAttribs.add(node.decisionAttribute);
+            if (child == null) {
+                child = new Node();
+                child.type = NodeType.DECISION;
+                child.decision = value;
+                child.rebuildTree(Collections.singletonList(pair),
+                        usedAttribs, lvl + 1);
+                node.nodeChildren.add(child);
+                node.index = new ChildIndex(node.nodeChildren);
+                return;
+            }
+            node = child;
+            lvl += 1;
+        }
+        if (usedAttribs.containsAll(pair.metadata.keySet())) {
+            node.pairs.add(pair);
+            node.values.add(pair.data);
+        } else {
+            List<DataPair> examples = new ArrayList<DataPair>(node.pairs);
+            examples.add(pair);
+            node.clearLeaf();
+            node.rebuildTree(examples, usedAttribs, lvl);
+        }
+    }
+
+    /**
+     * Remove criteria from the leaf it was inserted into, pruning any branch
+     * that is left empty.
+     * 
+     * @param pair
+     * @return false if the criteria could not be found, which happens if the
+     *         criteria map was modified after it was inserted
+     */
+    private boolean removeFromTree(DataPair pair) {
+        List<Node> path = new ArrayList<Node>();
+        Node node = head;
+        while (node != null && node.type != NodeType.LEAF) {
+            path.add(node);
+            node = node.findChild(pair.metadata.get(node.decisionAttribute));
+        }
+        if (node == null) {
+            return false;
+        }
+        int i = 0;
+        while (i < node.pairs.size() && node.pairs.get(i) != pair) {
+            i += 1;
+        }
+        if (i == node.pairs.size()) {
+            return false;
+        }
+        node.pairs.remove(i);
+        node.values.remove(i);
+
+        Node empty = node.pairs.isEmpty() ? node : null;
+        for (int p = path.size() - 1; empty != null && p >= 0; p -= 1) {
+            Node parent = path.get(p);
+            parent.nodeChildren.remove(empty);
+            parent.index = new ChildIndex(parent.nodeChildren);
+            empty = parent.nodeChildren.isEmpty() ? parent : null;
+        }
+        if (empty == head) {
+            head = null;
+        }
+        return true;
+    }
+
+    /**
+     * Count an incremental update and schedule a rebalance if enough have
+     * accumulated. Must hold the write lock.
+     */
+    private void updated() {
+        updatesSinceRebuild += 1;
+        long delay = rebalanceDelay;
+        if (delay >= 0 && !rebalanceScheduled
+                && updatesSinceRebuild > dataPairs.size() / 4) {
+            rebalanceScheduled = true;
+            RebalanceExecutor.INSTANCE.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    lock.writeLock().lock();
+                    try {
+                        rebalanceScheduled = false;
+                        if (updatesSinceRebuild > 0) {
+                            rebuildTree();
+                        }
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Lazily created thread shared by all trees for scheduled rebalances */
+    private static class RebalanceExecutor {
+        private static final ScheduledExecutorService INSTANCE = new ScheduledThreadPoolExecutor(
+                1, new NamedThreadFactory("DecisionTreeRebalance"));
+    }
+
     public void insertCriteria(Map<String, RequestConstraint> searchCriteria,
             T item) {
         insertCriteria(searchCriteria, item, true);
@@ -356,6 +768,25 @@ public class DecisionTree<T> {
 
         Object parsedValue = searchCriteria.get(curNode.decisionAttribute);
 
+        if (indexEnabled && curNode.index != null) {
+            BitSet matched;
+            if (!evaluatedConstraint) {
+                matched = curNode.index.equalTo(parsedValue);
+            } else if (searchCriteria
+                    .containsKey(curNode.decisionAttribute)) {
+                matched = curNode.index.evaluate(parsedValue);
+            } else {
+                matched = null;
+            }
+            for (int i = 0; i < curNode.nodeChildren.size(); i += 1) {
+                if (matched == null || matched.get(i)) {
+                    searchTree(curNode.nodeChildren.get(i), searchCriteria,
+                            resultList, lvl + 1, evaluatedConstraint);
+                }
+            }
+            return;
+        }
+
         boolean foundSomething = false;
         if (evaluatedConstraint) {
             // Have nodes evaluate against parsedValue, continue if
@@ -400,9 +831,8 @@ public class DecisionTree<T> {
     public void remove(T item) {
         lock.writeLock().lock();
         try {
-            boolean itemRemoved = false;
+            List<DataPair> removed = new ArrayList<DataPair>(1);
 
-            // This could be optimized but removes are a very uncommon operation
             Iterator<DataPair> exampleIterator = dataPairs.iterator();
             while (exampleIterator.hasNext()) {
                 DataPair example = exampleIterator.next();
@@ -410,11 +840,19 @@ public class DecisionTree<T> {
                 // equivalent item
                 if (example.data == item) {
                     exampleIterator.remove();
-                    itemRemoved = true;
+                    removed.add(example);
                 }
             }
-            if (itemRemoved) {
-                rebuildTree();
+            if (!removed.isEmpty()) {
+                boolean incremental = treeCurrent;
+                for (DataPair example : removed) {
+                    incremental = incremental && removeFromTree(example);
+                }
+                if (incremental) {
+                    updated();
+                } else {
+                    rebuildTree();
+                }
             }
         } finally {
             lock.writeLock().unlock();
@@ -67,6 +67,8 @@ import com.raytheon.uf.common.time.util.TimeUtil;
  * Jun 30, 2016  5725     tgurney     Add NOT IN
  * Jul 05, 2016  5728     mapeters    Add RequestConstraint(String[], boolean)
  * Jul 07, 2016  5728     mapeters    Add more String & Date support in evaluate()
+ * Oct 15, 2026           agent       Cache the compiled LIKE pattern, add
+ *                                    methods to split IN and BETWEEN values
  * 
  * 
  * </pre>
@@ -304,6 +306,27 @@ public class RequestConstraint implements Cloneable {
 
     }
 
+    /**
+     * Split the value of an {@link ConstraintType#IN} or
+     * {@link ConstraintType#NOT_IN} constraint into the individual values
+     * that {@link #evaluate(Object)} compares against.
+     * 
+     * @return the individual values
+     */
+    public String[] splitConstraintValueList() {
+        return IN_PATTERN.split(constraintValue);
+    }
+
+    /**
+     * Split the value of a {@link ConstraintType#BETWEEN} constraint into the
+     * bounds that {@link #evaluate(Object)} compares against.
+     * 
+     * @return the bounds, a valid constraint has exactly two
+     */
+    public String[] splitBetweenValueList() {
+        return BETWEEN_PATTERN.split(constraintValue);
+    }
+
     /**
      * 
      * @param constraintValues
@@ -353,11 +376,12 @@ public class RequestConstraint implements Cloneable {
         } else if (constraintType == ConstraintType.NOT_IN) {
             return !isIn(value);
         } else if (constraintType == ConstraintType.LIKE) {
-            String regex = constraintValue.replace("%", ".*");
-            if (value.toString().matches(regex)) {
-                return true;
+            Pattern regex = (Pattern) asMap.get(Pattern.class);
+            if (regex == null) {
+                regex = Pattern.compile(constraintValue.replace("%", ".*"));
+                asMap.put(Pattern.class, regex);
             }
-            return false;
+            return regex.matcher(value.toString()).matches();
         }
 
         if (value instanceof Date) {
@@ -0,0 +1,282 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.dataquery;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint;
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint.ConstraintType;
+
+/**
+ * Unit tests for DecisionTree, searches that use the indexes of decision
+ * nodes must find exactly the items found by evaluating every constraint.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+
+public class TestDecisionTree {
+
+    private static final String TIME_1 = "2026-10-15 12:00:00.0";
+
+    private static final String TIME_2 = "2026-10-15 18:00:00.0";
+
+    private static final RequestConstraint[] STATIONS = {
+            new RequestConstraint("KOAX"),
+            new RequestConstraint("KOAX,KWBC", ConstraintType.IN),
+            new RequestConstraint("KOAX, KDMX", ConstraintType.IN),
+            new RequestConstraint("K%", ConstraintType.LIKE),
+            new RequestConstraint("%X", ConstraintType.LIKE),
+            new RequestConstraint(null, ConstraintType.ISNULL),
+            new RequestConstraint(null, ConstraintType.ISNOTNULL),
+            new RequestConstraint("KOAX", ConstraintType.NOT_EQUALS),
+            new RequestConstraint("KOAX,KWBC", ConstraintType.NOT_IN),
+            new RequestConstraint("KA", "KM"),
+            new RequestConstraint("KM", ConstraintType.GREATER_THAN),
+            new RequestConstraint("KOAX", ConstraintType.LESS_THAN_EQUALS),
+            new RequestConstraint("null"), RequestConstraint.WILDCARD };
+
+    private static final RequestConstraint[] LEVELS = {
+            new RequestConstraint("500"),
+            new RequestConstraint("500.0"),
+            new RequestConstraint("abc"),
+            new RequestConstraint("250,500,850", ConstraintType.IN),
+            new RequestConstraint("1000, abc", ConstraintType.IN),
+            new RequestConstraint("0", "500"),
+            new RequestConstraint("-100", "0"),
+            new RequestConstraint("500", ConstraintType.GREATER_THAN),
+            new RequestConstraint("500", ConstraintType.GREATER_THAN_EQUALS),
+            new RequestConstraint("250", ConstraintType.LESS_THAN),
+            new RequestConstraint("250", ConstraintType.LESS_THAN_EQUALS),
+            new RequestConstraint("1e3", ConstraintType.GREATER_THAN_EQUALS),
+            new RequestConstraint("500", ConstraintType.NOT_EQUALS),
+            new RequestConstraint("250,850", ConstraintType.NOT_IN),
+            new RequestConstraint("5%", ConstraintType.LIKE),
+            new RequestConstraint(null, ConstraintType.ISNULL),
+            RequestConstraint.WILDCARD };
+
+    private static final RequestConstraint[] TIMES = {
+            new RequestConstraint(TIME_1),
+            new RequestConstraint(TIME_1 + "," + TIME_2, ConstraintType.IN),
+            new RequestConstraint(TIME_1, ConstraintType.GREATER_THAN),
+            new RequestConstraint(TIME_2, ConstraintType.LESS_THAN),
+            new RequestConstraint(TIME_1, TIME_2),
+            new RequestConstraint(null, ConstraintType.ISNULL),
+            new RequestConstraint(null, ConstraintType.ISNOTNULL) };
+
+    private static final Object[] STATION_VALUES = { "KOAX", "KWBC", "KDMX",
+            "KZZZ", "AOAX", "koax", "null", "", null };
+
+    private static final Object[] LEVEL_VALUES = { 500, 500.0, 500.0f, 250L,
+            850.0, 0, -1, 1000, 1000.0, 499.9999999, 500.0000001, -100.0,
+            5000, Double.NaN, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, "500", "abc", "5", null };
+
+    private static final Object[] TIME_VALUES = {
+            new Date(1792065600000L), new Date(1792087200000L),
+            new Date(1792076400000L), new Date(0), null };
+
+    private static final String[] ATTRIBUTES = { "station", "level",
+            "time" };
+
+    private static final Object[][] ATTRIBUTE_VALUES = { STATION_VALUES,
+            LEVEL_VALUES, TIME_VALUES };
+
+    private static final RequestConstraint[][] ATTRIBUTE_CONSTRAINTS = {
+            STATIONS, LEVELS, TIMES };
+
+    /**
+     * @return an equal constraint that is not the same object
+     */
+    private static RequestConstraint copy(RequestConstraint c) {
+        return c == RequestConstraint.WILDCARD ? c : c.clone();
+    }
+
+    private static Map<String, RequestConstraint> randomCriteria(
+            Random random) {
+        Map<String, RequestConstraint> criteria = new HashMap<>();
+        for (int a = 0; a < ATTRIBUTES.length; a++) {
+            RequestConstraint[] constraints = ATTRIBUTE_CONSTRAINTS[a];
+            // leave some attributes out of the criteria
+            int choice = random.nextInt(constraints.length + 1);
+            if (choice < constraints.length) {
+                criteria.put(ATTRIBUTES[a], copy(constraints[choice]));
+            }
+        }
+        return criteria;
+    }
+
+    private static Map<String, Object> randomSearch(Random random) {
+        Map<String, Object> search = new HashMap<>();
+        for (int a = 0; a < ATTRIBUTES.length; a++) {
+            Object[] values = ATTRIBUTE_VALUES[a];
+            // leave some attributes out of the search
+            int choice = random.nextInt(values.length + 1);
+            if (choice < values.length) {
+                search.put(ATTRIBUTES[a], values[choice]);
+            }
+        }
+        return search;
+    }
+
+    /**
+     * @return the items whose criteria all evaluate true for the search
+     */
+    private static List<Integer> linear(
+            List<Map<String, RequestConstraint>> criteria,
+            Map<String, Object> search) {
+        List<Integer> matching = new ArrayList<>();
+        for (int i = 0; i < criteria.size(); i++) {
+            boolean matches = true;
+            for (Map.Entry<String, RequestConstraint> entry : criteria.get(i)
+                    .entrySet()) {
+                if (search.containsKey(entry.getKey())
+                        && !entry.getValue().evaluate(
+                                search.get(entry.getKey()))) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                matching.add(i);
+            }
+        }
+        return matching;
+    }
+
+    private static List<Integer> sorted(List<Integer> items) {
+        List<Integer> sorted = new ArrayList<>(items);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static List<Integer> search(DecisionTree<Integer> tree,
+            Map<String, Object> search, boolean indexEnabled) {
+        boolean enabled = DecisionTree.isIndexEnabled();
+        DecisionTree.setIndexEnabled(indexEnabled);
+        try {
+            return sorted(tree.searchTree(search));
+        } finally {
+            DecisionTree.setIndexEnabled(enabled);
+        }
+    }
+
+    private static List<Integer> searchUsingConstraints(
+            DecisionTree<Integer> tree,
+            Map<String, RequestConstraint> search, boolean indexEnabled) {
+        boolean enabled = DecisionTree.isIndexEnabled();
+        DecisionTree.setIndexEnabled(indexEnabled);
+        try {
+            return sorted(tree.searchTreeUsingContraints(search));
+        } finally {
+            DecisionTree.setIndexEnabled(enabled);
+        }
+    }
+
+    private static void assertSearchesMatch(DecisionTree<Integer> tree,
+            List<Map<String, RequestConstraint>> criteria, Random random) {
+        for (int i = 0; i < 2000; i++) {
+            Map<String, Object> search = randomSearch(random);
+            List<Integer> expected = linear(criteria, search);
+            assertEquals(search.toString(), expected,
+                    search(tree, search, true));
+            assertEquals(search.toString(), expected,
+                    search(tree, search, false));
+        }
+        for (Map<String, RequestConstraint> search : criteria) {
+            assertEquals(search.toString(),
+                    searchUsingConstraints(tree, search, false),
+                    searchUsingConstraints(tree, search, true));
+        }
+    }
+
+    @Test
+    public void testRebuiltTreeMatchesLinearSearch() {
+        Random random = new Random(0);
+        DecisionTree<Integer> tree = new DecisionTree<>();
+        List<Map<String, RequestConstraint>> criteria = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            criteria.add(randomCriteria(random));
+            tree.insertCriteria(criteria.get(i), i, false);
+        }
+        tree.rebuildTree();
+        assertSearchesMatch(tree, criteria, random);
+    }
+
+    @Test
+    public void testIncrementalTreeMatchesLinearSearch() {
+        Random random = new Random(1);
+        DecisionTree<Integer> tree = new DecisionTree<>();
+        List<Map<String, RequestConstraint>> criteria = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            criteria.add(randomCriteria(random));
+            tree.insertCriteria(criteria.get(i), i, false);
+        }
+        tree.rebuildTree();
+        // inserted into the existing tree, which updates the indexes
+        for (int i = 100; i < 200; i++) {
+            criteria.add(randomCriteria(random));
+            tree.insertCriteria(criteria.get(i), i);
+        }
+        assertSearchesMatch(tree, criteria, random);
+    }
+
+    @Test
+    public void testConstraintSearchFindsEqualCriteria() {
+        DecisionTree<Integer> tree = new DecisionTree<>();
+        List<Map<String, RequestConstraint>> criteria = new ArrayList<>();
+        for (int a = 0; a < STATIONS.length; a++) {
+            Map<String, RequestConstraint> map = new HashMap<>();
+            map.put("station", STATIONS[a]);
+            map.put("level", LEVELS[a % LEVELS.length]);
+            criteria.add(map);
+            tree.insertCriteria(map, a, false);
+        }
+        tree.rebuildTree();
+        for (int a = 0; a < criteria.size(); a++) {
+            Map<String, RequestConstraint> search = new HashMap<>();
+            for (Map.Entry<String, RequestConstraint> entry : criteria.get(a)
+                    .entrySet()) {
+                search.put(entry.getKey(), copy(entry.getValue()));
+            }
+            assertEquals(Collections.singletonList(a),
+                    searchUsingConstraints(tree, search, true));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastorage;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.raytheon.uf.common.datastorage.IDataStore.StoreOp;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.util.concurrent.NamedThreadFactory;
+
+/**
+ * Adapts a blocking {@link IDataStore} to {@link IAsyncDataStore} by running
+ * each operation on an executor. This is not asynchronous I/O: every
+ * operation in flight holds an executor thread for its whole request, so the
+ * number of concurrent requests is limited by the pool size. It only lets a
+ * caller overlap several blocking reads and wait for them together.
+ *
+ * By default all instances share a single pool of daemon threads, sized by
+ * the system property datastore.async.threads, with a queue of
+ * datastore.async.queue operations. When the queue is full the operation runs
+ * on the calling thread so a backlog cannot grow without bound.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 15, 2026           agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class BlockingDataStoreAdapter implements IAsyncDataStore {
+
+    private static final int THREADS = Integer.getInteger(
+            "datastore.async.threads", 16);
+
+    private static final int QUEUE_SIZE = Integer.getInteger(
+            "datastore.async.queue", 4 * THREADS);
+
+    private static ExecutorService sharedExecutor;
+
+    private final IDataStore dataStore;
+
+    private final Executor executor;
+
+    /**
+     * Adapt a data store using the shared executor.
+     *
+     * @param dataStore
+     *            the data store to wrap
+     */
+    public BlockingDataStoreAdapter(IDataStore dataStore) {
+        this(dataStore, getSharedExecutor());
+    }
+
+    /**
+     * @param dataStore
+     *            the data store to wrap
+     * @param executor
+     *            executor that runs the blocking operations
+     */
+    public BlockingDataStoreAdapter(IDataStore dataStore, Executor executor) {
+        this.dataStore = dataStore;
+        this.executor = executor;
+    }
+
+    private static synchronized ExecutorService getSharedExecutor() {
+        if (sharedExecutor == null) {
+            sharedExecutor = new ThreadPoolExecutor(THREADS, THREADS, 0L,
+                    TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(
+                            QUEUE_SIZE),
+                    new NamedThreadFactory("datastore-async"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return sharedExecutor;
+    }
+
+    @Override
+    public void addDataRecord(IDataRecord dataset, StorageProperties properties)
+            throws StorageException {
+        dataStore.addDataRecord(dataset, properties);
+    }
+
+    @Override
+    public CompletableFuture<StorageStatus> store(StoreOp storeOp) {
+        return submit(() -> dataStore.store(storeOp));
+    }
+
+    @Override
+    public CompletableFuture<IDataRecord[]> retrieve(String group) {
+        return submit(() -> dataStore.retrieve(group));
+    }
+
+    @Override
+    public CompletableFuture<IDataRecord> retrieve(String group,
+            String dataset, Request request) {
+        return submit(() -> dataStore.retrieve(group, dataset, request));
+    }
+
+    @Override
+    public CompletableFuture<IDataRecord[]> retrieveDatasets(
+            String[] datasetGroupPath, Request request) {
+        return submit(() -> dataStore.retrieveDatasets(datasetGroupPath,
+                request));
+    }
+
+    @Override
+    public CompletableFuture<IDataRecord[]> retrieveGroups(String[] groups,
+            Request request) {
+        return submit(() -> dataStore.retrieveGroups(groups, request));
+    }
+
+    @Override
+    public CompletableFuture<IDataRecord[]> retrieveFromFiles(
+            List<DatasetRetrieval> retrievals) {
+        return submit(() -> dataStore.retrieveFromFiles(retrievals));
+    }
+
+    private <T> CompletableFuture<T> submit(StorageOperation<T> operation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (future.isCancelled()) {
+                return;
+            }
+            try {
+                future.complete(operation.run());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    @FunctionalInterface
+    private static interface StorageOperation<T> {
+        T run() throws Exception;
+    }
+
+}
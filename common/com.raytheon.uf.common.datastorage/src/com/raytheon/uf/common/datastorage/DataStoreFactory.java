@@ -48,6 +48,7 @@ import com.raytheon.uf.common.datastorage.records.StringDataRecord;
  *                                       {@link #isInterpolated} from various classes.
  * Nov 18, 2014    3549     njensen     Support StringDataRecord in both createStorageRecord() methods
  * Apr 24, 2015    4425     nabowle     Add DoubleDataRecord
+ * Oct 15, 2026             agent       Add getAsyncDataStore
  *
  *
  * </pre>
@@ -114,6 +115,17 @@ public class DataStoreFactory {
         return instance.underlyingFactory.getDataStore(file, useLocking);
     }
 
+    /**
+     * Get a data store whose read and store operations return futures instead
+     * of blocking the calling thread.
+     *
+     * @param file
+     * @return the async data store
+     */
+    public static IAsyncDataStore getAsyncDataStore(File file) {
+        return instance.underlyingFactory.getAsyncDataStore(file, true);
+    }
+
     /**
      * Create an AbstractStorageRecord from given parameters.
      *
@@ -0,0 +1,98 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastorage;
+
+import java.io.File;
+
+/**
+ * Identifies a single dataset, and the portion of it to read, in a specific
+ * file. Used with {@link IDataStore#retrieveFromFiles(java.util.List)} to read
+ * datasets from many files in as few requests as possible.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 15, 2026           agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class DatasetRetrieval {
+
+    private final File file;
+
+    private final String group;
+
+    private final String dataset;
+
+    private final Request request;
+
+    /**
+     * Constructor
+     *
+     * @param file
+     *            the file containing the dataset
+     * @param group
+     *            the data group name
+     * @param dataset
+     *            the dataset name
+     * @param request
+     *            the request type to perform
+     */
+    public DatasetRetrieval(File file, String group, String dataset,
+            Request request) {
+        this.file = file;
+        this.group = group;
+        this.dataset = dataset;
+        this.request = request == null ? Request.ALL : request;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public String getDataset() {
+        return dataset;
+    }
+
+    public Request getRequest() {
+        return request;
+    }
+
+    /**
+     * @return the full path of the dataset within the file
+     */
+    public String getDatasetGroupPath() {
+        return group + DataStoreFactory.DEF_SEPARATOR + dataset;
+    }
+
+    @Override
+    public String toString() {
+        return file + ":" + getDatasetGroupPath() + " " + request;
+    }
+
+}
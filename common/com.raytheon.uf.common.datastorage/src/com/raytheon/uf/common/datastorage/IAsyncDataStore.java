@@ -0,0 +1,110 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.datastorage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.raytheon.uf.common.datastorage.IDataStore.StoreOp;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+
+/**
+ * Asynchronous variant of the read and store operations of {@link IDataStore}.
+ * Methods usually return before the operation finishes and the returned future
+ * is completed when it does, or completed exceptionally with the
+ * {@link StorageException} or FileNotFoundException that the equivalent
+ * IDataStore method would have thrown.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 15, 2026           agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public interface IAsyncDataStore {
+
+    /**
+     * Add a datarecord with optional properties.
+     *
+     * NOTE: Record is not written to disk until store method is called.
+     *
+     * @param dataset
+     *            the data to add to the write
+     * @param properties
+     *            the storage characteristics of the data (optional)
+     * @throws StorageException
+     */
+    public void addDataRecord(IDataRecord dataset, StorageProperties properties)
+            throws StorageException;
+
+    /**
+     * Store all data added using addDataRecord.
+     *
+     * @param storeOp
+     *            store operation
+     * @return the status of the store
+     */
+    public CompletableFuture<StorageStatus> store(StoreOp storeOp);
+
+    /**
+     * Retrieves all data at a given group.
+     *
+     * @see IDataStore#retrieve(String)
+     */
+    public CompletableFuture<IDataRecord[]> retrieve(String group);
+
+    /**
+     * Retrieve a single dataset with optional subsetting
+     *
+     * @see IDataStore#retrieve(String, String, Request)
+     */
+    public CompletableFuture<IDataRecord> retrieve(String group,
+            String dataset, Request request);
+
+    /**
+     * Retrieve multiple datasets from a single file
+     *
+     * @see IDataStore#retrieveDatasets(String[], Request)
+     */
+    public CompletableFuture<IDataRecord[]> retrieveDatasets(
+            String[] datasetGroupPath, Request request);
+
+    /**
+     * Retrieve multiple groups from a single file
+     *
+     * @see IDataStore#retrieveGroups(String[], Request)
+     */
+    public CompletableFuture<IDataRecord[]> retrieveGroups(String[] groups,
+            Request request);
+
+    /**
+     * Retrieve datasets from any number of files
+     *
+     * @see IDataStore#retrieveFromFiles(List)
+     */
+    public CompletableFuture<IDataRecord[]> retrieveFromFiles(
+            List<DatasetRetrieval> retrievals);
+
+}
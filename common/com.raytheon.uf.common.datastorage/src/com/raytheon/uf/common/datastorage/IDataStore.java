@@ -20,8 +20,11 @@
 
 package com.raytheon.uf.common.datastorage;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.raytheon.uf.common.datastorage.StorageProperties.Compression;
@@ -46,6 +49,9 @@ import com.raytheon.uf.common.datastorage.records.IDataRecord;
  * Jul 30, 2015  1574     nabowle     Add #deleteOrphanData(Date)
  * Feb 24, 2016  5389     nabowle     Refactor to #deleteOrphanData(Map<String,Date>)
  * Feb 29, 2016  5420     tgurney     Remove timestampCheck arg from copy()
+ * Oct 15, 2026           agent       Added retrieveFromFiles(List)
+ * Oct 15, 2026           agent       Made retrieveFromFiles(List) a default
+ *                                    method
  *
  * </pre>
  *
@@ -196,6 +202,38 @@ public interface IDataStore {
     public abstract IDataRecord[] retrieveGroups(String[] groups,
             Request request) throws StorageException, FileNotFoundException;
 
+    /**
+     * Retrieve datasets from any number of files. Unlike the other retrieve
+     * methods this is not restricted to the file this data store was created
+     * for, so the datasets for an entire loop of frames can be requested at
+     * once and the implementation is free to combine or pipeline the
+     * requests. The default implementation retrieves each dataset in turn
+     * from a data store for its file.
+     *
+     * @param retrievals
+     *            the datasets to retrieve
+     * @return the data records, in the same order as the retrievals
+     * @throws StorageException
+     * @throws FileNotFoundException
+     */
+    public default IDataRecord[] retrieveFromFiles(
+            List<DatasetRetrieval> retrievals)
+            throws StorageException, FileNotFoundException {
+        IDataRecord[] result = new IDataRecord[retrievals.size()];
+        Map<File, IDataStore> dataStores = new HashMap<>();
+        for (int i = 0; i < result.length; i++) {
+            DatasetRetrieval retrieval = retrievals.get(i);
+            IDataStore dataStore = dataStores.get(retrieval.getFile());
+            if (dataStore == null) {
+                dataStore = DataStoreFactory.getDataStore(retrieval.getFile());
+                dataStores.put(retrieval.getFile(), dataStore);
+            }
+            result[i] = dataStore.retrieve(retrieval.getGroup(),
+                    retrieval.getDataset(), retrieval.getRequest());
+        }
+        return result;
+    }
+
     /**
      * List all the datasets available inside a group
      *
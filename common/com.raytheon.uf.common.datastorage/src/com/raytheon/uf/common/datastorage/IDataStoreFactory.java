@@ -31,6 +31,7 @@ import java.io.File;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Nov 8, 2011            mschenke     Initial creation
+ * Oct 15, 2026            agent        Added getAsyncDataStore
  * 
  * </pre>
  * 
@@ -42,4 +43,19 @@ public interface IDataStoreFactory {
 
     public IDataStore getDataStore(File file, boolean useLocking);
 
+    /**
+     * Get a data store whose operations return futures. By default each
+     * operation of the blocking data store runs on, and holds, a thread of a
+     * shared pool; factories with a non-blocking transport should override
+     * this.
+     *
+     * @param file
+     * @param useLocking
+     * @return the async data store
+     */
+    public default IAsyncDataStore getAsyncDataStore(File file,
+            boolean useLocking) {
+        return new BlockingDataStoreAdapter(getDataStore(file, useLocking));
+    }
+
 }
@@ -19,16 +19,23 @@
  **/
 package com.raytheon.uf.common.http;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.List;
 
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.http.HttpHeaders;
 
+import com.raytheon.uf.common.util.compression.CompressionCodecs;
+import com.raytheon.uf.common.util.compression.ICompressionCodec;
+
 /**
- * Utility to handle response encoding for servlet response objects (eg gzip)
+ * Utility to handle response encoding for servlet response objects (eg gzip).
+ * Any codec enabled for negotiation in {@link CompressionCodecs} can be
+ * negotiated, the acceptable codec with the highest q value wins and ties go
+ * to the codec CompressionCodecs prefers.
  * 
  * <pre>
  * 
@@ -37,6 +44,8 @@ import org.apache.http.HttpHeaders;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Jan 05, 2015 3789       bclement     Initial creation
+ * Oct 15, 2026            agent        Negotiate the compression codecs
+ *                                      enabled in CompressionCodecs
  * 
  * </pre>
  * 
@@ -49,9 +58,9 @@ public class ResponseEncoder {
 
     /**
      * Gets response output stream from http servlet object. If accept encoding
-     * includes gzip, the response stream will be wrapped in a gzip output
-     * stream and the content encoding header of the response will be set to
-     * gzip
+     * includes a negotiated codec, the response stream will be wrapped in a
+     * compressing output stream and the content encoding header of the
+     * response will be set to the codec name
      * 
      * @param acceptEncoding
      * @param response
@@ -61,19 +70,53 @@ public class ResponseEncoder {
     public static OutputStream getResponseStream(String acceptEncoding,
             HttpServletResponse response) throws IOException {
         OutputStream rval;
-        /*
-         * TODO allow for registration of different response encoders and do
-         * matching based on accept encoding q values
-         */
-        if (acceptsGzip(acceptEncoding)) {
-            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
-            rval = new GZIPOutputStream(response.getOutputStream());
+        ICompressionCodec codec = negotiate(acceptEncoding);
+        if (codec != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, codec.getName());
+            OutputStream out = response.getOutputStream();
+            rval = new EncodedOutputStream(codec.compress(out), out);
         } else {
             rval = response.getOutputStream();
         }
         return rval;
     }
 
+    /**
+     * Pick the codec to encode a response with.
+     * 
+     * @param acceptEncoding
+     * @return the negotiated codec with the highest q value in accept
+     *         encoding or null if none are acceptable
+     */
+    public static ICompressionCodec negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        ICompressionCodec rval = null;
+        double bestQ = 0;
+        int bestRank = Integer.MAX_VALUE;
+        List<String> preference = CompressionCodecs.getNegotiatedNames();
+        AcceptHeaderParser parser = new AcceptHeaderParser(acceptEncoding);
+        for (AcceptHeaderValue value : parser) {
+            if (!value.isAcceptable()) {
+                continue;
+            }
+            ICompressionCodec codec = CompressionCodecs.get(value
+                    .getEncoding());
+            if (codec == null || !preference.contains(codec.getName())) {
+                continue;
+            }
+            int rank = preference.indexOf(codec.getName());
+            if (value.getQvalue() > bestQ
+                    || (value.getQvalue() == bestQ && rank < bestRank)) {
+                rval = codec;
+                bestQ = value.getQvalue();
+                bestRank = rank;
+            }
+        }
+        return rval;
+    }
+
     /**
      * @param acceptEncoding
      * @return true if accept encoding includes gzip
@@ -94,4 +137,32 @@ public class ResponseEncoder {
         return rval;
     }
 
+    /**
+     * Closes the servlet stream after the codec stream has been finished,
+     * since codec streams leave the stream they wrap open.
+     */
+    private static class EncodedOutputStream extends FilterOutputStream {
+
+        private final OutputStream target;
+
+        public EncodedOutputStream(OutputStream encoded, OutputStream target) {
+            super(encoded);
+            this.target = target;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.close();
+            } finally {
+                target.close();
+            }
+        }
+    }
+
 }
@@ -53,6 +53,11 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * The base PointData object, containing a set of parameters for a set of
  * observations/forecasts.
  * 
+ * Parameters are stored as columns, one primitive (or dictionary encoded
+ * string) array per parameter. Rows can be read through a
+ * {@link PointDataView} per observation or, for scans over many rows, through
+ * a single {@link PointDataCursor} which avoids creating an object per row.
+ * 
  * <pre>
  * 
  * SOFTWARE HISTORY
@@ -60,6 +65,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * ------------- -------- ----------- --------------------------
  * Apr 08, 2009           chammack    Initial creation
  * Dec 02, 2013  2537     bsteffen    Remove ISerializableObject
+ * Oct 15, 2026           agent       Add cursor() and ensureCapacity()
  * 
  * </pre>
  * 
@@ -319,6 +325,16 @@ public class PointDataContainer {
         pdv.curIdx = idx;
     }
 
+    /**
+     * Create a cursor for view free access to the rows of this container. The
+     * cursor is positioned before the first row.
+     * 
+     * @return a new cursor
+     */
+    public PointDataCursor cursor() {
+        return new PointDataCursor(this);
+    }
+
     public PointDataView append() {
         PointDataView pdv = new PointDataView();
         pdv.mode = Mode.APPEND;
@@ -330,7 +346,7 @@ public class PointDataContainer {
     protected void append(PointDataView pdv) {
         int newSz = (currentSz + 1);
         if (newSz > allocatedSz) {
-            resizeAll(2.0);
+            resizeAll(Math.max(newSz, allocatedSz * 2));
         }
 
         pdv.curIdx = currentSz;
@@ -338,8 +354,22 @@ public class PointDataContainer {
 
     }
 
-    private void resizeAll(double ratio) {
-        int newSize = (int) (allocatedSz * ratio);
+    /**
+     * Make sure the container can hold at least the given number of rows
+     * without growing. Callers that know how many observations they will
+     * append should call this first so the columns are allocated once
+     * instead of being copied on every doubling.
+     * 
+     * @param sz
+     *            the number of rows
+     */
+    public void ensureCapacity(int sz) {
+        if (sz > allocatedSz) {
+            resizeAll(sz);
+        }
+    }
+
+    private void resizeAll(int newSize) {
         for (AbstractPointDataObject<?> apdo : this.pointDataTypes.values()) {
             if (apdo.getDimensions() == 2) {
                 apdo.resize(newSize * apdo.getDescription().getDimensionAsInt());
@@ -0,0 +1,210 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.pointdata;
+
+import com.raytheon.uf.common.pointdata.elements.AbstractPointDataObject;
+import com.raytheon.uf.common.pointdata.elements.FloatPointDataObject;
+import com.raytheon.uf.common.pointdata.elements.IntPointDataObject;
+import com.raytheon.uf.common.pointdata.elements.LongPointDataObject;
+import com.raytheon.uf.common.pointdata.elements.StringPointDataObject;
+
+/**
+ * View free access to the rows of a {@link PointDataContainer}. A single
+ * cursor is moved across the rows instead of creating a {@link PointDataView}
+ * for every observation, and parameters are resolved to their column once so
+ * that reading a value is a plain array access:
+ * 
+ * <pre>
+ * PointDataCursor cursor = container.cursor();
+ * FloatPointDataObject temp = cursor.getFloatColumn(&quot;temperature&quot;);
+ * while (cursor.next()) {
+ *     float t = cursor.getFloat(temp);
+ * }
+ * </pre>
+ * 
+ * Like the elements themselves, the value accessors do no range checking of
+ * levels beyond the bounds of the underlying array.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 15, 2026           agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class PointDataCursor {
+
+    private final PointDataContainer container;
+
+    private int row = -1;
+
+    PointDataCursor(PointDataContainer container) {
+        this.container = container;
+    }
+
+    /**
+     * Advance to the next row.
+     * 
+     * @return false if there are no more rows
+     */
+    public boolean next() {
+        if (row + 1 >= container.getCurrentSz()) {
+            row = container.getCurrentSz();
+            return false;
+        }
+        row++;
+        return true;
+    }
+
+    /**
+     * Move directly to a row.
+     * 
+     * @param row
+     */
+    public void moveTo(int row) {
+        if (row < 0 || row >= container.getCurrentSz()) {
+            throw new IndexOutOfBoundsException("Current size is: "
+                    + container.getCurrentSz());
+        }
+        this.row = row;
+    }
+
+    /**
+     * Position the cursor before the first row.
+     */
+    public void reset() {
+        this.row = -1;
+    }
+
+    /**
+     * @return the current row
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return a view of the current row, for passing to code that requires
+     *         one
+     */
+    public PointDataView getView() {
+        return container.readRandom(row);
+    }
+
+    public PointDataContainer getContainer() {
+        return container;
+    }
+
+    public AbstractPointDataObject<?> getColumn(String parameter) {
+        AbstractPointDataObject<?> p = container.getParamSafe(parameter);
+        if (p.getContainer() == null) {
+            p.setContainer(container);
+        }
+        return p;
+    }
+
+    public FloatPointDataObject getFloatColumn(String parameter) {
+        AbstractPointDataObject<?> p = getColumn(parameter);
+        if (!(p instanceof FloatPointDataObject)) {
+            throw new IllegalArgumentException("Parameter " + parameter
+                    + " is not natively a float type");
+        }
+        return (FloatPointDataObject) p;
+    }
+
+    public IntPointDataObject getIntColumn(String parameter) {
+        AbstractPointDataObject<?> p = getColumn(parameter);
+        if (!(p instanceof IntPointDataObject)) {
+            throw new IllegalArgumentException("Parameter " + parameter
+                    + " is not natively an int type");
+        }
+        return (IntPointDataObject) p;
+    }
+
+    public LongPointDataObject getLongColumn(String parameter) {
+        AbstractPointDataObject<?> p = getColumn(parameter);
+        if (!(p instanceof LongPointDataObject)) {
+            throw new IllegalArgumentException("Parameter " + parameter
+                    + " is not natively a long type");
+        }
+        return (LongPointDataObject) p;
+    }
+
+    public StringPointDataObject getStringColumn(String parameter) {
+        AbstractPointDataObject<?> p = getColumn(parameter);
+        if (!(p instanceof StringPointDataObject)) {
+            throw new IllegalArgumentException("Parameter " + parameter
+                    + " is not a string type");
+        }
+        return (StringPointDataObject) p;
+    }
+
+    public Number getNumber(AbstractPointDataObject<?> column) {
+        return column.getNumber(index(column));
+    }
+
+    public Number getNumber(AbstractPointDataObject<?> column, int level) {
+        return column.getNumber(index(column) + level);
+    }
+
+    public float getFloat(FloatPointDataObject column) {
+        return column.getFloat(index(column));
+    }
+
+    public float getFloat(FloatPointDataObject column, int level) {
+        return column.getFloat(index(column) + level);
+    }
+
+    public int getInt(IntPointDataObject column) {
+        return column.getInt(index(column));
+    }
+
+    public int getInt(IntPointDataObject column, int level) {
+        return column.getInt(index(column) + level);
+    }
+
+    public long getLong(LongPointDataObject column) {
+        return column.getLong(index(column));
+    }
+
+    public long getLong(LongPointDataObject column, int level) {
+        return column.getLong(index(column) + level);
+    }
+
+    public String getString(StringPointDataObject column) {
+        return column.getString(index(column));
+    }
+
+    public String getString(StringPointDataObject column, int level) {
+        return column.getString(index(column) + level);
+    }
+
+    private int index(AbstractPointDataObject<?> column) {
+        if (column.getDimensions() == 1) {
+            return row;
+        }
+        return row * column.getDescription().getDimensionAsInt();
+    }
+
+}
@@ -19,6 +19,7 @@
  **/
 package com.raytheon.uf.common.pointdata;
 
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint.ConstraintType;
 import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
 import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
 
@@ -26,6 +27,11 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * 
  * Emulates RequestConstraint in a thrift-safe way
  * 
+ * Besides constraints on database fields, {@link #envelope} restricts the
+ * request to stations inside a lat/lon box and {@link #valueRange} to rows
+ * where a parameter stored in hdf5 is within a range. Both are applied on the
+ * server before any hdf5 parameters are retrieved.
+ * 
  * <pre>
  * 
  * SOFTWARE HISTORY
@@ -33,6 +39,7 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
  * ------------- -------- ----------- --------------------------
  * Jan 20, 2010           chammack    Initial creation
  * Dec 02, 2013  2537     bsteffen    Remove ISerializableObject
+ * Oct 15, 2026           agent       Add envelope and valueRange
  * 
  * </pre>
  * 
@@ -50,6 +57,50 @@ public class PointDataRequestMessageConstraint {
     @DynamicSerializeElement
     private int constraintType;
 
+    public PointDataRequestMessageConstraint() {
+
+    }
+
+    public PointDataRequestMessageConstraint(String parameter, String value,
+            ConstraintType constraintType) {
+        this.parameter = parameter;
+        this.value = value;
+        this.constraintType = constraintType.ordinal();
+    }
+
+    /**
+     * Create the constraints for a lat/lon envelope on the station location.
+     * Envelopes crossing the dateline must be split by the caller.
+     * 
+     * @return a constraint on longitude and one on latitude
+     */
+    public static PointDataRequestMessageConstraint[] envelope(double minLon,
+            double minLat, double maxLon, double maxLat) {
+        return new PointDataRequestMessageConstraint[] {
+                between(PointDataServerRequest.LONGITUDE_KEY, minLon, maxLon),
+                between(PointDataServerRequest.LATITUDE_KEY, minLat, maxLat) };
+    }
+
+    /**
+     * Create an inclusive range constraint on the value of a parameter stored
+     * in hdf5.
+     * 
+     * @param parameter
+     *            the point data parameter
+     * @return the constraint
+     */
+    public static PointDataRequestMessageConstraint valueRange(
+            String parameter, double min, double max) {
+        return between(PointDataServerRequest.REQUEST_VALUE_FILTER_PREFIX
+                + parameter, min, max);
+    }
+
+    private static PointDataRequestMessageConstraint between(String parameter,
+            double min, double max) {
+        return new PointDataRequestMessageConstraint(parameter, min + "--"
+                + max, ConstraintType.BETWEEN);
+    }
+
     /**
      * @return the parameter
      */
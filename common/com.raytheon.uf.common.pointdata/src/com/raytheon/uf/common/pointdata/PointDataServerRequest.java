@@ -37,6 +37,7 @@ import com.raytheon.uf.common.serialization.comm.IServerRequest;
  * ------------- -------- ----------- --------------------------
  * Feb 16, 2011  8070     ekladstrup  Initial creation
  * Nov 26, 2013  2537     bsteffen    Move common constants here.
+ * Oct 15, 2026           agent       Add REQUEST_VALUE_FILTER_PREFIX
  * 
  * 
  * </pre>
@@ -55,6 +56,18 @@ public class PointDataServerRequest implements IServerRequest {
 
     public static final String REQUEST_MODE_PARAMETERS = "getParameters";
 
+    /**
+     * Prefix for constraints on the value of a parameter stored in hdf5, for
+     * example "valueFilter.temperature". Rows that do not match are removed
+     * on the server before the requested parameters are retrieved.
+     */
+    public static final String REQUEST_VALUE_FILTER_PREFIX = "valueFilter.";
+
+    /** Database fields used for envelope constraints on point locations */
+    public static final String LATITUDE_KEY = "location.latitude";
+
+    public static final String LONGITUDE_KEY = "location.longitude";
+
     // the information needed for a PointDataQuery object
     @DynamicSerializeElement
     private Map<String, RequestConstraint> rcMap;
@@ -19,6 +19,9 @@
  **/
 package com.raytheon.uf.common.pointdata.elements;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -33,12 +36,23 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
 /**
  * A string data container
  * 
+ * Point data string columns are dominated by a small set of repeated values
+ * (station ids, report types, cloud and weather codes) while every value
+ * decoded from thrift or hdf5 is a distinct String instance. Columns are
+ * therefore dictionary encoded in memory: each distinct value is held once
+ * and the column references it. A column that exceeds
+ * {@link #MAX_DICTIONARY_SIZE} distinct values, such as raw report text, drops
+ * its dictionary and is stored plain. The serialized form is unchanged.
+ * Encoding can be disabled with the pointdata.string.dictionary system
+ * property.
+ * 
  * <pre>
  * 
  * SOFTWARE HISTORY
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Apr 8, 2009            chammack     Initial creation
+ * Oct 15, 2026            agent        Dictionary encode values in memory
  * 
  * </pre>
  * 
@@ -48,6 +62,18 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
 @DynamicSerialize
 @XmlAccessorType(XmlAccessType.NONE)
 public class StringPointDataObject extends AbstractPointDataObject<String[]> {
+
+    /** Most distinct values a column holds before its dictionary is dropped */
+    public static final int MAX_DICTIONARY_SIZE = Integer.getInteger(
+            "pointdata.string.dictionary.size", 4096);
+
+    private static final boolean DICTIONARY_ENABLED = Boolean
+            .parseBoolean(System.getProperty("pointdata.string.dictionary",
+                    "true"));
+
+    /** canonical instance of each distinct value, null when stored plain */
+    private transient Map<String, String> dictionary;
+
     @DynamicSerializeElement
     @XmlElement
     protected String[] stringData;
@@ -60,12 +86,13 @@ public class StringPointDataObject extends AbstractPointDataObject<String[]> {
             ParameterDescription description, int dims) {
         super(container, description, dims);
         this.stringData = new String[0];
+        this.dictionary = newDictionary();
     }
 
     public StringPointDataObject(PointDataContainer container,
             StringDataRecord rec) {
         super(container, rec);
-        this.stringData = rec.getStringData();
+        setData(rec.getStringData());
     }
 
     /**
@@ -77,10 +104,10 @@ public class StringPointDataObject extends AbstractPointDataObject<String[]> {
 
     /**
      * @param stringData
-     *            the stringData to set
+     *            the stringData to set, see {@link #setData(String[])}
      */
     public void setStringData(String[] stringData) {
-        this.stringData = stringData;
+        setData(stringData);
     }
 
     /*
@@ -107,8 +134,18 @@ public class StringPointDataObject extends AbstractPointDataObject<String[]> {
         }
     }
 
+    /**
+     * Use the array as the data of this column. The array is not copied, it
+     * becomes the storage of the column, so its values are replaced in place
+     * by the equal canonical values of the dictionary. Callers that need the
+     * array to keep its original String instances must pass a copy.
+     * 
+     * @param data
+     */
     public void setData(String[] data) {
         this.stringData = data;
+        this.dictionary = newDictionary();
+        encode(data, 0);
     }
 
     @Override
@@ -163,7 +200,7 @@ public class StringPointDataObject extends AbstractPointDataObject<String[]> {
         }
 
         // Assumes range checking is provided by the view
-        stringData[idx] = val;
+        stringData[idx] = encode(val);
     }
 
     /*
@@ -186,6 +223,45 @@ public class StringPointDataObject extends AbstractPointDataObject<String[]> {
         System.arraycopy(this.stringData, 0, d, 0, this.stringData.length);
         System.arraycopy(intP.stringData, 0, d, this.stringData.length,
                 intP.stringData.length);
+        encode(d, this.stringData.length);
         this.stringData = d;
     }
+
+    /**
+     * @return the number of distinct values held by the dictionary of this
+     *         column, or -1 if the column is stored plain
+     */
+    public int getDictionarySize() {
+        return dictionary == null ? -1 : dictionary.size();
+    }
+
+    private static Map<String, String> newDictionary() {
+        return DICTIONARY_ENABLED ? new HashMap<String, String>() : null;
+    }
+
+    private void encode(String[] data, int from) {
+        if (data == null) {
+            return;
+        }
+        for (int i = from; i < data.length && dictionary != null; i++) {
+            data[i] = encode(data[i]);
+        }
+    }
+
+    private String encode(String value) {
+        if (dictionary == null) {
+            return value;
+        }
+        String canonical = dictionary.get(value);
+        if (canonical == null) {
+            if (dictionary.size() >= MAX_DICTIONARY_SIZE) {
+                // mostly unique values, a dictionary only costs memory
+                dictionary = null;
+                return value;
+            }
+            dictionary.put(value, value);
+            canonical = value;
+        }
+        return canonical;
+    }
 }
@@ -30,6 +30,7 @@
 #    ------------    ----------    -----------    --------------------------
 #    12/02/16        5992          bsteffen       Initial Creation.
 #    06/26/17        6341          rjpeter        Optimize decompress
+#    10/15/26                      agent          Decompress with the record's codec
 #
 
 import numpy
@@ -39,6 +40,7 @@ class CompressedDataRecord(object):
 
     def __init__(self):
         self.type = None
+        self.codec = None
         self.uncompressedData = None
         self.compressedData = None
         self.name = None
@@ -58,6 +60,12 @@ class CompressedDataRecord(object):
     def setType(self, type):
         self.type = type
 
+    def getCodec(self):
+        return self.codec
+
+    def setCodec(self, codec):
+        self.codec = codec
+
     def getCompressedData(self):
         return self.compressedData
 
@@ -151,9 +159,21 @@ class CompressedDataRecord(object):
         for s in self.sizes:
             uncompressedSize *= s
 
-        # zlib.MAX_WBITS | 16, add 16 to window bits to support gzip header/trailer
-        # http://www.zlib.net/manual.html#Advanced
-        decompressedBuffer = zlib.decompress(compressedBuffer, zlib.MAX_WBITS | 16, uncompressedSize)
+        # a codec of None is gzip
+        if self.codec is None or self.codec == "gzip":
+            # zlib.MAX_WBITS | 16, add 16 to window bits to support gzip header/trailer
+            # http://www.zlib.net/manual.html#Advanced
+            decompressedBuffer = zlib.decompress(compressedBuffer, zlib.MAX_WBITS | 16, uncompressedSize)
+        elif self.codec == "deflate":
+            decompressedBuffer = zlib.decompress(compressedBuffer, zlib.MAX_WBITS, uncompressedSize)
+        elif self.codec == "lz4":
+            import lz4.frame
+            decompressedBuffer = lz4.frame.decompress(compressedBuffer)
+        elif self.codec == "zstd":
+            import zstandard
+            decompressedBuffer = zstandard.ZstdDecompressor().decompress(compressedBuffer, max_output_size=uncompressedSize)
+        else:
+            raise ValueError("Unexpected compression codec " + str(self.codec))
         self.uncompressedData = numpy.frombuffer(decompressedBuffer, datatype)
 
     def retrieveDataObject(self):
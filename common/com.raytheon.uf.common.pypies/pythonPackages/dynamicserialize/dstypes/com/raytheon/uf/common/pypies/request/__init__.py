@@ -29,6 +29,7 @@ __all__ = [
             'DeleteOrphansRequest',
             'DeleteRequest',
             'GroupsRequest',
+            'MultiFileRetrieveRequest',
             'RepackRequest',
             'RetrieveRequest',
             'StoreRequest'
@@ -42,6 +43,7 @@ from DeleteFilesRequest import DeleteFilesRequest
 from DeleteOrphansRequest import DeleteOrphansRequest
 from DeleteRequest import DeleteRequest
 from GroupsRequest import GroupsRequest
+from MultiFileRetrieveRequest import MultiFileRetrieveRequest
 from RepackRequest import RepackRequest
 from RetrieveRequest import RetrieveRequest
 from StoreRequest import StoreRequest
@@ -0,0 +1,405 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.pypies;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.raytheon.uf.common.comm.HttpClient;
+import com.raytheon.uf.common.comm.NetworkStatistics;
+
+/**
+ * A size bounded, least recently used cache of pypies responses. Entries are
+ * weighted by the number of bytes in the response so the limit is a memory
+ * limit rather than an entry count.
+ *
+ * Each entry records the groups it read so that it can be invalidated when new
+ * data arrives for one of those groups; for hdf5 data the group name starts
+ * with the dataURI of the record. When any group in a file is invalidated, all
+ * entries for that file are removed since new data may change the file's
+ * group and dataset listings. New data may also land in a file that has no
+ * cached group for it, so the listings of every file of the plugin of the
+ * dataURI are removed as well; hdf5 files are always stored beneath a
+ * directory named for the plugin. Data written to a group that is not named by
+ * its dataURI is not detected, cached reads of such a group are only dropped
+ * when the file is invalidated explicitly or the entry is evicted.
+ *
+ * Every invalidation advances a generation number. A response fetched before
+ * an invalidation may describe the file as it was before the write, so
+ * callers read {@link #getGeneration()} before making the request and pass it
+ * to {@link #put(String, String, String[], Object, long, long)}, which drops
+ * the response if any invalidation has happened since.
+ *
+ * Hits, misses and the bytes saved by each hit are logged to a
+ * {@link NetworkStatistics}.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 15, 2026           agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class DataRecordCache {
+
+    /** Identifier used for logging to the network statistics */
+    public static final String STATS_IDENTIFIER = "DataRecordCache";
+
+    /** Request prefix of cached dataset listings */
+    public static final String NAMES_PREFIX = "names:";
+
+    /** Request prefix of cached whole group retrievals */
+    public static final String GROUPS_PREFIX = "groups:";
+
+    /** Rough per entry cost of the key, indices and response objects */
+    private static final long ENTRY_OVERHEAD = 256;
+
+    private final long maxBytes;
+
+    private final NetworkStatistics stats;
+
+    private long currentBytes;
+
+    /** Incremented by every invalidation */
+    private long generation;
+
+    /** Access ordered so that the first entry is the least recently used */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16,
+            0.75f, true);
+
+    /** The cached keys of every file */
+    private final Map<String, Set<Key>> fileIndex = new HashMap<>();
+
+    /** The cached keys that read each group, sorted for prefix lookups */
+    private final TreeMap<String, Set<Key>> groupIndex = new TreeMap<>();
+
+    /**
+     * Constructor, logs to the statistics of the {@link HttpClient}
+     *
+     * @param maxBytes
+     *            the maximum size of the cached responses
+     */
+    public DataRecordCache(long maxBytes) {
+        this(maxBytes, HttpClient.getInstance().getStats());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxBytes
+     *            the maximum size of the cached responses
+     * @param stats
+     *            where to log cache hits and misses
+     */
+    public DataRecordCache(long maxBytes, NetworkStatistics stats) {
+        this.maxBytes = maxBytes;
+        this.stats = stats;
+    }
+
+    /**
+     * Get a cached response
+     *
+     * @param file
+     *            the file the request was made against
+     * @param request
+     *            a string that uniquely identifies the request within the file
+     * @return the cached response, or null if it is not cached
+     */
+    public synchronized Object get(String file, String request) {
+        Entry entry = entries.get(new Key(file, request));
+        if (entry == null) {
+            stats.logCacheMiss(STATS_IDENTIFIER);
+            return null;
+        }
+        stats.logCacheHit(STATS_IDENTIFIER, entry.sizeInBytes);
+        return entry.response;
+    }
+
+    /**
+     * @return the current generation, to be read before making a request
+     *         whose response will be cached
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Add a response to the cache, evicting the least recently used responses
+     * if the cache is full. Responses larger than a quarter of the cache are
+     * not cached so that a single large read does not flush the cache, and
+     * responses to requests made before the latest invalidation are not
+     * cached since they may predate the write that caused it.
+     *
+     * @param file
+     *            the file the request was made against
+     * @param request
+     *            a string that uniquely identifies the request within the file
+     * @param groups
+     *            the groups read by the request
+     * @param response
+     *            the response, this must not be modified after it is cached
+     * @param sizeInBytes
+     *            the size of the response
+     * @param requestGeneration
+     *            the value of {@link #getGeneration()} before the request was
+     *            made
+     */
+    public synchronized void put(String file, String request, String[] groups,
+            Object response, long sizeInBytes, long requestGeneration) {
+        long weight = sizeInBytes + ENTRY_OVERHEAD;
+        if (requestGeneration != generation || weight > maxBytes / 4) {
+            return;
+        }
+        Key key = new Key(file, request);
+        Entry old = entries.get(key);
+        if (old != null) {
+            remove(old);
+        }
+
+        Entry entry = new Entry(key, groups, response, weight);
+        entries.put(key, entry);
+        currentBytes += weight;
+        index(fileIndex, file, key);
+        for (String group : groups) {
+            index(groupIndex, group, key);
+        }
+
+        Iterator<Entry> it = entries.values().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            unindex(eldest);
+        }
+    }
+
+    /**
+     * Remove every cached response for a file.
+     *
+     * @param file
+     */
+    public synchronized void invalidateFile(String file) {
+        generation += 1;
+        Set<Key> keys = fileIndex.get(file);
+        if (keys != null) {
+            for (Key key : new ArrayList<>(keys)) {
+                remove(entries.get(key));
+            }
+        }
+    }
+
+    /**
+     * Remove every cached response for every file beneath a directory.
+     *
+     * @param directory
+     */
+    public synchronized void invalidateDirectory(String directory) {
+        generation += 1;
+        String prefix = directory.endsWith("/") ? directory : directory + "/";
+        for (String file : new ArrayList<>(fileIndex.keySet())) {
+            if (file.startsWith(prefix)) {
+                invalidateFile(file);
+            }
+        }
+    }
+
+    /**
+     * Remove every cached response for a file that contains a group starting
+     * with any of the dataURIs, and the group and dataset listings of every
+     * file of the plugins of the dataURIs. Cached reads of groups that are not
+     * named by a dataURI are not removed.
+     *
+     * @param dataURIs
+     *            the dataURIs of newly stored data
+     */
+    public synchronized void invalidate(String... dataURIs) {
+        generation += 1;
+        if (entries.isEmpty()) {
+            return;
+        }
+        Set<String> files = new HashSet<>();
+        Set<String> plugins = new HashSet<>();
+        for (String dataURI : dataURIs) {
+            for (Set<Key> keys : groupIndex.subMap(dataURI,
+                    dataURI + Character.MAX_VALUE).values()) {
+                for (Key key : keys) {
+                    files.add(key.file);
+                }
+            }
+            int start = dataURI.startsWith("/") ? 1 : 0;
+            int end = dataURI.indexOf('/', start);
+            plugins.add(end < 0 ? dataURI.substring(start)
+                    : dataURI.substring(start, end));
+        }
+        for (String file : files) {
+            invalidateFile(file);
+        }
+
+        List<Key> listings = new ArrayList<>();
+        for (Map.Entry<String, Set<Key>> file : fileIndex.entrySet()) {
+            if (isPluginFile(file.getKey(), plugins)) {
+                for (Key key : file.getValue()) {
+                    if (key.request.startsWith(NAMES_PREFIX)
+                            || key.request.startsWith(GROUPS_PREFIX)) {
+                        listings.add(key);
+                    }
+                }
+            }
+        }
+        for (Key key : listings) {
+            remove(entries.get(key));
+        }
+    }
+
+    /**
+     * @return true if the file is stored beneath the directory of any of the
+     *         plugins
+     */
+    private static boolean isPluginFile(String file, Set<String> plugins) {
+        for (String plugin : plugins) {
+            if (file.startsWith(plugin + "/")
+                    || file.contains("/" + plugin + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove every cached response
+     */
+    public synchronized void clear() {
+        generation += 1;
+        entries.clear();
+        fileIndex.clear();
+        groupIndex.clear();
+        currentBytes = 0;
+    }
+
+    /**
+     * @return the approximate number of bytes currently cached
+     */
+    public synchronized long getSizeInBytes() {
+        return currentBytes;
+    }
+
+    /**
+     * @return the maximum number of bytes that will be cached
+     */
+    public long getMaxSizeInBytes() {
+        return maxBytes;
+    }
+
+    private void remove(Entry entry) {
+        if (entry != null) {
+            entries.remove(entry.key);
+            unindex(entry);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        currentBytes -= entry.sizeInBytes;
+        unindex(fileIndex, entry.key.file, entry.key);
+        for (String group : entry.groups) {
+            unindex(groupIndex, group, entry.key);
+        }
+    }
+
+    private static void index(Map<String, Set<Key>> index, String name,
+            Key key) {
+        Set<Key> keys = index.get(name);
+        if (keys == null) {
+            keys = new HashSet<>();
+            index.put(name, keys);
+        }
+        keys.add(key);
+    }
+
+    private static void unindex(Map<String, Set<Key>> index, String name,
+            Key key) {
+        Set<Key> keys = index.get(name);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                index.remove(name);
+            }
+        }
+    }
+
+    private static final class Key {
+
+        private final String file;
+
+        private final String request;
+
+        public Key(String file, String request) {
+            this.file = file;
+            this.request = request;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * file.hashCode() + request.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return file.equals(other.file) && request.equals(other.request);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Key key;
+
+        private final String[] groups;
+
+        private final Object response;
+
+        private final long sizeInBytes;
+
+        public Entry(Key key, String[] groups, Object response,
+                long sizeInBytes) {
+            this.key = key;
+            this.groups = groups;
+            this.response = response;
+            this.sizeInBytes = sizeInBytes;
+        }
+    }
+
+}
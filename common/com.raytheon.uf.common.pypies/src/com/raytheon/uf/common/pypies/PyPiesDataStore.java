@@ -23,16 +23,25 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.raytheon.uf.common.comm.CommunicationException;
 import com.raytheon.uf.common.comm.HttpClient;
+import com.raytheon.uf.common.datastorage.DataStoreFactory;
+import com.raytheon.uf.common.datastorage.DatasetRetrieval;
 import com.raytheon.uf.common.datastorage.DuplicateRecordStorageException;
 import com.raytheon.uf.common.datastorage.IDataStore;
 import com.raytheon.uf.common.datastorage.Request;
@@ -51,6 +60,7 @@ import com.raytheon.uf.common.pypies.request.DeleteFilesRequest;
 import com.raytheon.uf.common.pypies.request.DeleteOrphansRequest;
 import com.raytheon.uf.common.pypies.request.DeleteRequest;
 import com.raytheon.uf.common.pypies.request.GroupsRequest;
+import com.raytheon.uf.common.pypies.request.MultiFileRetrieveRequest;
 import com.raytheon.uf.common.pypies.request.RepackRequest;
 import com.raytheon.uf.common.pypies.request.RetrieveRequest;
 import com.raytheon.uf.common.pypies.request.StoreRequest;
@@ -63,6 +73,7 @@ import com.raytheon.uf.common.serialization.DynamicSerializationManager.Serializ
 import com.raytheon.uf.common.serialization.SerializationException;
 import com.raytheon.uf.common.serialization.SerializationUtil;
 import com.raytheon.uf.common.util.FileUtil;
+import com.raytheon.uf.common.util.concurrent.NamedThreadFactory;
 import com.raytheon.uf.common.util.format.BytesFormat;
 
 /**
@@ -86,6 +97,12 @@ import com.raytheon.uf.common.util.format.BytesFormat;
  * Feb 29, 2016  5420      tgurney     Remove timestampCheck arg from copy()
  * Nov 15, 2016  5992      bsteffen    Compress large records
  * Oct 19, 2017  6367      tgurney     Use logger instead of stdout
+ * Oct 15, 2026            agent       Stream responses to huge requests
+ * Oct 15, 2026            agent       Added retrieveFromFiles(List)
+ * Oct 15, 2026            agent       Optionally cache responses in a
+ *                                     DataRecordCache
+ * Oct 15, 2026            agent       Don't cache responses that predate an
+ *                                     invalidation
  *
  * </pre>
  *
@@ -101,6 +118,24 @@ public class PyPiesDataStore implements IDataStore {
     private static final long COMPRESSION_LIMIT = BytesFormat
             .parseSystemProperty("pypies.limits.compression", "5MiB");
 
+    /**
+     * When true retrieveFromFiles() sends MultiFileRetrieveRequests, which
+     * requires a pypies server that understands them. Otherwise one
+     * DatasetDataRequest is sent per file, concurrently.
+     */
+    private static final boolean BULK_RETRIEVE = Boolean
+            .getBoolean("pypies.retrieve.bulk");
+
+    /** Maximum number of files in a single MultiFileRetrieveRequest */
+    private static final int BULK_RETRIEVE_FILES = Integer
+            .getInteger("pypies.retrieve.bulk.files", 64);
+
+    /** Number of requests retrieveFromFiles() will have in flight at once */
+    private static final int RETRIEVE_THREADS = Integer
+            .getInteger("pypies.retrieve.threads", 8);
+
+    private static ExecutorService retrieveExecutor;
+
     protected static String address = null;
 
     protected List<IDataRecord> records = new ArrayList<>();
@@ -109,12 +144,21 @@ public class PyPiesDataStore implements IDataStore {
 
     protected PypiesProperties props;
 
+    /** Cache of retrieve responses, may be null */
+    protected DataRecordCache cache;
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     public PyPiesDataStore(final File file, final boolean useLocking,
             final PypiesProperties props) {
+        this(file, useLocking, props, null);
+    }
+
+    public PyPiesDataStore(final File file, final boolean useLocking,
+            final PypiesProperties props, final DataRecordCache cache) {
         this.filename = FileUtil.edexPath(file.getPath()); // Win32
         this.props = props;
+        this.cache = cache;
     }
 
     @Override
@@ -152,7 +196,11 @@ public class PyPiesDataStore implements IDataStore {
             throws StorageException, FileNotFoundException {
         DeleteRequest delete = new DeleteRequest();
         delete.setDatasets(datasets);
-        sendRequest(delete);
+        try {
+            sendRequest(delete);
+        } finally {
+            invalidateCache();
+        }
     }
 
     @Override
@@ -160,7 +208,11 @@ public class PyPiesDataStore implements IDataStore {
             throws StorageException, FileNotFoundException {
         DeleteRequest delete = new DeleteRequest();
         delete.setGroups(groups);
-        sendRequest(delete);
+        try {
+            sendRequest(delete);
+        } finally {
+            invalidateCache();
+        }
     }
 
     @Override
@@ -216,6 +268,124 @@ public class PyPiesDataStore implements IDataStore {
         return resp.getRecords();
     }
 
+    @Override
+    public IDataRecord[] retrieveFromFiles(List<DatasetRetrieval> retrievals)
+            throws StorageException, FileNotFoundException {
+        IDataRecord[] result = new IDataRecord[retrievals.size()];
+        if (retrievals.isEmpty()) {
+            return result;
+        }
+
+        /*
+         * Every dataset in a file that shares a Request can be read with a
+         * single DatasetDataRequest.
+         */
+        Map<String, Map<Request, FileRetrieval>> byFile = new LinkedHashMap<>();
+        List<FileRetrieval> fileRetrievals = new ArrayList<>();
+        for (int i = 0; i < result.length; i++) {
+            DatasetRetrieval retrieval = retrievals.get(i);
+            String file = FileUtil.edexPath(retrieval.getFile().getPath());
+            Map<Request, FileRetrieval> byRequest = byFile.get(file);
+            if (byRequest == null) {
+                byRequest = new LinkedHashMap<>();
+                byFile.put(file, byRequest);
+            }
+            FileRetrieval fileRetrieval = byRequest.get(retrieval
+                    .getRequest());
+            if (fileRetrieval == null) {
+                fileRetrieval = new FileRetrieval(file, retrieval.getRequest());
+                byRequest.put(retrieval.getRequest(), fileRetrieval);
+                fileRetrievals.add(fileRetrieval);
+            }
+            fileRetrieval.add(retrieval.getDatasetGroupPath(), i);
+        }
+
+        /*
+         * Reads that are cached are served from the cache, the same as
+         * retrieveDatasets() on the file would be.
+         */
+        long generation = 0;
+        if (cache != null) {
+            generation = cache.getGeneration();
+            List<FileRetrieval> uncached = new ArrayList<>(
+                    fileRetrievals.size());
+            for (FileRetrieval fileRetrieval : fileRetrievals) {
+                DatasetDataRequest req = fileRetrieval.getRequest();
+                Object response = cache.get(req.getFilename(),
+                        getCacheKey(req));
+                if (response == null) {
+                    uncached.add(fileRetrieval);
+                } else {
+                    fileRetrieval.distribute(
+                            ((RetrieveResponse) copyResponse(response))
+                                    .getRecords(),
+                            0, result);
+                }
+            }
+            fileRetrievals = uncached;
+            if (fileRetrievals.isEmpty()) {
+                return result;
+            }
+        }
+
+        List<RetrievalBatch> batches = new ArrayList<>();
+        if (BULK_RETRIEVE) {
+            int size = fileRetrievals.size();
+            for (int start = 0; start < size; start += BULK_RETRIEVE_FILES) {
+                int end = Math.min(size, start + BULK_RETRIEVE_FILES);
+                batches.add(new RetrievalBatch(fileRetrievals.subList(start,
+                        end)));
+            }
+        } else {
+            for (FileRetrieval fileRetrieval : fileRetrievals) {
+                batches.add(new RetrievalBatch(fileRetrieval));
+            }
+        }
+
+        initializeProperties();
+        if (batches.size() == 1) {
+            batches.get(0).retrieve(result, generation);
+            return result;
+        }
+
+        List<Future<RetrieveResponse>> futures = new ArrayList<>(
+                batches.size());
+        ExecutorService executor = getRetrieveExecutor();
+        for (final RetrievalBatch batch : batches) {
+            futures.add(executor.submit(() -> (RetrieveResponse) send(
+                    batch.request, false)));
+        }
+        try {
+            for (int i = 0; i < batches.size(); i++) {
+                batches.get(i).distribute(futures.get(i).get(), result,
+                        generation);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted retrieving datasets",
+                    null, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StorageException) {
+                throw (StorageException) e.getCause();
+            }
+            throw new StorageException("Error retrieving datasets", null,
+                    e.getCause());
+        } finally {
+            for (Future<RetrieveResponse> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return result;
+    }
+
+    private static synchronized ExecutorService getRetrieveExecutor() {
+        if (retrieveExecutor == null) {
+            retrieveExecutor = Executors.newFixedThreadPool(RETRIEVE_THREADS,
+                    new NamedThreadFactory("pypies-retrieve"));
+        }
+        return retrieveExecutor;
+    }
+
     @Override
     public StorageStatus store() throws StorageException {
         return store(StoreOp.STORE_ONLY);
@@ -285,6 +455,7 @@ public class PyPiesDataStore implements IDataStore {
             }
             ss.setExceptions(jexc);
         }
+        invalidateCache();
         return ss;
     }
 
@@ -299,6 +470,14 @@ public class PyPiesDataStore implements IDataStore {
 
         initializeProperties();
 
+        return send(obj, huge);
+    }
+
+    /**
+     * Send a request that already has its filename set.
+     */
+    private Object send(final AbstractRequest obj, boolean huge)
+            throws StorageException {
         Object ret = null;
         long t0 = System.currentTimeMillis();
         try {
@@ -325,7 +504,7 @@ public class PyPiesDataStore implements IDataStore {
     protected Object doSendRequest(final AbstractRequest obj, boolean huge)
             throws Exception {
         if (huge) {
-            byte[] resp = HttpClient.getInstance().postBinary(address,
+            return HttpClient.getInstance().postBinaryDynamicSerialize(address,
                     new HttpClient.OStreamHandler() {
                         @Override
                         public void writeToStream(OutputStream os)
@@ -339,7 +518,6 @@ public class PyPiesDataStore implements IDataStore {
                             }
                         }
                     });
-            return SerializationUtil.transformFromThrift(Object.class, resp);
         } else {
             // can't stream to pypies due to WSGI spec not handling chunked http
             Object response = HttpClient.getInstance()
@@ -355,9 +533,9 @@ public class PyPiesDataStore implements IDataStore {
     }
 
     /**
-     * By default this method simply passes the request to
-     * sendRequest(AbstractRequest). Method exists to be overridden for
-     * implementations that cache data responses..
+     * Passes the request to sendRequest(AbstractRequest), unless the response
+     * is available from the {@link DataRecordCache}. Cached responses are
+     * copied before they are returned so callers are free to modify them.
      *
      * @param obj
      * @return
@@ -365,7 +543,125 @@ public class PyPiesDataStore implements IDataStore {
      */
     protected Object cachedRequest(final AbstractRequest obj)
             throws StorageException {
-        return this.sendRequest(obj);
+        String key = cache == null ? null : getCacheKey(obj);
+        if (key == null) {
+            return this.sendRequest(obj);
+        }
+        long generation = cache.getGeneration();
+        Object response = cache.get(filename, key);
+        if (response != null) {
+            return copyResponse(response);
+        }
+        response = this.sendRequest(obj);
+        cacheResponse(filename, key, obj, response, generation);
+        return response;
+    }
+
+    /**
+     * Add a copy of the response to a read request to the cache.
+     *
+     * @param file
+     *            the file that was read
+     * @param key
+     *            the cache key of the request
+     * @param obj
+     *            the request
+     * @param response
+     *            the response
+     * @param generation
+     *            the cache generation from before the request was sent
+     */
+    private void cacheResponse(String file, String key, AbstractRequest obj,
+            Object response, long generation) {
+        if (response instanceof RetrieveResponse
+                && ((RetrieveResponse) response).getRecords() != null) {
+            RetrieveResponse copy = (RetrieveResponse) copyResponse(response);
+            long size = 0;
+            for (IDataRecord record : copy.getRecords()) {
+                size += record.getSizeInBytes();
+            }
+            cache.put(file, key, getCacheGroups(obj), copy, size, generation);
+        } else if (response instanceof String[]) {
+            String[] names = (String[]) response;
+            long size = 0;
+            for (String name : names) {
+                size += 2 * name.length();
+            }
+            cache.put(file, key, getCacheGroups(obj), names.clone(), size,
+                    generation);
+        }
+    }
+
+    /**
+     * Remove every cached response for this file after it is written to.
+     */
+    protected void invalidateCache() {
+        if (cache != null) {
+            cache.invalidateFile(filename);
+        }
+    }
+
+    /**
+     * @return a string uniquely identifying a read request within the file, or
+     *         null if the request should not be cached
+     */
+    private static String getCacheKey(AbstractRequest obj) {
+        if (obj instanceof RetrieveRequest) {
+            RetrieveRequest req = (RetrieveRequest) obj;
+            return "retrieve:" + req.getGroup() + ":" + req.getDataset() + ":"
+                    + req.getRequest();
+        } else if (obj instanceof DatasetDataRequest) {
+            DatasetDataRequest req = (DatasetDataRequest) obj;
+            return "datasets:"
+                    + String.join(",", req.getDatasetGroupPath()) + ":"
+                    + req.getRequest();
+        } else if (obj instanceof GroupsRequest) {
+            GroupsRequest req = (GroupsRequest) obj;
+            return DataRecordCache.GROUPS_PREFIX
+                    + String.join(",", req.getGroups()) + ":"
+                    + req.getRequest();
+        } else if (obj instanceof DatasetNamesRequest) {
+            return DataRecordCache.NAMES_PREFIX
+                    + ((DatasetNamesRequest) obj).getGroup();
+        }
+        return null;
+    }
+
+    /**
+     * @return the groups read by a cacheable request
+     */
+    private static String[] getCacheGroups(AbstractRequest obj) {
+        if (obj instanceof RetrieveRequest) {
+            return new String[] { ((RetrieveRequest) obj).getGroup() };
+        } else if (obj instanceof DatasetDataRequest) {
+            String[] paths = ((DatasetDataRequest) obj).getDatasetGroupPath();
+            String[] groups = new String[paths.length];
+            for (int i = 0; i < paths.length; i++) {
+                int index = paths[i]
+                        .lastIndexOf(DataStoreFactory.DEF_SEPARATOR);
+                groups[i] = index > 0 ? paths[i].substring(0, index) : "";
+            }
+            return groups;
+        } else if (obj instanceof GroupsRequest) {
+            return ((GroupsRequest) obj).getGroups();
+        } else if (obj instanceof DatasetNamesRequest) {
+            return new String[] { ((DatasetNamesRequest) obj).getGroup() };
+        }
+        return new String[0];
+    }
+
+    private static Object copyResponse(Object response) {
+        if (response instanceof String[]) {
+            return ((String[]) response).clone();
+        }
+        IDataRecord[] records = ((RetrieveResponse) response).getRecords();
+        IDataRecord[] copies = new IDataRecord[records.length];
+        for (int i = 0; i < records.length; i++) {
+            copies[i] = records[i].clone();
+        }
+        RetrieveResponse copy = new RetrieveResponse();
+        copy.setRecords(copies);
+        return copy;
     }
 
     protected byte[] serializeRequest(final AbstractRequest request)
@@ -399,7 +695,13 @@ public class PyPiesDataStore implements IDataStore {
             throws StorageException, FileNotFoundException {
         DeleteFilesRequest req = new DeleteFilesRequest();
         req.setDatesToDelete(datesToDelete);
-        sendRequest(req);
+        try {
+            sendRequest(req);
+        } finally {
+            if (cache != null) {
+                cache.invalidateDirectory(filename);
+            }
+        }
     }
 
     @Override
@@ -407,7 +709,11 @@ public class PyPiesDataStore implements IDataStore {
             throws StorageException, FileNotFoundException {
         CreateDatasetRequest req = new CreateDatasetRequest();
         req.setRecord(rec);
-        sendRequest(req);
+        try {
+            sendRequest(req);
+        } finally {
+            invalidateCache();
+        }
     }
 
     @Override
@@ -490,4 +796,113 @@ public class PyPiesDataStore implements IDataStore {
         }
     }
 
+    /**
+     * The datasets read from a single file with a single Request.
+     */
+    private static class FileRetrieval {
+
+        private final DatasetDataRequest request = new DatasetDataRequest();
+
+        private final List<String> paths = new ArrayList<>();
+
+        /** index of each path in the result of retrieveFromFiles() */
+        private final List<Integer> indices = new ArrayList<>();
+
+        public FileRetrieval(String file, Request request) {
+            this.request.setFilename(file);
+            this.request.setRequest(request);
+        }
+
+        public void add(String datasetGroupPath, int index) {
+            paths.add(datasetGroupPath);
+            indices.add(index);
+        }
+
+        public DatasetDataRequest getRequest() {
+            request.setDatasetGroupPath(paths.toArray(new String[0]));
+            return request;
+        }
+
+        /**
+         * Copy the records read from this file, starting at offset, into the
+         * result.
+         */
+        public void distribute(IDataRecord[] records, int offset,
+                IDataRecord[] result) {
+            for (Integer index : indices) {
+                result[index] = records[offset++];
+            }
+        }
+
+    }
+
+    /**
+     * A single request to the server, reading one or more
+     * {@link FileRetrieval}s.
+     */
+    private class RetrievalBatch {
+
+        private final AbstractRequest request;
+
+        private final List<FileRetrieval> fileRetrievals;
+
+        public RetrievalBatch(FileRetrieval fileRetrieval) {
+            this.request = fileRetrieval.getRequest();
+            this.fileRetrievals = Collections.singletonList(fileRetrieval);
+        }
+
+        public RetrievalBatch(List<FileRetrieval> fileRetrievals) {
+            int size = fileRetrievals.size();
+            DatasetDataRequest[] requests = new DatasetDataRequest[size];
+            for (int i = 0; i < size; i++) {
+                requests[i] = fileRetrievals.get(i).getRequest();
+            }
+            MultiFileRetrieveRequest multi = new MultiFileRetrieveRequest();
+            multi.setFilename(filename);
+            multi.setRequests(requests);
+            this.request = multi;
+            this.fileRetrievals = fileRetrievals;
+        }
+
+        public void retrieve(IDataRecord[] result, long generation)
+                throws StorageException {
+            distribute((RetrieveResponse) send(request, false), result,
+                    generation);
+        }
+
+        /**
+         * Copy the records of the response into the result, in the order the
+         * datasets were requested, and cache the records of each file if the
+         * cache has not been invalidated since generation.
+         */
+        public void distribute(RetrieveResponse response, IDataRecord[] result,
+                long generation) throws StorageException {
+            IDataRecord[] records = response.getRecords();
+            int expected = 0;
+            for (FileRetrieval fileRetrieval : fileRetrievals) {
+                expected += fileRetrieval.indices.size();
+            }
+            if (records == null || records.length != expected) {
+                throw new StorageException("Expected " + expected
+                        + " records from pypies but received "
+                        + (records == null ? 0 : records.length), null);
+            }
+            int r = 0;
+            for (FileRetrieval fileRetrieval : fileRetrievals) {
+                fileRetrieval.distribute(records, r, result);
+                int count = fileRetrieval.indices.size();
+                if (cache != null) {
+                    DatasetDataRequest req = fileRetrieval.getRequest();
+                    RetrieveResponse fileResponse = new RetrieveResponse();
+                    fileResponse.setRecords(
+                            Arrays.copyOfRange(records, r, r + count));
+                    cacheResponse(req.getFilename(), getCacheKey(req), req,
+                            fileResponse, generation);
+                }
+                r += count;
+            }
+        }
+
+    }
+
 }
@@ -34,6 +34,7 @@ import com.raytheon.uf.common.datastorage.IDataStoreFactory;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Nov 8, 2011            mschenke     Initial creation
+ * Oct 15, 2026            agent        Optional DataRecordCache
  * 
  * </pre>
  * 
@@ -45,8 +46,29 @@ public class PyPiesDataStoreFactory implements IDataStoreFactory {
 
     private PypiesProperties pypiesProps;
 
+    private DataRecordCache cache;
+
     public PyPiesDataStoreFactory(PypiesProperties pypiesProps) {
+        this(pypiesProps, null);
+    }
+
+    /**
+     * @param pypiesProps
+     * @param cache
+     *            cache shared by all data stores created by this factory, may
+     *            be null to disable caching
+     */
+    public PyPiesDataStoreFactory(PypiesProperties pypiesProps,
+            DataRecordCache cache) {
         this.pypiesProps = pypiesProps;
+        this.cache = cache;
+    }
+
+    /**
+     * @return the cache shared by the data stores, may be null
+     */
+    public DataRecordCache getCache() {
+        return cache;
     }
 
     /*
@@ -58,7 +80,7 @@ public class PyPiesDataStoreFactory implements IDataStoreFactory {
      */
     @Override
     public IDataStore getDataStore(File file, boolean useLocking) {
-        return new PyPiesDataStore(file, useLocking, pypiesProps);
+        return new PyPiesDataStore(file, useLocking, pypiesProps, cache);
     }
 
 }
@@ -29,7 +29,6 @@ import java.nio.LongBuffer;
 import java.nio.ShortBuffer;
 import java.util.Arrays;
 import java.util.zip.Deflater;
-import java.util.zip.GZIPOutputStream;
 
 import com.raytheon.uf.common.datastorage.StorageException;
 import com.raytheon.uf.common.datastorage.records.AbstractStorageRecord;
@@ -44,12 +43,20 @@ import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
 import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
 import com.raytheon.uf.common.util.ByteArrayOutputStreamPool;
 import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
+import com.raytheon.uf.common.util.compression.CompressionCodecs;
+import com.raytheon.uf.common.util.compression.GzipCodec;
+import com.raytheon.uf.common.util.compression.ICompressionCodec;
 
 /**
  * 
- * Record containing gzip compressed version of data. This is intended to reduce
+ * Record containing compressed version of data. This is intended to reduce
  * the bandwidth usage when communicating with pypies.
  * 
+ * Data is compressed with gzip unless another codec is named by the system
+ * property {@value #CODEC_PROPERTY}. The codec is recorded in the record so
+ * pypies knows how to decompress it, a null codec means gzip which keeps the
+ * serialized form of gzip records the same as before codecs were pluggable.
+ * 
  * <pre>
  *
  * SOFTWARE HISTORY
@@ -57,6 +64,8 @@ import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
  * Date          Ticket#  Engineer  Description
  * ------------- -------- --------- -----------------
  * Nov 15, 2016  5992     bsteffen  Initial creation
+ * Oct 15, 2026           agent     Pluggable compression codecs
+ * Oct 15, 2026           agent     Tag compressed double records as DOUBLE
  * 
  * </pre>
  *
@@ -69,6 +78,11 @@ public class CompressedDataRecord extends AbstractStorageRecord {
 
     private static final int COMPRESSION_RATIO_ASSUMPTION = 4;
 
+    /** System property naming the codec used by convert(IDataRecord) */
+    public static final String CODEC_PROPERTY = "pypies.compression.codec";
+
+    private static final ICompressionCodec DEFAULT_CODEC = defaultCodec();
+
     public static enum Type {
         BYTE, SHORT, INT, LONG, FLOAT, DOUBLE;
     }
@@ -79,6 +93,10 @@ public class CompressedDataRecord extends AbstractStorageRecord {
     @DynamicSerializeElement
     private Type type;
 
+    /** Name of the codec used to compress the data, null for gzip */
+    @DynamicSerializeElement
+    private String codec;
+
     @Override
     public boolean validateDataSet() {
         return true;
@@ -116,10 +134,19 @@ public class CompressedDataRecord extends AbstractStorageRecord {
         this.type = type;
     }
 
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
     @Override
     protected CompressedDataRecord cloneInternal() {
         CompressedDataRecord record = new CompressedDataRecord();
         record.type = type;
+        record.codec = codec;
         if (compressedData != null) {
             record.compressedData = Arrays.copyOf(compressedData,
                     compressedData.length);
@@ -133,29 +160,43 @@ public class CompressedDataRecord extends AbstractStorageRecord {
      */
     public static IDataRecord convert(IDataRecord sourceRecord)
             throws StorageException {
+        return convert(sourceRecord, DEFAULT_CODEC);
+    }
+
+    /**
+     * Convert to a record compressed with a specific codec only if the type of
+     * the record supports compression. Otherwise the original record is
+     * returned.
+     */
+    public static IDataRecord convert(IDataRecord sourceRecord,
+            ICompressionCodec codec) throws StorageException {
         try {
             if (sourceRecord instanceof ByteDataRecord) {
-                return convertByte((ByteDataRecord) sourceRecord);
+                return convertByte((ByteDataRecord) sourceRecord, codec);
             } else if (sourceRecord instanceof ShortDataRecord) {
-                return convertShort((ShortDataRecord) sourceRecord);
+                return convertShort((ShortDataRecord) sourceRecord, codec);
             } else if (sourceRecord instanceof IntegerDataRecord) {
-                return convertInt((IntegerDataRecord) sourceRecord);
+                return convertInt((IntegerDataRecord) sourceRecord, codec);
             } else if (sourceRecord instanceof LongDataRecord) {
-                return convertLong((LongDataRecord) sourceRecord);
+                return convertLong((LongDataRecord) sourceRecord, codec);
             } else if (sourceRecord instanceof FloatDataRecord) {
-                return convertFloat((FloatDataRecord) sourceRecord);
+                return convertFloat((FloatDataRecord) sourceRecord, codec);
             } else if (sourceRecord instanceof DoubleDataRecord) {
-                return convertDouble((DoubleDataRecord) sourceRecord);
+                return convertDouble((DoubleDataRecord) sourceRecord, codec);
             }
         } catch (IOException e) {
-            throw new StorageException("Error compressing Data", sourceRecord);
+            throw new StorageException("Error compressing Data", sourceRecord,
+                    e);
         }
         return sourceRecord;
     }
 
-    private static CompressedDataRecord cloneMetadata(
-            IDataRecord sourceRecord) {
+    private static CompressedDataRecord cloneMetadata(IDataRecord sourceRecord,
+            ICompressionCodec codec) {
         CompressedDataRecord compressedRecord = new CompressedDataRecord();
+        if (!GzipCodec.NAME.equals(codec.getName())) {
+            compressedRecord.setCodec(codec.getName());
+        }
         compressedRecord.setName(sourceRecord.getName());
         compressedRecord.setDimension(sourceRecord.getDimension());
         compressedRecord.setSizes(sourceRecord.getSizes());
@@ -171,16 +212,17 @@ public class CompressedDataRecord extends AbstractStorageRecord {
         return compressedRecord;
     }
 
-    private static CompressedDataRecord convertByte(ByteDataRecord byteRecord)
-            throws IOException {
-        CompressedDataRecord compressedRecord = cloneMetadata(byteRecord);
+    private static CompressedDataRecord convertByte(ByteDataRecord byteRecord,
+            ICompressionCodec codec) throws IOException {
+        CompressedDataRecord compressedRecord = cloneMetadata(byteRecord,
+                codec);
 
-        PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
+        try (PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
                 .getInstance().getStream(byteRecord.getSizeInBytes()
-                        / COMPRESSION_RATIO_ASSUMPTION);
-        try (GZIPOutputStream stream = createGZIPStream(byteStream)) {
-            stream.write(byteRecord.getByteData());
-            stream.finish();
+                        / COMPRESSION_RATIO_ASSUMPTION)) {
+            try (OutputStream stream = codec.compress(byteStream)) {
+                stream.write(byteRecord.getByteData());
+            }
             compressedRecord.setCompressedData(byteStream.toByteArray());
         }
         compressedRecord.setType(Type.BYTE);
@@ -189,8 +231,10 @@ public class CompressedDataRecord extends AbstractStorageRecord {
     }
 
     private static CompressedDataRecord convertShort(
-            ShortDataRecord shortRecord) throws IOException {
-        CompressedDataRecord compressedRecord = cloneMetadata(shortRecord);
+            ShortDataRecord shortRecord, ICompressionCodec codec)
+            throws IOException {
+        CompressedDataRecord compressedRecord = cloneMetadata(shortRecord,
+                codec);
 
         short[] shortArr = shortRecord.getShortData();
         int arrLength = shortArr.length;
@@ -200,20 +244,20 @@ public class CompressedDataRecord extends AbstractStorageRecord {
         byte[] bytes = new byte[ARRAY_CHUNK_SIZE];
         ShortBuffer shorts = ByteBuffer.wrap(bytes).asShortBuffer();
 
-        PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
+        try (PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
                 .getInstance().getStream(shortRecord.getSizeInBytes()
-                        / COMPRESSION_RATIO_ASSUMPTION);
-        try (GZIPOutputStream stream = createGZIPStream(byteStream)) {
-            for (int i = 0; i < fullChunkSize; i += shortChunkSize) {
-                shorts.put(shortArr, i, shortChunkSize);
-                stream.write(bytes, 0, ARRAY_CHUNK_SIZE);
-                shorts.rewind();
-            }
-            if (remainder > 0) {
-                shorts.put(shortArr, fullChunkSize, remainder);
-                stream.write(bytes, 0, remainder * 2);
+                        / COMPRESSION_RATIO_ASSUMPTION)) {
+            try (OutputStream stream = codec.compress(byteStream)) {
+                for (int i = 0; i < fullChunkSize; i += shortChunkSize) {
+                    shorts.put(shortArr, i, shortChunkSize);
+                    stream.write(bytes, 0, ARRAY_CHUNK_SIZE);
+                    shorts.rewind();
+                }
+                if (remainder > 0) {
+                    shorts.put(shortArr, fullChunkSize, remainder);
+                    stream.write(bytes, 0, remainder * 2);
+                }
             }
-            stream.finish();
             compressedRecord.setCompressedData(byteStream.toByteArray());
         }
         compressedRecord.setType(Type.SHORT);
@@ -221,9 +265,10 @@ public class CompressedDataRecord extends AbstractStorageRecord {
         return compressedRecord;
     }
 
-    private static CompressedDataRecord convertInt(IntegerDataRecord intRecord)
-            throws IOException {
-        CompressedDataRecord compressedRecord = cloneMetadata(intRecord);
+    private static CompressedDataRecord convertInt(IntegerDataRecord intRecord,
+            ICompressionCodec codec) throws IOException {
+        CompressedDataRecord compressedRecord = cloneMetadata(intRecord,
+                codec);
 
         int[] intArr = intRecord.getIntData();
         int arrLength = intArr.length;
@@ -233,20 +278,20 @@ public class CompressedDataRecord extends AbstractStorageRecord {
         byte[] bytes = new byte[ARRAY_CHUNK_SIZE];
         IntBuffer ints = ByteBuffer.wrap(bytes).asIntBuffer();
 
-        PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
+        try (PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
                 .getInstance().getStream(intRecord.getSizeInBytes()
-                        / COMPRESSION_RATIO_ASSUMPTION);
-        try (GZIPOutputStream stream = createGZIPStream(byteStream)) {
-            for (int i = 0; i < fullChunkSize; i += intChunkSize) {
-                ints.put(intArr, i, intChunkSize);
-                stream.write(bytes, 0, ARRAY_CHUNK_SIZE);
-                ints.rewind();
-            }
-            if (remainder > 0) {
-                ints.put(intArr, fullChunkSize, remainder);
-                stream.write(bytes, 0, remainder * 4);
+                        / COMPRESSION_RATIO_ASSUMPTION)) {
+            try (OutputStream stream = codec.compress(byteStream)) {
+                for (int i = 0; i < fullChunkSize; i += intChunkSize) {
+                    ints.put(intArr, i, intChunkSize);
+                    stream.write(bytes, 0, ARRAY_CHUNK_SIZE);
+                    ints.rewind();
+                }
+                if (remainder > 0) {
+                    ints.put(intArr, fullChunkSize, remainder);
+                    stream.write(bytes, 0, remainder * 4);
+                }
             }
-            stream.finish();
             compressedRecord.setCompressedData(byteStream.toByteArray());
         }
         compressedRecord.setType(Type.INT);
@@ -254,9 +299,10 @@ public class CompressedDataRecord extends AbstractStorageRecord {
         return compressedRecord;
     }
 
-    private static CompressedDataRecord convertLong(LongDataRecord longRecord)
-            throws IOException {
-        CompressedDataRecord compressedRecord = cloneMetadata(longRecord);
+    private static CompressedDataRecord convertLong(LongDataRecord longRecord,
+            ICompressionCodec codec) throws IOException {
+        CompressedDataRecord compressedRecord = cloneMetadata(longRecord,
+                codec);
 
         long[] longArr = longRecord.getLongData();
         int arrLength = longArr.length;
@@ -266,20 +312,20 @@ public class CompressedDataRecord extends AbstractStorageRecord {
         byte[] bytes = new byte[ARRAY_CHUNK_SIZE];
         LongBuffer longs = ByteBuffer.wrap(bytes).asLongBuffer();
 
-        PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
+        try (PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
                 .getInstance().getStream(longRecord.getSizeInBytes()
-                        / COMPRESSION_RATIO_ASSUMPTION);
-        try (GZIPOutputStream stream = createGZIPStream(byteStream)) {
-            for (int i = 0; i < fullChunkSize; i += longChunkSize) {
-                longs.put(longArr, i, longChunkSize);
-                stream.write(bytes, 0, ARRAY_CHUNK_SIZE);
-                longs.rewind();
-            }
-            if (remainder > 0) {
-                longs.put(longArr, fullChunkSize, remainder);
-                stream.write(bytes, 0, remainder * 8);
+                        / COMPRESSION_RATIO_ASSUMPTION)) {
+            try (OutputStream stream = codec.compress(byteStream)) {
+                for (int i = 0; i < fullChunkSize; i += longChunkSize) {
+                    longs.put(longArr, i, longChunkSize);
+                    stream.write(bytes, 0, ARRAY_CHUNK_SIZE);
+                    longs.rewind();
+                }
+                if (remainder > 0) {
+                    longs.put(longArr, fullChunkSize, remainder);
+                    stream.write(bytes, 0, remainder * 8);
+                }
             }
-            stream.finish();
             compressedRecord.setCompressedData(byteStream.toByteArray());
         }
         compressedRecord.setType(Type.LONG);
@@ -288,8 +334,10 @@ public class CompressedDataRecord extends AbstractStorageRecord {
     }
 
     private static CompressedDataRecord convertFloat(
-            FloatDataRecord floatRecord) throws IOException {
-        CompressedDataRecord compressedRecord = cloneMetadata(floatRecord);
+            FloatDataRecord floatRecord, ICompressionCodec codec)
+            throws IOException {
+        CompressedDataRecord compressedRecord = cloneMetadata(floatRecord,
+                codec);
 
         float[] floatArr = floatRecord.getFloatData();
         int arrLength = floatArr.length;
@@ -299,20 +347,20 @@ public class CompressedDataRecord extends AbstractStorageRecord {
         byte[] bytes = new byte[ARRAY_CHUNK_SIZE];
         FloatBuffer floats = ByteBuffer.wrap(bytes).asFloatBuffer();
 
-        PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
+        try (PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
                 .getInstance().getStream(floatRecord.getSizeInBytes()
-                        / COMPRESSION_RATIO_ASSUMPTION);
-        try (GZIPOutputStream stream = createGZIPStream(byteStream)) {
-            for (int i = 0; i < fullChunkSize; i += floatChunkSize) {
-                floats.put(floatArr, i, floatChunkSize);
-                stream.write(bytes, 0, ARRAY_CHUNK_SIZE);
-                floats.rewind();
-            }
-            if (remainder > 0) {
-                floats.put(floatArr, fullChunkSize, remainder);
-                stream.write(bytes, 0, remainder * 4);
+                        / COMPRESSION_RATIO_ASSUMPTION)) {
+            try (OutputStream stream = codec.compress(byteStream)) {
+                for (int i = 0; i < fullChunkSize; i += floatChunkSize) {
+                    floats.put(floatArr, i, floatChunkSize);
+                    stream.write(bytes, 0, ARRAY_CHUNK_SIZE);
+                    floats.rewind();
+                }
+                if (remainder > 0) {
+                    floats.put(floatArr, fullChunkSize, remainder);
+                    stream.write(bytes, 0, remainder * 4);
+                }
             }
-            stream.finish();
             compressedRecord.setCompressedData(byteStream.toByteArray());
         }
         compressedRecord.setType(Type.FLOAT);
@@ -321,8 +369,10 @@ public class CompressedDataRecord extends AbstractStorageRecord {
     }
 
     private static CompressedDataRecord convertDouble(
-            DoubleDataRecord doubleRecord) throws IOException {
-        CompressedDataRecord compressedRecord = cloneMetadata(doubleRecord);
+            DoubleDataRecord doubleRecord, ICompressionCodec codec)
+            throws IOException {
+        CompressedDataRecord compressedRecord = cloneMetadata(doubleRecord,
+                codec);
 
         double[] doubleArr = doubleRecord.getDoubleData();
         int arrLength = doubleArr.length;
@@ -332,35 +382,33 @@ public class CompressedDataRecord extends AbstractStorageRecord {
         byte[] bytes = new byte[ARRAY_CHUNK_SIZE];
         DoubleBuffer doubles = ByteBuffer.wrap(bytes).asDoubleBuffer();
 
-        PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
+        try (PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
                 .getInstance().getStream(doubleRecord.getSizeInBytes()
-                        / COMPRESSION_RATIO_ASSUMPTION);
-        try (GZIPOutputStream stream = createGZIPStream(byteStream)) {
-            for (int i = 0; i < fullChunkSize; i += doubleChunkSize) {
-                doubles.put(doubleArr, i, doubleChunkSize);
-                stream.write(bytes, 0, ARRAY_CHUNK_SIZE);
-                doubles.rewind();
-            }
-            if (remainder > 0) {
-                doubles.put(doubleArr, fullChunkSize, remainder);
-                stream.write(bytes, 0, remainder * 8);
+                        / COMPRESSION_RATIO_ASSUMPTION)) {
+            try (OutputStream stream = codec.compress(byteStream)) {
+                for (int i = 0; i < fullChunkSize; i += doubleChunkSize) {
+                    doubles.put(doubleArr, i, doubleChunkSize);
+                    stream.write(bytes, 0, ARRAY_CHUNK_SIZE);
+                    doubles.rewind();
+                }
+                if (remainder > 0) {
+                    doubles.put(doubleArr, fullChunkSize, remainder);
+                    stream.write(bytes, 0, remainder * 8);
+                }
             }
-            stream.finish();
             compressedRecord.setCompressedData(byteStream.toByteArray());
         }
-        compressedRecord.setType(Type.FLOAT);
+        compressedRecord.setType(Type.DOUBLE);
 
         return compressedRecord;
     }
 
-    private static GZIPOutputStream createGZIPStream(OutputStream out)
-            throws IOException {
-        return new GZIPOutputStream(out) {
-            {
-                this.def.setLevel(Deflater.BEST_SPEED);
-            }
-        };
-
+    private static ICompressionCodec defaultCodec() {
+        String name = System.getProperty(CODEC_PROPERTY, GzipCodec.NAME);
+        if (GzipCodec.NAME.equalsIgnoreCase(name)) {
+            return new GzipCodec(Deflater.BEST_SPEED);
+        }
+        return CompressionCodecs.require(name);
     }
 
 }
@@ -0,0 +1,56 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.pypies.request;
+
+import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
+import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
+
+/**
+ * Retrieves datasets from several files in a single request. Each of the
+ * requests carries its own filename; the filename of this request is unused.
+ * The response is a single RetrieveResponse containing the records of every
+ * request, in order.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 15, 2026           agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+@DynamicSerialize
+public class MultiFileRetrieveRequest extends AbstractRequest {
+
+    @DynamicSerializeElement
+    private DatasetDataRequest[] requests;
+
+    public DatasetDataRequest[] getRequests() {
+        return requests;
+    }
+
+    public void setRequests(DatasetDataRequest[] requests) {
+        this.requests = requests;
+    }
+
+}
@@ -56,6 +56,8 @@ import com.raytheon.uf.common.serialization.adapters.StackTraceElementAdapter;
 import com.raytheon.uf.common.serialization.annotations.DynamicSerialize;
 import com.raytheon.uf.common.serialization.annotations.DynamicSerializeElement;
 import com.raytheon.uf.common.serialization.annotations.DynamicSerializeTypeAdapter;
+import com.raytheon.uf.common.serialization.thrift.PooledBufferInputTransport;
+import com.raytheon.uf.common.serialization.thrift.ThriftClassCodec;
 import com.raytheon.uf.common.serialization.thrift.ThriftSerializationContext;
 import com.raytheon.uf.common.serialization.thrift.ThriftSerializationContextBuilder;
 import com.raytheon.uf.common.util.ByteArrayOutputStreamPool;
@@ -85,6 +87,8 @@ import com.sun.org.apache.xerces.internal.jaxp.datatype.XMLGregorianCalendarImpl
  * Aug 27, 2014 3503        bclement    improved error message in registerAdapter()
  * Jun 16, 2015 4561        njensen     Deprecated EnclosureType
  * Oct 30, 2015 4710        bclement    ByteArrayOutputStream renamed to PooledByteArrayOutputStream
+ * Oct 15, 2026             agent       Use ThriftClassCodec when available
+ * Oct 15, 2026             agent       Added deserializeStreaming(InputStream)
  * 
  * </pre>
  * 
@@ -211,17 +215,23 @@ public class DynamicSerializationManager {
      */
     public void serialize(ISerializationContext ctx, Object obj)
             throws SerializationException {
-        BeanMap beanMap = null;
+        SerializationMetadata metadata = null;
+        if (obj != null) {
+            metadata = getSerializationMetadata(obj.getClass().getName());
+            ThriftClassCodec codec = ThriftClassCodec.getCodec(obj.getClass(),
+                    metadata);
+            if (codec != null) {
+                ((ThriftSerializationContext) ctx).serializeMessage(obj, codec,
+                        metadata);
+                return;
+            }
+        }
 
+        BeanMap beanMap = null;
         if (obj != null && !obj.getClass().isArray()) {
             beanMap = SerializationCache.getBeanMap(obj);
         }
         try {
-            SerializationMetadata metadata = null;
-            if (obj != null) {
-                metadata = getSerializationMetadata(obj.getClass().getName());
-            }
-
             ((ThriftSerializationContext) ctx).serializeMessage(obj, beanMap,
                     metadata);
         } finally {
@@ -248,6 +258,34 @@ public class DynamicSerializationManager {
         return obj;
     }
 
+    /**
+     * Deserialize an object from a stream that contains nothing but the
+     * serialized object, such as an http response body. The stream is read
+     * through a pooled buffer so the encoded message is never held in memory
+     * as a whole, which keeps peak memory close to the size of the decoded
+     * object. Since the buffer may read ahead, the stream should not be used
+     * for anything else afterwards.
+     * 
+     * @param istream
+     * @return the deserialized object
+     * @throws SerializationException
+     */
+    public Object deserializeStreaming(InputStream istream)
+            throws SerializationException {
+        PooledBufferInputTransport transport = new PooledBufferInputTransport(
+                istream);
+        try {
+            IDeserializationContext ctx = ((ThriftSerializationContextBuilder) this.builder)
+                    .buildDeserializationContext(transport, this);
+            ctx.readMessageStart();
+            Object obj = deserialize(ctx);
+            ctx.readMessageEnd();
+            return obj;
+        } finally {
+            transport.close();
+        }
+    }
+
     /**
      * Deserialize from a context
      * 
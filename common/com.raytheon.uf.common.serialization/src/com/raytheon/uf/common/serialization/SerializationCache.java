@@ -20,16 +20,26 @@
 
 package com.raytheon.uf.common.serialization;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import net.sf.cglib.beans.BeanMap;
-import net.sf.cglib.beans.BeanMap.Generator;
 import net.sf.cglib.reflect.FastClass;
 
 /**
  * Provides a cache of cglib/reflection objects
  * 
+ * All lookups are lock free. Each class has its own bounded pool of BeanMaps
+ * so that concurrent (de)serialization on many threads reuses BeanMaps instead
+ * of generating new ones, and new BeanMaps are created from a per-class
+ * prototype rather than a BeanMap.Generator. The size of each pool can be
+ * configured with the system property {@value #POOL_SIZE_PROPERTY}.
+ * 
  * <pre>
  * SOFTWARE HISTORY
  * Date         Ticket#    Engineer    Description
@@ -37,6 +47,9 @@ import net.sf.cglib.reflect.FastClass;
  * Sep 03, 2008  #1448     chammack    Initial creation
  * Jun 16, 2015   4561     njensen     getFastClass() throws more specific
  *                                      exception
+ * Oct 15, 2026            agent       Replaced synchronized maps with
+ *                                      concurrent maps, pool multiple
+ *                                      BeanMaps per class, added statistics
  * 
  * </pre>
  * 
@@ -46,14 +59,59 @@ import net.sf.cglib.reflect.FastClass;
 
 public class SerializationCache {
 
-    /** The beanmap generator cache */
-    private static Map<Class<?>, BeanMap.Generator> generators = new HashMap<Class<?>, BeanMap.Generator>();
+    /** System property for the max number of pooled BeanMaps per class */
+    public static final String POOL_SIZE_PROPERTY = "thrift.beanmap.pool.size";
+
+    private static final int MAX_POOL_SIZE = Integer.getInteger(
+            POOL_SIZE_PROPERTY,
+            Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * A bounded pool of BeanMaps for a single class. The size is tracked
+     * separately since ConcurrentLinkedQueue.size() is not constant time.
+     */
+    private static class BeanMapPool {
+
+        private final Queue<BeanMap> pool = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger size = new AtomicInteger();
+
+        private BeanMap poll() {
+            BeanMap bm = pool.poll();
+            if (bm != null) {
+                size.decrementAndGet();
+            }
+            return bm;
+        }
+
+        private boolean offer(BeanMap bm) {
+            if (size.incrementAndGet() > MAX_POOL_SIZE) {
+                size.decrementAndGet();
+                return false;
+            }
+            pool.offer(bm);
+            return true;
+        }
+    }
+
+    /** BeanMaps used to create new BeanMaps of the same generated class */
+    private static final Map<Class<?>, BeanMap> prototypes = new ConcurrentHashMap<>();
 
     /** The beanmap cache */
-    private static Map<Class<?>, BeanMap> beanMaps = new HashMap<Class<?>, BeanMap>();
+    private static final Map<Class<?>, BeanMapPool> beanMaps = new ConcurrentHashMap<>();
 
     /** The fastclass cache */
-    private static Map<String, FastClass> classCache = new HashMap<String, FastClass>();
+    private static final ConcurrentMap<String, FastClass> classCache = new ConcurrentHashMap<>();
+
+    private static final LongAdder beanMapHits = new LongAdder();
+
+    private static final LongAdder beanMapMisses = new LongAdder();
+
+    private static final LongAdder beanMapCreations = new LongAdder();
+
+    private static final LongAdder beanMapDiscards = new LongAdder();
+
+    private static final LongAdder fastClassMisses = new LongAdder();
 
     /**
      * protected constructor
@@ -69,9 +127,14 @@ public class SerializationCache {
      * @param obj
      */
     public static void returnBeanMap(BeanMap beanMap, Object obj) {
-        synchronized (beanMaps) {
-            beanMap.setBean(null);
-            beanMaps.put(obj.getClass(), beanMap);
+        beanMap.setBean(null);
+        BeanMapPool pool = beanMaps.get(obj.getClass());
+        if (pool == null) {
+            pool = beanMaps.computeIfAbsent(obj.getClass(),
+                    k -> new BeanMapPool());
+        }
+        if (!pool.offer(beanMap)) {
+            beanMapDiscards.increment();
         }
     }
 
@@ -85,33 +148,45 @@ public class SerializationCache {
      * @return a beanmap representing an object
      */
     public static BeanMap getBeanMap(Object obj) {
-        BeanMap bm = null;
-        synchronized (beanMaps) {
-            bm = beanMaps.remove(obj.getClass());
-        }
+        Class<?> clazz = obj.getClass();
+        BeanMapPool pool = beanMaps.get(clazz);
+        BeanMap bm = pool == null ? null : pool.poll();
         if (bm != null) {
+            beanMapHits.increment();
             bm.setBean(obj);
             return bm;
         }
+        beanMapMisses.increment();
 
-        Generator generator = null;
-        synchronized (generators) {
-            generator = generators.remove(obj.getClass());
-        }
-        if (generator == null) {
-            generator = new BeanMap.Generator();
+        BeanMap prototype = prototypes.get(clazz);
+        if (prototype == null) {
+            /*
+             * Generated outside of the map so that class generation does not
+             * block other classes hashed to the same bin. Racing threads may
+             * each generate a prototype, only the first one is kept.
+             */
+            prototype = createPrototype(clazz);
+            BeanMap existing = prototypes.putIfAbsent(clazz, prototype);
+            if (existing != null) {
+                prototype = existing;
+            }
         }
+        return prototype.newInstance(obj);
+    }
 
+    /**
+     * Generate the BeanMap class for a bean class. Normally called once per
+     * class, more only if threads race to create the first BeanMap.
+     * 
+     * @param clazz
+     * @return a BeanMap with no bean set
+     */
+    private static BeanMap createPrototype(Class<?> clazz) {
+        beanMapCreations.increment();
+        BeanMap.Generator generator = new BeanMap.Generator();
         generator.setClassLoader(SerializationCache.class.getClassLoader());
-        generator.setBean(obj);
-        bm = generator.create();
-        generator.setBean(null);
-
-        synchronized (generators) {
-            generators.put(obj.getClass(), generator);
-        }
-
-        return bm;
+        generator.setBeanClass(clazz);
+        return generator.create();
     }
 
     /**
@@ -124,17 +199,70 @@ public class SerializationCache {
      */
     public static FastClass getFastClass(String name)
             throws ClassNotFoundException {
-        synchronized (classCache) {
-            FastClass fc = classCache.get(name);
-            if (fc == null) {
-                fc = FastClass.create(
-                        SerializationCache.class.getClassLoader(),
-                        Class.forName(name));
-                classCache.put(name, fc);
+        FastClass fc = classCache.get(name);
+        if (fc == null) {
+            fastClassMisses.increment();
+            /*
+             * Class.forName() is deliberately done outside of any map lock
+             * since loading a class can come back into this cache. Two threads
+             * may both create the FastClass, but only one is kept.
+             */
+            fc = FastClass.create(SerializationCache.class.getClassLoader(),
+                    Class.forName(name));
+            FastClass prev = classCache.putIfAbsent(name, fc);
+            if (prev != null) {
+                fc = prev;
             }
-            return fc;
         }
+        return fc;
+    }
+
+    /**
+     * @return number of BeanMaps that were reused from a pool
+     */
+    public static long getBeanMapHits() {
+        return beanMapHits.sum();
+    }
 
+    /**
+     * @return number of BeanMaps requested when the pool for the class was
+     *         empty
+     */
+    public static long getBeanMapMisses() {
+        return beanMapMisses.sum();
+    }
+
+    /**
+     * @return number of BeanMap classes generated
+     */
+    public static long getBeanMapCreations() {
+        return beanMapCreations.sum();
+    }
+
+    /**
+     * @return number of BeanMaps dropped because the pool for the class was
+     *         full
+     */
+    public static long getBeanMapDiscards() {
+        return beanMapDiscards.sum();
+    }
+
+    /**
+     * @return number of FastClass lookups that were not cached
+     */
+    public static long getFastClassMisses() {
+        return fastClassMisses.sum();
+    }
+
+    /**
+     * @return a one line summary of the cache counters, suitable for logging
+     */
+    public static String getStatistics() {
+        return "BeanMap hits=" + getBeanMapHits() + ", misses="
+                + getBeanMapMisses() + ", created=" + getBeanMapCreations()
+                + ", discarded=" + getBeanMapDiscards()
+                + ", FastClass misses=" + getFastClassMisses()
+                + ", pooled classes=" + beanMaps.size();
     }
 
 }
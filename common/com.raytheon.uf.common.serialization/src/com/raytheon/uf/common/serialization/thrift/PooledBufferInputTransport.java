@@ -0,0 +1,183 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.thrift;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+import com.raytheon.uf.common.util.ByteArrayOutputStreamPool;
+import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
+
+/**
+ * A read only {@link TTransport} that reads an {@link InputStream} through a
+ * buffer borrowed from the {@link ByteArrayOutputStreamPool}. The buffer is
+ * exposed through {@link #getBuffer()} so that the protocol can decode
+ * primitives and strings in place instead of issuing a stream read for every
+ * value. Reads larger than the buffer go straight to the stream so a large
+ * primitive array is only copied once, into its final array.
+ *
+ * This transport reads ahead of what the protocol has consumed, so the stream
+ * must not be used for anything else after the message has been read. The
+ * buffer is returned to the pool by {@link #close()}, which does not close
+ * the underlying stream.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class PooledBufferInputTransport extends TTransport {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream stream;
+
+    private PooledByteArrayOutputStream pooled;
+
+    private byte[] buffer;
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * Constructor
+     *
+     * @param stream
+     *            the stream to read from
+     */
+    public PooledBufferInputTransport(InputStream stream) {
+        this.stream = stream;
+        this.pooled = ByteArrayOutputStreamPool.getInstance().getStream(
+                BUFFER_SIZE);
+        this.buffer = pooled.getUnderlyingArray();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return buffer != null;
+    }
+
+    @Override
+    public void open() throws TTransportException {
+        // nothing to open
+    }
+
+    /**
+     * Returns the buffer to the pool. The underlying stream is left open.
+     */
+    @Override
+    public void close() {
+        if (pooled != null) {
+            try {
+                pooled.close();
+            } catch (IOException e) {
+                // ignore
+            }
+            pooled = null;
+            buffer = null;
+        }
+    }
+
+    @Override
+    public int read(byte[] buf, int off, int len) throws TTransportException {
+        checkOpen();
+        int remaining = limit - position;
+        if (remaining > 0) {
+            int n = Math.min(len, remaining);
+            System.arraycopy(buffer, position, buf, off, n);
+            position += n;
+            return n;
+        }
+        if (len >= buffer.length) {
+            // large read, skip the intermediate copy
+            return readStream(buf, off, len);
+        }
+        fill();
+        int n = Math.min(len, limit);
+        System.arraycopy(buffer, 0, buf, off, n);
+        position = n;
+        return n;
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) throws TTransportException {
+        throw new TTransportException(TTransportException.UNKNOWN,
+                "Cannot write to a read only transport");
+    }
+
+    @Override
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    @Override
+    public int getBufferPosition() {
+        return position;
+    }
+
+    @Override
+    public int getBytesRemainingInBuffer() {
+        return limit - position;
+    }
+
+    @Override
+    public void consumeBuffer(int len) {
+        position += len;
+    }
+
+    private void fill() throws TTransportException {
+        position = 0;
+        limit = 0;
+        limit = readStream(buffer, 0, buffer.length);
+    }
+
+    private int readStream(byte[] buf, int off, int len)
+            throws TTransportException {
+        int n;
+        try {
+            n = stream.read(buf, off, len);
+        } catch (IOException e) {
+            throw new TTransportException(TTransportException.UNKNOWN, e);
+        }
+        if (n < 0) {
+            throw new TTransportException(TTransportException.END_OF_FILE);
+        }
+        return n;
+    }
+
+    private void checkOpen() throws TTransportException {
+        if (buffer == null) {
+            throw new TTransportException(TTransportException.NOT_OPEN,
+                    "Transport has been closed");
+        }
+    }
+
+}
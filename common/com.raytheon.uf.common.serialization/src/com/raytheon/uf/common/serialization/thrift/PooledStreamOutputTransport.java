@@ -0,0 +1,118 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.thrift;
+
+import java.nio.ByteBuffer;
+
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
+
+/**
+ * A write only {@link TTransport} over a {@link PooledByteArrayOutputStream}.
+ * In addition to normal writes it can {@link #reserve(int)} space at the end
+ * of the stream's backing array so that the protocol can encode a primitive
+ * array directly into the output, with no intermediate byte array.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- --------------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class PooledStreamOutputTransport extends TTransport {
+
+    /** Largest array size that can safely be allocated on most JVMs */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final PooledByteArrayOutputStream stream;
+
+    /**
+     * Constructor
+     *
+     * @param stream
+     *            the stream to write to, closing it remains the
+     *            responsibility of the caller
+     */
+    public PooledStreamOutputTransport(PooledByteArrayOutputStream stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    @Override
+    public void open() throws TTransportException {
+        // nothing to open
+    }
+
+    @Override
+    public void close() {
+        // the stream is owned by the caller
+    }
+
+    @Override
+    public int read(byte[] buf, int off, int len) throws TTransportException {
+        throw new TTransportException(TTransportException.UNKNOWN,
+                "Cannot read from a write only transport");
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) throws TTransportException {
+        stream.write(buf, off, len);
+    }
+
+    /**
+     * Reserve space at the end of the stream. The returned buffer is big
+     * endian, positioned at 0 and has exactly len bytes remaining; the bytes
+     * count as written as soon as this method returns.
+     *
+     * @param len
+     *            number of bytes to reserve
+     * @return a buffer over the reserved bytes
+     */
+    public ByteBuffer reserve(int len) {
+        int offset = stream.size();
+        int end = offset + len;
+        /*
+         * ResizeableByteArrayOutputStream requires the count to be strictly
+         * less than the capacity
+         */
+        int capacity = stream.getCapacity();
+        if (end >= capacity) {
+            int newCapacity = (int) Math.min(MAX_CAPACITY,
+                    Math.max(end + 1L, capacity * 2L));
+            stream.setCapacity(newCapacity);
+        }
+        stream.setCount(end);
+        return ByteBuffer.wrap(stream.getUnderlyingArray(), offset, len)
+                .slice();
+    }
+
+}
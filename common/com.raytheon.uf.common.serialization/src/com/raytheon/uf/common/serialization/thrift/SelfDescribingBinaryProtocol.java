@@ -66,6 +66,8 @@ import org.slf4j.LoggerFactory;
  *                                  read too much
  * Jul 13, 2015  4589     bsteffen  Copy arrays in chunks to save memory.
  * Mar 08, 2017  6167     nabowle   Updated for thrift 0.10.0
+ * Oct 15, 2026           agent     Bulk copy primitive arrays directly to or
+ *                                  from transport buffers when possible
  *
  * </pre>
  *
@@ -207,6 +209,11 @@ public class SelfDescribingBinaryProtocol extends TBinaryProtocol {
     public float[] readF32List(int sz) throws TException {
         FloatBuffer result = FloatBuffer.allocate(sz);
         int arrByteLength = sz * 4;
+        ByteBuffer direct = directReadBuffer(arrByteLength);
+        if (direct != null) {
+            direct.asFloatBuffer().get(result.array());
+            return result.array();
+        }
         int bufferSize = Math.min(ARRAY_CHUNK_SIZE, arrByteLength);
         byte[] buffer = new byte[bufferSize];
         FloatBuffer floatBuffer = ByteBuffer.wrap(buffer).asFloatBuffer();
@@ -242,6 +249,11 @@ public class SelfDescribingBinaryProtocol extends TBinaryProtocol {
     public void writeF32List(float[] arr) throws TException {
         int arrLength = arr.length;
         int arrByteLength = arrLength * 4;
+        ByteBuffer direct = directWriteBuffer(arrByteLength);
+        if (direct != null) {
+            direct.asFloatBuffer().put(arr);
+            return;
+        }
         if (ARRAY_CHUNK_SIZE > arrByteLength) {
             byte[] bytes = new byte[arrByteLength];
             ByteBuffer.wrap(bytes).asFloatBuffer().put(arr);
@@ -275,6 +287,11 @@ public class SelfDescribingBinaryProtocol extends TBinaryProtocol {
     public int[] readI32List(int sz) throws TException {
         IntBuffer result = IntBuffer.allocate(sz);
         int arrByteLength = sz * 4;
+        ByteBuffer direct = directReadBuffer(arrByteLength);
+        if (direct != null) {
+            direct.asIntBuffer().get(result.array());
+            return result.array();
+        }
         int bufferSize = Math.min(ARRAY_CHUNK_SIZE, arrByteLength);
         byte[] buffer = new byte[bufferSize];
         IntBuffer intBuffer = ByteBuffer.wrap(buffer).asIntBuffer();
@@ -310,6 +327,11 @@ public class SelfDescribingBinaryProtocol extends TBinaryProtocol {
     public void writeI32List(int[] arr) throws TException {
         int arrLength = arr.length;
         int arrByteLength = arrLength * 4;
+        ByteBuffer direct = directWriteBuffer(arrByteLength);
+        if (direct != null) {
+            direct.asIntBuffer().put(arr);
+            return;
+        }
         if (ARRAY_CHUNK_SIZE > arrByteLength) {
             byte[] bytes = new byte[arrByteLength];
             ByteBuffer.wrap(bytes).asIntBuffer().put(arr);
@@ -343,6 +365,11 @@ public class SelfDescribingBinaryProtocol extends TBinaryProtocol {
     public double[] readD64List(int sz) throws TException {
         DoubleBuffer result = DoubleBuffer.allocate(sz);
         int arrByteLength = sz * 8;
+        ByteBuffer direct = directReadBuffer(arrByteLength);
+        if (direct != null) {
+            direct.asDoubleBuffer().get(result.array());
+            return result.array();
+        }
         int bufferSize = Math.min(ARRAY_CHUNK_SIZE, arrByteLength);
         byte[] buffer = new byte[bufferSize];
         DoubleBuffer doubleBuffer = ByteBuffer.wrap(buffer).asDoubleBuffer();
@@ -379,6 +406,11 @@ public class SelfDescribingBinaryProtocol extends TBinaryProtocol {
     public void writeD64List(double[] arr) throws TException {
         int arrLength = arr.length;
         int arrByteLength = arrLength * 8;
+        ByteBuffer direct = directWriteBuffer(arrByteLength);
+        if (direct != null) {
+            direct.asDoubleBuffer().put(arr);
+            return;
+        }
         if (ARRAY_CHUNK_SIZE > arrByteLength) {
             byte[] bytes = new byte[arrByteLength];
             ByteBuffer.wrap(bytes).asDoubleBuffer().put(arr);
@@ -412,6 +444,11 @@ public class SelfDescribingBinaryProtocol extends TBinaryProtocol {
     public long[] readI64List(int sz) throws TException {
         LongBuffer result = LongBuffer.allocate(sz);
         int arrByteLength = sz * 8;
+        ByteBuffer direct = directReadBuffer(arrByteLength);
+        if (direct != null) {
+            direct.asLongBuffer().get(result.array());
+            return result.array();
+        }
         int bufferSize = Math.min(ARRAY_CHUNK_SIZE, arrByteLength);
         byte[] buffer = new byte[bufferSize];
         LongBuffer longBuffer = ByteBuffer.wrap(buffer).asLongBuffer();
@@ -447,6 +484,11 @@ public class SelfDescribingBinaryProtocol extends TBinaryProtocol {
     public void writeI64List(long[] arr) throws TException {
         int arrLength = arr.length;
         int arrByteLength = arrLength * 8;
+        ByteBuffer direct = directWriteBuffer(arrByteLength);
+        if (direct != null) {
+            direct.asLongBuffer().put(arr);
+            return;
+        }
         if (ARRAY_CHUNK_SIZE > arrByteLength) {
             byte[] bytes = new byte[arrByteLength];
             ByteBuffer.wrap(bytes).asLongBuffer().put(arr);
@@ -480,6 +522,11 @@ public class SelfDescribingBinaryProtocol extends TBinaryProtocol {
     public short[] readI16List(int sz) throws TException {
         ShortBuffer result = ShortBuffer.allocate(sz);
         int arrByteLength = sz * 2;
+        ByteBuffer direct = directReadBuffer(arrByteLength);
+        if (direct != null) {
+            direct.asShortBuffer().get(result.array());
+            return result.array();
+        }
         int bufferSize = Math.min(ARRAY_CHUNK_SIZE, arrByteLength);
         byte[] buffer = new byte[bufferSize];
         ShortBuffer shortBuffer = ByteBuffer.wrap(buffer).asShortBuffer();
@@ -515,6 +562,11 @@ public class SelfDescribingBinaryProtocol extends TBinaryProtocol {
     public void writeI16List(short[] arr) throws TException {
         int arrLength = arr.length;
         int arrByteLength = arrLength * 2;
+        ByteBuffer direct = directWriteBuffer(arrByteLength);
+        if (direct != null) {
+            direct.asShortBuffer().put(arr);
+            return;
+        }
         if (ARRAY_CHUNK_SIZE > arrByteLength) {
             byte[] bytes = new byte[arrByteLength];
             ByteBuffer.wrap(bytes).asShortBuffer().put(arr);
@@ -564,6 +616,43 @@ public class SelfDescribingBinaryProtocol extends TBinaryProtocol {
         this.trans_.write(arr);
     }
 
+    /**
+     * Get a view of the transport's read buffer if the next byteLength bytes
+     * are all available in it, so that an array can be decoded with a single
+     * copy. The bytes are consumed from the transport.
+     *
+     * @param byteLength
+     *            the number of bytes needed
+     * @return a buffer over the bytes, or null if they are not all buffered
+     */
+    private ByteBuffer directReadBuffer(int byteLength) {
+        if (byteLength > 0
+                && trans_.getBytesRemainingInBuffer() >= byteLength) {
+            ByteBuffer bytes = ByteBuffer.wrap(trans_.getBuffer(),
+                    trans_.getBufferPosition(), byteLength).slice();
+            trans_.consumeBuffer(byteLength);
+            return bytes;
+        }
+        return null;
+    }
+
+    /**
+     * Get a view of space reserved at the end of the transport's output array
+     * if the transport supports it, so that an array can be encoded with a
+     * single copy.
+     *
+     * @param byteLength
+     *            the number of bytes to reserve
+     * @return a buffer over the reserved bytes, or null if the transport must
+     *         be written to in chunks
+     */
+    private ByteBuffer directWriteBuffer(int byteLength) {
+        if (byteLength > 0 && trans_ instanceof PooledStreamOutputTransport) {
+            return ((PooledStreamOutputTransport) trans_).reserve(byteLength);
+        }
+        return null;
+    }
+
     /**
      * Verifies that the given length is non-negative and less than
      * {@link #MAX_READ_LENGTH}.
@@ -0,0 +1,285 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.serialization.thrift;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.raytheon.uf.common.serialization.DynamicSerializationManager.SerializationMetadata;
+import com.raytheon.uf.common.serialization.SerializationException;
+
+/**
+ * A specialized accessor for a single {@code DynamicSerialize} class. The
+ * getters, setters and no-arg constructor of the class are resolved once into
+ * {@link MethodHandle}s so that encoding and decoding a struct does not need
+ * to go through a cglib BeanMap.
+ *
+ * Properties are resolved with the same {@link Introspector} rules that cglib
+ * uses to build a BeanMap, so an attribute that is not readable through the
+ * BeanMap (e.g. a getter that does not match the field name) is also not
+ * readable through the codec and the encoded stream is identical between the
+ * two paths.
+ *
+ * Codecs are used by default. Set the system property
+ * {@value #CODEC_PROPERTY} to false, or call {@link #setEnabled(boolean)}, to
+ * force every class through the reflective BeanMap path. Classes that cannot
+ * be represented by a codec (non-public class, no public no-arg constructor)
+ * always use the reflective path.
+ *
+ * <pre>
+ * SOFTWARE HISTORY
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 15, 2026           agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class ThriftClassCodec {
+
+    /** System property used to toggle between codecs and BeanMaps */
+    public static final String CODEC_PROPERTY = "thrift.serialization.codecs";
+
+    private static final Logger log = LoggerFactory
+            .getLogger(ThriftClassCodec.class);
+
+    /** Marker for classes that cannot be handled by a codec */
+    private static final ThriftClassCodec UNSUPPORTED = new ThriftClassCodec();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(
+            Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(
+            void.class, Object.class, Object.class);
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType
+            .methodType(Object.class);
+
+    private static final Map<Class<?>, ThriftClassCodec> codecs = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = Boolean.parseBoolean(System
+            .getProperty(CODEC_PROPERTY, "true"));
+
+    private final Class<?> clazz;
+
+    private final MethodHandle constructor;
+
+    /** Getters in the same order as SerializationMetadata.attributeNames */
+    private final MethodHandle[] getters;
+
+    /** Setters of every writable property, keyed by property name */
+    private final Map<String, MethodHandle> setters;
+
+    private ThriftClassCodec() {
+        this.clazz = null;
+        this.constructor = null;
+        this.getters = null;
+        this.setters = null;
+    }
+
+    private ThriftClassCodec(Class<?> clazz, MethodHandle constructor,
+            MethodHandle[] getters, Map<String, MethodHandle> setters) {
+        this.clazz = clazz;
+        this.constructor = constructor;
+        this.getters = getters;
+        this.setters = setters;
+    }
+
+    /**
+     * @return true if codecs should be used in place of BeanMaps
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switch between generated codecs and the reflective BeanMap path.
+     *
+     * @param enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        ThriftClassCodec.enabled = enabled;
+    }
+
+    /**
+     * Get the codec for a class, building it the first time the class is
+     * seen.
+     *
+     * @param clazz
+     *            the class to encode/decode
+     * @param metadata
+     *            the serialization metadata of the class
+     * @return the codec, or null if codecs are disabled or the class must go
+     *         through the reflective path
+     */
+    public static ThriftClassCodec getCodec(Class<?> clazz,
+            SerializationMetadata metadata) {
+        if (!enabled || metadata == null
+                || metadata.serializationFactory != null
+                || metadata.attributeNames == null || clazz.isEnum()) {
+            return null;
+        }
+        ThriftClassCodec codec = codecs.get(clazz);
+        if (codec == null) {
+            codec = build(clazz, metadata.attributeNames);
+            ThriftClassCodec prev = codecs.putIfAbsent(clazz, codec);
+            if (prev != null) {
+                codec = prev;
+            }
+        }
+        return codec == UNSUPPORTED ? null : codec;
+    }
+
+    private static ThriftClassCodec build(Class<?> clazz,
+            List<String> attributeNames) {
+        if (!Modifier.isPublic(clazz.getModifiers())
+                || Modifier.isAbstract(clazz.getModifiers())) {
+            return UNSUPPORTED;
+        }
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            MethodHandle constructor = lookup.findConstructor(clazz,
+                    MethodType.methodType(void.class)).asType(
+                    CONSTRUCTOR_TYPE);
+
+            /*
+             * like BeanMap.put(), any writable property can be set even if it
+             * is not a serialized attribute
+             */
+            Map<String, PropertyDescriptor> props = new HashMap<>();
+            Map<String, MethodHandle> setters = new HashMap<>();
+            BeanInfo info = Introspector.getBeanInfo(clazz);
+            for (PropertyDescriptor pd : info.getPropertyDescriptors()) {
+                props.put(pd.getName(), pd);
+                Method write = pd.getWriteMethod();
+                if (write != null) {
+                    setters.put(pd.getName(), lookup.unreflect(write)
+                            .asType(SETTER_TYPE));
+                }
+            }
+
+            MethodHandle[] getters = new MethodHandle[attributeNames.size()];
+            for (int i = 0; i < getters.length; i++) {
+                PropertyDescriptor pd = props.get(attributeNames.get(i));
+                if (pd != null && pd.getReadMethod() != null) {
+                    getters[i] = lookup.unreflect(pd.getReadMethod()).asType(
+                            GETTER_TYPE);
+                }
+            }
+            return new ThriftClassCodec(clazz, constructor, getters, setters);
+        } catch (NoSuchMethodException | IllegalAccessException
+                | IntrospectionException e) {
+            log.debug("Unable to build thrift codec for " + clazz.getName()
+                    + ", falling back to reflection", e);
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * @return the class this codec handles
+     */
+    public Class<?> getJavaClass() {
+        return clazz;
+    }
+
+    /**
+     * Create a new empty instance of the class
+     *
+     * @return the new instance
+     * @throws SerializationException
+     */
+    public Object newInstance() throws SerializationException {
+        try {
+            return constructor.invokeExact();
+        } catch (Throwable t) {
+            throw new SerializationException("Error instantiating class: "
+                    + clazz.getName(), t);
+        }
+    }
+
+    /**
+     * Read the value of an attribute
+     *
+     * @param bean
+     *            the object to read from
+     * @param index
+     *            index of the attribute in the metadata's attributeNames
+     * @return the value, or null if the attribute has no readable property
+     * @throws SerializationException
+     */
+    public Object get(Object bean, int index) throws SerializationException {
+        MethodHandle getter = getters[index];
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return getter.invokeExact(bean);
+        } catch (Throwable t) {
+            throw new SerializationException("Error reading field " + index
+                    + " of " + clazz.getName(), t);
+        }
+    }
+
+    /**
+     * Set the value of a field. Unknown or read-only fields are silently
+     * ignored, matching the behavior of BeanMap.put().
+     *
+     * @param bean
+     *            the object to populate
+     * @param name
+     *            the serialized field name
+     * @param value
+     *            the deserialized value
+     * @throws ClassCastException
+     *             if the value is not compatible with the property type
+     * @throws SerializationException
+     */
+    public void set(Object bean, String name, Object value)
+            throws SerializationException {
+        MethodHandle setter = setters.get(name);
+        if (setter == null) {
+            return;
+        }
+        try {
+            setter.invokeExact(bean, value);
+        } catch (ClassCastException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new SerializationException("Error setting field " + name
+                    + " of " + clazz.getName(), t);
+        }
+    }
+
+}
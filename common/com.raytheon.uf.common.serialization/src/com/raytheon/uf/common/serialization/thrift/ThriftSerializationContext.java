@@ -103,6 +103,8 @@ import net.sf.cglib.reflect.FastClass;
  * Jun 17, 2015  4564     njensen     Added date/time conversion in deserializeField()
  * Jul 16, 2015  4561     njensen     Improved read and ignore of collection types
  * Oct 19, 2017  6316     njensen     Improved serialization error message
+ * Oct 15, 2026           agent       Added ThriftClassCodec paths for struct
+ *                                    fields in place of BeanMaps
  * 
  * </pre>
  * 
@@ -596,41 +598,9 @@ public class ThriftSerializationContext extends BaseSerializationContext {
                     // Serialize all of the remaining fields
                     short id = 1;
                     for (String keyStr : metadata.attributeNames) {
-
                         Object val = beanMap.get(keyStr);
-
-                        Byte type = null;
-                        ISerializationTypeAdapter attributeFactory = null;
-                        // Determine if we know how to serialize this field
-                        if (val != null) {
-                            Class<?> valClass = val.getClass();
-                            type = lookupType(valClass);
-                            attributeFactory = metadata.attributesWithFactories
-                                    .get(keyStr);
-                            if (type == null && attributeFactory == null) {
-
-                                throw new SerializationException(
-                                        "Unable to find serialization for "
-                                                + valClass.getName());
-                            }
-
-                            /*
-                             * If it's not a first class type or has a
-                             * serialization factory, assume struct for now, if
-                             * there are no tags we'll find out soon
-                             */
-                            if (type == null) {
-                                type = TType.STRUCT;
-                            }
-                        } else {
-                            // Data is null
-                            type = TType.VOID;
-                        }
-
-                        // Perform actual serialization
-                        serializeField(val, type, keyStr, attributeFactory, id);
+                        serializeAttribute(val, keyStr, metadata, id);
                         id++;
-
                     }
                     protocol.writeFieldStop();
                 }
@@ -651,6 +621,87 @@ public class ThriftSerializationContext extends BaseSerializationContext {
         }
     }
 
+    /**
+     * Serialize a message whose attributes are read through a generated codec
+     * rather than a BeanMap. The encoded bytes are identical to
+     * {@link #serializeMessage(Object, BeanMap, SerializationMetadata)}.
+     * 
+     * @param obj
+     *            the object
+     * @param codec
+     *            the codec for the object's class
+     * @param metadata
+     *            the object's metadata
+     * @throws SerializationException
+     */
+    public void serializeMessage(Object obj, ThriftClassCodec codec,
+            SerializationMetadata metadata) throws SerializationException {
+        try {
+            // Must remove "." to be cross platform
+            String structName = obj.getClass().getName().replace('.', '_');
+            protocol.writeStructBegin(new TStruct(structName));
+
+            List<String> attributeNames = metadata.attributeNames;
+            int size = attributeNames.size();
+            for (int i = 0; i < size; i++) {
+                Object val = codec.get(obj, i);
+                serializeAttribute(val, attributeNames.get(i), metadata,
+                        (short) (i + 1));
+            }
+            protocol.writeFieldStop();
+            protocol.writeStructEnd();
+        } catch (TException e) {
+            throw new SerializationException("Serialization failed", e);
+        }
+    }
+
+    /**
+     * Determine the type of an attribute of a struct and serialize it as a
+     * field
+     * 
+     * @param val
+     *            the attribute value
+     * @param keyStr
+     *            the attribute name
+     * @param metadata
+     *            the metadata of the enclosing object
+     * @param id
+     *            the field id
+     * @throws TException
+     * @throws SerializationException
+     */
+    protected void serializeAttribute(Object val, String keyStr,
+            SerializationMetadata metadata, short id) throws TException,
+            SerializationException {
+        Byte type = null;
+        ISerializationTypeAdapter attributeFactory = null;
+        // Determine if we know how to serialize this field
+        if (val != null) {
+            Class<?> valClass = val.getClass();
+            type = lookupType(valClass);
+            attributeFactory = metadata.attributesWithFactories.get(keyStr);
+            if (type == null && attributeFactory == null) {
+                throw new SerializationException(
+                        "Unable to find serialization for "
+                                + valClass.getName());
+            }
+
+            /*
+             * If it's not a first class type or has a serialization factory,
+             * assume struct for now, if there are no tags we'll find out soon
+             */
+            if (type == null) {
+                type = TType.STRUCT;
+            }
+        } else {
+            // Data is null
+            type = TType.VOID;
+        }
+
+        // Perform actual serialization
+        serializeField(val, type, keyStr, attributeFactory, id);
+    }
+
     /**
      * Serialize a field
      * 
@@ -726,6 +777,7 @@ public class ThriftSerializationContext extends BaseSerializationContext {
 
         Object o = null;
         BeanMap bm = null;
+        ThriftClassCodec codec = null;
 
         try {
             if (fc.getJavaClass().isEnum()) {
@@ -747,9 +799,14 @@ public class ThriftSerializationContext extends BaseSerializationContext {
                 }
             } else {
                 // a "regular" class
+                codec = ThriftClassCodec.getCodec(fc.getJavaClass(), md);
                 try {
-                    o = fc.newInstance();
-                    bm = SerializationCache.getBeanMap(o);
+                    if (codec != null) {
+                        o = codec.newInstance();
+                    } else {
+                        o = fc.newInstance();
+                        bm = SerializationCache.getBeanMap(o);
+                    }
                 } catch (Exception e) {
                     throw new SerializationException(
                             "Error instantiating class: " + struct.name, e);
@@ -758,7 +815,7 @@ public class ThriftSerializationContext extends BaseSerializationContext {
                 boolean moreFields = true;
                 while (moreFields) {
                     try {
-                        moreFields = deserializeField(fc, bm);
+                        moreFields = deserializeField(fc, bm, codec, o);
                     } catch (FieldDeserializationException e) {
                         TField failure = e.getField();
                         log.debug("Skipping deserialization of "
@@ -807,6 +864,8 @@ public class ThriftSerializationContext extends BaseSerializationContext {
             if (bm != null && o != null) {
                 retObj = bm.getBean();
                 SerializationCache.returnBeanMap(bm, o);
+            } else if (codec != null) {
+                retObj = o;
             }
         }
 
@@ -1046,6 +1105,23 @@ public class ThriftSerializationContext extends BaseSerializationContext {
      */
     protected boolean deserializeField(FastClass fc, BeanMap bm)
             throws TException, SerializationException {
+        return deserializeField(fc, bm, null, null);
+    }
+
+    /**
+     * Deserialize a field, setting it through the codec if one is provided or
+     * through the BeanMap otherwise
+     * 
+     * @param fc
+     * @param bm
+     * @param codec
+     * @param bean
+     * @throws TException
+     * @throws SerializationException
+     */
+    protected boolean deserializeField(FastClass fc, BeanMap bm,
+            ThriftClassCodec codec, Object bean) throws TException,
+            SerializationException {
         TField field = protocol.readFieldBegin();
         Object obj = null;
 
@@ -1081,7 +1157,7 @@ public class ThriftSerializationContext extends BaseSerializationContext {
                  * cglib doesn't seem to mind if you put in extra fields that
                  * don't exist in your version of the object
                  */
-                bm.put(field.name, obj);
+                putField(bm, codec, bean, field.name, obj);
             } catch (ClassCastException e) {
                 /*
                  * should we continue to add special handling in here, we should
@@ -1097,18 +1173,18 @@ public class ThriftSerializationContext extends BaseSerializationContext {
                      * due to primitive number classes, castNumber() will check
                      */
                     obj = castNumber((Number) obj, fieldClass);
-                    bm.put(field.name, obj);
+                    putField(bm, codec, bean, field.name, obj);
                 } else if (obj instanceof Date
                         && Calendar.class.isAssignableFrom(fieldClass)) {
                     Calendar c = Calendar.getInstance(TimeZone
                             .getTimeZone("GMT"));
                     c.setTime((Date) obj);
                     obj = c;
-                    bm.put(field.name, obj);
+                    putField(bm, codec, bean, field.name, obj);
                 } else if (obj instanceof Calendar
                         && Date.class.isAssignableFrom(fieldClass)) {
                     obj = ((Calendar) obj).getTime();
-                    bm.put(field.name, obj);
+                    putField(bm, codec, bean, field.name, obj);
                 } else {
                     throw e;
                 }
@@ -1119,6 +1195,22 @@ public class ThriftSerializationContext extends BaseSerializationContext {
         return true;
     }
 
+    /**
+     * Set a deserialized value on the object being built
+     * 
+     * @throws ClassCastException
+     *             if the value does not match the property type
+     */
+    private static void putField(BeanMap bm, ThriftClassCodec codec,
+            Object bean, String name, Object value)
+            throws SerializationException {
+        if (codec != null) {
+            codec.set(bean, name, value);
+        } else {
+            bm.put(name, value);
+        }
+    }
+
     /**
      * Convert source Number to Number compatible with target number class
      * 
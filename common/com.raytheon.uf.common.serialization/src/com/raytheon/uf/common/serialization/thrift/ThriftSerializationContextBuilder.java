@@ -30,6 +30,7 @@ import com.raytheon.uf.common.serialization.DynamicSerializationManager;
 import com.raytheon.uf.common.serialization.IDeserializationContext;
 import com.raytheon.uf.common.serialization.ISerializationContext;
 import com.raytheon.uf.common.serialization.ISerializationContextBuilder;
+import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
 
 /**
  * Build a Thrift Serialization context
@@ -41,6 +42,9 @@ import com.raytheon.uf.common.serialization.ISerializationContextBuilder;
  * Aug 12, 2008				chammack	Initial creation
  * Jul 23, 2013  2215       njensen     Updated for thrift 0.9.0
  * Aug 06, 2013    2228     njensen     Added buildDeserializationContext(byte[], dsm)
+ * Oct 15, 2026             agent       Added buildDeserializationContext(TTransport, dsm)
+ * Oct 15, 2026             agent       Write pooled streams through
+ *                                      PooledStreamOutputTransport
  * 
  * </pre>
  * 
@@ -78,7 +82,14 @@ public class ThriftSerializationContextBuilder implements
     public ISerializationContext buildSerializationContext(OutputStream data,
             DynamicSerializationManager manager) {
 
-        TTransport transport = new TIOStreamTransport(data);
+        TTransport transport;
+        if (data instanceof PooledByteArrayOutputStream) {
+            // allows primitive arrays to be encoded directly into the stream
+            transport = new PooledStreamOutputTransport(
+                    (PooledByteArrayOutputStream) data);
+        } else {
+            transport = new TIOStreamTransport(data);
+        }
         SelfDescribingBinaryProtocol proto = new SelfDescribingBinaryProtocol(
                 transport);
 
@@ -96,4 +107,20 @@ public class ThriftSerializationContextBuilder implements
         return new ThriftSerializationContext(proto, manager);
     }
 
+    /**
+     * Build a deserialization context that reads from an existing transport,
+     * such as a {@link PooledBufferInputTransport}
+     * 
+     * @param transport
+     * @param manager
+     * @return the context
+     */
+    public IDeserializationContext buildDeserializationContext(
+            TTransport transport, DynamicSerializationManager manager) {
+        SelfDescribingBinaryProtocol proto = new SelfDescribingBinaryProtocol(
+                transport);
+
+        return new ThriftSerializationContext(proto, manager);
+    }
+
 }
@@ -19,6 +19,8 @@
  **/
 package com.raytheon.uf.common.util;
 
+import java.util.Arrays;
+
 /**
  * Array operation utilities
  * 
@@ -29,6 +31,7 @@ package com.raytheon.uf.common.util;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Feb 15, 2013 1638       mschenke    Functions moved from edex.common Util
+ * Oct 15, 2026            agent       Added sortPaired and correlateSorted
  * 
  * </pre>
  * 
@@ -264,4 +267,67 @@ public class ArraysUtil {
 
     }
 
+    /**
+     * Sort keys ascending and reorder values to match, so that each value
+     * stays paired with its key. The sort is stable, pairs with equal keys
+     * keep their relative order, and uses a single primitive sort instead of
+     * an object per pair.
+     * 
+     * @param keys
+     *            the keys, sorted in place
+     * @param values
+     *            the values, at least as long as keys, reordered in place
+     */
+    public static void sortPaired(int[] keys, int[] values) {
+        int n = keys.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            // key in the high word, original position in the low word
+            packed[i] = ((long) keys[i] << 32) | i;
+        }
+        Arrays.sort(packed);
+        int[] sortedValues = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = (int) (packed[i] >> 32);
+            sortedValues[i] = values[(int) packed[i]];
+        }
+        System.arraycopy(sortedValues, 0, values, 0, n);
+    }
+
+    /**
+     * Find the value paired with each lookup key by merging the lookups
+     * against keys sorted with {@link #sortPaired(int[], int[])}. Each pair is
+     * matched at most once, so repeated lookups consume repeated keys in
+     * order. The lookups must be ascending, a lookup that is smaller than the
+     * one before it is treated as missing.
+     * 
+     * @param sortedKeys
+     *            ascending keys
+     * @param values
+     *            values paired with sortedKeys
+     * @param lookups
+     *            ascending keys to look up
+     * @param missing
+     *            value to use for lookups without a matching key
+     * @return the values in lookup order
+     */
+    public static int[] correlateSorted(int[] sortedKeys, int[] values,
+            int[] lookups, int missing) {
+        int[] result = new int[lookups.length];
+        int k = 0;
+        for (int i = 0; i < lookups.length; i++) {
+            int key = lookups[i];
+            while (k < sortedKeys.length && sortedKeys[k] < key) {
+                k++;
+            }
+            if (k < sortedKeys.length && sortedKeys[k] == key) {
+                result[i] = values[k];
+                k++;
+            } else {
+                result[i] = missing;
+            }
+        }
+        return result;
+    }
+
 }
@@ -0,0 +1,154 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util.collections;
+
+/**
+ * A fixed size Bloom filter of strings. {@link #mightContain(CharSequence)}
+ * never returns false for a value that has been added, it may return true for
+ * a value that has not been added with a probability that grows as the filter
+ * fills, see {@link #expectedFalsePositiveRate()}.
+ * 
+ * Not thread safe.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long[] bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private int insertions;
+
+    /**
+     * @param sizeInBytes
+     *            memory used by the bits of the filter, rounded up to a
+     *            multiple of 8
+     * @param hashCount
+     *            number of bits set per value
+     */
+    public BloomFilter(int sizeInBytes, int hashCount) {
+        if (sizeInBytes <= 0 || hashCount <= 0) {
+            throw new IllegalArgumentException(
+                    "Bloom filter size and hash count must be positive");
+        }
+        this.bits = new long[(sizeInBytes + 7) / 8];
+        this.bitCount = bits.length * 64L;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Add a value to the filter.
+     * 
+     * @param value
+     */
+    public void put(CharSequence value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i += 1) {
+            long bit = index(h1 + i * h2);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        insertions += 1;
+    }
+
+    /**
+     * @param value
+     * @return false if the value has definitely not been added
+     */
+    public boolean mightContain(CharSequence value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i += 1) {
+            long bit = index(h1 + i * h2);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of values added, including repeats
+     */
+    public int getInsertions() {
+        return insertions;
+    }
+
+    /**
+     * @return the memory used by the bits of the filter
+     */
+    public int getSizeInBytes() {
+        return bits.length * 8;
+    }
+
+    /**
+     * @return the probability that mightContain returns true for a value that
+     *         was not added, estimated from the number of insertions
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(
+                1 - Math.exp(-(double) hashCount * insertions / bitCount),
+                hashCount);
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    /** 64 bit FNV-1a hash of the chars in the value */
+    private static long hash(CharSequence value) {
+        long hash = FNV_OFFSET;
+        int length = value.length();
+        for (int i = 0; i < length; i += 1) {
+            char c = value.charAt(i);
+            hash ^= c & 0xFF;
+            hash *= FNV_PRIME;
+            hash ^= c >>> 8;
+            hash *= FNV_PRIME;
+        }
+        /* FNV mixes the high bits poorly, finish with a murmur3 fmix64 */
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
@@ -0,0 +1,240 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.raytheon.uf.common.util.ByteArrayOutputStreamPool;
+import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
+
+/**
+ * Registry of the available {@link ICompressionCodec}s, keyed by
+ * content-coding name. gzip, deflate and lz4 are always available. Additional
+ * codecs, such as zstd, are discovered with {@link ServiceLoader} the first
+ * time the registry is used, or can be added with
+ * {@link #register(ICompressionCodec)}.
+ *
+ * Only gzip and deflate are offered in http content negotiation by default,
+ * gzip first. Other codecs must be listed in the
+ * {@value #NEGOTIATED_CODECS_PROPERTY} system property, comma separated, to
+ * be negotiated, so clients and servers keep speaking gzip until a codec is
+ * deliberately enabled on both ends.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public final class CompressionCodecs {
+
+    /** Content-coding name of the Zstandard codec, when one is registered */
+    public static final String ZSTD = "zstd";
+
+    /** Names of additional codecs to offer in http content negotiation */
+    public static final String NEGOTIATED_CODECS_PROPERTY = "compression.negotiated.codecs";
+
+    private static final Logger logger = LoggerFactory
+            .getLogger(CompressionCodecs.class);
+
+    private static final Map<String, ICompressionCodec> codecs = new ConcurrentHashMap<>();
+
+    /** Codec names in registration order */
+    private static final List<String> preference = Collections
+            .synchronizedList(new ArrayList<String>());
+
+    static {
+        register(new GzipCodec());
+        register(new DeflateCodec());
+        register(new Lz4Codec());
+        try {
+            for (ICompressionCodec codec : ServiceLoader.load(
+                    ICompressionCodec.class,
+                    CompressionCodecs.class.getClassLoader())) {
+                register(codec);
+            }
+        } catch (ServiceConfigurationError e) {
+            logger.warn("Unable to load compression codecs", e);
+        }
+    }
+
+    private CompressionCodecs() {
+    }
+
+    /**
+     * Add a codec, replacing any codec already registered with the same name.
+     *
+     * @param codec
+     */
+    public static void register(ICompressionCodec codec) {
+        String name = normalize(codec.getName());
+        if (codecs.put(name, codec) == null) {
+            preference.add(name);
+        }
+    }
+
+    /**
+     * @param name
+     *            content-coding name, case insensitive
+     * @return the codec or null if no codec is registered with the name
+     */
+    public static ICompressionCodec get(String name) {
+        if (name == null) {
+            return null;
+        }
+        return codecs.get(normalize(name));
+    }
+
+    /**
+     * @param name
+     *            content-coding name, case insensitive
+     * @return the codec
+     * @throws IllegalArgumentException
+     *             if no codec is registered with the name
+     */
+    public static ICompressionCodec require(String name) {
+        ICompressionCodec codec = get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException(
+                    "No compression codec registered for '" + name
+                            + "', available codecs are " + getNames());
+        }
+        return codec;
+    }
+
+    /**
+     * @return the names of all registered codecs, in registration order
+     */
+    public static List<String> getNames() {
+        synchronized (preference) {
+            return new ArrayList<>(preference);
+        }
+    }
+
+    /**
+     * @param name
+     *            content-coding name, case insensitive
+     * @return true if the codec may be offered or picked in http content
+     *         negotiation
+     */
+    public static boolean isNegotiated(String name) {
+        return name != null && getNegotiatedNames().contains(normalize(name));
+    }
+
+    /**
+     * @return the names of the registered codecs that are enabled for http
+     *         content negotiation, most preferred first. Codecs enabled with
+     *         {@value #NEGOTIATED_CODECS_PROPERTY} come first in the order
+     *         listed, followed by gzip and deflate.
+     */
+    public static List<String> getNegotiatedNames() {
+        List<String> names = new ArrayList<>();
+        String enabled = System.getProperty(NEGOTIATED_CODECS_PROPERTY, "");
+        for (String codec : enabled.split(",")) {
+            String name = normalize(codec);
+            if (codecs.containsKey(name) && !names.contains(name)) {
+                names.add(name);
+            }
+        }
+        for (String name : new String[] { GzipCodec.NAME, DeflateCodec.NAME }) {
+            if (codecs.containsKey(name) && !names.contains(name)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @return all registered codecs
+     */
+    public static Collection<ICompressionCodec> getCodecs() {
+        return Collections.unmodifiableCollection(codecs.values());
+    }
+
+    /**
+     * Compress an array with a codec.
+     *
+     * @param codec
+     * @param bytes
+     * @return the compressed bytes
+     * @throws IOException
+     */
+    public static byte[] compress(ICompressionCodec codec, byte[] bytes)
+            throws IOException {
+        try (PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
+                .getInstance().getStream(bytes.length)) {
+            try (OutputStream out = codec.compress(byteStream)) {
+                out.write(bytes);
+            }
+            return byteStream.toByteArray();
+        }
+    }
+
+    /**
+     * Decompress an array with a codec.
+     *
+     * @param codec
+     * @param bytes
+     * @param sizeHint
+     *            the expected uncompressed size, used to size the output
+     * @return the uncompressed bytes
+     * @throws IOException
+     */
+    public static byte[] decompress(ICompressionCodec codec, byte[] bytes,
+            int sizeHint) throws IOException {
+        try (PooledByteArrayOutputStream byteStream = ByteArrayOutputStreamPool
+                .getInstance().getStream(Math.max(sizeHint, bytes.length));
+                InputStream in = codec
+                        .decompress(new ByteArrayInputStream(bytes))) {
+            byte[] buffer = new byte[8 * 1024];
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                byteStream.write(buffer, 0, n);
+            }
+            return byteStream.toByteArray();
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.US);
+    }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A compression format that can wrap streams. Each codec is identified by a
+ * name that doubles as its HTTP content-coding token, so a codec can be
+ * negotiated with Accept-Encoding and advertised with Content-Encoding.
+ *
+ * Codecs are registered with {@link CompressionCodecs}. Implementations that
+ * are not built in can be contributed through {@link java.util.ServiceLoader}
+ * by listing them in META-INF/services/
+ * com.raytheon.uf.common.util.compression.ICompressionCodec.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public interface ICompressionCodec {
+
+    /**
+     * @return the name of this codec, which is also the content-coding used
+     *         in http headers, e.g. "gzip"
+     */
+    String getName();
+
+    /**
+     * Wrap a stream so that anything written to it is compressed. Closing the
+     * returned stream writes the end of the compressed data and releases any
+     * resources held by the codec but does not close the wrapped stream, so
+     * the caller can compress into a buffer it owns.
+     *
+     * @param out
+     *            the stream to receive compressed data
+     * @return a stream to write uncompressed data to
+     * @throws IOException
+     */
+    OutputStream compress(OutputStream out) throws IOException;
+
+    /**
+     * Wrap a stream of compressed data.
+     *
+     * @param in
+     *            a stream of compressed data
+     * @return a stream of uncompressed data
+     * @throws IOException
+     */
+    InputStream decompress(InputStream in) throws IOException;
+
+}
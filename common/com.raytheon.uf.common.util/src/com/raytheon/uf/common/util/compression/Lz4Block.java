@@ -0,0 +1,367 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Pure java implementation of the LZ4 block format, as documented at
+ * https://github.com/lz4/lz4/blob/dev/doc/lz4_Block_format.md, and of the
+ * xxHash32 checksum used by the LZ4 frame format. The compressor is a greedy
+ * single hash table matcher, the same strategy as the reference "fast" mode.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+final class Lz4Block {
+
+    static final int MIN_MATCH = 4;
+
+    /** Matches can reference at most this many bytes back */
+    static final int MAX_DISTANCE = 65_535;
+
+    /** The last match must start at least this many bytes before the end */
+    private static final int MF_LIMIT = 12;
+
+    /** The last bytes of a block are always literals */
+    private static final int LAST_LITERALS = 5;
+
+    private static final int HASH_LOG = 12;
+
+    static final int HASH_TABLE_SIZE = 1 << HASH_LOG;
+
+    /** Higher values skip incompressible data faster */
+    private static final int SKIP_STRENGTH = 6;
+
+    private static final int RUN_MASK = 15;
+
+    private static final int PRIME1 = 0x9E3779B1;
+
+    private static final int PRIME2 = 0x85EBCA77;
+
+    private static final int PRIME3 = 0xC2B2AE3D;
+
+    private static final int PRIME4 = 0x27D4EB2F;
+
+    private static final int PRIME5 = 0x165667B1;
+
+    private Lz4Block() {
+    }
+
+    /**
+     * @param length
+     *            number of uncompressed bytes
+     * @return the largest possible compressed size of length bytes
+     */
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compress a block.
+     *
+     * @param src
+     *            uncompressed data
+     * @param srcOff
+     *            offset of the uncompressed data
+     * @param srcLen
+     *            number of uncompressed bytes
+     * @param dst
+     *            destination, must have room for
+     *            {@link #maxCompressedLength(int)} bytes
+     * @param dstOff
+     *            offset to write to
+     * @param hashTable
+     *            scratch space of {@link #HASH_TABLE_SIZE} ints
+     * @return the compressed length
+     */
+    static int compress(byte[] src, int srcOff, int srcLen, byte[] dst,
+            int dstOff, int[] hashTable) {
+        int srcEnd = srcOff + srcLen;
+        int dOff = dstOff;
+        int anchor = srcOff;
+        if (srcLen > MF_LIMIT) {
+            Arrays.fill(hashTable, -1);
+            int mfLimit = srcEnd - MF_LIMIT;
+            int matchLimit = srcEnd - LAST_LITERALS;
+            int sOff = srcOff;
+            while (sOff < mfLimit) {
+                int seq = readInt(src, sOff);
+                int h = hash(seq);
+                int ref = hashTable[h];
+                hashTable[h] = sOff;
+                if (ref < 0 || sOff - ref > MAX_DISTANCE
+                        || readInt(src, ref) != seq) {
+                    sOff += 1 + ((sOff - anchor) >>> SKIP_STRENGTH);
+                    continue;
+                }
+                while (sOff > anchor && ref > srcOff
+                        && src[sOff - 1] == src[ref - 1]) {
+                    sOff -= 1;
+                    ref -= 1;
+                }
+                int matchLen = MIN_MATCH;
+                int i = sOff + MIN_MATCH;
+                int j = ref + MIN_MATCH;
+                while (i < matchLimit && src[i] == src[j]) {
+                    i += 1;
+                    j += 1;
+                    matchLen += 1;
+                }
+                dOff = writeSequence(src, anchor, sOff - anchor, sOff - ref,
+                        matchLen, dst, dOff);
+                sOff += matchLen;
+                anchor = sOff;
+                if (sOff < mfLimit) {
+                    hashTable[hash(readInt(src, sOff - 2))] = sOff - 2;
+                }
+            }
+        }
+        int litLen = srcEnd - anchor;
+        int token = dOff++;
+        if (litLen >= RUN_MASK) {
+            dst[token] = (byte) (RUN_MASK << 4);
+            dOff = writeLength(litLen - RUN_MASK, dst, dOff);
+        } else {
+            dst[token] = (byte) (litLen << 4);
+        }
+        System.arraycopy(src, anchor, dst, dOff, litLen);
+        return dOff + litLen - dstOff;
+    }
+
+    /**
+     * Decompress a block.
+     *
+     * @param src
+     *            compressed data
+     * @param srcOff
+     *            offset of the compressed data
+     * @param srcLen
+     *            number of compressed bytes
+     * @param dst
+     *            destination array
+     * @param dstOff
+     *            offset to write to
+     * @param dstEnd
+     *            maximum offset that may be written
+     * @param dictStart
+     *            earliest offset in dst that a match may reference, bytes
+     *            between dictStart and dstOff are the history of the previous
+     *            block for linked blocks
+     * @return the offset in dst after the last decompressed byte
+     * @throws IOException
+     *             if the data is not a valid block
+     */
+    static int decompress(byte[] src, int srcOff, int srcLen, byte[] dst,
+            int dstOff, int dstEnd, int dictStart) throws IOException {
+        int srcEnd = srcOff + srcLen;
+        int sOff = srcOff;
+        int dOff = dstOff;
+        while (true) {
+            if (sOff >= srcEnd) {
+                throw corrupt(sOff - srcOff);
+            }
+            int token = src[sOff++] & 0xFF;
+            int litLen = token >>> 4;
+            if (litLen == RUN_MASK) {
+                int b;
+                do {
+                    if (sOff >= srcEnd) {
+                        throw corrupt(sOff - srcOff);
+                    }
+                    b = src[sOff++] & 0xFF;
+                    litLen += b;
+                } while (b == 255 && litLen > 0);
+            }
+            if (litLen < 0 || litLen > srcEnd - sOff
+                    || litLen > dstEnd - dOff) {
+                throw corrupt(sOff - srcOff);
+            }
+            System.arraycopy(src, sOff, dst, dOff, litLen);
+            sOff += litLen;
+            dOff += litLen;
+            if (sOff == srcEnd) {
+                return dOff;
+            }
+
+            if (srcEnd - sOff < 2) {
+                throw corrupt(sOff - srcOff);
+            }
+            int offset = (src[sOff] & 0xFF) | ((src[sOff + 1] & 0xFF) << 8);
+            sOff += 2;
+            if (offset == 0 || offset > dOff - dictStart) {
+                throw corrupt(sOff - srcOff);
+            }
+            int matchLen = token & RUN_MASK;
+            if (matchLen == RUN_MASK) {
+                int b;
+                do {
+                    if (sOff >= srcEnd) {
+                        throw corrupt(sOff - srcOff);
+                    }
+                    b = src[sOff++] & 0xFF;
+                    matchLen += b;
+                } while (b == 255 && matchLen > 0);
+            }
+            matchLen += MIN_MATCH;
+            if (matchLen < 0 || matchLen > dstEnd - dOff) {
+                throw corrupt(sOff - srcOff);
+            }
+            int ref = dOff - offset;
+            if (offset >= matchLen) {
+                System.arraycopy(dst, ref, dst, dOff, matchLen);
+                dOff += matchLen;
+            } else {
+                /* overlapping match, repeats the last offset bytes */
+                int end = dOff + matchLen;
+                while (dOff < end) {
+                    dst[dOff++] = dst[ref++];
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute the xxHash32 of a range of bytes.
+     *
+     * @param b
+     *            the data
+     * @param off
+     *            offset of the data
+     * @param len
+     *            number of bytes
+     * @param seed
+     *            the hash seed
+     * @return the hash
+     */
+    static int xxHash32(byte[] b, int off, int len, int seed) {
+        int end = off + len;
+        int h;
+        if (len >= 16) {
+            int v1 = seed + PRIME1 + PRIME2;
+            int v2 = seed + PRIME2;
+            int v3 = seed;
+            int v4 = seed - PRIME1;
+            int limit = end - 16;
+            do {
+                v1 = xxRound(v1, readInt(b, off));
+                v2 = xxRound(v2, readInt(b, off + 4));
+                v3 = xxRound(v3, readInt(b, off + 8));
+                v4 = xxRound(v4, readInt(b, off + 12));
+                off += 16;
+            } while (off <= limit);
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7)
+                    + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = seed + PRIME5;
+        }
+        h += len;
+        while (off <= end - 4) {
+            h += readInt(b, off) * PRIME3;
+            h = Integer.rotateLeft(h, 17) * PRIME4;
+            off += 4;
+        }
+        while (off < end) {
+            h += (b[off] & 0xFF) * PRIME5;
+            h = Integer.rotateLeft(h, 11) * PRIME1;
+            off += 1;
+        }
+        h ^= h >>> 15;
+        h *= PRIME2;
+        h ^= h >>> 13;
+        h *= PRIME3;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int xxRound(int acc, int input) {
+        acc += input * PRIME2;
+        acc = Integer.rotateLeft(acc, 13);
+        return acc * PRIME1;
+    }
+
+    private static int writeSequence(byte[] src, int litOff, int litLen,
+            int offset, int matchLen, byte[] dst, int dOff) {
+        int tokenOff = dOff++;
+        int token;
+        if (litLen >= RUN_MASK) {
+            token = RUN_MASK << 4;
+            dOff = writeLength(litLen - RUN_MASK, dst, dOff);
+        } else {
+            token = litLen << 4;
+        }
+        System.arraycopy(src, litOff, dst, dOff, litLen);
+        dOff += litLen;
+        dst[dOff++] = (byte) offset;
+        dst[dOff++] = (byte) (offset >>> 8);
+        int ml = matchLen - MIN_MATCH;
+        if (ml >= RUN_MASK) {
+            token |= RUN_MASK;
+            dOff = writeLength(ml - RUN_MASK, dst, dOff);
+        } else {
+            token |= ml;
+        }
+        dst[tokenOff] = (byte) token;
+        return dOff;
+    }
+
+    private static int writeLength(int length, byte[] dst, int dOff) {
+        while (length >= 255) {
+            dst[dOff++] = (byte) 255;
+            length -= 255;
+        }
+        dst[dOff++] = (byte) length;
+        return dOff;
+    }
+
+    private static int hash(int seq) {
+        return (seq * PRIME1) >>> (32 - HASH_LOG);
+    }
+
+    /** Read a little endian int */
+    static int readInt(byte[] b, int off) {
+        return (b[off] & 0xFF) | ((b[off + 1] & 0xFF) << 8)
+                | ((b[off + 2] & 0xFF) << 16) | ((b[off + 3] & 0xFF) << 24);
+    }
+
+    /** Write a little endian int */
+    static void writeInt(int value, byte[] b, int off) {
+        b[off] = (byte) value;
+        b[off + 1] = (byte) (value >>> 8);
+        b[off + 2] = (byte) (value >>> 16);
+        b[off + 3] = (byte) (value >>> 24);
+    }
+
+    private static IOException corrupt(int position) {
+        return new IOException("Malformed LZ4 block at input byte "
+                + position);
+    }
+
+}
@@ -0,0 +1,241 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util.compression;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a single LZ4 frame, as documented at
+ * https://github.com/lz4/lz4/blob/dev/doc/lz4_Frame_format.md. Independent
+ * and linked blocks of any size are supported. The header checksum is
+ * verified, optional block and content checksums are skipped. Frames using a
+ * dictionary are not supported.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class Lz4FrameInputStream extends FilterInputStream {
+
+    private static final int HISTORY_SIZE = 64 * 1024;
+
+    private final boolean independent;
+
+    private final boolean blockChecksum;
+
+    private final boolean contentChecksum;
+
+    private final int maxBlockSize;
+
+    private final byte[] compressed;
+
+    /** Decompressed data, preceded by history when blocks are linked */
+    private final byte[] buffer;
+
+    private final byte[] intBytes = new byte[4];
+
+    private int position;
+
+    private int limit;
+
+    private boolean finished;
+
+    /**
+     * Constructor, reads the frame header immediately.
+     *
+     * @param in
+     *            the stream containing the frame
+     * @throws IOException
+     *             if the stream does not start with a valid frame header
+     */
+    public Lz4FrameInputStream(InputStream in) throws IOException {
+        super(in);
+        if (readInt() != Lz4FrameOutputStream.MAGIC) {
+            throw new IOException("Stream is not in the LZ4 frame format");
+        }
+        byte[] descriptor = new byte[14];
+        readFully(descriptor, 0, 2);
+        int flg = descriptor[0] & 0xFF;
+        int bd = descriptor[1] & 0xFF;
+        if ((flg >>> 6) != 1) {
+            throw new IOException("Unsupported LZ4 frame version: "
+                    + (flg >>> 6));
+        }
+        if ((flg & 0x01) != 0) {
+            throw new IOException("LZ4 frames with a dictionary are not "
+                    + "supported");
+        }
+        independent = (flg & 0x20) != 0;
+        blockChecksum = (flg & 0x10) != 0;
+        contentChecksum = (flg & 0x04) != 0;
+        int descriptorLength = 2;
+        if ((flg & 0x08) != 0) {
+            /* content size is informational only */
+            readFully(descriptor, descriptorLength, 8);
+            descriptorLength += 8;
+        }
+        int blockSizeId = (bd >>> 4) & 0x07;
+        if (blockSizeId < 4) {
+            throw new IOException("Invalid LZ4 block size id: "
+                    + blockSizeId);
+        }
+        maxBlockSize = 1 << (2 * blockSizeId + 8);
+        int checksum = in.read();
+        if (checksum < 0) {
+            throw new EOFException("Truncated LZ4 frame header");
+        }
+        int expected = (Lz4Block.xxHash32(descriptor, 0, descriptorLength,
+                0) >>> 8) & 0xFF;
+        if (checksum != expected) {
+            throw new IOException("LZ4 frame header checksum mismatch");
+        }
+        compressed = new byte[maxBlockSize];
+        buffer = new byte[independent ? maxBlockSize : HISTORY_SIZE
+                + maxBlockSize];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !nextBlock()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == limit && !nextBlock()) {
+            return -1;
+        }
+        int n = Math.min(len, limit - position);
+        System.arraycopy(buffer, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            if (position == limit && !nextBlock()) {
+                break;
+            }
+            int s = (int) Math.min(n - skipped, limit - position);
+            position += s;
+            skipped += s;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return limit - position;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // not supported
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private boolean nextBlock() throws IOException {
+        while (!finished) {
+            int size = readInt();
+            if (size == 0) {
+                if (contentChecksum) {
+                    readInt();
+                }
+                finished = true;
+                return false;
+            }
+            boolean uncompressed = (size
+                    & Lz4FrameOutputStream.UNCOMPRESSED_FLAG) != 0;
+            size &= ~Lz4FrameOutputStream.UNCOMPRESSED_FLAG;
+            if (size > maxBlockSize) {
+                throw new IOException("LZ4 block of " + size
+                        + " bytes exceeds the frame maximum of "
+                        + maxBlockSize);
+            }
+            readFully(compressed, 0, size);
+            if (blockChecksum) {
+                readInt();
+            }
+
+            int start = 0;
+            if (!independent) {
+                /* keep the last 64KiB for the next block to reference */
+                start = Math.min(limit, HISTORY_SIZE);
+                System.arraycopy(buffer, limit - start, buffer, 0, start);
+            }
+            if (uncompressed) {
+                System.arraycopy(compressed, 0, buffer, start, size);
+                limit = start + size;
+            } else {
+                limit = Lz4Block.decompress(compressed, 0, size, buffer,
+                        start, start + maxBlockSize, 0);
+            }
+            position = start;
+            if (limit > position) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int readInt() throws IOException {
+        readFully(intBytes, 0, 4);
+        return Lz4Block.readInt(intBytes, 0);
+    }
+
+    private void readFully(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            int n = in.read(b, off, len);
+            if (n < 0) {
+                throw new EOFException("Truncated LZ4 frame");
+            }
+            off += n;
+            len -= n;
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util.compression;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a single LZ4 frame, as documented at
+ * https://github.com/lz4/lz4/blob/dev/doc/lz4_Frame_format.md, so the output
+ * can be read by any LZ4 implementation including the python lz4.frame
+ * module. Blocks are independent and 64KiB, blocks that do not compress are
+ * stored uncompressed. Neither block nor content checksums are written.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class Lz4FrameOutputStream extends FilterOutputStream {
+
+    static final int MAGIC = 0x184D2204;
+
+    /** Version 01, independent blocks */
+    private static final int FLG = 0x60;
+
+    /** 64KiB maximum block size */
+    private static final int BD = 0x40;
+
+    static final int BLOCK_SIZE = 64 * 1024;
+
+    static final int UNCOMPRESSED_FLAG = 0x80000000;
+
+    private final byte[] buffer = new byte[BLOCK_SIZE];
+
+    private final byte[] compressed = new byte[Lz4Block
+            .maxCompressedLength(BLOCK_SIZE)];
+
+    private final int[] hashTable = new int[Lz4Block.HASH_TABLE_SIZE];
+
+    private final byte[] intBytes = new byte[4];
+
+    private int count;
+
+    private boolean finished;
+
+    /**
+     * Constructor, writes the frame header immediately.
+     *
+     * @param out
+     *            the stream to write the frame to
+     * @throws IOException
+     */
+    public Lz4FrameOutputStream(OutputStream out) throws IOException {
+        super(out);
+        byte[] header = new byte[7];
+        Lz4Block.writeInt(MAGIC, header, 0);
+        header[4] = (byte) FLG;
+        header[5] = (byte) BD;
+        header[6] = (byte) (Lz4Block.xxHash32(header, 4, 2, 0) >>> 8);
+        out.write(header);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == BLOCK_SIZE) {
+            writeBlock();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (count == BLOCK_SIZE) {
+                writeBlock();
+            }
+            int n = Math.min(len, BLOCK_SIZE - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes any buffered data as a block, ending it early, and flushes the
+     * underlying stream.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (!finished) {
+            writeBlock();
+        }
+        out.flush();
+    }
+
+    /**
+     * Write the remaining data and the end mark without closing the
+     * underlying stream.
+     *
+     * @throws IOException
+     */
+    public void finish() throws IOException {
+        if (!finished) {
+            writeBlock();
+            writeInt(0);
+            finished = true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        int length = Lz4Block.compress(buffer, 0, count, compressed, 0,
+                hashTable);
+        if (length < count) {
+            writeInt(length);
+            out.write(compressed, 0, length);
+        } else {
+            writeInt(count | UNCOMPRESSED_FLAG);
+            out.write(buffer, 0, count);
+        }
+        count = 0;
+    }
+
+    private void writeInt(int value) throws IOException {
+        Lz4Block.writeInt(value, intBytes, 0);
+        out.write(intBytes);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished) {
+            throw new IOException("LZ4 frame has already been finished");
+        }
+    }
+
+}
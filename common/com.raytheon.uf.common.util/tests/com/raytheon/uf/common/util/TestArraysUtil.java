@@ -0,0 +1,171 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the paired sort and sorted correlation of ArraysUtil, which
+ * must give the same results as sorting pairs of objects and correlating
+ * them with a linear scan.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+
+public class TestArraysUtil {
+
+    private static class Pair implements Comparable<Pair> {
+        public final int key;
+
+        public final int value;
+
+        public Pair(int key, int value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Pair o) {
+            return Integer.compare(key, o.key);
+        }
+    }
+
+    /**
+     * Sort pairs of objects, Arrays.sort of objects is stable.
+     */
+    private static void sortPairs(int[] keys, int[] values) {
+        Pair[] pairs = new Pair[keys.length];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new Pair(keys[i], values[i]);
+        }
+        Arrays.sort(pairs);
+        for (int i = 0; i < pairs.length; i++) {
+            keys[i] = pairs[i].key;
+            values[i] = pairs[i].value;
+        }
+    }
+
+    /**
+     * Correlate by scanning forward from the last matched pair for each
+     * lookup.
+     */
+    private static int[] correlateLinear(int[] sortedKeys, int[] values,
+            int[] lookups, int missing) {
+        int[] result = new int[lookups.length];
+        int pointer = 0;
+        for (int i = 0; i < lookups.length; i++) {
+            result[i] = missing;
+            for (int k = pointer; k < sortedKeys.length; k++) {
+                if (sortedKeys[k] == lookups[i]) {
+                    result[i] = values[k];
+                    pointer = k + 1;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int[] randomKeys(Random random, int length, int bound) {
+        int[] keys = new int[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = random.nextInt(2 * bound) - bound;
+        }
+        return keys;
+    }
+
+    @Test
+    public void testSortPairedMatchesStableSort() {
+        Random random = new Random(0);
+        for (int trial = 0; trial < 200; trial++) {
+            int length = random.nextInt(50);
+            int[] keys = randomKeys(random, length, 1 + random.nextInt(20));
+            int[] values = randomKeys(random, length, 1000);
+            int[] expectedKeys = keys.clone();
+            int[] expectedValues = values.clone();
+            sortPairs(expectedKeys, expectedValues);
+
+            ArraysUtil.sortPaired(keys, values);
+            assertArrayEquals(expectedKeys, keys);
+            assertArrayEquals(expectedValues, values);
+        }
+    }
+
+    @Test
+    public void testSortPairedExtremeKeys() {
+        int[] keys = { Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1, 1,
+                Integer.MIN_VALUE };
+        int[] values = { 0, 1, 2, 3, 4, 5 };
+        ArraysUtil.sortPaired(keys, values);
+        assertArrayEquals(new int[] { Integer.MIN_VALUE, Integer.MIN_VALUE,
+                -1, 0, 1, Integer.MAX_VALUE }, keys);
+        assertArrayEquals(new int[] { 2, 5, 3, 1, 4, 0 }, values);
+    }
+
+    @Test
+    public void testSortPairedLongerValues() {
+        int[] keys = { 3, 1, 2 };
+        int[] values = { 30, 10, 20, 99 };
+        ArraysUtil.sortPaired(keys, values);
+        assertArrayEquals(new int[] { 1, 2, 3 }, keys);
+        assertArrayEquals(new int[] { 10, 20, 30, 99 }, values);
+    }
+
+    @Test
+    public void testCorrelateSortedMatchesLinearScan() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 200; trial++) {
+            int bound = 1 + random.nextInt(20);
+            int[] keys = randomKeys(random, random.nextInt(50), bound);
+            int[] values = randomKeys(random, keys.length, 1000);
+            ArraysUtil.sortPaired(keys, values);
+            // includes repeated lookups and lookups without a key
+            int[] lookups = randomKeys(random, random.nextInt(50), bound + 2);
+            Arrays.sort(lookups);
+
+            assertArrayEquals(correlateLinear(keys, values, lookups, -1),
+                    ArraysUtil.correlateSorted(keys, values, lookups, -1));
+        }
+    }
+
+    @Test
+    public void testCorrelateSortedConsumesRepeatedKeys() {
+        int[] keys = { 1, 2, 2, 4 };
+        int[] values = { 10, 20, 21, 40 };
+        int[] lookups = { 0, 2, 2, 2, 3, 4, 4 };
+        assertArrayEquals(new int[] { -1, 20, 21, -1, -1, 40, -1 },
+                ArraysUtil.correlateSorted(keys, values, lookups, -1));
+    }
+}
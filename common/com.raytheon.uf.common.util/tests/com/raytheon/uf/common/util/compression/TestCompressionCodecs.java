@@ -0,0 +1,75 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util.compression;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for CompressionCodecs
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+
+public class TestCompressionCodecs {
+
+    @Test
+    public void testGzipPreferredByDefault() {
+        System.clearProperty(CompressionCodecs.NEGOTIATED_CODECS_PROPERTY);
+        assertEquals(Arrays.asList(GzipCodec.NAME, DeflateCodec.NAME),
+                CompressionCodecs.getNegotiatedNames());
+        assertNotNull(CompressionCodecs.get(Lz4Codec.NAME));
+        assertFalse(CompressionCodecs.isNegotiated(Lz4Codec.NAME));
+    }
+
+    @Test
+    public void testEnabledCodecsArePreferred() {
+        System.setProperty(CompressionCodecs.NEGOTIATED_CODECS_PROPERTY,
+                " LZ4, unknown ,gzip");
+        try {
+            assertEquals(
+                    Arrays.asList(Lz4Codec.NAME, GzipCodec.NAME,
+                            DeflateCodec.NAME),
+                    CompressionCodecs.getNegotiatedNames());
+            assertTrue(CompressionCodecs.isNegotiated("Lz4"));
+            assertFalse(CompressionCodecs.isNegotiated("unknown"));
+        } finally {
+            System.clearProperty(
+                    CompressionCodecs.NEGOTIATED_CODECS_PROPERTY);
+        }
+    }
+
+}
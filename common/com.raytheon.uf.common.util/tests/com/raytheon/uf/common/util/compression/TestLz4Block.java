@@ -0,0 +1,207 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for Lz4Block. The known vectors are hand assembled from the LZ4
+ * block format specification and the published xxHash32 test values, so they
+ * check the format rather than agreement with our own compressor.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+
+public class TestLz4Block {
+
+    @Test
+    public void testDecompressLiteralsOnly() throws IOException {
+        byte[] block = bytes(0x50, 'h', 'e', 'l', 'l', 'o');
+        assertArrayEquals(ascii("hello"), decompress(block, 5));
+    }
+
+    @Test
+    public void testDecompressOverlappingMatch() throws IOException {
+        /* 3 literals, then a 9 byte match at offset 3, then 1 literal */
+        byte[] block = bytes(0x35, 'a', 'b', 'c', 0x03, 0x00, 0x10, 'x');
+        assertArrayEquals(ascii("abcabcabcabcx"), decompress(block, 13));
+    }
+
+    @Test
+    public void testDecompressExtendedLengths() throws IOException {
+        /*
+         * 15 + 0 literals, then a match of 15 + 255 + 1 + 4 bytes at offset
+         * 1, then 1 literal
+         */
+        byte[] block = new byte[] { (byte) 0xFF, 0x00, 'a', 'a', 'a', 'a',
+                'a', 'a', 'a', 'a', 'a', 'a', 'a', 'a', 'a', 'a', 'a', 0x01,
+                0x00, (byte) 0xFF, 0x01, 0x10, 'b' };
+        byte[] expected = new byte[15 + 275 + 1];
+        Arrays.fill(expected, (byte) 'a');
+        expected[expected.length - 1] = 'b';
+        assertArrayEquals(expected, decompress(block, expected.length));
+    }
+
+    @Test
+    public void testCompressShortInputIsLiterals() {
+        /* inputs too short for a match are stored as a single literal run */
+        byte[] src = ascii("hello");
+        assertArrayEquals(bytes(0x50, 'h', 'e', 'l', 'l', 'o'), compress(src));
+    }
+
+    @Test
+    public void testCompressRepetitiveInput() throws IOException {
+        byte[] src = new byte[1000];
+        Arrays.fill(src, (byte) 'a');
+        byte[] block = compress(src);
+        /* one long match, the last 5 bytes are always literals */
+        assertEquals(0x50, block[block.length - 6] & 0xFF);
+        assertTrue(block.length < 20);
+        assertArrayEquals(src, decompress(block, src.length));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Random random = new Random(5);
+        for (int length : new int[] { 0, 1, 12, 13, 100, 4096, 65_536,
+                200_000 }) {
+            byte[] text = new byte[length];
+            for (int i = 0; i < length; i += 1) {
+                text[i] = (byte) "the quick brown fox ".charAt(random
+                        .nextInt(20));
+            }
+            assertArrayEquals(text, decompress(compress(text), length));
+
+            byte[] noise = new byte[length];
+            random.nextBytes(noise);
+            byte[] block = compress(noise);
+            assertTrue(block.length <= Lz4Block.maxCompressedLength(length));
+            assertArrayEquals(noise, decompress(block, length));
+        }
+    }
+
+    @Test
+    public void testMatchesBeyondWindowAreNotUsed() throws IOException {
+        Random random = new Random(7);
+        byte[] chunk = new byte[1024];
+        random.nextBytes(chunk);
+        byte[] src = new byte[Lz4Block.MAX_DISTANCE + 4 * chunk.length];
+        System.arraycopy(chunk, 0, src, 0, chunk.length);
+        byte[] filler = new byte[Lz4Block.MAX_DISTANCE];
+        random.nextBytes(filler);
+        System.arraycopy(filler, 0, src, chunk.length, filler.length);
+        System.arraycopy(chunk, 0, src, chunk.length + filler.length,
+                chunk.length);
+        assertArrayEquals(src, decompress(compress(src), src.length));
+    }
+
+    @Test
+    public void testRejectsMalformedBlocks() {
+        /* zero offset */
+        assertCorrupt(bytes(0x14, 'a', 0x00, 0x00, 0x00), 100);
+        /* offset before the start of the output */
+        assertCorrupt(bytes(0x14, 'a', 0x02, 0x00, 0x00), 100);
+        /* literals run past the end of the input */
+        assertCorrupt(bytes(0x50, 'a', 'b'), 100);
+        /* output larger than the destination */
+        assertCorrupt(bytes(0x50, 'h', 'e', 'l', 'l', 'o'), 4);
+        /* truncated offset */
+        assertCorrupt(bytes(0x14, 'a', 0x01), 100);
+        /* empty input */
+        assertCorrupt(new byte[0], 100);
+    }
+
+    @Test
+    public void testXxHash32KnownValues() {
+        assertEquals(0x02CC5D05, xxHash32(""));
+        assertEquals(0x550D7456, xxHash32("a"));
+        assertEquals(0x32D153FF, xxHash32("abc"));
+        assertEquals(0xE2293B2F,
+                xxHash32("Nobody inspects the spammish repetition"));
+    }
+
+    @Test
+    public void testXxHash32Offset() {
+        byte[] b = ascii("xxabcxx");
+        assertEquals(0x32D153FF, Lz4Block.xxHash32(b, 2, 3, 0));
+    }
+
+    private static byte[] compress(byte[] src) {
+        byte[] dst = new byte[Lz4Block.maxCompressedLength(src.length)];
+        int length = Lz4Block.compress(src, 0, src.length, dst, 0,
+                new int[Lz4Block.HASH_TABLE_SIZE]);
+        return Arrays.copyOf(dst, length);
+    }
+
+    private static byte[] decompress(byte[] block, int maxLength)
+            throws IOException {
+        byte[] dst = new byte[maxLength];
+        int end = Lz4Block.decompress(block, 0, block.length, dst, 0,
+                dst.length, 0);
+        return Arrays.copyOf(dst, end);
+    }
+
+    private static void assertCorrupt(byte[] block, int maxLength) {
+        try {
+            decompress(block, maxLength);
+            fail("Expected a malformed block to be rejected");
+        } catch (IOException e) {
+            /* expected */
+        }
+    }
+
+    private static int xxHash32(String s) {
+        byte[] b = ascii(s);
+        return Lz4Block.xxHash32(b, 0, b.length, 0);
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] b = new byte[values.length];
+        for (int i = 0; i < values.length; i += 1) {
+            b[i] = (byte) values[i];
+        }
+        return b;
+    }
+
+}
@@ -0,0 +1,242 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.common.util.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for Lz4FrameOutputStream and Lz4FrameInputStream. The known
+ * frames are hand assembled from the LZ4 frame format specification, the
+ * empty frame is the exact output of the reference lz4 command line tool.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+
+public class TestLz4Frame {
+
+    /** Magic number, FLG 0x60 (version 1, independent blocks), BD 0x40 */
+    private static final byte[] HEADER = bytes(0x04, 0x22, 0x4D, 0x18, 0x60,
+            0x40, 0x82);
+
+    private static final byte[] END_MARK = bytes(0x00, 0x00, 0x00, 0x00);
+
+    @Test
+    public void testEmptyFrame() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Lz4FrameOutputStream(out).close();
+        assertArrayEquals(concat(HEADER, END_MARK), out.toByteArray());
+        assertArrayEquals(new byte[0], read(out.toByteArray()));
+    }
+
+    @Test
+    public void testReadReferenceEmptyFrame() throws IOException {
+        /* FLG 0x64 adds a content checksum, xxHash32 of nothing */
+        byte[] frame = bytes(0x04, 0x22, 0x4D, 0x18, 0x64, 0x40, 0xA7, 0x00,
+                0x00, 0x00, 0x00, 0x05, 0x5D, 0xCC, 0x02);
+        assertArrayEquals(new byte[0], read(frame));
+    }
+
+    @Test
+    public void testReadUncompressedBlock() throws IOException {
+        byte[] frame = concat(HEADER,
+                bytes(0x05, 0x00, 0x00, 0x80, 'h', 'e', 'l', 'l', 'o'),
+                END_MARK);
+        assertArrayEquals(ascii("hello"), read(frame));
+    }
+
+    @Test
+    public void testReadContentSizeAndBlockChecksums() throws IOException {
+        /* FLG 0x78 adds a content size and a checksum after each block */
+        byte[] frame = concat(
+                bytes(0x04, 0x22, 0x4D, 0x18, 0x78, 0x40, 0x05, 0x00, 0x00,
+                        0x00, 0x00, 0x00, 0x00, 0x00, 0x6B),
+                bytes(0x05, 0x00, 0x00, 0x80, 'h', 'e', 'l', 'l', 'o', 0xF9,
+                        0x77, 0x00, 0xFB),
+                END_MARK);
+        assertArrayEquals(ascii("hello"), read(frame));
+    }
+
+    @Test
+    public void testReadLinkedBlocks() throws IOException {
+        /*
+         * FLG 0x40 links blocks, the second block is a match into the first
+         * followed by one literal
+         */
+        byte[] frame = concat(bytes(0x04, 0x22, 0x4D, 0x18, 0x40, 0x40, 0xC0),
+                bytes(0x05, 0x00, 0x00, 0x00, 0x40, 'a', 'b', 'c', 'd'),
+                bytes(0x05, 0x00, 0x00, 0x00, 0x00, 0x04, 0x00, 0x10, 'x'),
+                END_MARK);
+        assertArrayEquals(ascii("abcdabcdx"), read(frame));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ICompressionCodec codec = new Lz4Codec();
+        Random random = new Random(11);
+        for (int length : new int[] { 1, 100, Lz4FrameOutputStream.BLOCK_SIZE,
+                Lz4FrameOutputStream.BLOCK_SIZE + 1, 1_000_000 }) {
+            byte[] text = new byte[length];
+            for (int i = 0; i < length; i += 1) {
+                text[i] = (byte) "lorem ipsum dolor ".charAt(random
+                        .nextInt(18));
+            }
+            byte[] compressed = CompressionCodecs.compress(codec, text);
+            assertTrue(compressed.length < length + 32);
+            assertArrayEquals(text,
+                    CompressionCodecs.decompress(codec, compressed, length));
+        }
+    }
+
+    @Test
+    public void testIncompressibleBlocksAreStored() throws IOException {
+        byte[] noise = new byte[Lz4FrameOutputStream.BLOCK_SIZE];
+        new Random(13).nextBytes(noise);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream lz4 = new Lz4FrameOutputStream(out)) {
+            lz4.write(noise);
+        }
+        byte[] frame = out.toByteArray();
+        assertEquals(HEADER.length + 4 + noise.length + END_MARK.length,
+                frame.length);
+        assertEquals(noise.length | Lz4FrameOutputStream.UNCOMPRESSED_FLAG,
+                Lz4Block.readInt(frame, HEADER.length));
+        assertArrayEquals(noise, read(frame));
+    }
+
+    @Test
+    public void testFlushEndsBlock() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] first = ascii("first block ");
+        byte[] second = ascii("second block");
+        try (OutputStream lz4 = new Lz4FrameOutputStream(out)) {
+            lz4.write(first);
+            lz4.flush();
+            assertEquals(HEADER.length + 4 + first.length, out.size());
+            lz4.write(second);
+        }
+        assertArrayEquals(concat(first, second), read(out.toByteArray()));
+    }
+
+    @Test
+    public void testSingleByteReads() throws IOException {
+        byte[] text = ascii("one byte at a time, one byte at a time");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream lz4 = new Lz4FrameOutputStream(out)) {
+            for (byte b : text) {
+                lz4.write(b);
+            }
+        }
+        try (InputStream in = new Lz4FrameInputStream(
+                new ByteArrayInputStream(out.toByteArray()))) {
+            for (byte b : text) {
+                assertEquals(b & 0xFF, in.read());
+            }
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void testRejectsMalformedFrames() {
+        /* wrong magic number */
+        assertCorrupt(bytes(0x04, 0x22, 0x4D, 0x19, 0x60, 0x40, 0x82, 0x00,
+                0x00, 0x00, 0x00));
+        /* wrong header checksum */
+        assertCorrupt(bytes(0x04, 0x22, 0x4D, 0x18, 0x60, 0x40, 0x83, 0x00,
+                0x00, 0x00, 0x00));
+        /* missing end mark */
+        assertCorrupt(concat(HEADER,
+                bytes(0x05, 0x00, 0x00, 0x80, 'h', 'e', 'l', 'l', 'o')));
+        /* truncated block */
+        assertCorrupt(concat(HEADER, bytes(0x05, 0x00, 0x00, 0x80, 'h')));
+    }
+
+    private static byte[] read(byte[] frame) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new Lz4FrameInputStream(
+                new ByteArrayInputStream(frame))) {
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void assertCorrupt(byte[] frame) {
+        try {
+            read(frame);
+            fail("Expected a malformed frame to be rejected");
+        } catch (IOException e) {
+            /* expected */
+        }
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        int length = 0;
+        for (byte[] array : arrays) {
+            length += array.length;
+        }
+        byte[] rval = Arrays.copyOf(arrays[0], length);
+        int offset = arrays[0].length;
+        for (int i = 1; i < arrays.length; i += 1) {
+            System.arraycopy(arrays[i], 0, rval, offset, arrays[i].length);
+            offset += arrays[i].length;
+        }
+        return rval;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] b = new byte[values.length];
+        for (int i = 0; i < values.length; i += 1) {
+            b[i] = (byte) values[i];
+        }
+        return b;
+    }
+
+}
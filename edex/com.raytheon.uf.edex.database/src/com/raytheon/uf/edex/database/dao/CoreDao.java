@@ -23,6 +23,7 @@ package com.raytheon.uf.edex.database.dao;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,7 @@ import com.raytheon.uf.common.dataquery.db.QueryResult;
 import com.raytheon.uf.common.dataquery.db.QueryResultRow;
 import com.raytheon.uf.common.status.IUFStatusHandler;
 import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.util.collections.BoundedMap;
 import com.raytheon.uf.edex.database.DataAccessLayerException;
 import com.raytheon.uf.edex.database.processor.IDatabaseProcessor;
 import com.raytheon.uf.edex.database.query.DatabaseQuery;
@@ -96,6 +98,8 @@ import com.raytheon.uf.edex.database.query.DatabaseQuery;
  * Aug 19, 2015 4763        rjpeter     Update mappedSql to remove distinct and function definitions from name mapping.
  * Nov 20, 2015 5140        bsteffen    Update mappedSql to ignore comma in function argument lists.
  * Nov 29, 2016 5937        tgurney     Add maxRowCount param to executeSQLQuery
+ * Oct 15, 2026             agent       Use the query shape cache for DatabaseQuery,
+ *                                      cache column names of mapped sql queries.
  *
  * </pre>
  *
@@ -115,6 +119,10 @@ public class CoreDao {
     protected static final String COLON_REPLACEMENT = Matcher
             .quoteReplacement("\\:\\:");
 
+    /** Column names of mapped sql queries, keyed by the sql */
+    private static final Map<String, List<String>> mappedSqlColumns = Collections
+            .synchronizedMap(new BoundedMap<String, List<String>>(256));
+
     protected SessionFactory sessionFactory;
 
     protected HibernateTransactionManager txManager;
@@ -354,11 +362,10 @@ public class CoreDao {
                         @Override
                         public Integer doInTransaction(
                                 TransactionStatus status) {
-                            String queryString = query.createHQLDelete();
-                            Query hibQuery = getCurrentSession()
-                                    .createQuery(queryString);
+                            Query hibQuery;
                             try {
-                                query.populateHQLQuery(hibQuery,
+                                hibQuery = query.createHQLDelete(
+                                        getCurrentSession(),
                                         getSessionFactory());
                             } catch (DataAccessLayerException e) {
                                 throw new org.hibernate.TransactionException(
@@ -392,11 +399,10 @@ public class CoreDao {
                         @Override
                         public List<?> doInTransaction(
                                 TransactionStatus status) {
-                            String queryString = query.createHQLQuery();
-                            Query hibQuery = getCurrentSession()
-                                    .createQuery(queryString);
+                            Query hibQuery;
                             try {
-                                query.populateHQLQuery(hibQuery,
+                                hibQuery = query.createHQLQuery(
+                                        getCurrentSession(),
                                         getSessionFactory());
                             } catch (DataAccessLayerException e) {
                                 throw new org.hibernate.TransactionException(
@@ -442,11 +448,10 @@ public class CoreDao {
                         @Override
                         public Integer doInTransaction(
                                 TransactionStatus status) {
-                            String queryString = query.createHQLQuery();
-                            Query hibQuery = getCurrentSession()
-                                    .createQuery(queryString);
+                            Query hibQuery;
                             try {
-                                query.populateHQLQuery(hibQuery,
+                                hibQuery = query.createHQLQuery(
+                                        getCurrentSession(),
                                         getSessionFactory());
                             } catch (DataAccessLayerException e) {
                                 throw new org.hibernate.TransactionException(
@@ -971,71 +976,97 @@ public class CoreDao {
 
         QueryResult result = new QueryResult();
         result.setRows(rows);
-        Matcher m = MAPPED_SQL_PATTERN.matcher(sql);
-        if (m.matches()) {
-            String group = m.group(1);
+        List<String> columnNames = getMappedColumnNames(sql);
+        if (columnNames != null) {
             int colIndex = 0;
-            /*
-             * Split the columns on commas, ignore commas in quotes and
-             * parenthesis
-             */
-            List<String> columns = new ArrayList<>();
-            int columnStart = 0;
-            int parenthesisDepth = 0;
-            boolean inQoutes = false;
-            boolean escape = false;
-            for (int i = 0; i < group.length(); i += 1) {
-                char c = group.charAt(i);
-                if (inQoutes) {
-                    if (escape == false && c == '\'') {
-                        inQoutes = false;
-                    } else if (escape == false && c == '\\') {
-                        escape = true;
-                    } else {
-                        escape = false;
-                    }
-                } else if (c == '\'') {
-                    inQoutes = true;
-                } else if (c == '(') {
-                    parenthesisDepth += 1;
-                } else if (c == ')') {
-                    parenthesisDepth -= 1;
-                } else if (parenthesisDepth == 0 && !inQoutes && c == ',') {
-                    columns.add(group.substring(columnStart, i));
-                    columnStart = i + 1;
-                }
+            for (String col : columnNames) {
+                result.addColumnName(col, colIndex++);
             }
-            columns.add(group.substring(columnStart));
-            for (String col : columns) {
-                col = col.toLowerCase().trim();
+        } else {
+            logger.error("Unable to map query columns for query [" + sql + "]");
+        }
 
-                // remove distinct from name return
-                if (col.startsWith("distinct ")) {
-                    col = col.substring(9);
-                }
+        return result;
+    }
 
-                int asIndex = col.indexOf(" as ");
-                if (asIndex > 0) {
-                    col = col.substring(asIndex + 4);
+    /**
+     * Determine the names of the columns returned by a sql query. The names
+     * are cached since the same queries are usually executed repeatedly.
+     *
+     * @param sql
+     *            An SQL query
+     * @return the column names, or null if the query cannot be mapped
+     */
+    private static List<String> getMappedColumnNames(String sql) {
+        List<String> columnNames = mappedSqlColumns.get(sql);
+        if (columnNames != null) {
+            return columnNames;
+        }
+        Matcher m = MAPPED_SQL_PATTERN.matcher(sql);
+        if (!m.matches()) {
+            return null;
+        }
+        String group = m.group(1);
+        /*
+         * Split the columns on commas, ignore commas in quotes and
+         * parenthesis
+         */
+        List<String> columns = new ArrayList<>();
+        int columnStart = 0;
+        int parenthesisDepth = 0;
+        boolean inQoutes = false;
+        boolean escape = false;
+        for (int i = 0; i < group.length(); i += 1) {
+            char c = group.charAt(i);
+            if (inQoutes) {
+                if (escape == false && c == '\'') {
+                    inQoutes = false;
+                } else if (escape == false && c == '\\') {
+                    escape = true;
                 } else {
-                    /*
-                     * check for function and remove function definition if
-                     * present
-                     */
-                    int parenIndex = col.indexOf('(');
-
-                    if (parenIndex > 0) {
-                        col = col.substring(0, parenIndex);
-                    }
+                    escape = false;
                 }
-
-                result.addColumnName(col.trim(), colIndex++);
+            } else if (c == '\'') {
+                inQoutes = true;
+            } else if (c == '(') {
+                parenthesisDepth += 1;
+            } else if (c == ')') {
+                parenthesisDepth -= 1;
+            } else if (parenthesisDepth == 0 && !inQoutes && c == ',') {
+                columns.add(group.substring(columnStart, i));
+                columnStart = i + 1;
             }
-        } else {
-            logger.error("Unable to map query columns for query [" + sql + "]");
         }
+        columns.add(group.substring(columnStart));
+        columnNames = new ArrayList<>(columns.size());
+        for (String col : columns) {
+            col = col.toLowerCase().trim();
+
+            // remove distinct from name return
+            if (col.startsWith("distinct ")) {
+                col = col.substring(9);
+            }
 
-        return result;
+            int asIndex = col.indexOf(" as ");
+            if (asIndex > 0) {
+                col = col.substring(asIndex + 4);
+            } else {
+                /*
+                 * check for function and remove function definition if
+                 * present
+                 */
+                int parenIndex = col.indexOf('(');
+
+                if (parenIndex > 0) {
+                    col = col.substring(0, parenIndex);
+                }
+            }
+
+            columnNames.add(col.trim());
+        }
+        columnNames = Collections.unmodifiableList(columnNames);
+        mappedSqlColumns.put(sql, columnNames);
+        return columnNames;
     }
 
     public List<?> executeCriteriaQuery(final List<Criterion> criterion) {
@@ -19,6 +19,10 @@
  **/
 package com.raytheon.uf.edex.database.handlers;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
 import com.raytheon.uf.common.dataquery.requests.DbQueryRequest;
 import com.raytheon.uf.common.dataquery.requests.DbQueryRequestSet;
 import com.raytheon.uf.common.dataquery.responses.DbQueryResponse;
@@ -26,7 +30,8 @@ import com.raytheon.uf.common.dataquery.responses.DbQueryResponseSet;
 import com.raytheon.uf.common.serialization.comm.IRequestHandler;
 
 /**
- * TODO Add Description
+ * Handler for a set of independent db queries, the queries are run
+ * concurrently by the {@link QuerySetExecutor}.
  * 
  * <pre>
  * 
@@ -35,6 +40,7 @@ import com.raytheon.uf.common.serialization.comm.IRequestHandler;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Jun 30, 2011            rjpeter     Initial creation
+ * Oct 15, 2026            agent       Run queries concurrently
  * 
  * </pre>
  * 
@@ -47,13 +53,21 @@ public class DbQueryHandlerSet implements IRequestHandler<DbQueryRequestSet> {
     public DbQueryResponseSet handleRequest(DbQueryRequestSet request)
             throws Exception {
         DbQueryRequest[] queries = request.getQueries();
-        DbQueryResponse[] results = new DbQueryResponse[queries.length];
-        DbQueryHandler handler = new DbQueryHandler();
-        for (int i = 0; i < queries.length; i++) {
-            results[i] = handler.handleRequest(queries[i]);
+        final DbQueryHandler handler = new DbQueryHandler();
+        List<Callable<DbQueryResponse>> tasks = new ArrayList<Callable<DbQueryResponse>>(
+                queries.length);
+        for (final DbQueryRequest query : queries) {
+            tasks.add(new Callable<DbQueryResponse>() {
+                @Override
+                public DbQueryResponse call() throws Exception {
+                    return handler.handleRequest(query);
+                }
+            });
         }
+        List<DbQueryResponse> results = QuerySetExecutor.execute(
+                "DbQueryRequestSet", tasks);
         DbQueryResponseSet rval = new DbQueryResponseSet();
-        rval.setResults(results);
+        rval.setResults(results.toArray(new DbQueryResponse[results.size()]));
         return rval;
     }
 }
@@ -0,0 +1,60 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.handlers;
+
+import com.raytheon.uf.common.dataquery.responses.DbQueryResponse;
+import com.raytheon.uf.common.geospatial.request.SpatialDbQueryRequest;
+
+/**
+ * An in memory source of spatial data that can answer some
+ * {@link SpatialDbQueryRequest}s without going to the database. Caches are
+ * registered with the {@link SpatialDbQueryHandler}, which asks each one in
+ * turn before building a PostGIS query.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 15, 2026            agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public interface ISpatialQueryCache {
+
+    /**
+     * Answer a request from the cache. A cache must only answer requests it
+     * can answer exactly as the database would, anything else such as
+     * unsupported tables, fields, constraints or search modes must be left to
+     * the database.
+     *
+     * @param request
+     *            a validated request
+     * @return the response, or null if the request should be sent to the
+     *         database
+     * @throws Exception
+     */
+    public DbQueryResponse query(SpatialDbQueryRequest request)
+            throws Exception;
+
+}
@@ -0,0 +1,122 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.raytheon.uf.common.status.IPerformanceStatusHandler;
+import com.raytheon.uf.common.status.PerformanceStatus;
+import com.raytheon.uf.common.util.concurrent.NamedThreadFactory;
+
+/**
+ * Runs the independent queries of a request set, such as a
+ * DbQueryRequestSet or TimeQueryRequestSet, several at a time. All sets share
+ * one bounded pool so the number of connections used by set queries stays
+ * below the size of the database connection pool no matter how many sets
+ * arrive at once. The pool size defaults to half of
+ * {@value #DB_POOL_PROPERTY} and can be set with {@value #THREADS_PROPERTY};
+ * a size of 1 runs every set serially on the request thread.
+ *
+ * The duration, size and parallelism of every set are written to the
+ * performance log.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 15, 2026            agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class QuerySetExecutor {
+
+    /** System property for the number of set queries run concurrently */
+    public static final String THREADS_PROPERTY = "query.set.threads";
+
+    /** System property for the maximum size of the metadata connection pool */
+    public static final String DB_POOL_PROPERTY = "db.metadata.pool.max";
+
+    private static final int THREADS = Math.max(1, Integer.getInteger(
+            THREADS_PROPERTY, Integer.getInteger(DB_POOL_PROPERTY, 10) / 2));
+
+    private static final IPerformanceStatusHandler perfLog = PerformanceStatus
+            .getHandler("QuerySet:");
+
+    private static final ExecutorService executor = THREADS > 1 ? Executors
+            .newFixedThreadPool(THREADS, new NamedThreadFactory("querySet"))
+            : null;
+
+    private QuerySetExecutor() {
+    }
+
+    /**
+     * Run the queries of a set, concurrently if there is more than one and
+     * the pool allows it.
+     *
+     * @param name
+     *            name of the set for the performance log
+     * @param queries
+     *            the queries, which must not depend on each other
+     * @return the results in the same order as the queries
+     * @throws Exception
+     *             the exception thrown by the first query to fail, in query
+     *             order
+     */
+    public static <T> List<T> execute(String name,
+            List<? extends Callable<T>> queries) throws Exception {
+        long t0 = System.currentTimeMillis();
+        List<T> results = new ArrayList<T>(queries.size());
+        int parallelism = Math.min(queries.size(), THREADS);
+        if (parallelism <= 1) {
+            for (Callable<T> query : queries) {
+                results.add(query.call());
+            }
+        } else {
+            try {
+                for (Future<T> result : executor.invokeAll(queries)) {
+                    results.add(result.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                }
+                throw e;
+            }
+        }
+        perfLog.logDuration(name + " ran " + queries.size() + " queries on "
+                + parallelism + " threads", System.currentTimeMillis() - t0);
+        return results;
+    }
+
+}
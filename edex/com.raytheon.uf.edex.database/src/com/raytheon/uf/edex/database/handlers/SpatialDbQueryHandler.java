@@ -24,6 +24,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.raytheon.uf.common.dataquery.requests.DbQueryRequest.OrderBy;
 import com.raytheon.uf.common.dataquery.requests.DbQueryRequest.RequestField;
@@ -33,12 +37,19 @@ import com.raytheon.uf.common.dataquery.responses.DbQueryResponse;
 import com.raytheon.uf.common.geospatial.ISpatialQuery.SearchMode;
 import com.raytheon.uf.common.geospatial.request.SpatialDbQueryRequest;
 import com.raytheon.uf.common.serialization.comm.IRequestHandler;
+import com.raytheon.uf.common.status.IPerformanceStatusHandler;
+import com.raytheon.uf.common.status.PerformanceStatus;
+import com.raytheon.uf.common.time.util.TimeUtil;
 import com.raytheon.uf.edex.database.dao.CoreDao;
 import com.raytheon.uf.edex.database.dao.DaoConfig;
 import com.vividsolutions.jts.geom.Geometry;
 
 /**
- * Handler for spatial db queries
+ * Handler for spatial db queries. Requests are first offered to any registered
+ * {@link ISpatialQueryCache}s and only sent to PostGIS when no cache can
+ * answer them. Counts and latencies of both paths are available from
+ * {@link #getStatistics()} and are written to the performance log
+ * periodically.
  * 
  * <pre>
  * 
@@ -47,6 +58,8 @@ import com.vividsolutions.jts.geom.Geometry;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Sep 29, 2011            mschenke     Initial creation
+ * Oct 15, 2026            agent        Added spatial query caches and
+ *                                      latency metrics
  * 
  * </pre>
  * 
@@ -71,6 +84,36 @@ public class SpatialDbQueryHandler implements
         formatMap.put(ConstraintType.NOT_EQUALS, "!= '%s'");
     }
 
+    private static final long LOG_INTERVAL = 10 * TimeUtil.MILLIS_PER_MINUTE;
+
+    private static final IPerformanceStatusHandler perfLog = PerformanceStatus
+            .getHandler("SpatialDbQuery:");
+
+    private final List<ISpatialQueryCache> caches = new CopyOnWriteArrayList<ISpatialQueryCache>();
+
+    private final LongAdder cacheQueries = new LongAdder();
+
+    private final LongAdder cacheNanos = new LongAdder();
+
+    private final LongAdder dbQueries = new LongAdder();
+
+    private final LongAdder dbNanos = new LongAdder();
+
+    private final AtomicLong lastLog = new AtomicLong(
+            System.currentTimeMillis());
+
+    /**
+     * Register a cache to be asked before the database, caches are asked in
+     * the order they are registered.
+     * 
+     * @param cache
+     * @return the cache
+     */
+    public ISpatialQueryCache registerCache(ISpatialQueryCache cache) {
+        caches.add(cache);
+        return cache;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -129,6 +172,15 @@ public class SpatialDbQueryHandler implements
             }
         }
 
+        long t0 = System.nanoTime();
+        for (ISpatialQueryCache cache : caches) {
+            DbQueryResponse response = cache.query(request);
+            if (response != null) {
+                record(true, System.nanoTime() - t0);
+                return response;
+            }
+        }
+
         StringBuilder query = new StringBuilder(1000);
         query.append("SELECT ");
         boolean first = true;
@@ -274,6 +326,39 @@ public class SpatialDbQueryHandler implements
 
         DbQueryResponse response = new DbQueryResponse();
         response.setResults(resultMaps);
+        record(false, System.nanoTime() - t0);
         return response;
     }
+
+    private void record(boolean cached, long nanos) {
+        if (cached) {
+            cacheQueries.increment();
+            cacheNanos.add(nanos);
+        } else {
+            dbQueries.increment();
+            dbNanos.add(nanos);
+        }
+        long now = System.currentTimeMillis();
+        long last = lastLog.get();
+        if (now - last >= LOG_INTERVAL && lastLog.compareAndSet(last, now)) {
+            perfLog.log(getStatistics());
+        }
+    }
+
+    /**
+     * @return a one line summary of the queries answered by the caches and by
+     *         the database, suitable for logging
+     */
+    public String getStatistics() {
+        long cacheCount = cacheQueries.sum();
+        long dbCount = dbQueries.sum();
+        return "cached=" + cacheCount + ", avg cached="
+                + averageMicros(cacheNanos.sum(), cacheCount) + "us, db="
+                + dbCount + ", avg db=" + averageMicros(dbNanos.sum(), dbCount)
+                + "us";
+    }
+
+    private static long averageMicros(long nanos, long count) {
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(nanos / count);
+    }
 }
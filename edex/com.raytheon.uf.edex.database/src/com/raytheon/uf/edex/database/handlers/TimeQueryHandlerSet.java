@@ -21,6 +21,7 @@ package com.raytheon.uf.edex.database.handlers;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import com.raytheon.uf.common.dataquery.requests.TimeQueryRequest;
 import com.raytheon.uf.common.dataquery.requests.TimeQueryRequestSet;
@@ -28,7 +29,8 @@ import com.raytheon.uf.common.serialization.comm.IRequestHandler;
 import com.raytheon.uf.common.time.DataTime;
 
 /**
- * TODO Add Description
+ * Handler for a set of independent time queries, the queries are run
+ * concurrently by the {@link QuerySetExecutor}.
  * 
  * <pre>
  * 
@@ -37,6 +39,7 @@ import com.raytheon.uf.common.time.DataTime;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Jun 30, 2011            rjpeter     Initial creation
+ * Oct 15, 2026            agent       Run queries concurrently
  * 
  * </pre>
  * 
@@ -50,12 +53,17 @@ public class TimeQueryHandlerSet implements
     public List<List<DataTime>> handleRequest(TimeQueryRequestSet request)
             throws Exception {
         TimeQueryRequest[] queries = request.getRequests();
-        List<List<DataTime>> results = new ArrayList<List<DataTime>>(
+        final TimeQueryHandler handler = new TimeQueryHandler();
+        List<Callable<List<DataTime>>> tasks = new ArrayList<Callable<List<DataTime>>>(
                 queries.length);
-        TimeQueryHandler handler = new TimeQueryHandler();
-        for (int i = 0; i < queries.length; i++) {
-            results.add(handler.handleRequest(queries[i]));
+        for (final TimeQueryRequest query : queries) {
+            tasks.add(new Callable<List<DataTime>>() {
+                @Override
+                public List<DataTime> call() throws Exception {
+                    return handler.handleRequest(query);
+                }
+            });
         }
-        return results;
+        return QuerySetExecutor.execute("TimeQueryRequestSet", tasks);
     }
 }
@@ -22,10 +22,13 @@ package com.raytheon.uf.edex.database.plugin;
 
 import java.io.File;
 import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
@@ -37,18 +40,47 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
+import org.apache.commons.beanutils.NestedNullException;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.hibernate.Criteria;
+import org.hibernate.HibernateException;
 import org.hibernate.QueryException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.criterion.Conjunction;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Disjunction;
+import org.hibernate.criterion.ProjectionList;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
+import org.hibernate.engine.spi.CascadeStyle;
+import org.hibernate.engine.spi.CascadingAction;
 import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jdbc.Work;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.sql.JoinType;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.Type;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
 
 import com.raytheon.uf.common.dataplugin.HDF5Util;
 import com.raytheon.uf.common.dataplugin.PluginDataObject;
@@ -58,7 +90,9 @@ import com.raytheon.uf.common.dataplugin.persist.IHDFFilePathProvider;
 import com.raytheon.uf.common.dataplugin.persist.IPersistable;
 import com.raytheon.uf.common.dataplugin.persist.PersistableDataObject;
 import com.raytheon.uf.common.dataquery.db.QueryParam.QueryOperand;
+import com.raytheon.uf.common.dataquery.db.ReturnedField;
 import com.raytheon.uf.common.datastorage.DataStoreFactory;
+import com.raytheon.uf.common.datastorage.DatasetRetrieval;
 import com.raytheon.uf.common.datastorage.IDataStore;
 import com.raytheon.uf.common.datastorage.IDataStore.StoreOp;
 import com.raytheon.uf.common.datastorage.Request;
@@ -68,10 +102,16 @@ import com.raytheon.uf.common.datastorage.records.IDataRecord;
 import com.raytheon.uf.common.localization.ILocalizationFile;
 import com.raytheon.uf.common.localization.IPathManager;
 import com.raytheon.uf.common.localization.PathManagerFactory;
+import com.raytheon.uf.common.status.IPerformanceStatusHandler;
+import com.raytheon.uf.common.status.PerformanceStatus;
 import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.raytheon.uf.common.time.util.ITimer;
 import com.raytheon.uf.common.time.util.TimeUtil;
+import com.raytheon.uf.common.util.concurrent.NamedThreadFactory;
 import com.raytheon.uf.edex.core.EdexException;
 import com.raytheon.uf.edex.database.DataAccessLayerException;
+import com.raytheon.uf.edex.database.cluster.ClusterLockUtils;
+import com.raytheon.uf.edex.database.cluster.ClusterTask;
 import com.raytheon.uf.edex.database.dao.CoreDao;
 import com.raytheon.uf.edex.database.dao.DaoConfig;
 import com.raytheon.uf.edex.database.processor.IDatabaseProcessor;
@@ -128,6 +168,20 @@ import com.raytheon.uf.edex.database.query.DatabaseQuery;
  * Feb 24, 2016  5389     nabowle     Purge orphans based on purgeKeys and pathKeys.
  * Apr 14, 2017  6003     tgurney     Fix modTimeToWait behavior for rules that
  *                                    match multiple keys
+ * Oct 15, 2026           agent       Retrieve hdf5 data for all objects in
+ *                                    one retrieveFromFiles call
+ * Oct 15, 2026           agent       Store hdf5 files in parallel
+ * Oct 15, 2026           agent       Resolve existing ids for a whole batch
+ *                                    in persistToDatabase, log batch timings
+ * Oct 15, 2026           agent       Skip duplicate checks for batches the
+ *                                    RecentDataURIFilter knows are new
+ * Oct 15, 2026           agent       Purge product keys in parallel, delete
+ *                                    records by id, checkpoint purge progress
+ * Oct 15, 2026           agent       Add planExpiredDataPurge
+ * Oct 15, 2026           agent       Store hdf5 files on the calling thread
+ *                                    plus helpers instead of a plugin pool
+ * Oct 15, 2026           agent       Project ids and dataURI fields instead
+ *                                    of loading records in queryExistingIds
  * </pre>
  *
  * @author bphillip
@@ -147,9 +201,103 @@ public abstract class PluginDao extends CoreDao {
     public static final int PURGE_ORPHAN_BUFFER_DAYS = Integer
             .getInteger("purge.orphan.buffer", 7);
 
+    /**
+     * The default number of files each call to persistToHDF5 stores
+     * concurrently, can be overridden per plugin with the property
+     * [pluginName].hdf5.store.threads
+     */
+    public static final int DEFAULT_HDF5_STORE_THREADS = Integer
+            .getInteger("hdf5.store.threads", 4);
+
+    /**
+     * Threads that help the calling thread store hdf5 files. Unbounded, each
+     * call to persistToHDF5 uses at most hdf5StoreThreads - 1 of them, so
+     * stores scale with the ingest threads of the plugin.
+     */
+    private static final ExecutorService hdf5StoreHelpers = Executors
+            .newCachedThreadPool(new NamedThreadFactory("hdf5StoreHelper"));
+
+    /**
+     * The default number of product keys each plugin purges concurrently, can
+     * be overridden per plugin with the property [pluginName].purge.threads
+     */
+    public static final int DEFAULT_PURGE_THREADS = Integer
+            .getInteger("purge.threads", 4);
+
+    /** Executors for purging product keys, shared by all daos of a plugin */
+    private static final ConcurrentMap<String, ExecutorService> purgeExecutors = new ConcurrentHashMap<>();
+
+    /**
+     * Cluster task whose extra info records the last product key purged by an
+     * unfinished purge, the details are the plugin name.
+     */
+    public static final String PURGE_PROGRESS_TASK = "Purge Plugin Progress";
+
+    /** Progress of a purge that did not finish within this time is ignored */
+    private static final long PURGE_RESUME_MAX_AGE = Long
+            .getLong("purge.resume.max.age.minutes", 120)
+            * TimeUtil.MILLIS_PER_MINUTE;
+
+    /** Minimum time between updates of the purge progress */
+    private static final long PURGE_PROGRESS_INTERVAL = 30 * TimeUtil.MILLIS_PER_SECOND;
+
+    /** Length of the cluster_task extraInfo column */
+    private static final int EXTRA_INFO_LENGTH = 256;
+
+    /** Number of records deleted at a time by purgeDataByRefTime */
+    protected static final int PURGE_BATCH_SIZE = 500;
+
+    /**
+     * SQL to delete records of a class by id, empty for classes that must be
+     * deleted through hibernate
+     */
+    private static final ConcurrentMap<Class<?>, String> deleteByIdSql = new ConcurrentHashMap<>();
+
+    /** Whether each DAO class overrides delete(List) */
+    private static final ConcurrentMap<Class<?>, Boolean> deleteOverridden = new ConcurrentHashMap<>();
+
+    /**
+     * Local directory the hdf5 root is mounted on, used by the purge planner
+     * to size the files that would be deleted. Unset when the hdf5 files are
+     * only reachable through the data store server.
+     */
+    private static final String PURGE_PLAN_HDF5_ROOT = System
+            .getProperty("purge.plan.hdf5.root");
+
+    /** Estimated cost of applying the purge rules to one product key */
+    private static final long PURGE_PLAN_KEY_MILLIS = Long
+            .getLong("purge.plan.key.millis", 50);
+
+    /** Estimated cost of purging a row until a plugin has been purged */
+    private static final double PURGE_PLAN_ROW_MILLIS = 1.0;
+
+    /** Observed cost of purging a row, keyed by plugin name */
+    private static final ConcurrentMap<String, Double> purgeRowMillis = new ConcurrentHashMap<>();
+
     // should match batch size in hibernate config
     protected static final int COMMIT_INTERVAL = 100;
 
+    /**
+     * When true persistToDatabase resolves the ids of existing records for a
+     * whole batch with one query instead of one query per record.
+     */
+    protected static final boolean BULK_UPSERT = Boolean
+            .parseBoolean(System.getProperty("persist.bulk.upsert", "true"));
+
+    private static final IPerformanceStatusHandler perfLog = PerformanceStatus
+            .getHandler("PluginDao:");
+
+    /** Recently persisted dataURIs, shared by all daos of a plugin */
+    private static final ConcurrentMap<String, RecentDataURIFilter> recentDataURIFilters = new ConcurrentHashMap<>();
+
+    /** Seeds new filters from the database without blocking ingest */
+    private static final ExecutorService filterSeedExecutor = Executors
+            .newSingleThreadExecutor(
+                    new NamedThreadFactory("recentDataURIFilterSeed"));
+
+    /** Number of rows fetched at a time while seeding a filter */
+    private static final int FILTER_SEED_FETCH_SIZE = 1000;
+
     protected static final ConcurrentMap<Class<?>, DuplicateCheckStat> pluginDupCheckRate = new ConcurrentHashMap<>();
 
     // Map for tracking which PDOs store dataURI as a column in the DB.
@@ -166,6 +314,12 @@ public abstract class PluginDao extends CoreDao {
     /** The owning plugin name */
     protected String pluginName;
 
+    /** The number of files each call to persistToHDF5 stores concurrently */
+    protected int hdf5StoreThreads;
+
+    /** The number of product keys purged concurrently */
+    protected int purgeThreads;
+
     protected static final String PURGE_VERSION_FIELD = "dataTime.refTime";
 
     /**
@@ -189,6 +343,10 @@ public abstract class PluginDao extends CoreDao {
         this.pluginName = pluginName;
         PLUGIN_HDF5_DIR = pluginName + File.separator;
         pathProvider = PluginFactory.getInstance().getPathProvider(pluginName);
+        hdf5StoreThreads = Integer.getInteger(pluginName
+                + ".hdf5.store.threads", DEFAULT_HDF5_STORE_THREADS);
+        purgeThreads = Integer.getInteger(pluginName + ".purge.threads",
+                DEFAULT_PURGE_THREADS);
     }
 
     /**
@@ -233,6 +391,7 @@ public abstract class PluginDao extends CoreDao {
             pluginDupCheckRate.put(pdoClass, dupStat);
         }
         boolean duplicateCheck = dupStat.isDuplicateCheck();
+        RecentDataURIFilter filter = getRecentDataURIFilter();
         int dupCommitCount = 0;
         int noDupCommitCount = 0;
 
@@ -246,7 +405,16 @@ public abstract class PluginDao extends CoreDao {
                 List<PluginDataObject> subDuplicates = new ArrayList<>();
                 boolean constraintViolation = false;
                 Transaction tx = null;
-                if (!duplicateCheck) {
+                ITimer batchTimer = TimeUtil.getTimer();
+                batchTimer.start();
+                String mode = "insert";
+                boolean batchCheck = duplicateCheck;
+                if (batchCheck && filter != null
+                        && !mightContainAny(filter, subList)) {
+                    batchCheck = false;
+                    mode = "filtered insert";
+                }
+                if (!batchCheck) {
                     // First attempt is to just shove everything in the database
                     // as fast as possible and assume no duplicates.
                     try {
@@ -265,43 +433,31 @@ public abstract class PluginDao extends CoreDao {
                         constraintViolation = true;
                     }
                 }
-                if (constraintViolation || duplicateCheck) {
+                if (constraintViolation || batchCheck) {
                     // Second attempt will do duplicate checking, and possibly
                     // overwrite.
                     constraintViolation = false;
                     try {
                         tx = session.beginTransaction();
-                        List<PluginDataObject> subPersisted = new ArrayList<>(
-                                subList.size());
-                        for (PluginDataObject object : subList) {
-                            if (object == null) {
-                                continue;
-                            }
+                        List<PluginDataObject> subPersisted = null;
+                        if (BULK_UPSERT) {
+                            mode = "bulk upsert";
                             try {
-                                Criteria criteria = session
-                                        .createCriteria(pdoClass);
-                                populateDatauriCriteria(criteria, object);
-                                criteria.setProjection(Projections.id());
-                                Integer id = (Integer) criteria.uniqueResult();
-                                if (id != null) {
-                                    object.setId(id);
-                                    if (object.isOverwriteAllowed()) {
-                                        session.update(object);
-                                        subPersisted.add(object);
-                                    } else {
-                                        subDuplicates.add(object);
-                                    }
-                                } else {
-                                    session.save(object);
-                                    subPersisted.add(object);
-                                }
+                                subPersisted = bulkUpsert(session, pdoClass,
+                                        subList, subDuplicates, filter);
                             } catch (PluginException e) {
                                 logger.handle(Priority.PROBLEM,
-                                        "Query failed: Unable to insert or update "
-                                                + object.getIdentifier(),
+                                        "Bulk duplicate check failed, checking "
+                                                + "records individually",
                                         e);
+                                subDuplicates.clear();
                             }
                         }
+                        if (subPersisted == null) {
+                            mode = "upsert";
+                            subPersisted = upsertEach(session, pdoClass,
+                                    subList, subDuplicates, filter);
+                        }
                         tx.commit();
                         persisted.addAll(subPersisted);
                     } catch (ConstraintViolationException e) {
@@ -312,6 +468,7 @@ public abstract class PluginDao extends CoreDao {
                 }
                 if (constraintViolation) {
                     // Third attempt will commit each pdo individually.
+                    mode = "individual";
                     subDuplicates.clear();
                     for (PluginDataObject object : subList) {
                         if (object == null) {
@@ -377,6 +534,18 @@ public abstract class PluginDao extends CoreDao {
                     dupCommitCount += 1;
                     duplicates.addAll(subDuplicates);
                 }
+                if (filter != null) {
+                    for (PluginDataObject object : subList) {
+                        if (object != null) {
+                            filter.add(object);
+                        }
+                    }
+                }
+                batchTimer.stop();
+                perfLog.logDuration(pluginName + " persisted batch of "
+                        + subList.size() + " records (" + mode + ", "
+                        + subDuplicates.size() + " duplicates)",
+                        batchTimer.getElapsedTime());
             }
             dupStat.updateRate(
                     noDupCommitCount / (noDupCommitCount + dupCommitCount));
@@ -397,22 +566,245 @@ public abstract class PluginDao extends CoreDao {
         return persisted.toArray(new PluginDataObject[persisted.size()]);
     }
 
-    private void populateDatauriCriteria(Criteria criteria,
-            PluginDataObject pdo) throws PluginException {
-        Class<? extends PluginDataObject> pdoClazz = pdo.getClass();
+    /**
+     * Insert or update each object in the current transaction, querying for
+     * the id of each object individually.
+     *
+     * @param session
+     * @param pdoClass
+     * @param objects
+     * @param duplicates
+     *            objects that already exist and cannot be overwritten are
+     *            added to this list
+     * @param filter
+     *            notified of the result of each check, may be null
+     * @return the objects that were inserted or updated
+     */
+    private List<PluginDataObject> upsertEach(Session session,
+            Class<? extends PluginDataObject> pdoClass,
+            List<PluginDataObject> objects, List<PluginDataObject> duplicates,
+            RecentDataURIFilter filter) {
+        List<PluginDataObject> persisted = new ArrayList<>(objects.size());
+        for (PluginDataObject object : objects) {
+            if (object == null) {
+                continue;
+            }
+            try {
+                Criteria criteria = session.createCriteria(pdoClass);
+                populateDatauriCriteria(criteria, object);
+                criteria.setProjection(Projections.id());
+                Integer id = (Integer) criteria.uniqueResult();
+                if (filter != null) {
+                    filter.recordCheck(object, id != null);
+                }
+                if (id != null) {
+                    object.setId(id);
+                    if (object.isOverwriteAllowed()) {
+                        session.update(object);
+                        persisted.add(object);
+                    } else {
+                        duplicates.add(object);
+                    }
+                } else {
+                    session.save(object);
+                    persisted.add(object);
+                }
+            } catch (PluginException e) {
+                logger.handle(Priority.PROBLEM,
+                        "Query failed: Unable to insert or update "
+                                + object.getIdentifier(),
+                        e);
+            }
+        }
+        return persisted;
+    }
+
+    /**
+     * Insert or update a batch of objects in the current transaction. The ids
+     * of objects that already exist are resolved with a single query so the
+     * inserts and updates can be sent to the database as one jdbc batch on
+     * commit. An object with the same dataURI as an earlier object in the
+     * batch is checked individually after the rest of the batch is flushed,
+     * so it sees the earlier object just as it would have in
+     * {@link #upsertEach(Session, Class, List, List, RecentDataURIFilter)}.
+     *
+     * @param session
+     * @param pdoClass
+     * @param objects
+     * @param duplicates
+     *            objects that already exist and cannot be overwritten are
+     *            added to this list
+     * @param filter
+     *            notified of the result of each check, may be null
+     * @return the objects that were inserted or updated
+     * @throws PluginException
+     *             if the ids could not be queried, nothing has been written
+     *             to the session when this is thrown
+     */
+    private List<PluginDataObject> bulkUpsert(Session session,
+            Class<? extends PluginDataObject> pdoClass,
+            List<PluginDataObject> objects, List<PluginDataObject> duplicates,
+            RecentDataURIFilter filter) throws PluginException {
+        Map<String, PluginDataObject> batch = new LinkedHashMap<>(
+                objects.size());
+        List<PluginDataObject> repeats = new ArrayList<>();
+        for (PluginDataObject object : objects) {
+            if (object == null) {
+                continue;
+            }
+            if (batch.containsKey(object.getDataURI())) {
+                repeats.add(object);
+            } else {
+                batch.put(object.getDataURI(), object);
+            }
+        }
+        if (batch.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+
+        Map<String, Integer> ids = queryExistingIds(session, pdoClass,
+                batch.values());
+        List<PluginDataObject> persisted = new ArrayList<>(objects.size());
+        for (PluginDataObject object : batch.values()) {
+            Integer id = ids.get(object.getDataURI());
+            if (filter != null) {
+                filter.recordCheck(object, id != null);
+            }
+            if (id != null) {
+                object.setId(id);
+                if (object.isOverwriteAllowed()) {
+                    session.update(object);
+                    persisted.add(object);
+                } else {
+                    duplicates.add(object);
+                }
+            } else {
+                session.save(object);
+                persisted.add(object);
+            }
+        }
+
+        if (!repeats.isEmpty()) {
+            session.flush();
+            for (PluginDataObject repeat : repeats) {
+                PluginDataObject earlier = batch.get(repeat.getDataURI());
+                if (session.contains(earlier)) {
+                    // allows the repeat to be updated with the same id
+                    session.evict(earlier);
+                }
+            }
+            persisted.addAll(upsertEach(session, pdoClass, repeats,
+                    duplicates, filter));
+        }
+        return persisted;
+    }
+
+    /**
+     * Query the ids of the objects that already exist in the database.
+     *
+     * @param session
+     * @param pdoClass
+     * @param objects
+     *            objects with distinct dataURIs
+     * @return the ids of the existing objects, keyed by dataURI
+     * @throws PluginException
+     */
+    private Map<String, Integer> queryExistingIds(Session session,
+            Class<? extends PluginDataObject> pdoClass,
+            Collection<PluginDataObject> objects) throws PluginException {
+        Map<String, Integer> ids = new HashMap<>(objects.size(), 1.0f);
+        Criteria criteria = session.createCriteria(pdoClass);
+        if (hasDataURIColumn(pdoClass)) {
+            List<String> dataURIs = new ArrayList<>(objects.size());
+            for (PluginDataObject object : objects) {
+                dataURIs.add(object.getDataURI());
+            }
+            criteria.add(Restrictions.in("dataURI", dataURIs));
+            criteria.setProjection(Projections.projectionList()
+                    .add(Projections.id())
+                    .add(Projections.property("dataURI")));
+            for (Object row : criteria.list()) {
+                Object[] columns = (Object[]) row;
+                ids.put((String) columns[1], (Integer) columns[0]);
+            }
+        } else {
+            /*
+             * Without a dataURI column the dataURIs of the existing rows are
+             * rebuilt from their dataURI fields. Only the id and those fields
+             * are read, no records or associations are loaded into the
+             * session where they could conflict with the objects being
+             * persisted.
+             */
+            Disjunction anyObject = Restrictions.disjunction();
+            for (PluginDataObject object : objects) {
+                anyObject.add(createDatauriCriterion(object));
+            }
+            criteria.add(anyObject);
+            List<String> uriFields = DataURIUtil
+                    .getDataURIFieldNamesInOrder(pdoClass);
+            ClassMetadata metadata = getSessionFactory()
+                    .getClassMetadata(pdoClass);
+            Set<String> joined = new HashSet<>();
+            ProjectionList projection = Projections.projectionList()
+                    .add(Projections.id());
+            for (String field : uriFields) {
+                String property = topLevelProperty(field);
+                if (!property.equals(field) && joined.add(property)
+                        && metadata.getPropertyType(property)
+                                .isAssociationType()) {
+                    // nested fields of associations are read through a join
+                    criteria.createAlias(property, property,
+                            JoinType.LEFT_OUTER_JOIN);
+                }
+                projection.add(Projections.property(field));
+            }
+            criteria.setProjection(projection);
+
+            Map<String, Object> dataMap = new HashMap<>();
+            String recordPluginName = objects.iterator().next()
+                    .getPluginName();
+            for (Object row : criteria.list()) {
+                Object[] columns = (Object[]) row;
+                dataMap.clear();
+                dataMap.put(PluginDataObject.PLUGIN_NAME_ID, recordPluginName);
+                for (int i = 0; i < uriFields.size(); i += 1) {
+                    dataMap.put(uriFields.get(i), columns[i + 1]);
+                }
+                ids.put(DataURIUtil.createDataURI(dataMap),
+                        (Integer) columns[0]);
+            }
+        }
+        return ids;
+    }
+
+    private boolean hasDataURIColumn(
+            Class<? extends PluginDataObject> pdoClazz) {
         Boolean hasDataURIColumn = pluginDataURIColumn.get(pdoClazz);
         if (!Boolean.FALSE.equals(hasDataURIColumn)) {
             try {
                 getSessionFactory().getClassMetadata(pdoClazz)
                         .getPropertyType("dataURI");
-                criteria.add(Restrictions.eq("dataURI", pdo.getDataURI()));
-                return;
+                return true;
             } catch (QueryException e) {
                 hasDataURIColumn = Boolean.FALSE;
                 pluginDataURIColumn.put(pdoClazz, hasDataURIColumn);
             }
         }
+        return false;
+    }
+
+    private void populateDatauriCriteria(Criteria criteria,
+            PluginDataObject pdo) throws PluginException {
+        criteria.add(createDatauriCriterion(pdo));
+    }
+
+    private Criterion createDatauriCriterion(PluginDataObject pdo)
+            throws PluginException {
+        if (hasDataURIColumn(pdo.getClass())) {
+            return Restrictions.eq("dataURI", pdo.getDataURI());
+        }
         // This means dataURI is not a column.
+        Conjunction allFields = Restrictions.conjunction();
         for (Entry<String, Object> uriEntry : DataURIUtil.createDataURIMap(pdo)
                 .entrySet()) {
             String key = uriEntry.getKey();
@@ -431,11 +823,12 @@ public abstract class PluginDao extends CoreDao {
                 }
             }
             if (value == null) {
-                criteria.add(Restrictions.isNull(key));
+                allFields.add(Restrictions.isNull(key));
             } else {
-                criteria.add(Restrictions.eq(key, value));
+                allFields.add(Restrictions.eq(key, value));
             }
         }
+        return allFields;
     }
 
     /**
@@ -479,18 +872,12 @@ public abstract class PluginDao extends CoreDao {
         // Step 2: Iterate through all the files, and persist all records that
         // belong to each file in bulk
 
-        Iterator<File> fileIterator = persistableMap.keySet().iterator();
-        List<StorageException> exceptions = new ArrayList<>();
-        while (fileIterator.hasNext()) {
-            File file = fileIterator.next();
-            List<IPersistable> persistables = persistableMap.get(file);
-
-            // create the directories necessary for this file, if they do not
-            // exist
-            // File directory = file.getParentFile();
-            // if (!directory.exists()) {
-            // directory.mkdirs();
-            // }
+        List<Callable<List<StorageException>>> stores = new ArrayList<>(
+                persistableMap.size());
+        for (Entry<File, List<IPersistable>> entry : persistableMap
+                .entrySet()) {
+            File file = entry.getKey();
+            List<IPersistable> persistables = entry.getValue();
 
             IDataStore dataStore = null;
             IDataStore replaceDataStore = null;
@@ -516,24 +903,23 @@ public abstract class PluginDao extends CoreDao {
                 }
             }
 
-            if (dataStore != null) {
-                try {
-                    StorageStatus s = dataStore.store();
-                    // add exceptions to a list for aggregation
-                    exceptions.addAll(Arrays.asList(s.getExceptions()));
-                } catch (StorageException e) {
-                    logger.error("Error persisting to HDF5", e);
-                }
-            }
-            if (replaceDataStore != null) {
+            final IDataStore store = dataStore;
+            final IDataStore replaceStore = replaceDataStore;
+            stores.add(() -> storeToHDF5(store, replaceStore));
+        }
+
+        // Step 3: Store the files, several at a time if there are many
+        List<StorageException> exceptions = new ArrayList<>();
+        if (stores.size() <= 1 || hdf5StoreThreads <= 1) {
+            for (Callable<List<StorageException>> store : stores) {
                 try {
-                    StorageStatus s = replaceDataStore.store(StoreOp.REPLACE);
-                    // add exceptions to a list for aggregation
-                    exceptions.addAll(Arrays.asList(s.getExceptions()));
-                } catch (StorageException e) {
-                    logger.error("Error persisting replace records to HDF5", e);
+                    exceptions.addAll(store.call());
+                } catch (Exception e) {
+                    throw new PluginException("Error persisting to HDF5", e);
                 }
             }
+        } else {
+            exceptions.addAll(storeConcurrently(stores));
         }
 
         // Create an aggregated status object
@@ -543,6 +929,294 @@ public abstract class PluginDao extends CoreDao {
         return status;
     }
 
+    /**
+     * Run the stores on the calling thread and up to hdf5StoreThreads - 1
+     * helper threads. Each thread takes the next store that has not been
+     * started until none are left.
+     *
+     * @param stores
+     *            the store of each file
+     * @return the exceptions of all stores, in file order like the serial
+     *         path
+     * @throws PluginException
+     */
+    private List<StorageException> storeConcurrently(
+            final List<Callable<List<StorageException>>> stores)
+            throws PluginException {
+        final int count = stores.size();
+        final List<List<StorageException>> results = new ArrayList<>(
+                Collections.<List<StorageException>> nCopies(count, null));
+        final AtomicInteger next = new AtomicInteger();
+        Callable<Void> worker = new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                int i;
+                while ((i = next.getAndIncrement()) < count) {
+                    results.set(i, stores.get(i).call());
+                }
+                return null;
+            }
+        };
+
+        int helpers = Math.min(hdf5StoreThreads, count) - 1;
+        List<Future<Void>> futures = new ArrayList<>(helpers);
+        try {
+            for (int i = 0; i < helpers; i++) {
+                futures.add(hdf5StoreHelpers.submit(worker));
+            }
+            worker.call();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            next.set(count);
+            Thread.currentThread().interrupt();
+            throw new PluginException("Interrupted persisting to HDF5", e);
+        } catch (ExecutionException e) {
+            next.set(count);
+            throw new PluginException("Error persisting to HDF5",
+                    e.getCause());
+        } catch (Exception e) {
+            next.set(count);
+            throw new PluginException("Error persisting to HDF5", e);
+        }
+
+        List<StorageException> exceptions = new ArrayList<>();
+        for (List<StorageException> result : results) {
+            exceptions.addAll(result);
+        }
+        return exceptions;
+    }
+
+    /**
+     * Store the populated data stores of a single file
+     *
+     * @param dataStore
+     *            data store of records that are not allowed to overwrite, may
+     *            be null
+     * @param replaceDataStore
+     *            data store of records that are allowed to overwrite, may be
+     *            null
+     * @return the exceptions from both stores
+     */
+    private List<StorageException> storeToHDF5(IDataStore dataStore,
+            IDataStore replaceDataStore) {
+        List<StorageException> exceptions = new ArrayList<>();
+        if (dataStore != null) {
+            try {
+                StorageStatus s = dataStore.store();
+                // add exceptions to a list for aggregation
+                exceptions.addAll(Arrays.asList(s.getExceptions()));
+            } catch (StorageException e) {
+                logger.error("Error persisting to HDF5", e);
+            }
+        }
+        if (replaceDataStore != null) {
+            try {
+                StorageStatus s = replaceDataStore.store(StoreOp.REPLACE);
+                // add exceptions to a list for aggregation
+                exceptions.addAll(Arrays.asList(s.getExceptions()));
+            } catch (StorageException e) {
+                logger.error("Error persisting replace records to HDF5", e);
+            }
+        }
+        return exceptions;
+    }
+
+    /**
+     * Get the filter of dataURIs recently persisted by this plugin, creating
+     * it and starting to seed it from the database the first time it is
+     * requested. The filter answers that every record might be a duplicate
+     * until seeding has completed. Only used in front of inserts, where the
+     * unique constraint catches records persisted by other cluster members.
+     *
+     * @return the filter, or null if duplicate filtering is disabled
+     */
+    protected RecentDataURIFilter getRecentDataURIFilter() {
+        if (!RecentDataURIFilter.ENABLED || daoClass == null) {
+            return null;
+        }
+        RecentDataURIFilter filter = recentDataURIFilters.get(pluginName);
+        if (filter == null) {
+            filter = new RecentDataURIFilter(pluginName);
+            RecentDataURIFilter prev = recentDataURIFilters
+                    .putIfAbsent(pluginName, filter);
+            if (prev != null) {
+                filter = prev;
+            } else {
+                final RecentDataURIFilter newFilter = filter;
+                filterSeedExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        seedRecentDataURIFilter(newFilter);
+                    }
+                });
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Add the dataURIs of every record within the window of the filter to the
+     * filter and mark it ready. If the database cannot be read the filter is
+     * left unready so every record continues to be checked.
+     *
+     * Only the columns that identify a record are read. Plugins without a
+     * dataURI column have their dataURIs rebuilt from the dataURI fields, the
+     * session is cleared periodically so any associations loaded for those
+     * fields do not accumulate.
+     *
+     * @param filter
+     */
+    protected void seedRecentDataURIFilter(final RecentDataURIFilter filter) {
+        ITimer timer = TimeUtil.getTimer();
+        timer.start();
+        int count = 0;
+        try {
+            final Class<? extends PluginDataObject> pdoClass = daoClass
+                    .asSubclass(PluginDataObject.class);
+            final boolean dataURIColumn = hasDataURIColumn(pdoClass);
+            final List<String> uriFields = dataURIColumn
+                    ? Collections.<String> emptyList()
+                    : DataURIUtil.getDataURIFieldNamesInOrder(pdoClass);
+            /* the distinct top level properties the dataURI fields are in */
+            final List<String> properties = new ArrayList<>();
+            if (dataURIColumn) {
+                properties.add("dataURI");
+            } else {
+                for (String field : uriFields) {
+                    String property = topLevelProperty(field);
+                    if (!properties.contains(property)) {
+                        properties.add(property);
+                    }
+                }
+            }
+            count = txTemplate.execute(new TransactionCallback<Integer>() {
+                @Override
+                public Integer doInTransaction(TransactionStatus status) {
+                    Session session = getCurrentSession();
+                    Criteria criteria = session.createCriteria(pdoClass);
+                    criteria.add(Restrictions.ge(PURGE_VERSION_FIELD,
+                            filter.getSeedStart()));
+                    criteria.setReadOnly(true);
+                    criteria.setFetchSize(FILTER_SEED_FETCH_SIZE);
+                    ProjectionList projection = Projections.projectionList()
+                            .add(Projections.property(PURGE_VERSION_FIELD));
+                    for (String property : properties) {
+                        projection.add(Projections.property(property));
+                    }
+                    criteria.setProjection(projection);
+
+                    int rows = 0;
+                    Map<String, Object> dataMap = new HashMap<>();
+                    ScrollableResults results = criteria
+                            .scroll(ScrollMode.FORWARD_ONLY);
+                    try {
+                        while (results.next()) {
+                            Date refTime = (Date) results.get(0);
+                            String dataURI;
+                            if (dataURIColumn) {
+                                dataURI = (String) results.get(1);
+                            } else {
+                                dataMap.clear();
+                                dataMap.put(PluginDataObject.PLUGIN_NAME_ID,
+                                        pluginName);
+                                for (String field : uriFields) {
+                                    dataMap.put(field, fieldValue(field,
+                                            results.get(1 + properties
+                                                    .indexOf(topLevelProperty(
+                                                            field)))));
+                                }
+                                dataURI = DataURIUtil.createDataURI(dataMap);
+                            }
+                            filter.add(dataURI, refTime);
+                            rows += 1;
+                            if (rows % FILTER_SEED_FETCH_SIZE == 0) {
+                                session.clear();
+                            }
+                        }
+                    } catch (PluginException e) {
+                        throw new HibernateException(
+                                "Unable to build the dataURI of a record", e);
+                    } finally {
+                        results.close();
+                    }
+                    return rows;
+                }
+            });
+            filter.setReady();
+        } catch (Exception e) {
+            logger.handle(Priority.PROBLEM, "Unable to seed the duplicate "
+                    + "filter of " + pluginName
+                    + ", all records will be checked for duplicates", e);
+        }
+        timer.stop();
+        perfLog.logDuration(pluginName + " seeded duplicate filter with "
+                + count + " records", timer.getElapsedTime());
+    }
+
+    /**
+     * @return the property of a record that a possibly nested dataURI field
+     *         is read from
+     */
+    private static String topLevelProperty(String field) {
+        int dot = field.indexOf('.');
+        return dot < 0 ? field : field.substring(0, dot);
+    }
+
+    /**
+     * @return the value of a possibly nested dataURI field, given the value of
+     *         its top level property
+     */
+    private static Object fieldValue(String field, Object property) {
+        int dot = field.indexOf('.');
+        if (dot < 0 || property == null) {
+            return property;
+        }
+        try {
+            return PropertyUtils.getNestedProperty(property,
+                    field.substring(dot + 1));
+        } catch (NestedNullException e) {
+            return null;
+        } catch (Exception e) {
+            throw new HibernateException(
+                    "Unable to read dataURI field " + field, e);
+        }
+    }
+
+    /**
+     * @return true if the filter might contain any object in the list, every
+     *         object is checked so the filter statistics are complete
+     */
+    private static boolean mightContainAny(RecentDataURIFilter filter,
+            List<PluginDataObject> objects) {
+        boolean result = false;
+        for (PluginDataObject object : objects) {
+            if (object != null && filter.mightContain(object)) {
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of files each call to persistToHDF5 stores
+     *         concurrently
+     */
+    public int getHdf5StoreThreads() {
+        return hdf5StoreThreads;
+    }
+
+    /**
+     * Set the number of files each call to persistToHDF5 stores concurrently,
+     * including the calling thread. Takes effect on the next store.
+     *
+     * @param hdf5StoreThreads
+     */
+    public void setHdf5StoreThreads(int hdf5StoreThreads) {
+        this.hdf5StoreThreads = hdf5StoreThreads;
+    }
+
     /**
      * Retrieves metadata from the database according to the provided query
      *
@@ -589,7 +1263,10 @@ public abstract class PluginDao extends CoreDao {
     }
 
     /**
-     * Retrieves the HDF5 component of the records provided
+     * Retrieves the HDF5 component of the records provided. The datasets of
+     * all objects are requested with one
+     * {@link IDataStore#retrieveFromFiles(List)} call on the data store
+     * {@link #getDataStore(IPersistable)} returns for the first object.
      *
      * @param objects
      *            The objects to retrieve the HDF5 component for
@@ -605,34 +1282,47 @@ public abstract class PluginDao extends CoreDao {
 
         List<IDataRecord[]> retVal = new ArrayList<>();
 
-        for (PluginDataObject obj : objects) {
+        boolean interpolated = DataStoreFactory.isInterpolated(tileSet);
+        if (!interpolated) {
+            tileSet = 0;
+        }
 
+        /*
+         * Request the base record and interpolated data, if any, of every
+         * object at once so the data store can batch the requests across files
+         */
+        List<DatasetRetrieval> retrievals = new ArrayList<>();
+        IPersistable first = null;
+        for (PluginDataObject obj : objects) {
             if (obj instanceof IPersistable) {
-                /* connect to the data store and retrieve the data */
-                IDataStore dataStore = getDataStore((IPersistable) obj);
-                boolean interpolated = DataStoreFactory.isInterpolated(tileSet);
-                if (!interpolated) {
-                    tileSet = 0;
+                if (first == null) {
+                    first = (IPersistable) obj;
                 }
-                IDataRecord[] record = new IDataRecord[tileSet + 1];
-                try {
-                    String group = DataStoreFactory.createGroupName(
-                            obj.getDataURI(), DataStoreFactory.DEF_DATASET_NAME,
-                            interpolated);
-                    // Retrieve the base record.
-                    record[0] = dataStore.retrieve(obj.getDataURI(),
-                            DataStoreFactory.DEF_DATASET_NAME, Request.ALL);
-                    // Now get the interpolated data, if any!
-                    for (int tile = 1; tile < record.length; tile++) {
-                        record[tile] = dataStore.retrieve(group,
-                                String.valueOf(tile), Request.ALL);
-                    }
-                } catch (Exception e) {
-                    throw new PluginException("Error getting HDF5 data", e);
+                File file = getHDF5File((IPersistable) obj);
+                String group = DataStoreFactory.createGroupName(
+                        obj.getDataURI(), DataStoreFactory.DEF_DATASET_NAME,
+                        interpolated);
+                retrievals.add(new DatasetRetrieval(file, obj.getDataURI(),
+                        DataStoreFactory.DEF_DATASET_NAME, Request.ALL));
+                for (int tile = 1; tile <= tileSet; tile++) {
+                    retrievals.add(new DatasetRetrieval(file, group, String
+                            .valueOf(tile), Request.ALL));
                 }
-                retVal.add(record);
             }
         }
+        if (retrievals.isEmpty()) {
+            return retVal;
+        }
+
+        IDataRecord[] records;
+        try {
+            records = getDataStore(first).retrieveFromFiles(retrievals);
+        } catch (Exception e) {
+            throw new PluginException("Error getting HDF5 data", e);
+        }
+        for (int i = 0; i < records.length; i += tileSet + 1) {
+            retVal.add(Arrays.copyOfRange(records, i, i + tileSet + 1));
+        }
 
         return retVal;
     }
@@ -759,6 +1449,25 @@ public abstract class PluginDao extends CoreDao {
 
     }
 
+    /**
+     * Result of applying the purge rules to a key, before anything is deleted
+     */
+    protected static class KeyPurgeDecision {
+        public Map<String, String> productKeys;
+
+        public String productKeyString;
+
+        public Set<Date> timesKept;
+
+        public Set<Date> timesPurged;
+
+        /** true if the plugin stores data in hdf5 */
+        public boolean purgeHdf5Data;
+
+        /** true if uris must be deleted from hdf5 instead of whole files */
+        public boolean trackToUri;
+    }
+
     /**
      * Purges data according to purge criteria specified by the owning plugin
      *
@@ -770,12 +1479,17 @@ public abstract class PluginDao extends CoreDao {
     }
 
     /**
-     * Purges data according to purge criteria specified by the owning plugin
+     * Purges data according to purge criteria specified by the owning plugin.
+     * Product keys are purged in parallel and the progress is recorded in the
+     * {@value #PURGE_PROGRESS_TASK} cluster task, if the purge does not finish
+     * the next purge skips the keys that were completed. The results only
+     * include the keys that were purged by this call.
      *
      * @throws PluginException
      *             If problems occur while interacting with data stores
      */
     public PurgeResults purgeExpiredDataWithResults() throws PluginException {
+        long start = System.currentTimeMillis();
         try {
             PurgeRuleSet ruleSet = getPurgeRulesForPlugin(pluginName);
             Map<String, Set<Date>> timesKept = new HashMap<>();
@@ -790,17 +1504,15 @@ public abstract class PluginDao extends CoreDao {
             // Query the database to get all possible product keys for this data
             List<String> ruleKeys = ruleSet.getKeys();
             int totalItems = 0;
+            int keyCount = 1;
 
             if (ruleKeys != null && !ruleKeys.isEmpty()) {
                 // Iterate through keys, fully purge each key set
                 String[][] distinctKeys = getDistinctProductKeyValues(
                         ruleSet.getKeys());
-                for (String[] key : distinctKeys) {
-                    RuleResult res = purgeExpiredKey(ruleSet, key);
-                    timesKept.put(Arrays.toString(key), res.timesKept);
-                    timesPurged.put(Arrays.toString(key), res.timesPurged);
-                    totalItems += res.itemsDeletedForKey;
-                }
+                keyCount = distinctKeys.length;
+                totalItems += purgeExpiredKeys(ruleSet, distinctKeys,
+                        timesKept, timesPurged);
             } else {
                 // no rule keys defined, can only apply default rule
                 RuleResult res = purgeExpiredKey(ruleSet, null);
@@ -817,6 +1529,8 @@ public abstract class PluginDao extends CoreDao {
             messageBuffer.append(" total.");
 
             PurgeLogger.logInfo(messageBuffer.toString(), pluginName);
+            updatePurgeRate(keyCount, totalItems,
+                    System.currentTimeMillis() - start);
             return new PurgeResults(timesKept, timesPurged);
         } catch (EdexException e) {
             throw new PluginException("Error applying purge rule!!", e);
@@ -824,23 +1538,417 @@ public abstract class PluginDao extends CoreDao {
     }
 
     /**
-     * Takes the purgeKeys, looks up the associated purge rule, and applies it
-     * to the data matched by purgeKeys.
+     * Determine what {@link #purgeExpiredDataWithResults()} would purge if it
+     * ran now, using the current purge rules, without deleting anything.
+     *
+     * @param detailed
+     *            if true the hdf5 files of every record that would be purged
+     *            are determined, which requires loading the records
+     * @return the plan
+     * @throws PluginException
+     */
+    public PurgePlan planExpiredDataPurge(boolean detailed)
+            throws PluginException {
+        return planExpiredDataPurge(getPurgeRulesForPlugin(pluginName),
+                detailed);
+    }
+
+    /**
+     * Determine what would be purged with the given rules, for instance to
+     * preview a rule change, without deleting anything.
+     *
+     * @param ruleSet
+     *            the rules to apply
+     * @param detailed
+     *            if true the hdf5 files of every record that would be purged
+     *            are determined, which requires loading the records
+     * @return the plan
+     * @throws PluginException
+     */
+    public PurgePlan planExpiredDataPurge(PurgeRuleSet ruleSet,
+            boolean detailed) throws PluginException {
+        ITimer timer = TimeUtil.getTimer();
+        timer.start();
+        PurgePlan plan = new PurgePlan(pluginName);
+        if (ruleSet == null) {
+            return plan;
+        }
+        try {
+            List<String> ruleKeys = ruleSet.getKeys();
+            if (ruleKeys != null && !ruleKeys.isEmpty()) {
+                String[][] distinctKeys = getDistinctProductKeyValues(
+                        ruleKeys);
+                for (String[] key : distinctKeys) {
+                    planExpiredKey(plan, ruleSet, key, detailed);
+                }
+            } else {
+                planExpiredKey(plan, ruleSet, null, detailed);
+            }
+        } catch (EdexException e) {
+            throw new PluginException("Error planning purge for "
+                    + pluginName, e);
+        }
+        plan.setEstimatedMillis(estimatePurgeMillis(plan.getKeysEvaluated(),
+                plan.getRows()));
+        timer.stop();
+        perfLog.logDuration(pluginName + " planned purge of "
+                + plan.getRows() + " rows", timer.getElapsedTime());
+        return plan;
+    }
+
+    private void planExpiredKey(PurgePlan plan, PurgeRuleSet ruleSet,
+            String[] purgeKeys, boolean detailed)
+            throws DataAccessLayerException {
+        plan.addKeyEvaluated();
+        KeyPurgeDecision decision = evaluateExpiredKey(ruleSet, purgeKeys);
+        if (decision == null || decision.timesPurged.isEmpty()) {
+            return;
+        }
+        List<Date> refTimes = new ArrayList<>(decision.timesPurged);
+        Collections.sort(refTimes);
+        String key = decision.productKeyString == null ? "default"
+                : decision.productKeyString;
+
+        int rows = 0;
+        long hdf5Files = 0;
+        long hdf5Bytes = 0;
+        if (!decision.purgeHdf5Data) {
+            rows = countRecords(refTimes, decision.productKeys);
+        } else if (detailed) {
+            Map<String, List<String>> hdf5FileToUriMap = new HashMap<>();
+            for (Date refTime : refTimes) {
+                List<PluginDataObject> pdos = getRecords(refTime,
+                        decision.productKeys);
+                rows += pdos.size();
+                purgeHdf5ForPdos(decision.trackToUri, hdf5FileToUriMap,
+                        pdos);
+            }
+            hdf5Files = hdf5FileToUriMap.size();
+            hdf5Bytes = getDeletedHdf5Bytes(hdf5FileToUriMap);
+        } else {
+            rows = countRecords(refTimes, decision.productKeys);
+            hdf5Files = PurgePlan.UNKNOWN;
+            hdf5Bytes = PurgePlan.UNKNOWN;
+        }
+        plan.addKey(new PurgePlan.KeyPlan(key, refTimes.size(), rows,
+                hdf5Files, hdf5Bytes));
+    }
+
+    /**
+     * Count the records with any of the reference times that match the
+     * product keys.
+     */
+    private int countRecords(List<Date> refTimes,
+            Map<String, String> productKeys) throws DataAccessLayerException {
+        int count = 0;
+        for (int i = 0; i < refTimes.size(); i += PURGE_BATCH_SIZE) {
+            List<Date> batch = new ArrayList<>(refTimes.subList(i,
+                    Math.min(i + PURGE_BATCH_SIZE, refTimes.size())));
+            DatabaseQuery query = new DatabaseQuery(this.daoClass);
+            query.addQueryParam(PURGE_VERSION_FIELD, batch, QueryOperand.IN);
+            if (productKeys != null && productKeys.size() > 0) {
+                for (Map.Entry<String, String> pair : productKeys.entrySet()) {
+                    query.addQueryParam(pair.getKey(), pair.getValue());
+                }
+            }
+            ReturnedField rowCount = new ReturnedField("id");
+            rowCount.setFunction("count");
+            query.addReturnedField(rowCount);
+            List<?> result = this.queryByCriteria(query);
+            if (!result.isEmpty() && result.get(0) != null) {
+                count += ((Number) result.get(0)).intValue();
+            }
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PluginDataObject> getRecords(Date refTime,
+            Map<String, String> productKeys) throws DataAccessLayerException {
+        DatabaseQuery query = new DatabaseQuery(this.daoClass);
+        query.addQueryParam(PURGE_VERSION_FIELD, refTime);
+        if (productKeys != null && productKeys.size() > 0) {
+            for (Map.Entry<String, String> pair : productKeys.entrySet()) {
+                query.addQueryParam(pair.getKey(), pair.getValue());
+            }
+        }
+        return (List<PluginDataObject>) this.queryByCriteria(query);
+    }
+
+    /**
+     * @return the size of the hdf5 files that would be deleted entirely, or
+     *         {@link PurgePlan#UNKNOWN} if the hdf5 root is not available
+     *         locally
+     */
+    private long getDeletedHdf5Bytes(
+            Map<String, List<String>> hdf5FileToUriMap) {
+        if (PURGE_PLAN_HDF5_ROOT == null) {
+            return PurgePlan.UNKNOWN;
+        }
+        long bytes = 0;
+        for (Entry<String, List<String>> entry : hdf5FileToUriMap
+                .entrySet()) {
+            // files that only have groups removed are not freed
+            if (entry.getValue() == null) {
+                bytes += new File(PURGE_PLAN_HDF5_ROOT, entry.getKey())
+                        .length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimate how long purging would take, using the cost per row observed
+     * by the last purge of this plugin.
+     *
+     * @param keys
+     *            the number of product keys the rules are applied to
+     * @param rows
+     *            the number of rows that would be purged
+     * @return the estimated time in milliseconds
+     */
+    private long estimatePurgeMillis(int keys, long rows) {
+        Double rowMillis = purgeRowMillis.get(pluginName);
+        if (rowMillis == null) {
+            rowMillis = PURGE_PLAN_ROW_MILLIS;
+        }
+        int parallelism = Math.max(1, Math.min(purgeThreads, keys));
+        return (long) ((keys * PURGE_PLAN_KEY_MILLIS + rows * rowMillis)
+                / parallelism);
+    }
+
+    /**
+     * Update the cost per row used by {@link #estimatePurgeMillis(int, long)}
+     * after a purge. The new cost is averaged with the previous one so a
+     * single slow purge does not dominate the estimate.
+     */
+    private void updatePurgeRate(int keys, int rows, long elapsedMillis) {
+        if (rows == 0) {
+            return;
+        }
+        int parallelism = Math.max(1, Math.min(purgeThreads, keys));
+        double rowMillis = Math.max(0, elapsedMillis * parallelism - keys
+                * PURGE_PLAN_KEY_MILLIS)
+                / rows;
+        Double previous = purgeRowMillis.put(pluginName, rowMillis);
+        if (previous != null) {
+            purgeRowMillis.put(pluginName, (previous + rowMillis) / 2);
+        }
+    }
+
+    /**
+     * Apply the purge rules to each of the product keys, using up to
+     * purgeThreads threads.
+     *
+     * @param ruleSet
+     * @param distinctKeys
+     *            the product keys to purge
+     * @param timesKept
+     *            populated with the times kept for each key
+     * @param timesPurged
+     *            populated with the times purged for each key
+     * @return the number of items purged
+     * @throws DataAccessLayerException
+     */
+    private int purgeExpiredKeys(final PurgeRuleSet ruleSet,
+            String[][] distinctKeys, Map<String, Set<Date>> timesKept,
+            Map<String, Set<Date>> timesPurged)
+            throws DataAccessLayerException {
+        // sorted so progress can be recorded as the last key completed
+        Map<String, String[]> keys = new TreeMap<>();
+        for (String[] key : distinctKeys) {
+            keys.put(Arrays.toString(key), key);
+        }
+
+        long runStart = System.currentTimeMillis();
+        ClusterTask progress = ClusterLockUtils.lookupLock(PURGE_PROGRESS_TASK,
+                pluginName);
+        String info = progress.getExtraInfo();
+        boolean recordProgress = info != null;
+        int sep = info == null ? -1 : info.indexOf(':');
+        if (sep > 0) {
+            try {
+                long start = Long.parseLong(info.substring(0, sep));
+                if (runStart - start < PURGE_RESUME_MAX_AGE) {
+                    String resumeAfter = info.substring(sep + 1);
+                    Map<String, String[]> done = keys.headMap(resumeAfter);
+                    if (keys.containsKey(resumeAfter)) {
+                        done = keys.headMap(resumeAfter, true);
+                    }
+                    PurgeLogger.logInfo("Resuming unfinished purge, skipping "
+                            + done.size() + " of " + keys.size()
+                            + " product keys", pluginName);
+                    done.clear();
+                    runStart = start;
+                }
+            } catch (NumberFormatException e) {
+                PurgeLogger.logWarn("Ignoring invalid purge progress: " + info,
+                        pluginName);
+            }
+        }
+
+        List<String> keyStrings = new ArrayList<>(keys.size());
+        List<FutureTask<RuleResult>> tasks = new ArrayList<>(keys.size());
+        /* set when a key fails so that keys that have not started are skipped */
+        final AtomicBoolean stopped = new AtomicBoolean();
+        for (Entry<String, String[]> entry : keys.entrySet()) {
+            final String[] key = entry.getValue();
+            keyStrings.add(entry.getKey());
+            tasks.add(new FutureTask<>(new Callable<RuleResult>() {
+                @Override
+                public RuleResult call() throws DataAccessLayerException {
+                    if (stopped.get()) {
+                        return null;
+                    }
+                    return purgeExpiredKey(ruleSet, key);
+                }
+            }));
+        }
+        boolean parallel = purgeThreads > 1 && tasks.size() > 1;
+        if (parallel) {
+            ExecutorService executor = getPurgeExecutor();
+            for (FutureTask<RuleResult> task : tasks) {
+                executor.execute(task);
+            }
+        }
+
+        int totalItems = 0;
+        long lastProgressUpdate = System.currentTimeMillis();
+        String lastKeyDone = null;
+        int i = 0;
+        try {
+            for (; i < tasks.size(); i += 1) {
+                FutureTask<RuleResult> task = tasks.get(i);
+                if (!parallel) {
+                    task.run();
+                }
+                RuleResult res = task.get();
+                String keyString = keyStrings.get(i);
+                timesKept.put(keyString, res.timesKept);
+                timesPurged.put(keyString, res.timesPurged);
+                totalItems += res.itemsDeletedForKey;
+
+                /*
+                 * results are collected in key order, so every key up to this
+                 * one has been purged
+                 */
+                lastKeyDone = keyString;
+                long now = System.currentTimeMillis();
+                if (now - lastProgressUpdate >= PURGE_PROGRESS_INTERVAL) {
+                    recordProgress |= updatePurgeProgress(runStart,
+                            lastKeyDone);
+                    lastProgressUpdate = now;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessLayerException("Interrupted purging "
+                    + pluginName, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DataAccessLayerException) {
+                throw (DataAccessLayerException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DataAccessLayerException("Error purging key "
+                    + keyStrings.get(i), cause);
+        } finally {
+            if (i < tasks.size()) {
+                stopped.set(true);
+                if (parallel) {
+                    awaitPurgeTasks(tasks.subList(i, tasks.size()));
+                }
+                if (lastKeyDone != null) {
+                    updatePurgeProgress(runStart, lastKeyDone);
+                }
+            }
+        }
+        if (recordProgress) {
+            ClusterLockUtils.updateExtraInfo(PURGE_PROGRESS_TASK, pluginName,
+                    null);
+        }
+        return totalItems;
+    }
+
+    /**
+     * Wait for purge tasks to finish, ignoring their results, so that no key
+     * is still being purged once the caller releases the purge lock. Tasks
+     * that have not started yet finish immediately once stopped.
+     *
+     * @param tasks
+     */
+    private static void awaitPurgeTasks(List<FutureTask<RuleResult>> tasks) {
+        boolean interrupted = false;
+        for (FutureTask<RuleResult> task : tasks) {
+            while (true) {
+                try {
+                    task.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Record that every key up to and including lastKeyDone has been purged.
+     * A key that does not fit is truncated, which is safe because any key
+     * that sorts before the truncated key also sorts before the full key.
+     *
+     * @return true if the progress was recorded
+     */
+    private boolean updatePurgeProgress(long runStart, String lastKeyDone) {
+        String info = runStart + ":" + lastKeyDone;
+        if (info.length() > EXTRA_INFO_LENGTH) {
+            info = info.substring(0, EXTRA_INFO_LENGTH);
+        }
+        return ClusterLockUtils.updateExtraInfo(PURGE_PROGRESS_TASK,
+                pluginName, info);
+    }
+
+    private ExecutorService getPurgeExecutor() {
+        ExecutorService executor = purgeExecutors.get(pluginName);
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(purgeThreads,
+                    new NamedThreadFactory(pluginName + "-purge"));
+            ExecutorService prev = purgeExecutors.putIfAbsent(pluginName,
+                    executor);
+            if (prev != null) {
+                executor.shutdown();
+                executor = prev;
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Applies the purge rules to the data matched by purgeKeys without
+     * deleting anything. Shared by {@link #purgeExpiredKey(PurgeRuleSet,
+     * String[])} and the purge planner.
      *
      * @param ruleSet
      * @param purgeKeys
-     * @return Summary of purge for keys
+     * @return the times to keep and purge for the key, or null if there is
+     *         nothing to purge
      * @throws DataAccessLayerException
      */
-    protected RuleResult purgeExpiredKey(PurgeRuleSet ruleSet,
+    protected KeyPurgeDecision evaluateExpiredKey(PurgeRuleSet ruleSet,
             String[] purgeKeys) throws DataAccessLayerException {
         List<PurgeRule> rules = ruleSet.getRuleForKeys(purgeKeys);
 
         if (rules == null) {
             PurgeLogger.logWarn("No rules found for purgeKeys: "
                     + Arrays.toString(purgeKeys), pluginName);
-            return new RuleResult(Collections.<Date>emptySet(),
-                    Collections.<Date>emptySet(), 0);
+            return null;
         }
         /*
          * This section applies the purge rule
@@ -869,7 +1977,11 @@ public abstract class PluginDao extends CoreDao {
         Set<Date> timesPurged = new HashSet<>();
 
         for (PurgeRule rule : rules) {
-            rule.setModTimeToWaitApplied(false);
+            /*
+             * rules are shared by keys that are purged concurrently, so the
+             * modTimeToWait adjustment is tracked here instead of on the rule
+             */
+            int versionsToKeep = rule.getVersionsToKeep();
             // Holds the times kept by this rule
             List<Date> timesKeptByRule = new ArrayList<>();
 
@@ -884,9 +1996,8 @@ public abstract class PluginDao extends CoreDao {
                     long lastInsertTime = maxInsertTime.getTime();
                     long currentTime = System.currentTimeMillis();
                     if (currentTime - lastInsertTime < rule
-                            .getModTimeToWaitInMillis()
-                            && !rule.isModTimeToWaitApplied()) {
-                        rule.setModTimeToWaitApplied(true);
+                            .getModTimeToWaitInMillis()) {
+                        versionsToKeep += 1;
                         PurgeLogger.logInfo(
                                 "For product key, " + productKeyString
                                         + ", the most recent version is less than "
@@ -905,8 +2016,7 @@ public abstract class PluginDao extends CoreDao {
                     if (maxRefTime == null) {
                         PurgeLogger.logInfo("No data available to purge",
                                 pluginName);
-                        return new RuleResult(Collections.<Date>emptySet(),
-                                Collections.<Date>emptySet(), 0);
+                        return null;
                     } else {
                         periodCutoffTime = new Date(maxRefTime.getTime()
                                 - rule.getPeriodInMillis());
@@ -929,7 +2039,7 @@ public abstract class PluginDao extends CoreDao {
                             // If the versions to keep is zero we keep it if
                             // it does not exceed the period specified, if
                             // any
-                            if (rule.getVersionsToKeep() == 0) {
+                            if (versionsToKeep == 0) {
                                 if (rule.isPeriodSpecified()
                                         && refTime.before(periodCutoffTime)) {
                                     timesPurgedByRule.add(refTime);
@@ -942,18 +2052,18 @@ public abstract class PluginDao extends CoreDao {
                             // adding this will not exceed the specified
                             // number of versions to keep and it does not
                             // exceed the period specified, the time is kept
-                            else if (rule.getVersionsToKeep() > 0) {
+                            else if (versionsToKeep > 0) {
                                 if (rule.isRoundSpecified()) {
-                                    if (roundedTimes.size() < rule
-                                            .getVersionsToKeep()) {
+                                    if (roundedTimes
+                                            .size() < versionsToKeep) {
                                         roundedTimes.add(timeToCompare);
                                         timesKeptByRule.add(refTime);
                                     } else {
                                         timesPurgedByRule.add(refTime);
                                     }
                                 } else {
-                                    if (timesKeptByRule.size() < rule
-                                            .getVersionsToKeep()) {
+                                    if (timesKeptByRule
+                                            .size() < versionsToKeep) {
                                         if (rule.isPeriodSpecified() && refTime
                                                 .before(periodCutoffTime)) {
                                             timesPurgedByRule.add(refTime);
@@ -982,7 +2092,7 @@ public abstract class PluginDao extends CoreDao {
                 Date currentRefTime = null;
                 for (int i = 0; i < refTimesForKey.size(); i++) {
                     currentRefTime = refTimesForKey.get(i);
-                    if (i < rule.getVersionsToKeep()) {
+                    if (i < versionsToKeep) {
                         // allow for period to override versions to keep
                         if (rule.isPeriodSpecified()
                                 && currentRefTime.before(periodCutoffTime)) {
@@ -1128,6 +2238,39 @@ public abstract class PluginDao extends CoreDao {
                     this.pluginName, e);
         }
 
+        KeyPurgeDecision decision = new KeyPurgeDecision();
+        decision.productKeys = productKeys;
+        decision.productKeyString = productKeyString;
+        decision.timesKept = timesKept;
+        decision.timesPurged = timesPurged;
+        decision.purgeHdf5Data = purgeHdf5Data;
+        decision.trackToUri = trackToUri;
+        return decision;
+    }
+
+    /**
+     * Takes the purgeKeys, looks up the associated purge rule, and applies it
+     * to the data matched by purgeKeys.
+     *
+     * @param ruleSet
+     * @param purgeKeys
+     * @return Summary of purge for keys
+     * @throws DataAccessLayerException
+     */
+    protected RuleResult purgeExpiredKey(PurgeRuleSet ruleSet,
+            String[] purgeKeys) throws DataAccessLayerException {
+        KeyPurgeDecision decision = evaluateExpiredKey(ruleSet, purgeKeys);
+        if (decision == null) {
+            return new RuleResult(Collections.<Date>emptySet(),
+                    Collections.<Date>emptySet(), 0);
+        }
+        Map<String, String> productKeys = decision.productKeys;
+        String productKeyString = decision.productKeyString;
+        Set<Date> timesKept = decision.timesKept;
+        Set<Date> timesPurged = decision.timesPurged;
+        boolean purgeHdf5Data = decision.purgeHdf5Data;
+        boolean trackToUri = decision.trackToUri;
+
         int itemsDeletedForKey = 0;
         List<Date> orderedTimesPurged = new ArrayList<>(timesPurged);
         Collections.sort(orderedTimesPurged);
@@ -1146,7 +2289,13 @@ public abstract class PluginDao extends CoreDao {
             // check if any hdf5 data up to this point can be deleted
             if (purgeHdf5Data && (trackToUri || previousRoundedDate != null
                     && roundedDate.after(previousRoundedDate))) {
-                // delete these entries now
+                /*
+                 * delete these entries now, one request per file. A single
+                 * deleteFiles(String[]) on the directory would save requests
+                 * but the server deletes every file whose name contains any of
+                 * the strings, which can match files of other product keys
+                 * that share the directory.
+                 */
                 for (Map.Entry<String, List<String>> hdf5Entry : hdf5FileToUriMap
                         .entrySet()) {
                     try {
@@ -1326,14 +2475,24 @@ public abstract class PluginDao extends CoreDao {
      * @return The data store
      */
     public IDataStore getDataStore(IPersistable obj) {
+        /* connect to the data store and retrieve the data */
+        return DataStoreFactory.getDataStore(getHDF5File(obj));
+    }
+
+    /**
+     * Gets the HDF5 file for the given object
+     *
+     * @param obj
+     *            The object for which to get the file
+     * @return The file
+     */
+    protected File getHDF5File(IPersistable obj) {
         String persistDir = PLUGIN_HDF5_DIR
                 + pathProvider.getHDFPath(this.pluginName, obj)
                 + File.separator;
         String archive = pathProvider.getHDFFileName(this.pluginName, obj);
 
-        File persistFile = new File(persistDir, archive);
-        /* connect to the data store and retrieve the data */
-        return DataStoreFactory.getDataStore(persistFile);
+        return new File(persistDir, archive);
     }
 
     /**
@@ -1538,12 +2697,12 @@ public abstract class PluginDao extends CoreDao {
 
         List<PluginDataObject> pdos = null;
 
-        dataQuery.setMaxResults(500);
+        dataQuery.setMaxResults(PURGE_BATCH_SIZE);
 
         do {
             pdos = (List<PluginDataObject>) this.queryByCriteria(dataQuery);
             if (pdos != null && !pdos.isEmpty()) {
-                this.delete(pdos);
+                this.deleteById(pdos);
 
                 if (trackHdf5 && hdf5FileToUriPurged != null) {
                     purgeHdf5ForPdos(trackToUri, hdf5FileToUriPurged, pdos);
@@ -1825,6 +2984,98 @@ public abstract class PluginDao extends CoreDao {
         super.deleteAll(objs);
     }
 
+    /**
+     * Deletes records from the database with a single DELETE ... WHERE id =
+     * ANY(?) statement. Records of classes whose delete cascades to other
+     * tables are deleted through hibernate one at a time, and DAOs that
+     * override {@link #delete(List)} have it called instead so that their
+     * additional cleanup still happens.
+     *
+     * @param objs
+     *            The objects to delete
+     */
+    public void deleteById(final List<PluginDataObject> objs) {
+        final String sql = isDeleteOverridden() ? null
+                : getDeleteByIdSql(objs.get(0).getClass());
+        if (sql == null) {
+            delete(objs);
+            return;
+        }
+        final Integer[] ids = new Integer[objs.size()];
+        for (int i = 0; i < ids.length; i += 1) {
+            ids[i] = objs.get(i).getId();
+        }
+        txTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            public void doInTransactionWithoutResult(TransactionStatus status) {
+                getCurrentSession().doWork(new Work() {
+                    @Override
+                    public void execute(Connection connection)
+                            throws SQLException {
+                        try (PreparedStatement stmt = connection
+                                .prepareStatement(sql)) {
+                            stmt.setArray(1, connection
+                                    .createArrayOf("integer", ids));
+                            stmt.executeUpdate();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @return true if the class of this DAO overrides {@link #delete(List)}
+     */
+    private boolean isDeleteOverridden() {
+        Class<?> clazz = getClass();
+        Boolean overridden = deleteOverridden.get(clazz);
+        if (overridden == null) {
+            try {
+                overridden = clazz.getMethod("delete", List.class)
+                        .getDeclaringClass() != PluginDao.class;
+            } catch (NoSuchMethodException e) {
+                overridden = Boolean.FALSE;
+            }
+            deleteOverridden.put(clazz, overridden);
+        }
+        return overridden;
+    }
+
+    /**
+     * @return the SQL to delete records of the class by id, or null if they
+     *         must be deleted through hibernate
+     */
+    private String getDeleteByIdSql(Class<?> clazz) {
+        String sql = deleteByIdSql.get(clazz);
+        if (sql == null) {
+            sql = "";
+            ClassMetadata metadata = getSessionFactory()
+                    .getClassMetadata(clazz);
+            if (metadata instanceof AbstractEntityPersister
+                    && metadata.getIdentifierType() instanceof IntegerType
+                    && !metadata.hasSubclasses()) {
+                AbstractEntityPersister persister = (AbstractEntityPersister) metadata;
+                boolean cascades = persister.getTableSpan() > 1;
+                Type[] types = persister.getPropertyTypes();
+                CascadeStyle[] styles = persister.getPropertyCascadeStyles();
+                for (int i = 0; !cascades && i < types.length; i += 1) {
+                    cascades = types[i].isCollectionType()
+                            || (types[i].isEntityType() && styles[i]
+                                    .doCascade(CascadingAction.DELETE));
+                }
+                if (!cascades) {
+                    sql = "DELETE FROM " + persister.getTableName()
+                            + " WHERE "
+                            + persister.getIdentifierColumnNames()[0]
+                            + " = ANY(?)";
+                }
+            }
+            deleteByIdSql.put(clazz, sql);
+        }
+        return sql.isEmpty() ? null : sql;
+    }
+
     public static PurgeRuleSet getPurgeRulesForPlugin(String pluginName) {
         String masterFileName = "purge/" + pluginName + "PurgeRules.xml";
         Pattern auxFileNameMatcher = Pattern.compile(
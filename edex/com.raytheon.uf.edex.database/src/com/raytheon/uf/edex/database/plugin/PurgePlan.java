@@ -0,0 +1,240 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a purge dry run, what
+ * {@link PluginDao#purgeExpiredDataWithResults()} would delete if it ran now
+ * and roughly how long it would take.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 15, 2026            agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class PurgePlan {
+
+    /** Value of the hdf5 counts when they were not computed */
+    public static final long UNKNOWN = -1;
+
+    /**
+     * What would be purged for a single product key
+     */
+    public static class KeyPlan {
+
+        private final String key;
+
+        private final int refTimes;
+
+        private final int rows;
+
+        private final long hdf5Files;
+
+        private final long hdf5Bytes;
+
+        public KeyPlan(String key, int refTimes, int rows, long hdf5Files,
+                long hdf5Bytes) {
+            this.key = key;
+            this.refTimes = refTimes;
+            this.rows = rows;
+            this.hdf5Files = hdf5Files;
+            this.hdf5Bytes = hdf5Bytes;
+        }
+
+        /**
+         * @return the product key, formatted as [key=value]...
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return the number of reference times that would be purged
+         */
+        public int getRefTimes() {
+            return refTimes;
+        }
+
+        /**
+         * @return the number of database rows that would be deleted
+         */
+        public int getRows() {
+            return rows;
+        }
+
+        /**
+         * @return the number of hdf5 files that would be deleted or modified,
+         *         or {@link PurgePlan#UNKNOWN}
+         */
+        public long getHdf5Files() {
+            return hdf5Files;
+        }
+
+        /**
+         * @return the size of the hdf5 files that would be deleted entirely,
+         *         or {@link PurgePlan#UNKNOWN}
+         */
+        public long getHdf5Bytes() {
+            return hdf5Bytes;
+        }
+
+        @Override
+        public String toString() {
+            return key + ": " + refTimes + " times, " + rows + " rows, "
+                    + hdf5Files + " hdf5 files, " + hdf5Bytes + " bytes";
+        }
+    }
+
+    private final String pluginName;
+
+    private final long createdTime = System.currentTimeMillis();
+
+    private final List<KeyPlan> keys = new ArrayList<>();
+
+    private int keysEvaluated;
+
+    private long estimatedMillis;
+
+    public PurgePlan(String pluginName) {
+        this.pluginName = pluginName;
+    }
+
+    /**
+     * Record that the rules were applied to a key, whether or not anything
+     * would be purged for it.
+     */
+    public void addKeyEvaluated() {
+        keysEvaluated += 1;
+    }
+
+    /**
+     * Add a key that has data to purge
+     *
+     * @param keyPlan
+     */
+    public void addKey(KeyPlan keyPlan) {
+        keys.add(keyPlan);
+    }
+
+    /**
+     * @return the plugin this plan is for
+     */
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    /**
+     * @return when the plan was made, in milliseconds since the epoch
+     */
+    public long getCreatedTime() {
+        return createdTime;
+    }
+
+    /**
+     * @return the keys that have data to purge
+     */
+    public List<KeyPlan> getKeys() {
+        return Collections.unmodifiableList(keys);
+    }
+
+    /**
+     * @return the number of product keys the rules were applied to
+     */
+    public int getKeysEvaluated() {
+        return keysEvaluated;
+    }
+
+    /**
+     * @return the total number of database rows that would be deleted
+     */
+    public long getRows() {
+        long rows = 0;
+        for (KeyPlan key : keys) {
+            rows += key.getRows();
+        }
+        return rows;
+    }
+
+    /**
+     * @return the total number of hdf5 files that would be deleted or
+     *         modified, or {@link #UNKNOWN} if it was not computed for every
+     *         key
+     */
+    public long getHdf5Files() {
+        long files = 0;
+        for (KeyPlan key : keys) {
+            if (key.getHdf5Files() == UNKNOWN) {
+                return UNKNOWN;
+            }
+            files += key.getHdf5Files();
+        }
+        return files;
+    }
+
+    /**
+     * @return the total size of the hdf5 files that would be deleted, or
+     *         {@link #UNKNOWN} if it was not computed for every key
+     */
+    public long getHdf5Bytes() {
+        long bytes = 0;
+        for (KeyPlan key : keys) {
+            if (key.getHdf5Bytes() == UNKNOWN) {
+                return UNKNOWN;
+            }
+            bytes += key.getHdf5Bytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the estimated run time of the purge in milliseconds
+     */
+    public long getEstimatedMillis() {
+        return estimatedMillis;
+    }
+
+    public void setEstimatedMillis(long estimatedMillis) {
+        this.estimatedMillis = estimatedMillis;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Purge plan for ").append(pluginName).append(": ")
+                .append(keys.size()).append(" of ").append(keysEvaluated)
+                .append(" keys, ").append(getRows()).append(" rows, ")
+                .append(getHdf5Files()).append(" hdf5 files, ")
+                .append(getHdf5Bytes()).append(" bytes, estimated ")
+                .append(estimatedMillis).append("ms");
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,369 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.plugin;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.raytheon.uf.common.dataplugin.PluginDataObject;
+import com.raytheon.uf.common.time.DataTime;
+import com.raytheon.uf.common.time.util.TimeUtil;
+import com.raytheon.uf.common.util.collections.BloomFilter;
+import com.raytheon.uf.common.util.format.BytesFormat;
+
+/**
+ * Probabilistic set of the dataURIs a plugin has recently persisted, used to
+ * skip duplicate checking queries for records that are definitely new.
+ * 
+ * The filter is partitioned by refTime into {@link BloomFilter}s that each
+ * cover a fixed span of time. Only refTimes within a window before the current
+ * time are tracked, partitions that fall out of the window are dropped so
+ * memory stays within the configured size. A record outside the window, or
+ * any record before the filter has been seeded from the database, is treated
+ * as a possible duplicate.
+ * 
+ * The filter is only as complete as the records added to it, records
+ * persisted by other cluster members are not seen. It must therefore only be
+ * used where a record wrongly considered new is still caught by the database
+ * unique constraint, which is the {@link PluginDao} insert path. Checks that
+ * run before the HDF5 store, such as duplicate elimination, must not skip the
+ * database because of it.
+ * 
+ * Configured with the system properties:
+ * <ul>
+ * <li>dupfilter.enabled: default true</li>
+ * <li>dupfilter.size: memory per plugin, default 4MiB</li>
+ * <li>dupfilter.window.hours: default 24</li>
+ * <li>dupfilter.partition.minutes: default 60</li>
+ * </ul>
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class RecentDataURIFilter {
+
+    public static final boolean ENABLED = Boolean
+            .parseBoolean(System.getProperty("dupfilter.enabled", "true"));
+
+    private static final long DEFAULT_SIZE = BytesFormat
+            .parseSystemProperty("dupfilter.size", "4MiB");
+
+    private static final long DEFAULT_WINDOW = Long
+            .getLong("dupfilter.window.hours", 24) * TimeUtil.MILLIS_PER_HOUR;
+
+    private static final long DEFAULT_PARTITION = Long.getLong(
+            "dupfilter.partition.minutes", 60) * TimeUtil.MILLIS_PER_MINUTE;
+
+    private static final int HASH_COUNT = 5;
+
+    private final String pluginName;
+
+    private final long partitionMillis;
+
+    private final long windowMillis;
+
+    private final int partitionBytes;
+
+    /** Partition start time to filter, guarded by this */
+    private final NavigableMap<Long, BloomFilter> partitions = new TreeMap<>();
+
+    /** Start of the oldest tracked partition, guarded by this */
+    private long cutoff;
+
+    private volatile boolean ready = false;
+
+    private final AtomicLong definitelyNew = new AtomicLong();
+
+    private final AtomicLong possibleDuplicates = new AtomicLong();
+
+    private final AtomicLong untracked = new AtomicLong();
+
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    private final AtomicLong confirmedDuplicates = new AtomicLong();
+
+    /**
+     * Create a filter using the configured size, window and partition length.
+     * 
+     * @param pluginName
+     */
+    public RecentDataURIFilter(String pluginName) {
+        this(pluginName, DEFAULT_SIZE, DEFAULT_WINDOW, DEFAULT_PARTITION);
+    }
+
+    /**
+     * @param pluginName
+     * @param maxBytes
+     *            maximum memory used by all partitions
+     * @param windowMillis
+     *            how far before the current time refTimes are tracked
+     * @param partitionMillis
+     *            span of refTimes covered by each partition
+     */
+    public RecentDataURIFilter(String pluginName, long maxBytes,
+            long windowMillis, long partitionMillis) {
+        this.pluginName = pluginName;
+        this.windowMillis = windowMillis;
+        this.partitionMillis = partitionMillis;
+        /*
+         * the window plus the partition in progress and one partition of
+         * tolerance for refTimes slightly in the future
+         */
+        long maxPartitions = windowMillis / partitionMillis + 2;
+        this.partitionBytes = (int) Math.min(Integer.MAX_VALUE,
+                Math.max(64, maxBytes / maxPartitions));
+        this.cutoff = partitionStart(
+                TimeUtil.currentTimeMillis() - windowMillis);
+    }
+
+    /**
+     * @return the earliest refTime that must be added when seeding the filter
+     */
+    public synchronized Date getSeedStart() {
+        return new Date(cutoff);
+    }
+
+    /**
+     * @return true once the filter has been seeded with the records in the
+     *         database, until then every record is a possible duplicate
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Mark the filter as seeded.
+     */
+    public void setReady() {
+        this.ready = true;
+    }
+
+    /**
+     * Record that a record exists in the database.
+     * 
+     * @param pdo
+     */
+    public void add(PluginDataObject pdo) {
+        add(pdo.getDataURI(), getRefTime(pdo));
+    }
+
+    /**
+     * Record that a dataURI exists in the database.
+     * 
+     * @param dataURI
+     * @param refTime
+     *            the refTime of the record, nothing is recorded if null
+     */
+    public synchronized void add(String dataURI, Date refTime) {
+        if (refTime == null) {
+            return;
+        }
+        roll();
+        Long start = partitionStart(refTime.getTime());
+        if (!isTracked(start)) {
+            return;
+        }
+        BloomFilter partition = partitions.get(start);
+        if (partition == null) {
+            partition = new BloomFilter(partitionBytes, HASH_COUNT);
+            partitions.put(start, partition);
+        }
+        partition.put(dataURI);
+    }
+
+    /**
+     * @param pdo
+     * @return false if the record has definitely not been persisted, true if
+     *         it may be a duplicate and must be checked against the database
+     */
+    public boolean mightContain(PluginDataObject pdo) {
+        if (!ready) {
+            untracked.incrementAndGet();
+            return true;
+        }
+        Boolean result = check(pdo);
+        if (result == null) {
+            untracked.incrementAndGet();
+            return true;
+        } else if (result) {
+            possibleDuplicates.incrementAndGet();
+            return true;
+        } else {
+            definitelyNew.incrementAndGet();
+            return false;
+        }
+    }
+
+    /**
+     * Account for the result of a database duplicate check made after
+     * {@link #mightContain(PluginDataObject)} returned true, so that the
+     * observed false positive rate can be tracked. Checks of records the
+     * filter does not track are ignored.
+     * 
+     * @param pdo
+     * @param duplicate
+     *            true if the record was in the database
+     */
+    public void recordCheck(PluginDataObject pdo, boolean duplicate) {
+        if (ready && Boolean.TRUE.equals(check(pdo))) {
+            if (duplicate) {
+                confirmedDuplicates.incrementAndGet();
+            } else {
+                falsePositives.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @return null if the record is not tracked, otherwise whether the filter
+     *         might contain it
+     */
+    private synchronized Boolean check(PluginDataObject pdo) {
+        Date refTime = getRefTime(pdo);
+        if (refTime == null) {
+            return null;
+        }
+        roll();
+        Long start = partitionStart(refTime.getTime());
+        if (!isTracked(start)) {
+            return null;
+        }
+        BloomFilter partition = partitions.get(start);
+        return partition != null && partition.mightContain(pdo.getDataURI());
+    }
+
+    private boolean isTracked(long start) {
+        long latest = partitionStart(TimeUtil.currentTimeMillis())
+                + partitionMillis;
+        return start >= cutoff && start <= latest;
+    }
+
+    /** Drop partitions that have fallen out of the window */
+    private void roll() {
+        long newCutoff = partitionStart(
+                TimeUtil.currentTimeMillis() - windowMillis);
+        if (newCutoff > cutoff) {
+            cutoff = newCutoff;
+            partitions.headMap(cutoff).clear();
+        }
+    }
+
+    private long partitionStart(long time) {
+        return time - Math.floorMod(time, partitionMillis);
+    }
+
+    private static Date getRefTime(PluginDataObject pdo) {
+        DataTime dataTime = pdo.getDataTime();
+        return dataTime == null ? null : dataTime.getRefTime();
+    }
+
+    /**
+     * @return the number of checks that skipped the database
+     */
+    public long getDefinitelyNewCount() {
+        return definitelyNew.get();
+    }
+
+    /**
+     * @return the number of checks that had to go to the database because
+     *         the filter might contain the record
+     */
+    public long getPossibleDuplicateCount() {
+        return possibleDuplicates.get();
+    }
+
+    /**
+     * @return the number of checks for records the filter does not track
+     */
+    public long getUntrackedCount() {
+        return untracked.get();
+    }
+
+    /**
+     * @return the number of possible duplicates that were not in the database
+     */
+    public long getFalsePositiveCount() {
+        return falsePositives.get();
+    }
+
+    /**
+     * @return the number of possible duplicates that were in the database
+     */
+    public long getConfirmedDuplicateCount() {
+        return confirmedDuplicates.get();
+    }
+
+    /**
+     * @return the fraction of checked possible duplicates that were not in
+     *         the database
+     */
+    public double getFalsePositiveRate() {
+        long fp = falsePositives.get();
+        long total = fp + confirmedDuplicates.get();
+        return total == 0 ? 0 : (double) fp / total;
+    }
+
+    /**
+     * @return the highest false positive rate any partition is expected to
+     *         have for its current number of entries
+     */
+    public synchronized double getExpectedFalsePositiveRate() {
+        double rate = 0;
+        for (BloomFilter partition : partitions.values()) {
+            rate = Math.max(rate, partition.expectedFalsePositiveRate());
+        }
+        return rate;
+    }
+
+    /**
+     * @return memory used by all current partitions
+     */
+    public synchronized long getSizeInBytes() {
+        long size = 0;
+        Iterator<BloomFilter> it = partitions.values().iterator();
+        while (it.hasNext()) {
+            size += it.next().getSizeInBytes();
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return pluginName + " duplicate filter: " + definitelyNew.get()
+                + " new, " + possibleDuplicates.get()
+                + " possible duplicates (" + confirmedDuplicates.get()
+                + " confirmed, " + falsePositives.get()
+                + " false positives), " + untracked.get() + " untracked, "
+                + getSizeInBytes() + " bytes";
+    }
+
+}
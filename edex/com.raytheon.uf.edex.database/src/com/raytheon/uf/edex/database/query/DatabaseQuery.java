@@ -31,6 +31,7 @@ import java.util.regex.Pattern;
 import org.hibernate.HibernateException;
 import org.hibernate.Query;
 import org.hibernate.SQLQuery;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.metadata.ClassMetadata;
 
@@ -42,6 +43,7 @@ import com.raytheon.uf.common.dataquery.db.QueryParam;
 import com.raytheon.uf.common.dataquery.db.QueryParam.QueryOperand;
 import com.raytheon.uf.common.dataquery.db.ReturnedField;
 import com.raytheon.uf.edex.database.DataAccessLayerException;
+import com.raytheon.uf.edex.database.query.QueryShapeCache.CompiledQuery;
 
 /**
  * Encapsulates a database query. This object can be used for criteria queries
@@ -56,6 +58,8 @@ import com.raytheon.uf.edex.database.DataAccessLayerException;
  * 09/19/08     #1531      bphillip    Refactored to include join capability
  * Apr 24, 2014  2060      njensen     Added toString()
  * Jun 30, 2016  5725      tgurney     Add NOT IN
+ * Oct 15, 2026            agent       Cache compiled queries by shape, pad in
+ *                                     lists to reduce the number of shapes
  * </pre>
  * 
  * @author bphillip
@@ -91,6 +95,12 @@ public class DatabaseQuery {
     private static final Pattern COMMA_PATTERN = Pattern
             .compile(QueryUtil.COMMA);
 
+    /**
+     * In lists up to this size are padded to a power of 2 so that queries
+     * with similar sized lists share a query shape
+     */
+    private static final int IN_LIST_PAD_LIMIT = 1024;
+
     /**
      * Constructs a new DatabaseQuery
      */
@@ -511,7 +521,6 @@ public class DatabaseQuery {
      * 
      * @return The HQL delete statement
      */
-    @SuppressWarnings("rawtypes")
     public String createHQLDelete() {
         StringBuffer deleteString = new StringBuffer();
         deleteString.append(QueryUtil.DELETE_CLAUSE);
@@ -556,27 +565,14 @@ public class DatabaseQuery {
                         deleteString.append(" not");
                     }
                     deleteString.append(" in (");
-                    if (parameters.get(i).getValue() instanceof String) {
-                        String[] split = COMMA_PATTERN
-                                .split((String) parameters.get(i).getValue());
-                        for (int j = 0; j < split.length; j++) {
-                            deleteString.append(QueryUtil.COLON);
-                            deleteString.append(QueryUtil.QUERY_CONSTRAINT
-                                    + constraintIndex++);
-                            if (j != split.length - 1) {
-                                deleteString.append(QueryUtil.COMMA);
-                            }
-                        }
-                    } else if (parameters.get(i).getValue() instanceof List) {
-                        for (int j = 0; j < ((List) parameters.get(i)
-                                .getValue()).size(); j++) {
-                            deleteString.append(QueryUtil.COLON);
-                            deleteString.append(QueryUtil.QUERY_CONSTRAINT
-                                    + constraintIndex++);
-                            if (j != ((List) parameters.get(i).getValue())
-                                    .size() - 1) {
-                                deleteString.append(QueryUtil.COMMA);
-                            }
+                    int inListSize = getInListSize(parameters.get(i)
+                            .getValue());
+                    for (int j = 0; j < inListSize; j++) {
+                        deleteString.append(QueryUtil.COLON);
+                        deleteString.append(QueryUtil.QUERY_CONSTRAINT
+                                + constraintIndex++);
+                        if (j != inListSize - 1) {
+                            deleteString.append(QueryUtil.COMMA);
                         }
                     }
                     deleteString.append(") ");
@@ -676,27 +672,14 @@ public class DatabaseQuery {
                         queryString.append(" not");
                     }
                     queryString.append(" in (");
-                    if (parameters.get(i).getValue() instanceof String) {
-                        String[] split = COMMA_PATTERN
-                                .split((String) parameters.get(i).getValue());
-                        for (int j = 0; j < split.length; j++) {
-                            queryString.append(QueryUtil.COLON);
-                            queryString.append(QueryUtil.QUERY_CONSTRAINT
-                                    + constraintIndex++);
-                            if (j != split.length - 1) {
-                                queryString.append(QueryUtil.COMMA);
-                            }
-                        }
-                    } else if (parameters.get(i).getValue() instanceof List) {
-                        for (int j = 0; j < ((List<?>) parameters.get(i)
-                                .getValue()).size(); j++) {
-                            queryString.append(QueryUtil.COLON);
-                            queryString.append(QueryUtil.QUERY_CONSTRAINT
-                                    + constraintIndex++);
-                            if (j != ((List<?>) parameters.get(i).getValue())
-                                    .size() - 1) {
-                                queryString.append(QueryUtil.COMMA);
-                            }
+                    int inListSize = getInListSize(parameters.get(i)
+                            .getValue());
+                    for (int j = 0; j < inListSize; j++) {
+                        queryString.append(QueryUtil.COLON);
+                        queryString.append(QueryUtil.QUERY_CONSTRAINT
+                                + constraintIndex++);
+                        if (j != inListSize - 1) {
+                            queryString.append(QueryUtil.COMMA);
                         }
                     }
                     queryString.append(") ");
@@ -823,6 +806,149 @@ public class DatabaseQuery {
                 constraintIndex);
     }
 
+    /**
+     * Creates a hibernate query for this query and populates the constraint
+     * values. The HQL and parameter types are taken from the
+     * {@link QueryShapeCache} when a query of the same shape has been created
+     * before.
+     * 
+     * @param session
+     *            The session to create the query in
+     * @param sessionFactory
+     *            The Hibernate session factory used for getting class metadata
+     *            in order to correctly convert object types
+     * @return The populated query
+     * @throws DataAccessLayerException
+     */
+    public Query createHQLQuery(Session session, SessionFactory sessionFactory)
+            throws DataAccessLayerException {
+        return createQuery(session, sessionFactory, false);
+    }
+
+    /**
+     * Creates a hibernate delete statement for this query and populates the
+     * constraint values, see
+     * {@link #createHQLQuery(Session, SessionFactory)}.
+     * 
+     * @param session
+     *            The session to create the statement in
+     * @param sessionFactory
+     *            The Hibernate session factory used for getting class metadata
+     *            in order to correctly convert object types
+     * @return The populated delete statement
+     * @throws DataAccessLayerException
+     */
+    public Query createHQLDelete(Session session,
+            SessionFactory sessionFactory) throws DataAccessLayerException {
+        return createQuery(session, sessionFactory, true);
+    }
+
+    private Query createQuery(Session session, SessionFactory sessionFactory,
+            boolean delete) throws DataAccessLayerException {
+        if (!QueryShapeCache.isEnabled()) {
+            Query query = session.createQuery(delete ? createHQLDelete()
+                    : createHQLQuery());
+            return populateHQLQuery(query, sessionFactory);
+        }
+        long start = System.nanoTime();
+        String shape = getQueryShape(delete);
+        CompiledQuery compiled = QueryShapeCache.get(shape);
+        boolean hit = compiled != null;
+        if (!hit) {
+            compiled = new CompiledQuery(delete ? createHQLDelete()
+                    : createHQLQuery(), resolveParameterTypes(sessionFactory));
+        }
+        Query query = session.createQuery(compiled.getHql());
+        populateHQLQuery(query, compiled.getParameterTypes());
+        if (!hit) {
+            QueryShapeCache.put(shape, compiled);
+        }
+        QueryShapeCache.record(hit, System.nanoTime() - start);
+        return query;
+    }
+
+    /**
+     * Describes everything about this query that affects the generated HQL
+     * or the types of the parameters, but not the parameter values.
+     * 
+     * @param delete
+     *            true for the shape of the delete statement
+     * @return the shape
+     */
+    private String getQueryShape(boolean delete) {
+        StringBuilder shape = new StringBuilder(256);
+        if (delete) {
+            shape.append("delete");
+        } else {
+            shape.append("select");
+            if (isDistinct()) {
+                shape.append(" distinct");
+            }
+            for (ReturnedField field : returnedFields) {
+                shape.append(' ').append(field.getFunction()).append(' ')
+                        .append(field.getClassName()).append('.')
+                        .append(field);
+            }
+        }
+        shape.append("|from");
+        for (Map.Entry<String, String> joined : joinedClasses.entrySet()) {
+            shape.append(' ').append(joined.getKey()).append(' ')
+                    .append(joined.getValue());
+        }
+        shape.append("|where");
+        for (QueryParam param : parameters) {
+            shape.append(' ').append(param.getClassName()).append('.')
+                    .append(param.getField()).append(' ')
+                    .append(param.getOperand());
+            if (isInOperand(param.getOperand())) {
+                shape.append(' ').append(getInListSize(param.getValue()));
+            }
+        }
+        if (!delete) {
+            for (JoinField join : joinFields) {
+                shape.append(' ').append(join.getJoinClassOne()).append('.')
+                        .append(join.getJoinFieldOne()).append('=')
+                        .append(join.getJoinClassTwo()).append('.')
+                        .append(join.getJoinFieldTwo());
+            }
+            shape.append("|order");
+            for (OrderField order : orderFields) {
+                shape.append(' ').append(order.getClassName()).append('.')
+                        .append(order.getField()).append(' ')
+                        .append(order.getOrder());
+            }
+        }
+        return shape.toString();
+    }
+
+    private static boolean isInOperand(String operand) {
+        return operand.equalsIgnoreCase("in")
+                || operand.equalsIgnoreCase("not in");
+    }
+
+    /**
+     * Determine the number of placeholders for the value of an in or not in
+     * constraint. Lists up to {@link #IN_LIST_PAD_LIMIT} are padded to the
+     * next power of 2, the extra placeholders are bound to a repeat of the
+     * last value which does not change the result.
+     * 
+     * @param value
+     *            the constraint value, a comma separated String or a List
+     * @return the number of placeholders
+     */
+    private static int getInListSize(Object value) {
+        int size = 0;
+        if (value instanceof String) {
+            size = COMMA_PATTERN.split((String) value).length;
+        } else if (value instanceof List) {
+            size = ((List<?>) value).size();
+        }
+        if (size <= 1 || size > IN_LIST_PAD_LIMIT) {
+            return size;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
     /**
      * Populates the constraint values into the prepared query.
      * 
@@ -833,9 +959,24 @@ public class DatabaseQuery {
      *            in order to correctly convert object types
      * @return The populated query
      */
-    @SuppressWarnings("unchecked")
     public Query populateHQLQuery(Query query, SessionFactory sessionFactory)
             throws DataAccessLayerException {
+        return populateHQLQuery(query, resolveParameterTypes(sessionFactory));
+    }
+
+    /**
+     * Populates the constraint values into the prepared query.
+     * 
+     * @param query
+     *            The prepared query
+     * @param parameterTypes
+     *            The type to convert each parameter to, from
+     *            {@link #resolveParameterTypes(SessionFactory)}
+     * @return The populated query
+     */
+    @SuppressWarnings("unchecked")
+    private Query populateHQLQuery(Query query, Class<?>[] parameterTypes)
+            throws DataAccessLayerException {
 
         Object value = null;
 
@@ -848,21 +989,20 @@ public class DatabaseQuery {
                 continue;
             }
             try {
-                value = convertParameter(parameters.get(i), sessionFactory);
+                value = convertParameter(parameters.get(i), parameterTypes[i]);
                 if (parameters.get(i).getOperand().equalsIgnoreCase("between")) {
                     query.setParameter(QueryUtil.QUERY_CONSTRAINT
                             + constraintIndex++, ((Object[]) value)[0]);
                     query.setParameter(QueryUtil.QUERY_CONSTRAINT
                             + constraintIndex++, ((Object[]) value)[1]);
-                } else if (parameters.get(i).getOperand()
-                        .equalsIgnoreCase("in")
-                        || parameters.get(i).getOperand()
-                                .equalsIgnoreCase("not in")) {
-
-                    for (int j = 0; j < ((List<Object>) value).size(); j++) {
+                } else if (isInOperand(parameters.get(i).getOperand())) {
+                    List<Object> values = (List<Object>) value;
+                    int inListSize = getInListSize(parameters.get(i)
+                            .getValue());
+                    for (int j = 0; j < inListSize; j++) {
                         query.setParameter(QueryUtil.QUERY_CONSTRAINT
                                 + constraintIndex++,
-                                ((List<Object>) value).get(j));
+                                values.get(Math.min(j, values.size() - 1)));
                     }
                 } else {
                     query.setParameter(QueryUtil.QUERY_CONSTRAINT
@@ -878,25 +1018,49 @@ public class DatabaseQuery {
     }
 
     /**
-     * Converts a parameter value from a string value to the necessary type
+     * Determine the type each parameter value needs to be converted to.
+     * 
+     * @param sessionFactory
+     *            The session factory for determining the desired type
+     * @return the types, in the same order as the parameters. Parameters
+     *         without a value have a null type.
+     * @throws DataAccessLayerException
+     */
+    private Class<?>[] resolveParameterTypes(SessionFactory sessionFactory)
+            throws DataAccessLayerException {
+        Class<?>[] types = new Class<?>[parameters.size()];
+        for (int i = 0; i < types.length; i++) {
+            QueryParam param = parameters.get(i);
+            if (param.getOperand().equalsIgnoreCase("isnull")
+                    || param.getOperand().equalsIgnoreCase("isnotnull")) {
+                continue;
+            }
+            try {
+                types[i] = resolveParameterType(param, sessionFactory);
+            } catch (Exception e) {
+                throw new DataAccessLayerException(
+                        "Error populating prepared query", e);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Determine the type of the field a parameter constrains
      * 
      * @param param
-     *            The parameter to be converted
+     *            The parameter
      * @param sessionFactory
      *            The session factory for determining the desired type
-     * @return The converted parameter
+     * @return The field type
      * @throws DataAccessLayerException
-     * @throws Exception
-     *             If errors occur during reflection
      */
-    @SuppressWarnings("unchecked")
-    private Object convertParameter(QueryParam param,
+    private Class<?> resolveParameterType(QueryParam param,
             SessionFactory sessionFactory) throws DataAccessLayerException {
 
         ClassMetadata metadata = sessionFactory.getClassMetadata(param
                 .getClassName());
         String field = param.getField();
-        Object value = param.getValue();
 
         Class<?> returnedClass = null;
         if (field.contains(".")) {
@@ -936,6 +1100,21 @@ public class DatabaseQuery {
         } else {
             returnedClass = metadata.getPropertyType(field).getReturnedClass();
         }
+        return returnedClass;
+    }
+
+    /**
+     * Converts a parameter value from a string value to the necessary type
+     * 
+     * @param param
+     *            The parameter to be converted
+     * @param returnedClass
+     *            The type of the field the parameter constrains
+     * @return The converted parameter
+     */
+    @SuppressWarnings("unchecked")
+    private Object convertParameter(QueryParam param, Class<?> returnedClass) {
+        Object value = param.getValue();
 
         if (value instanceof String) {
             switch (QueryParam.translateOperand(param.getOperand())) {
@@ -0,0 +1,221 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.database.query;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.raytheon.uf.common.status.IPerformanceStatusHandler;
+import com.raytheon.uf.common.status.PerformanceStatus;
+import com.raytheon.uf.common.time.util.TimeUtil;
+import com.raytheon.uf.common.util.collections.BoundedMap;
+
+/**
+ * Cache of compiled {@link DatabaseQuery}s, keyed by the shape of the query:
+ * the entity, returned fields, constrained fields, operands and order, but not
+ * the constraint values. A compiled query holds the HQL and the resolved type
+ * of every parameter so that repeated queries of the same shape only need to
+ * convert and bind their values. Because every query of a shape uses the same
+ * HQL string, hibernate also finds the parsed query in its own plan cache
+ * instead of parsing it again.
+ *
+ * The cache can be disabled with the system property {@value #ENABLED_PROPERTY}
+ * and sized with {@value #SIZE_PROPERTY}. Hit rates and an estimate of the
+ * time saved are available from {@link #getStatistics()} and are written to
+ * the performance log periodically.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 15, 2026            agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class QueryShapeCache {
+
+    /** System property used to disable the cache */
+    public static final String ENABLED_PROPERTY = "database.query.cache";
+
+    /** System property for the maximum number of query shapes to cache */
+    public static final String SIZE_PROPERTY = "database.query.cache.size";
+
+    private static final long LOG_INTERVAL = 10 * TimeUtil.MILLIS_PER_MINUTE;
+
+    private static final IPerformanceStatusHandler perfLog = PerformanceStatus
+            .getHandler("QueryShapeCache:");
+
+    private static volatile boolean enabled = Boolean.parseBoolean(System
+            .getProperty(ENABLED_PROPERTY, "true"));
+
+    private static final Map<String, CompiledQuery> cache = Collections
+            .synchronizedMap(new BoundedMap<String, CompiledQuery>(Integer
+                    .getInteger(SIZE_PROPERTY, 1024)));
+
+    private static final LongAdder hits = new LongAdder();
+
+    private static final LongAdder misses = new LongAdder();
+
+    private static final LongAdder hitNanos = new LongAdder();
+
+    private static final LongAdder missNanos = new LongAdder();
+
+    private static final AtomicLong lastLog = new AtomicLong(
+            System.currentTimeMillis());
+
+    /**
+     * The parts of a query that only depend on its shape
+     */
+    static class CompiledQuery {
+
+        private final String hql;
+
+        private final Class<?>[] parameterTypes;
+
+        CompiledQuery(String hql, Class<?>[] parameterTypes) {
+            this.hql = hql;
+            this.parameterTypes = parameterTypes;
+        }
+
+        String getHql() {
+            return hql;
+        }
+
+        /**
+         * @return the type each parameter value is converted to, null for
+         *         parameters without a value
+         */
+        Class<?>[] getParameterTypes() {
+            return parameterTypes;
+        }
+    }
+
+    private QueryShapeCache() {
+    }
+
+    /**
+     * @return true if queries should be looked up in the cache
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the cache, disabling also clears it.
+     *
+     * @param enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        QueryShapeCache.enabled = enabled;
+        if (!enabled) {
+            cache.clear();
+        }
+    }
+
+    static CompiledQuery get(String shape) {
+        return cache.get(shape);
+    }
+
+    static void put(String shape, CompiledQuery compiled) {
+        cache.put(shape, compiled);
+    }
+
+    /**
+     * Record the time taken to create a query
+     *
+     * @param hit
+     *            true if the query was found in the cache
+     * @param nanos
+     *            time taken to create and populate the query
+     */
+    static void record(boolean hit, long nanos) {
+        if (hit) {
+            hits.increment();
+            hitNanos.add(nanos);
+        } else {
+            misses.increment();
+            missNanos.add(nanos);
+        }
+        long now = System.currentTimeMillis();
+        long last = lastLog.get();
+        if (now - last >= LOG_INTERVAL && lastLog.compareAndSet(last, now)) {
+            perfLog.log(getStatistics());
+        }
+    }
+
+    /**
+     * @return number of queries that were found in the cache
+     */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of queries that had to be compiled
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Estimate the time saved by the cache, assuming every hit would have
+     * taken as long as the average miss.
+     *
+     * @return the time saved in milliseconds
+     */
+    public static long getSavedMillis() {
+        long missCount = misses.sum();
+        if (missCount == 0) {
+            return 0;
+        }
+        long saved = hits.sum() * (missNanos.sum() / missCount)
+                - hitNanos.sum();
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, saved));
+    }
+
+    /**
+     * @return a one line summary of the cache counters, suitable for logging
+     */
+    public static String getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        long hitRate = total == 0 ? 0 : hitCount * 100 / total;
+        return "hits=" + hitCount + ", misses=" + missCount + ", hit rate="
+                + hitRate + "%, shapes=" + cache.size()
+                + ", estimated time saved=" + getSavedMillis() + "ms";
+    }
+
+    /**
+     * Remove all compiled queries, for instance after the hibernate mappings
+     * have changed.
+     */
+    public static void clear() {
+        cache.clear();
+    }
+
+}
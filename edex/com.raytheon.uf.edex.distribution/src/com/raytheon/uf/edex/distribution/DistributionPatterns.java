@@ -60,6 +60,8 @@ import com.raytheon.uf.common.status.UFStatus;
  * Apr 14, 2016 5450       nabowle     Enable auxiliary files that specify a
  *                                     plugin within the RequestPatterns.
  * Jul 15, 2016 5744       mapeters    Added todo in getDistributionFiles()
+ * Oct 15, 2026            agent       Match headers through a prefix indexed
+ *                                     RequestPatternIndex.
  * 
  * </pre>
  * 
@@ -82,6 +84,12 @@ public class DistributionPatterns {
      */
     private final ConcurrentMap<String, RequestPatterns> patterns = new ConcurrentHashMap<>();
 
+    /**
+     * Index of the patterns of all plugins, rebuilt whenever patterns change.
+     */
+    private volatile RequestPatternIndex index = new RequestPatternIndex(
+            Collections.<String, RequestPatterns> emptyMap());
+
     private final Set<String> pluginsMissingPatterns = Collections
             .newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
@@ -234,6 +242,8 @@ public class DistributionPatterns {
                 mergedEntry.getValue().compilePatterns();
                 this.patterns.put(mergedEntry.getKey(), mergedEntry.getValue());
             }
+            index = new RequestPatternIndex(patterns);
+            statusHandler.debug("Rebuilt " + index);
         }
 
         checkForPluginsMissingPatterns();
@@ -261,15 +271,7 @@ public class DistributionPatterns {
      * @return
      */
     public List<String> getMatchingPlugins(String header) {
-        List<String> plugins = new LinkedList<>();
-
-        for (Map.Entry<String, RequestPatterns> entry : patterns.entrySet()) {
-            if (entry.getValue().isDesiredHeader(header)) {
-                plugins.add(entry.getKey());
-            }
-        }
-
-        return plugins;
+        return new LinkedList<>(index.getMatchingPlugins(header));
     }
 
     /**
@@ -282,12 +284,13 @@ public class DistributionPatterns {
     public List<String> getMatchingPlugins(String header,
             Collection<String> pluginsToCheck) {
         List<String> plugins = new LinkedList<>();
+        Set<String> matching = index.getMatchingPlugins(header);
 
         for (String plugin : pluginsToCheck) {
             RequestPatterns pattern = patterns.get(plugin);
             if (pattern == null || pattern.noPossibleMatch()) {
                 pluginsMissingPatterns.add(plugin);
-            } else if (pattern.isDesiredHeader(header)) {
+            } else if (matching.contains(plugin)) {
                 plugins.add(plugin);
             }
         }
@@ -0,0 +1,338 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.distribution;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the plugins whose {@link RequestPatterns} accept a header without
+ * running every pattern of every plugin.
+ * 
+ * Most distribution patterns are anchored to the start of the header and
+ * begin with a literal product identifier, for example "^SAUS[0-9]{2} KWBC".
+ * The literal prefix of each such pattern is stored in a character trie, so
+ * a lookup walks the header once and only runs the patterns whose prefix the
+ * header actually starts with. A pattern that is nothing but an anchored
+ * literal matches without running the regex at all. A leading group of
+ * literal alternatives, like "^(SA|SP)", is indexed under each alternative.
+ * Unanchored patterns that start with a literal, optionally after ".*", are
+ * bucketed by that literal and only run when the header contains it. The
+ * remaining patterns are run for every header, so the result is always the
+ * same as calling {@link RequestPatterns#isDesiredHeader(String)} on every
+ * plugin.
+ * 
+ * An index is immutable, {@link DistributionPatterns} builds a new one
+ * whenever the patterns are reloaded.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 15, 2026            agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class RequestPatternIndex {
+
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    /** A single accept or exclusion pattern of a plugin */
+    private static class Entry {
+
+        private final int plugin;
+
+        private final Pattern pattern;
+
+        /** true if matching the prefix is the same as matching the pattern */
+        private final boolean literal;
+
+        public Entry(int plugin, Pattern pattern, boolean literal) {
+            this.plugin = plugin;
+            this.pattern = pattern;
+            this.literal = literal;
+        }
+
+        public boolean matches(String header) {
+            return literal || pattern.matcher(header).find();
+        }
+    }
+
+    /** A node of the prefix trie */
+    private static class Node {
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+
+        private final List<Entry> accepts = new ArrayList<>(0);
+
+        private final List<Entry> exclusions = new ArrayList<>(0);
+
+        public Node child(char c, boolean create) {
+            Node child = children.get(c);
+            if (child == null && create) {
+                child = new Node();
+                children.put(c, child);
+            }
+            return child;
+        }
+    }
+
+    private final String[] plugins;
+
+    /** Anchored patterns by literal prefix */
+    private final Node root = new Node();
+
+    /** Unanchored patterns by a literal every match contains */
+    private final Map<String, Node> containing = new HashMap<>();
+
+    /** Patterns that must be run for every header */
+    private final Node unindexed = new Node();
+
+    private int indexedCount = 0;
+
+    private int unindexedCount = 0;
+
+    /**
+     * Create an index of compiled patterns.
+     * 
+     * @param patterns
+     *            the patterns of each plugin, must already be compiled
+     */
+    public RequestPatternIndex(Map<String, RequestPatterns> patterns) {
+        plugins = new String[patterns.size()];
+        int id = 0;
+        for (Map.Entry<String, RequestPatterns> entry : patterns.entrySet()) {
+            plugins[id] = entry.getKey();
+            RequestPatterns pluginPatterns = entry.getValue();
+            for (Pattern pattern : pluginPatterns.getCompiledPatterns()) {
+                add(id, pattern, false);
+            }
+            for (Pattern pattern : pluginPatterns
+                    .getCompiledExclusionPatterns()) {
+                add(id, pattern, true);
+            }
+            id += 1;
+        }
+    }
+
+    private void add(int plugin, Pattern pattern, boolean exclusion) {
+        String regex = pattern.pattern();
+        List<Node> nodes = new ArrayList<>(1);
+        boolean literal = false;
+        if (pattern.flags() == 0 && regex.startsWith("^(")) {
+            List<String> alternatives = leadingAlternatives(regex);
+            if (alternatives != null) {
+                for (String alternative : alternatives) {
+                    nodes.add(prefixNode(alternative));
+                }
+            }
+        } else if (pattern.flags() == 0 && regex.indexOf('|') < 0) {
+            StringBuilder literals = new StringBuilder();
+            if (regex.startsWith("^")) {
+                int end = literalRun(regex, 1, literals);
+                if (literals.length() > 0) {
+                    nodes.add(prefixNode(literals.toString()));
+                    literal = end == regex.length();
+                }
+            } else {
+                literalRun(regex, regex.startsWith(".*") ? 2 : 0, literals);
+                if (literals.length() > 0) {
+                    String key = literals.toString();
+                    Node node = containing.get(key);
+                    if (node == null) {
+                        node = new Node();
+                        containing.put(key, node);
+                    }
+                    nodes.add(node);
+                }
+            }
+        }
+        if (nodes.isEmpty()) {
+            unindexedCount += 1;
+            nodes.add(unindexed);
+        } else {
+            indexedCount += 1;
+        }
+        Entry entry = new Entry(plugin, pattern, literal);
+        for (Node node : nodes) {
+            if (exclusion) {
+                node.exclusions.add(entry);
+            } else {
+                node.accepts.add(entry);
+            }
+        }
+    }
+
+    private Node prefixNode(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i += 1) {
+            node = node.child(prefix.charAt(i), true);
+        }
+        return node;
+    }
+
+    /**
+     * Parse a pattern that starts with a group of literal alternatives, like
+     * "^(SA|SP)..", one of which every match must start with.
+     * 
+     * @param regex
+     *            a pattern starting with ^(
+     * @return the alternatives, or null if the pattern does not have that
+     *         form
+     */
+    private static List<String> leadingAlternatives(String regex) {
+        int close = regex.indexOf(')');
+        if (close < 0 || regex.indexOf('|', close) >= 0) {
+            return null;
+        }
+        if (close + 1 < regex.length()
+                && "?*+{".indexOf(regex.charAt(close + 1)) >= 0) {
+            return null;
+        }
+        List<String> alternatives = new ArrayList<>();
+        StringBuilder alternative = new StringBuilder();
+        for (int i = 2; i < close; i += 1) {
+            char c = regex.charAt(i);
+            if (c == '|') {
+                if (alternative.length() == 0) {
+                    return null;
+                }
+                alternatives.add(alternative.toString());
+                alternative.setLength(0);
+            } else if (META_CHARACTERS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                alternative.append(c);
+            }
+        }
+        if (alternative.length() == 0) {
+            return null;
+        }
+        alternatives.add(alternative.toString());
+        return alternatives;
+    }
+
+    /**
+     * Collect the literal characters that every match of the pattern must
+     * have at the position of the regex start index.
+     * 
+     * @param regex
+     * @param start
+     *            index in the regex to start from
+     * @param literals
+     *            receives the literal characters
+     * @return the index in the regex where the literal characters end
+     */
+    private static int literalRun(String regex, int start,
+            StringBuilder literals) {
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            int next = i + 1;
+            if (c == '\\') {
+                if (next >= regex.length()
+                        || Character.isLetterOrDigit(regex.charAt(next))) {
+                    // character class, boundary or back reference
+                    break;
+                }
+                c = regex.charAt(next);
+                next += 1;
+            } else if (META_CHARACTERS.indexOf(c) >= 0) {
+                break;
+            }
+            if (next < regex.length()
+                    && "?*+{".indexOf(regex.charAt(next)) >= 0) {
+                // the character is optional or repeated
+                break;
+            }
+            literals.append(c);
+            i = next;
+        }
+        return i;
+    }
+
+    /**
+     * Find the plugins that desire a header.
+     * 
+     * @param header
+     * @return the names of the plugins that have an accept pattern matching
+     *         the header and no exclusion pattern matching the header
+     */
+    public Set<String> getMatchingPlugins(String header) {
+        List<Entry> accepts = new ArrayList<>(unindexed.accepts);
+        List<Entry> exclusions = new ArrayList<>(unindexed.exclusions);
+        for (Map.Entry<String, Node> bucket : containing.entrySet()) {
+            if (header.contains(bucket.getKey())) {
+                accepts.addAll(bucket.getValue().accepts);
+                exclusions.addAll(bucket.getValue().exclusions);
+            }
+        }
+        Node node = root;
+        int i = 0;
+        while (node != null) {
+            accepts.addAll(node.accepts);
+            exclusions.addAll(node.exclusions);
+            if (i >= header.length()) {
+                break;
+            }
+            node = node.child(header.charAt(i), false);
+            i += 1;
+        }
+
+        BitSet accepted = new BitSet(plugins.length);
+        for (Entry entry : accepts) {
+            if (!accepted.get(entry.plugin) && entry.matches(header)) {
+                accepted.set(entry.plugin);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return new HashSet<>(0);
+        }
+        for (Entry entry : exclusions) {
+            if (accepted.get(entry.plugin) && entry.matches(header)) {
+                accepted.clear(entry.plugin);
+            }
+        }
+
+        Set<String> matching = new HashSet<>(accepted.cardinality() * 2);
+        for (int p = accepted.nextSetBit(0); p >= 0; p = accepted
+                .nextSetBit(p + 1)) {
+            matching.add(plugins[p]);
+        }
+        return matching;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestPatternIndex [" + plugins.length + " plugins, "
+                + indexedCount + " indexed patterns, " + unindexedCount
+                + " unindexed patterns]";
+    }
+}
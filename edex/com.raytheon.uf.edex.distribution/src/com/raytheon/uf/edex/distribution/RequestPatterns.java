@@ -55,6 +55,8 @@ import org.slf4j.LoggerFactory;
  * May 09, 2014 3151       bclement     added noPossibleMatch() removed ISerializableObject
  * Dec 11, 2015 5166       kbisanz      Update logging to use SLF4J
  * Apr 19, 2016 5450       nabowle      Add plugin attribute.
+ * Oct 15, 2026            agent        Expose compiled patterns for
+ *                                      RequestPatternIndex.
  * </pre>
  * 
  * @author brockwoo
@@ -178,6 +180,20 @@ public class RequestPatterns {
         return compiledPatterns;
     }
 
+    /**
+     * @return the patterns compiled by {@link #compilePatterns()}
+     */
+    List<Pattern> getCompiledPatterns() {
+        return compiledPatterns;
+    }
+
+    /**
+     * @return the exclusion patterns compiled by {@link #compilePatterns()}
+     */
+    List<Pattern> getCompiledExclusionPatterns() {
+        return compiledExclusionPatterns;
+    }
+
     /**
      * Takes a string and compares against the patterns in this container. The
      * first one that matches breaks the search and returns true.
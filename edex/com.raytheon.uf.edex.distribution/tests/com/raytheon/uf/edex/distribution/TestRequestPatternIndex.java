@@ -0,0 +1,165 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.distribution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for RequestPatternIndex, the plugins it finds for a header must
+ * always be the plugins whose {@link RequestPatterns#isDesiredHeader(String)}
+ * accepts the header.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+
+public class TestRequestPatternIndex {
+
+    private static final String[] HEADERS = { "SAUS70 KWBC 151200",
+            "SAUS43 KOAX 151253", "SPUS70 KWBC 151212", "SAXX01 KWBC",
+            "SA", "S", "", "UANT01 KWBC 151200", "UBUS01 KOAX",
+            "USUS44 KWBC", "FTUS80 KOAX 151120", "FTUS80 KOAX 151120 AAA",
+            "TAF KOAX", "METAR KOAX 151253Z", "sa.us", "SA.US", "SAaUS",
+            "WMO SAUS70", "RADAR_KOAX", "/data/radar/KOAX.nids",
+            "GRIB HRRR 151200", "xyzGRIBxyz", "IUSN12 KWBC", "A+B", "A+",
+            "(SA)", "SAUS70 KWBC 151200 RRA", "SPUS SPEC" };
+
+    private static Map<String, RequestPatterns> patterns() {
+        Map<String, RequestPatterns> patterns = new LinkedHashMap<>();
+        // anchored literals
+        add(patterns, "metar", "^SAUS", "^SPUS", "^METAR ");
+        // anchored literals followed by regex
+        add(patterns, "synoptic", "^SAXX[0-9]{2} KWBC", "^S[AM]");
+        // leading alternatives
+        add(patterns, "bufrua", "^(UA|UB|US)..", "^(IUS)");
+        // unanchored, with and without a leading .*
+        add(patterns, "grib", "GRIB", ".*HRRR [0-9]+");
+        // escaped literals
+        add(patterns, "escaped", "^A\\+B", "^SA\\.US", "\\(SA\\)");
+        // patterns that can not be indexed
+        add(patterns, "regex", "(?i)^sa\\.us", "^.AUS", "KOAX$",
+                "TAF|TAFS", "[0-9]{6} AAA$");
+        // accept everything except what is excluded
+        add(patterns, "catchall", ".*");
+        exclude(patterns, "catchall", "^SAUS", "KWBC", "(?i)radar");
+        // exclusions of each kind
+        add(patterns, "taf", "^FTUS", "^TAF");
+        exclude(patterns, "taf", "^FTUS80 KOAX 151120 AAA$", "^(TAF)");
+        add(patterns, "radar", "^RADAR_", "\\.nids$");
+        exclude(patterns, "radar", "^/data");
+        // a plugin with no accept patterns never matches
+        add(patterns, "none");
+        exclude(patterns, "none", "^SA");
+        for (RequestPatterns pluginPatterns : patterns.values()) {
+            pluginPatterns.compilePatterns();
+        }
+        return patterns;
+    }
+
+    private static void add(Map<String, RequestPatterns> patterns,
+            String plugin, String... regexes) {
+        RequestPatterns pluginPatterns = new RequestPatterns();
+        pluginPatterns.setPatterns(new ArrayList<>(Arrays
+                .asList(regexes)));
+        patterns.put(plugin, pluginPatterns);
+    }
+
+    private static void exclude(Map<String, RequestPatterns> patterns,
+            String plugin, String... regexes) {
+        for (String regex : regexes) {
+            patterns.get(plugin).setExclusionPatterns(regex);
+        }
+    }
+
+    private static Set<String> linear(Map<String, RequestPatterns> patterns,
+            String header) {
+        Set<String> matching = new HashSet<>();
+        for (Map.Entry<String, RequestPatterns> entry : patterns.entrySet()) {
+            if (entry.getValue().isDesiredHeader(header)) {
+                matching.add(entry.getKey());
+            }
+        }
+        return matching;
+    }
+
+    @Test
+    public void testHeadersMatchLinearSearch() {
+        Map<String, RequestPatterns> patterns = patterns();
+        RequestPatternIndex index = new RequestPatternIndex(patterns);
+        for (String header : HEADERS) {
+            assertEquals(header, linear(patterns, header),
+                    index.getMatchingPlugins(header));
+        }
+    }
+
+    @Test
+    public void testRandomHeadersMatchLinearSearch() {
+        Map<String, RequestPatterns> patterns = patterns();
+        RequestPatternIndex index = new RequestPatternIndex(patterns);
+        Random random = new Random(0);
+        StringBuilder header = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            // mutate a known header so that prefixes partly match
+            header.setLength(0);
+            header.append(HEADERS[random.nextInt(HEADERS.length)]);
+            int edits = random.nextInt(3);
+            for (int e = 0; e < edits && header.length() > 0; e++) {
+                int at = random.nextInt(header.length());
+                if (random.nextBoolean()) {
+                    header.setCharAt(at, (char) ('A' + random.nextInt(26)));
+                } else {
+                    header.setLength(at);
+                }
+            }
+            String h = header.toString();
+            assertEquals(h, linear(patterns, h), index.getMatchingPlugins(h));
+        }
+    }
+
+    @Test
+    public void testLiteralPatternsAreIndexed() {
+        Map<String, RequestPatterns> patterns = new LinkedHashMap<>();
+        add(patterns, "metar", "^SAUS", "^(SA|SP)", "GRIB", "(?i)^sa");
+        patterns.get("metar").compilePatterns();
+        RequestPatternIndex index = new RequestPatternIndex(patterns);
+        assertTrue(index.toString(), index.toString().contains(
+                "3 indexed patterns, 1 unindexed patterns"));
+    }
+}
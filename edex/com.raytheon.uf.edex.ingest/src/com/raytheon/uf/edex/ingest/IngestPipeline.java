@@ -0,0 +1,643 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.ingest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.raytheon.uf.common.dataplugin.PluginDataObject;
+import com.raytheon.uf.common.status.IPerformanceStatusHandler;
+import com.raytheon.uf.common.status.PerformanceStatus;
+import com.raytheon.uf.common.time.util.TimeUtil;
+import com.raytheon.uf.common.util.concurrent.NamedThreadFactory;
+import com.raytheon.uf.edex.core.IContextStateProcessor;
+import com.raytheon.uf.edex.ingest.notification.PluginNotifier;
+
+/**
+ * Runs the persist, index and notify steps of ingest as separate stages so
+ * that the data decoded by many ingest threads is persisted, indexed and
+ * notified in larger batches, and each step of one batch overlaps the other
+ * steps of the batches before and after it.
+ * 
+ * Each plugin gets its own set of stages. Every stage has a bounded queue and
+ * its own threads. When a stage takes data off its queue it also takes any
+ * other data already waiting, up to a maximum number of records, so many
+ * small decoded arrays are persisted and indexed together.
+ * 
+ * The thread that submits data waits until its data has been through every
+ * stage it was submitted for, so the exchange is not completed, and the
+ * message not acknowledged, until the data is stored. A failure in any stage
+ * is thrown to the submitting thread and reaches the route's error handler
+ * just like a failure in the synchronous routes.
+ * 
+ * Configured with the system properties below, the thread counts can be
+ * overridden per plugin by prefixing the property with the plugin name, for
+ * example obs.ingest.pipeline.index.threads.
+ * <ul>
+ * <li>ingest.pipeline.persist.threads: default 2</li>
+ * <li>ingest.pipeline.index.threads: default 1</li>
+ * <li>ingest.pipeline.notify.threads: default 1</li>
+ * <li>ingest.pipeline.queue.size: batches queued per stage, default 16</li>
+ * <li>ingest.pipeline.batch.records: most records coalesced into one batch,
+ * default 1000</li>
+ * <li>ingest.pipeline.batch.wait.ms: how long a stage waits for more data to
+ * coalesce, default 0 so only data that is already queued is coalesced</li>
+ * <li>ingest.pipeline.shutdown.timeout.ms: how long shutdown waits for the
+ * queued data of all plugins, default 60000</li>
+ * </ul>
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * 
+ * Date          Ticket#  Engineer  Description
+ * ------------- -------- --------- -----------------------------------------
+ * Oct 15, 2026           agent     Initial creation
+ * Oct 15, 2026           agent     Send failed batches to the failed data
+ *                                  log, close the shutdown race and bound
+ *                                  the shutdown wait.
+ * Oct 15, 2026           agent     Submitting threads wait for their data
+ *                                  to finish every stage.
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class IngestPipeline implements IContextStateProcessor {
+
+    private static final Logger logger = LoggerFactory
+            .getLogger(IngestPipeline.class);
+
+    private static final IPerformanceStatusHandler perfLog = PerformanceStatus
+            .getHandler("IngestPipeline:");
+
+    private static final int QUEUE_SIZE = Integer
+            .getInteger("ingest.pipeline.queue.size", 16);
+
+    private static final int BATCH_RECORDS = Integer
+            .getInteger("ingest.pipeline.batch.records", 1000);
+
+    private static final long BATCH_WAIT = Long
+            .getLong("ingest.pipeline.batch.wait.ms", 0);
+
+    private static final long SHUTDOWN_TIMEOUT = Long
+            .getLong("ingest.pipeline.shutdown.timeout.ms", 60_000);
+
+    /** How long an idle worker waits before checking for shutdown */
+    private static final long POLL_MILLIS = TimeUtil.MILLIS_PER_SECOND;
+
+    private static final String PERSIST = "persist";
+
+    private static final String INDEX = "index";
+
+    private static final String NOTIFY = "notify";
+
+    private final PersistSrv persistSrv;
+
+    private final IndexSrv indexSrv;
+
+    private final PluginNotifier pluginNotifier;
+
+    private final ConcurrentMap<String, PluginStages> plugins = new ConcurrentHashMap<>();
+
+    /**
+     * Held for read while data is submitted to a stage and for write while
+     * running is cleared, so no data is queued to or creates a stage once
+     * shutdown has started.
+     */
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running = true;
+
+    /**
+     * Constructor
+     * 
+     * @param persistSrv
+     * @param indexSrv
+     * @param pluginNotifier
+     */
+    public IngestPipeline(PersistSrv persistSrv, IndexSrv indexSrv,
+            PluginNotifier pluginNotifier) {
+        this.persistSrv = persistSrv;
+        this.indexSrv = indexSrv;
+        this.pluginNotifier = pluginNotifier;
+    }
+
+    /**
+     * Persist records to hdf5 and index them through the stages of the
+     * plugin. Returns once the records are indexed.
+     * 
+     * @param pdos
+     * @throws Exception
+     *             the failure of any stage
+     */
+    public void persistIndex(PluginDataObject[] pdos) throws Exception {
+        submit(pdos, false);
+    }
+
+    /**
+     * Persist records to hdf5, index them and send them to the plugin
+     * notifier through the stages of the plugin. Returns once the records
+     * are sent to the notifier.
+     * 
+     * @param pdos
+     * @throws Exception
+     *             the failure of any stage
+     */
+    public void persistIndexAlert(PluginDataObject[] pdos) throws Exception {
+        submit(pdos, true);
+    }
+
+    private void submit(PluginDataObject[] pdos, boolean notify)
+            throws Exception {
+        if (pdos == null || pdos.length == 0) {
+            return;
+        }
+        String pluginName = pdos[0].getPluginName();
+        Batch batch = null;
+        runningLock.readLock().lock();
+        try {
+            if (running) {
+                batch = new Batch(pdos, notify);
+                getStages(pluginName).persist.put(batch);
+            }
+        } finally {
+            runningLock.readLock().unlock();
+        }
+
+        if (batch == null) {
+            /* shutting down, do the work on the calling thread */
+            PluginDataObject[] indexed = indexSrv
+                    .index(persistSrv.persist(pdos));
+            if (notify && indexed.length > 0) {
+                pluginNotifier.notify(indexed);
+            }
+            return;
+        }
+
+        try {
+            batch.done.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private PluginStages getStages(String pluginName) {
+        PluginStages stages = plugins.get(pluginName);
+        if (stages == null) {
+            stages = new PluginStages(pluginName);
+            PluginStages prev = plugins.putIfAbsent(pluginName, stages);
+            if (prev != null) {
+                stages.discard();
+                stages = prev;
+            } else {
+                stages.start();
+            }
+        }
+        return stages;
+    }
+
+    /**
+     * @param pluginName
+     * @return a summary of the queue depth, throughput and latency of each
+     *         stage of the plugin, or null if the plugin has not used the
+     *         pipeline
+     */
+    public String getStatistics(String pluginName) {
+        PluginStages stages = plugins.get(pluginName);
+        if (stages == null) {
+            return null;
+        }
+        return stages.persist + "; " + stages.index + "; " + stages.notify;
+    }
+
+    @Override
+    public void preStart() {
+        running = true;
+    }
+
+    @Override
+    public void postStart() {
+        // Not implemented
+    }
+
+    @Override
+    public void postStop() {
+        // Not implemented
+    }
+
+    /**
+     * Finish all queued work then stop the stage threads, before the plugin
+     * notifier sends its final notifications. Anything submitted after this
+     * point is processed on the calling thread. Data still queued when the
+     * shutdown timeout expires fails back to the threads that submitted it.
+     */
+    @Override
+    public void preStop() {
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT;
+        for (PluginStages stages : plugins.values()) {
+            stages.persist.shutdown(deadline);
+            stages.index.shutdown(deadline);
+            stages.notify.shutdown(deadline);
+        }
+        plugins.clear();
+    }
+
+    /**
+     * Records queued together along with where they should go next and the
+     * future the submitting thread waits on
+     */
+    private static class Batch {
+
+        private final PluginDataObject[] pdos;
+
+        private final boolean notify;
+
+        /** Completed when the records leave the last stage they go through */
+        private final CompletableFuture<Void> done;
+
+        private final long queuedTime = System.currentTimeMillis();
+
+        public Batch(PluginDataObject[] pdos, boolean notify) {
+            this(pdos, notify, new CompletableFuture<Void>());
+        }
+
+        /** The records of source that go on to the next stage */
+        public Batch(PluginDataObject[] pdos, Batch source) {
+            this(pdos, source.notify, source.done);
+        }
+
+        private Batch(PluginDataObject[] pdos, boolean notify,
+                CompletableFuture<Void> done) {
+            this.pdos = pdos;
+            this.notify = notify;
+            this.done = done;
+        }
+    }
+
+    /** The stages of a single plugin */
+    private class PluginStages {
+
+        private final Stage persist;
+
+        private final Stage index;
+
+        private final Stage notify;
+
+        public PluginStages(String pluginName) {
+            notify = new Stage(pluginName, NOTIFY, null) {
+                @Override
+                protected PluginDataObject[] process(PluginDataObject[] pdos) {
+                    pluginNotifier.notify(pdos);
+                    return pdos;
+                }
+            };
+            index = new Stage(pluginName, INDEX, notify) {
+                @Override
+                protected PluginDataObject[] process(PluginDataObject[] pdos) {
+                    return indexSrv.index(pdos);
+                }
+            };
+            persist = new Stage(pluginName, PERSIST, index) {
+                @Override
+                protected PluginDataObject[] process(PluginDataObject[] pdos) {
+                    return persistSrv.persist(pdos);
+                }
+            };
+        }
+
+        public void start() {
+            notify.start();
+            index.start();
+            persist.start();
+        }
+
+        /** Release the threads of stages that were never started */
+        public void discard() {
+            notify.executor.shutdown();
+            index.executor.shutdown();
+            persist.executor.shutdown();
+        }
+    }
+
+    /**
+     * A bounded queue and the threads that process it, records that come out
+     * of a stage are queued in the next stage.
+     */
+    private abstract class Stage {
+
+        private final String pluginName;
+
+        private final String name;
+
+        private final Stage next;
+
+        private final int threads;
+
+        private final BlockingQueue<Batch> queue = new LinkedBlockingQueue<>(
+                QUEUE_SIZE);
+
+        private final ExecutorService executor;
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        private final AtomicLong received = new AtomicLong();
+
+        private final AtomicLong batches = new AtomicLong();
+
+        private final AtomicLong records = new AtomicLong();
+
+        private final AtomicLong waitMillis = new AtomicLong();
+
+        private final AtomicLong processMillis = new AtomicLong();
+
+        private volatile boolean stopping = false;
+
+        public Stage(String pluginName, String name, Stage next) {
+            this.pluginName = pluginName;
+            this.name = name;
+            this.next = next;
+            int defaultThreads = INDEX.equals(name) || NOTIFY.equals(name) ? 1
+                    : 2;
+            String property = "ingest.pipeline." + name + ".threads";
+            this.threads = Math.max(1, Integer.getInteger(
+                    pluginName + "." + property,
+                    Integer.getInteger(property, defaultThreads)));
+            this.executor = Executors.newFixedThreadPool(threads,
+                    new NamedThreadFactory(pluginName + "-" + name));
+        }
+
+        /**
+         * Process a batch of records.
+         * 
+         * @param pdos
+         * @return the records to pass to the next stage
+         */
+        protected abstract PluginDataObject[] process(PluginDataObject[] pdos);
+
+        public void start() {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        work();
+                    }
+                });
+            }
+        }
+
+        public void put(Batch batch) throws InterruptedException {
+            queue.put(batch);
+        }
+
+        private void work() {
+            while (!stopping || !queue.isEmpty()) {
+                try {
+                    Batch first = queue.poll(POLL_MILLIS,
+                            TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    active.incrementAndGet();
+                    try {
+                        List<Batch> sources = new ArrayList<>();
+                        sources.add(first);
+                        try {
+                            collect(sources);
+                            runBatches(sources);
+                        } catch (InterruptedException e) {
+                            failed(sources, e);
+                            throw e;
+                        } catch (Throwable e) {
+                            failed(sources, e);
+                        }
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    logger.warn(pluginName + " " + name
+                            + " stage interrupted with " + queue.size()
+                            + " batches queued");
+                    return;
+                } catch (Throwable e) {
+                    logger.error("Error occurred in the " + name
+                            + " stage of " + pluginName, e);
+                }
+            }
+        }
+
+        /**
+         * Fail every batch that was part of a failed run back to the thread
+         * that submitted it.
+         */
+        private void failed(List<Batch> sources, Throwable e) {
+            logger.error("Error occurred in the " + name + " stage of "
+                    + pluginName + ", " + sources.size()
+                    + " batches were not processed", e);
+            for (Batch source : sources) {
+                source.done.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Add any other batches that are queued to sources, up to the maximum
+         * number of records.
+         */
+        private void collect(List<Batch> sources) throws InterruptedException {
+            int count = sources.get(0).pdos.length;
+            long deadline = System.currentTimeMillis() + BATCH_WAIT;
+            while (count < BATCH_RECORDS) {
+                long wait = deadline - System.currentTimeMillis();
+                Batch more = wait > 0
+                        ? queue.poll(wait, TimeUnit.MILLISECONDS)
+                        : queue.poll();
+                if (more == null) {
+                    break;
+                }
+                sources.add(more);
+                count += more.pdos.length;
+            }
+        }
+
+        private void runBatches(List<Batch> sources)
+                throws InterruptedException {
+            long start = System.currentTimeMillis();
+            PluginDataObject[] pdos;
+            if (sources.size() == 1) {
+                pdos = sources.get(0).pdos;
+            } else {
+                List<PluginDataObject> all = new ArrayList<>();
+                for (Batch source : sources) {
+                    Collections.addAll(all, source.pdos);
+                }
+                pdos = all.toArray(new PluginDataObject[all.size()]);
+            }
+            for (Batch source : sources) {
+                waitMillis.addAndGet(start - source.queuedTime);
+            }
+            received.addAndGet(sources.size());
+
+            PluginDataObject[] result = process(pdos);
+
+            long elapsed = System.currentTimeMillis() - start;
+            batches.incrementAndGet();
+            records.addAndGet(pdos.length);
+            processMillis.addAndGet(elapsed);
+            perfLog.logDuration(pluginName + " " + name + " " + pdos.length
+                    + " records from " + sources.size()
+                    + " batches, queue depth " + queue.size(), elapsed);
+
+            if (next != null && result != null && result.length > 0) {
+                forward(sources, result);
+            } else {
+                for (Batch source : sources) {
+                    source.done.complete(null);
+                }
+            }
+        }
+
+        /**
+         * Pass on the records that came out of this stage, grouped by the
+         * batch they came in with so each keeps its own destination.
+         */
+        private void forward(List<Batch> sources, PluginDataObject[] result)
+                throws InterruptedException {
+            if (sources.size() == 1) {
+                Batch source = sources.get(0);
+                if (skipsNext(source)) {
+                    source.done.complete(null);
+                } else {
+                    next.put(new Batch(result, source));
+                }
+                return;
+            }
+            Set<PluginDataObject> kept = Collections.newSetFromMap(
+                    new IdentityHashMap<PluginDataObject, Boolean>(
+                            result.length));
+            Collections.addAll(kept, result);
+            for (Batch source : sources) {
+                if (skipsNext(source)) {
+                    source.done.complete(null);
+                    continue;
+                }
+                List<PluginDataObject> out = new ArrayList<>(
+                        source.pdos.length);
+                for (PluginDataObject pdo : source.pdos) {
+                    if (kept.contains(pdo)) {
+                        out.add(pdo);
+                    }
+                }
+                if (out.isEmpty()) {
+                    source.done.complete(null);
+                } else {
+                    next.put(new Batch(
+                            out.toArray(new PluginDataObject[out.size()]),
+                            source));
+                }
+            }
+        }
+
+        /**
+         * @return true if the next stage is notify and the batch was not
+         *         submitted for notification
+         */
+        private boolean skipsNext(Batch source) {
+            return !source.notify && NOTIFY.equals(next.name);
+        }
+
+        /**
+         * Let the threads finish the queued data then stop them.
+         * 
+         * @param deadline
+         *            time after which queued data is failed
+         */
+        public void shutdown(long deadline) {
+            stopping = true;
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(Math.max(0, Math.min(
+                        POLL_MILLIS, deadline - System.currentTimeMillis())),
+                        TimeUnit.MILLISECONDS)) {
+                    if (System.currentTimeMillis() >= deadline) {
+                        executor.shutdownNow();
+                        List<Batch> dropped = new ArrayList<>();
+                        queue.drainTo(dropped);
+                        if (!dropped.isEmpty()) {
+                            failed(dropped, new IllegalStateException(
+                                    "Timed out waiting for the " + name
+                                            + " stage to finish on shutdown"));
+                        }
+                        break;
+                    }
+                    logger.info("Waiting for " + queue.size() + " "
+                            + pluginName + " batches to " + name);
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public String toString() {
+            long n = received.get();
+            long b = batches.get();
+            return name + ": depth " + queue.size() + "/" + QUEUE_SIZE
+                    + ", active " + active.get() + "/" + threads + ", "
+                    + records.get() + " records in " + b
+                    + " batches, avg queue wait "
+                    + (n == 0 ? 0 : waitMillis.get() / n)
+                    + "ms, avg batch time "
+                    + (b == 0 ? 0 : processMillis.get() / b) + "ms";
+        }
+    }
+
+}
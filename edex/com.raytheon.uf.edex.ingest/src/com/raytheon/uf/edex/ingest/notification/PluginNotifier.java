@@ -80,6 +80,8 @@ import com.raytheon.uf.edex.ingest.notification.router.PdoRouter;
  * Jun 28, 2016  5679     rjpeter   Moved PluginNotifierConfig to common.
  * May 22, 2017  6130     tjensen   Update notify to return the number of PDOs
  *                                  processed
+ * Oct 15, 2026           agent     Flush queued notifications on stop and
+ *                                  configuration reload.
  *
  * </pre>
  *
@@ -428,16 +430,27 @@ public class PluginNotifier implements IContextStateProcessor {
     }
 
     /**
-     * Send the queued notifications.
+     * Send the queued notifications that are ready to be sent.
      *
      * @return
      */
     public void sendQueuedNotifications() {
+        sendQueuedNotifications(false);
+    }
+
+    /**
+     * Send the queued notifications.
+     *
+     * @param flush
+     *            send everything that is queued, even if routers would rather
+     *            wait to batch more data
+     */
+    private void sendQueuedNotifications(boolean flush) {
         lock.readLock().lock();
         try {
             for (INotificationRouter router : receiveAllRoutes) {
                 try {
-                    router.sendQueuedData();
+                    send(router, flush);
                 } catch (EdexException e) {
                     theHandler.handle(Priority.PROBLEM,
                             "Unable to send notification data to "
@@ -448,7 +461,7 @@ public class PluginNotifier implements IContextStateProcessor {
 
             for (INotificationRouter router : filteredRoutes) {
                 try {
-                    router.sendQueuedData();
+                    send(router, flush);
                 } catch (EdexException e) {
                     theHandler.handle(Priority.PROBLEM,
                             "Unable to send notification data to "
@@ -461,6 +474,15 @@ public class PluginNotifier implements IContextStateProcessor {
         }
     }
 
+    private static void send(INotificationRouter router, boolean flush)
+            throws EdexException {
+        if (flush) {
+            router.flushQueuedData();
+        } else {
+            router.sendQueuedData();
+        }
+    }
+
     @Override
     public void preStart() {
         rebuildTree();
@@ -478,7 +500,7 @@ public class PluginNotifier implements IContextStateProcessor {
 
     @Override
     public void postStop() {
-        sendQueuedNotifications();
+        sendQueuedNotifications(true);
     }
 
     /**
@@ -509,6 +531,21 @@ public class PluginNotifier implements IContextStateProcessor {
             rebuildTree();
 
             theHandler.handle(Priority.INFO, "Configurations were reloaded.");
+
+            // do not drop what the replaced routes were holding for a batch
+            List<INotificationRouter> replaced = new ArrayList<>(
+                    receiveAllRoutesBak);
+            replaced.addAll(filteredRoutesBak);
+            for (INotificationRouter router : replaced) {
+                try {
+                    router.flushQueuedData();
+                } catch (EdexException e) {
+                    theHandler.handle(Priority.PROBLEM,
+                            "Unable to send notification data to "
+                                    + router.getRoute(),
+                            e);
+                }
+            }
         } catch (Exception e) {
             theHandler.handle(Priority.PROBLEM,
                     "Could not reload the localizations files due to an error. Using previously loaded configurations.",
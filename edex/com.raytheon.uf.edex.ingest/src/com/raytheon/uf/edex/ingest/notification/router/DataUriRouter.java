@@ -21,6 +21,8 @@ package com.raytheon.uf.edex.ingest.notification.router;
 
 import java.io.IOException;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.GZIPOutputStream;
 
 import com.raytheon.uf.common.dataplugin.PluginDataObject;
@@ -29,6 +31,10 @@ import com.raytheon.uf.common.dataplugin.notify.PluginNotifierConfig;
 import com.raytheon.uf.common.dataplugin.notify.PluginNotifierConfig.EndpointType;
 import com.raytheon.uf.common.serialization.SerializationException;
 import com.raytheon.uf.common.serialization.SerializationUtil;
+import com.raytheon.uf.common.status.IPerformanceStatusHandler;
+import com.raytheon.uf.common.status.PerformanceStatus;
+import com.raytheon.uf.common.time.util.ITimer;
+import com.raytheon.uf.common.time.util.TimeUtil;
 import com.raytheon.uf.common.util.ByteArrayOutputStreamPool;
 import com.raytheon.uf.common.util.PooledByteArrayOutputStream;
 import com.raytheon.uf.edex.core.EDEXUtil;
@@ -39,6 +45,14 @@ import com.raytheon.uf.edex.core.EdexException;
  * sent immediately to the routes for inner jvm calls, routes over jms will be
  * queued and sent in gzipped batches.
  * 
+ * Queued URIs are coalesced until the oldest has waited
+ * notification.batch.latency.ms or notification.batch.size URIs are waiting,
+ * whichever comes first, no message holds more than notification.batch.size
+ * URIs. Batches are dictionary encoded (see
+ * {@link DataURINotificationMessage#encode(String[])}) unless
+ * notification.uri.dictionary is false, which must be done while any client
+ * that predates the encoding is still receiving notifications.
+ * 
  * <pre>
  * 
  * SOFTWARE HISTORY
@@ -49,6 +63,8 @@ import com.raytheon.uf.edex.core.EdexException;
  * Oct 30, 2015  4710     bclement  ByteArrayOutputStream renamed to
  *                                  PooledByteArrayOutputStream
  * Jun 28, 2016  5679     rjpeter   Moved PluginNotifierConfig to common.
+ * Oct 15, 2026           agent     Coalesce batches by latency and size,
+ *                                  dictionary encode URIs, add statistics.
  * 
  * </pre>
  * 
@@ -61,11 +77,52 @@ public class DataUriRouter implements INotificationRouter {
      */
     private static final int GZIP_BUFFER_SIZE = 4096;
 
+    private static final IPerformanceStatusHandler perfLog = PerformanceStatus
+            .getHandler("DataUriRouter:");
+
+    /**
+     * Longest time a queued URI waits for more URIs to be batched with it.
+     */
+    private static final long MAX_LATENCY = Long
+            .getLong("notification.batch.latency.ms", 1000);
+
+    /**
+     * Number of queued URIs that are sent without waiting, and the most URIs
+     * sent in one message.
+     */
+    private static final int MAX_BATCH_SIZE = Integer
+            .getInteger("notification.batch.size", 10_000);
+
+    /**
+     * Send JMS messages in the dictionary encoded form, off by default since
+     * clients older than the encoded form only read dataURIs.
+     */
+    private static final boolean DICTIONARY_ENCODE = Boolean.parseBoolean(
+            System.getProperty("notification.uri.dictionary", "false"));
+
     /**
      * Data URIs that have not been sent.
      */
     private final ConcurrentLinkedQueue<String> uris = new ConcurrentLinkedQueue<String>();
 
+    /**
+     * Number of URIs in uris, which does not have a constant time size().
+     */
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    /**
+     * Time the oldest URI in uris was queued, 0 when the queue is empty.
+     */
+    private final AtomicLong oldestQueued = new AtomicLong();
+
+    private final AtomicLong messagesSent = new AtomicLong();
+
+    private final AtomicLong urisSent = new AtomicLong();
+
+    private final AtomicLong totalSendTime = new AtomicLong();
+
+    private final AtomicLong maxLatency = new AtomicLong();
+
     /**
      * Flag if this route stays in the jvm.
      */
@@ -95,24 +152,48 @@ public class DataUriRouter implements INotificationRouter {
     @Override
     public void process(PluginDataObject pdo) {
         uris.add(pdo.getDataURI());
+        queueDepth.incrementAndGet();
+        oldestQueued.compareAndSet(0, System.currentTimeMillis());
     }
 
     /**
-     * Creates a DataURINotificationMessage.
-     * 
-     * @return
+     * @return the data URIs for one message, up to maxSize, or null if there
+     *         are none
      */
-    protected synchronized DataURINotificationMessage createMessage() {
-        DataURINotificationMessage msg = null;
+    private synchronized String[] dequeue(int maxSize) {
         // this is the only point that uris is reduced, safe to grab current
         // size and dequeue that many items
-        int size = uris.size();
-        if (size > 0) {
-            String[] data = new String[size];
-            for (int i = 0; i < size; i++) {
-                data[i] = uris.poll();
+        int size = Math.min(queueDepth.get(), maxSize);
+        if (size <= 0) {
+            return null;
+        }
+        String[] data = new String[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = uris.poll();
+        }
+        /*
+         * URIs left in the queue keep the time of the oldest one sent, so they
+         * are sent in the next batch without waiting again.
+         */
+        if (queueDepth.addAndGet(-size) == 0) {
+            oldestQueued.set(0);
+            if (queueDepth.get() > 0) {
+                // raced with process()
+                oldestQueued.compareAndSet(0, System.currentTimeMillis());
             }
+        }
+        return data;
+    }
 
+    /**
+     * Creates a DataURINotificationMessage.
+     * 
+     * @return
+     */
+    protected DataURINotificationMessage createMessage() {
+        DataURINotificationMessage msg = null;
+        String[] data = dequeue(Integer.MAX_VALUE);
+        if (data != null) {
             msg = new DataURINotificationMessage();
             msg.setDataURIs(data);
         }
@@ -120,6 +201,16 @@ public class DataUriRouter implements INotificationRouter {
         return msg;
     }
 
+    /**
+     * @return true if the queued URIs should be sent now rather than waiting
+     *         for more to batch with them
+     */
+    private boolean isBatchReady() {
+        long oldest = oldestQueued.get();
+        return queueDepth.get() >= MAX_BATCH_SIZE || (oldest > 0
+                && System.currentTimeMillis() - oldest >= MAX_LATENCY);
+    }
+
     @Override
     public void sendImmediateData() throws EdexException {
         // if sending inside jvm, create message and send immediately as the
@@ -135,14 +226,78 @@ public class DataUriRouter implements INotificationRouter {
     @Override
     public void sendQueuedData() throws EdexException {
         if (!isInternal) {
+            sendBatches(false);
+        }
+    }
+
+    @Override
+    public void flushQueuedData() throws EdexException {
+        if (!isInternal) {
+            sendBatches(true);
+        }
+    }
+
+    /**
+     * Send queued URIs in messages of at most MAX_BATCH_SIZE URIs.
+     * 
+     * @param flush
+     *            send everything that is queued instead of only ready batches
+     * @throws EdexException
+     */
+    private void sendBatches(boolean flush) throws EdexException {
+        while (flush || isBatchReady()) {
+            long oldest = oldestQueued.get();
+            String[] data = dequeue(MAX_BATCH_SIZE);
+            if (data == null) {
+                break;
+            }
+
             // if sending outside the jvm, create message, serialize, gzip, and
             // then send
-            DataURINotificationMessage msg = createMessage();
-            if (msg != null) {
-                EDEXUtil.getMessageProducer().sendAsyncUri(route,
-                        encodeMessage(msg));
+            ITimer timer = TimeUtil.getTimer();
+            timer.start();
+            DataURINotificationMessage msg;
+            if (DICTIONARY_ENCODE) {
+                msg = DataURINotificationMessage.encode(data);
+            } else {
+                msg = new DataURINotificationMessage();
+                msg.setDataURIs(data);
+            }
+            EDEXUtil.getMessageProducer().sendAsyncUri(route,
+                    encodeMessage(msg));
+            timer.stop();
+
+            long latency = oldest > 0 ? System.currentTimeMillis() - oldest
+                    : 0;
+            messagesSent.incrementAndGet();
+            urisSent.addAndGet(data.length);
+            totalSendTime.addAndGet(timer.getElapsedTime());
+            long max = maxLatency.get();
+            while (latency > max && !maxLatency.compareAndSet(max, latency)) {
+                max = maxLatency.get();
             }
+            perfLog.logDuration(route + " sent " + data.length
+                    + " URIs, waited " + latency + "ms, queue depth "
+                    + queueDepth.get(), timer.getElapsedTime());
+        }
+    }
+
+    @Override
+    public String getStatistics() {
+        long messages = messagesSent.get();
+        long sent = urisSent.get();
+        StringBuilder stats = new StringBuilder(128);
+        stats.append(route).append(": queue depth ").append(queueDepth.get())
+                .append(", messages ").append(messages).append(", URIs ")
+                .append(sent);
+        if (messages > 0) {
+            stats.append(", avg batch size ").append(sent / messages)
+                    .append(", avg send time ")
+                    .append(totalSendTime.get() / messages)
+                    .append("ms, max latency ").append(maxLatency.get())
+                    .append("ms");
         }
+        return stats.toString();
     }
 
     /**
@@ -32,6 +32,7 @@ import com.raytheon.uf.edex.core.EdexException;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Nov 19, 2013 2170       rjpeter     Initial creation
+ * Oct 15, 2026            agent       Added flushQueuedData and statistics.
  * 
  * </pre>
  * 
@@ -68,9 +69,28 @@ public interface INotificationRouter {
      * Send any queued data to route. Generally used for data uri notifications
      * being sent over JMS to allow for better bundling. The data is queued in
      * memory and sent out as a bundled message. The interval is defined by the
-     * notification timer in persist-ingest.xml.
+     * notification timer in persist-ingest.xml, a router may hold data back
+     * for a later call to send larger messages.
      * 
      * @throws EdexException
      */
     public void sendQueuedData() throws EdexException;
+
+    /**
+     * Send all queued data to route, used on shutdown. Routers that never hold
+     * data back do not need to override this.
+     * 
+     * @throws EdexException
+     */
+    public default void flushQueuedData() throws EdexException {
+        sendQueuedData();
+    }
+
+    /**
+     * @return a description of the queue depth and messages sent by this
+     *         router, for monitoring
+     */
+    public default String getStatistics() {
+        return getRoute();
+    }
 }
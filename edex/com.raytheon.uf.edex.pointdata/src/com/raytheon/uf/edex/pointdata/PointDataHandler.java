@@ -52,6 +52,8 @@ import com.raytheon.uf.edex.pointdata.PointDataPluginDao.LevelRequest;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Jan 14, 2010            chammack     Initial creation
+ * Oct 15, 2026            agent        Support between constraints and hdf5
+ *                                      value filters
  * 
  * </pre>
  * 
@@ -72,6 +74,7 @@ public class PointDataHandler implements
 		operandMap.put(ConstraintType.GREATER_THAN, QueryOperand.GREATERTHAN);
 		operandMap.put(ConstraintType.GREATER_THAN_EQUALS,
 				QueryOperand.GREATERTHANEQUALS);
+		operandMap.put(ConstraintType.BETWEEN, QueryOperand.BETWEEN);
 
 	}
 
@@ -105,10 +108,16 @@ public class PointDataHandler implements
 					.getPluginRecordClass(plugin);
 
 			DatabaseQuery dq = new DatabaseQuery(pdo);
+			List<PointDataValueFilter> filters = new ArrayList<PointDataValueFilter>();
 
 			for (PointDataRequestMessageConstraint c : constraints) {
 				ConstraintType ct = ConstraintType.values()[c
 						.getConstraintType()];
+				if (PointDataValueFilter.isFilterKey(c.getParameter())) {
+					filters.add(PointDataValueFilter.fromConstraint(
+							c.getParameter(), ct, c.getValue()));
+					continue;
+				}
 				QueryOperand qo = operandMap.get(ct);
 				if (qo != null) {
 					dq.addQueryParam(c.getParameter(), c.getValue(), qo);
@@ -167,6 +176,15 @@ public class PointDataHandler implements
 					intArr[i] = intList.get(i)[0];
 					idArr[i] = intList.get(i)[1];
 				}
+				if (!filters.isEmpty()) {
+					int matched = ppd.filterPointData(new File(file), intArr,
+							idArr, filters);
+					if (matched == 0) {
+						continue;
+					}
+					intArr = Arrays.copyOf(intArr, matched);
+					idArr = Arrays.copyOf(idArr, matched);
+				}
 
 				long tGPD = System.currentTimeMillis();
 				PointDataContainer pdc = ppd.getPointData(new File(file),
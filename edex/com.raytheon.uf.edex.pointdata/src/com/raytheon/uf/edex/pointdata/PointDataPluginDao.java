@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -55,6 +56,7 @@ import com.raytheon.uf.common.serialization.SerializationException;
 import com.raytheon.uf.common.status.IUFStatusHandler;
 import com.raytheon.uf.common.status.UFStatus;
 import com.raytheon.uf.common.time.DataTime;
+import com.raytheon.uf.common.util.ArraysUtil;
 import com.raytheon.uf.edex.core.dataplugin.PluginRegistry;
 import com.raytheon.uf.edex.database.plugin.PluginDao;
 
@@ -80,6 +82,9 @@ import net.sf.cglib.beans.BeanMap;
  * Jan 09, 2014  1998     bclement    fixed NPE in persistToHDF5 when store failed
  * Nov 20, 2014  3853     njensen     Improved javadoc of getPointDataDescription()
  * Nov 16, 2017  6367     tgurney     Send timing information to log file
+ * Oct 15, 2026           agent       Correlate ids with a primitive sort and
+ *                                    merge, fix specific level indices
+ * Oct 15, 2026           agent       Add filterPointData
  *
  * </pre>
  *
@@ -279,39 +284,29 @@ public abstract class PointDataPluginDao<T extends PluginDataObject>
         return hdf5DataDescription;
     }
 
-    private static class IndexIdPair implements Comparable<IndexIdPair> {
-        public int index;
-
-        public int id;
-
-        @Override
-        public int compareTo(IndexIdPair o) {
-            if (index == o.index) {
-                return 0;
-            }
-
-            return index < o.index ? -1 : 1;
-        }
-
-    }
-
+    /**
+     * Retrieve point data for a set of records from a single hdf5 file.
+     * 
+     * @param file
+     *            the hdf5 file
+     * @param indexes
+     *            the hdf5 index of each record, sorted in place
+     * @param ids
+     *            the id of each record, reordered in place to match indexes
+     * @param attributes
+     *            the parameters to retrieve
+     * @param request
+     *            which levels to retrieve
+     * @return the container, with an "id" parameter holding the id of each
+     *         row or -1 if it could not be correlated
+     * @throws StorageException
+     * @throws FileNotFoundException
+     */
     public PointDataContainer getPointData(File file, int[] indexes, int[] ids,
             String[] attributes, LevelRequest request)
             throws StorageException, FileNotFoundException {
 
-        IndexIdPair[] iip = new IndexIdPair[ids.length];
-        for (int i = 0; i < iip.length; i++) {
-            iip[i] = new IndexIdPair();
-            iip[i].index = indexes[i];
-            iip[i].id = ids[i];
-        }
-
-        Arrays.sort(iip);
-
-        for (int i = 0; i < iip.length; i++) {
-            indexes[i] = iip[i].index;
-            ids[i] = iip[i].id;
-        }
+        ArraysUtil.sortPaired(indexes, ids);
 
         // For now, because the levels could be at different indices throughout,
         // for now we will retrieve all levels and then post-process the result
@@ -327,9 +322,8 @@ public abstract class PointDataPluginDao<T extends PluginDataObject>
             dsRequest = Request.buildPointRequest(pts);
         } else if ((request == LevelRequest.ALL)
                 || (request == LevelRequest.SPECIFIC)) {
-            int[] copy = new int[indexes.length];
-            System.arraycopy(indexes, 0, copy, 0, indexes.length);
-            dsRequest = Request.buildYLineRequest(copy);
+            dsRequest = Request
+                    .buildYLineRequest(Arrays.copyOf(indexes, indexes.length));
         } else {
             throw new IllegalArgumentException(
                     "Unknown LevelRequest: " + request);
@@ -357,6 +351,12 @@ public abstract class PointDataPluginDao<T extends PluginDataObject>
                 throw new IllegalArgumentException(
                         "Specific level requested without values specified");
             }
+            double[] sortedVals = new double[vals.length];
+            for (int k = 0; k < vals.length; k++) {
+                // adding 0.0 folds -0.0 into 0.0 to match == comparison
+                sortedVals[k] = vals[k] + 0.0;
+            }
+            Arrays.sort(sortedVals);
 
             IDataRecord rec = null;
             for (IDataRecord dr : recs) {
@@ -371,50 +371,37 @@ public abstract class PointDataPluginDao<T extends PluginDataObject>
                         "Specific level parameter not present in return data");
             }
 
-            // Build up a list of 1D indices we want to save
+            // Build up a list of 1D indices we want to save, the levels of
+            // each point are a contiguous row of dimX values
             Object dataObj = rec.getDataObject();
-            int[] indices = new int[(int) rec.getSizes()[1]];
+            int dimX = (int) rec.getSizes()[0];
+            int dimY = (int) rec.getSizes()[1];
+            int[] indices = new int[dimY];
             Arrays.fill(indices, -1);
 
             if (dataObj instanceof int[]) {
                 int[] intData = (int[]) dataObj;
-                int dimX = (int) rec.getSizes()[0];
-                int dimY = (int) rec.getSizes()[1];
-
-                int idx = 0;
-                double v = 0;
                 for (int i = 0; i < dimY; i++) {
-                    nextData: for (int j = 0; j < dimX; j++) {
-                        idx = dimX * dimY + j;
-                        v = intData[idx];
-                        for (int k = 0; k < vals.length; k++) {
-                            if (v == vals[k]) {
-                                indices[i] = idx;
-                                break nextData;
-                            }
+                    int row = dimX * i;
+                    for (int j = 0; j < dimX; j++) {
+                        if (Arrays.binarySearch(sortedVals,
+                                intData[row + j]) >= 0) {
+                            indices[i] = row + j;
+                            break;
                         }
                     }
-
                 }
             } else if (dataObj instanceof float[]) {
                 float[] floatData = (float[]) dataObj;
-                int dimX = (int) rec.getSizes()[0];
-                int dimY = (int) rec.getSizes()[1];
-
-                int idx = 0;
-                double v = 0;
                 for (int i = 0; i < dimY; i++) {
-                    nextData: for (int j = 0; j < dimX; j++) {
-                        idx = dimX * dimY + j;
-                        v = floatData[idx];
-                        for (int k = 0; k < vals.length; k++) {
-                            if (v == vals[k]) {
-                                indices[i] = idx;
-                                break nextData;
-                            }
+                    int row = dimX * i;
+                    for (int j = 0; j < dimX; j++) {
+                        if (Arrays.binarySearch(sortedVals,
+                                floatData[row + j] + 0.0) >= 0) {
+                            indices[i] = row + j;
+                            break;
                         }
                     }
-
                 }
             } else {
                 throw new IllegalArgumentException(
@@ -441,41 +428,81 @@ public abstract class PointDataPluginDao<T extends PluginDataObject>
             }
         }
 
-        int[] correlatedIds = new int[retrievedIndexes.length];
-        int originalPointer = 0;
-        for (int i = 0; i < correlatedIds.length; i++) {
-            int k;
-            search: for (k = originalPointer; k < iip.length; k++) {
-                if (iip[k].index == retrievedIndexes[i]) {
-                    correlatedIds[i] = iip[k].id;
-                    originalPointer = k + 1;
-                    break search;
-                }
-            }
+        // both are ascending so a single merge pass correlates them
+        int[] correlatedIds = ArraysUtil.correlateSorted(indexes, ids,
+                retrievedIndexes, -1);
 
-            if (k >= iip.length) {
-                // went off the end of search. double check the other half of
-                // the array
-                boolean found = false;
-                search2: for (k = 0; (k < originalPointer)
-                        && (k < iip.length); k++) {
-                    if (iip[k].index == retrievedIndexes[i]) {
-                        correlatedIds[i] = iip[k].id;
-                        break search2;
-                    }
-                }
+        IntegerDataRecord idr = new IntegerDataRecord("id", "", correlatedIds);
+        recList.add(idr);
+        return PointDataContainer
+                .build(recList.toArray(new IDataRecord[recList.size()]));
+    }
 
-                if (!found) {
-                    correlatedIds[i] = -1;
+    /**
+     * Remove the records whose hdf5 values do not pass all of the filters.
+     * Only the filtered parameters are retrieved, so that the requested
+     * parameters can then be retrieved for the matching rows alone. The
+     * filtered parameters must be single level.
+     * 
+     * @param file
+     *            the hdf5 file
+     * @param indexes
+     *            the hdf5 index of each record; sorted in place with the
+     *            matching records moved to the front
+     * @param ids
+     *            the id of each record, reordered in place to match indexes
+     * @param filters
+     *            the filters
+     * @return the number of matching records
+     * @throws StorageException
+     * @throws FileNotFoundException
+     */
+    public int filterPointData(File file, int[] indexes, int[] ids,
+            List<PointDataValueFilter> filters)
+            throws StorageException, FileNotFoundException {
+        ArraysUtil.sortPaired(indexes, ids);
+
+        Set<String> parameters = new HashSet<>();
+        for (PointDataValueFilter filter : filters) {
+            parameters.add(filter.getParameter());
+        }
+        Point[] pts = new Point[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            pts[i] = new Point(indexes[i], 0);
+        }
+        Request dsRequest = Request.buildPointRequest(pts);
+        IDataStore ds = DataStoreFactory.getDataStore(file);
+        IDataRecord[] recs = ds.retrieveDatasets(
+                parameters.toArray(new String[0]), dsRequest);
+
+        // duplicate indexes are only retrieved once
+        Point[] retrievedPoints = dsRequest.getPoints();
+        boolean[] keep = new boolean[retrievedPoints.length];
+        Arrays.fill(keep, true);
+        for (PointDataValueFilter filter : filters) {
+            for (IDataRecord rec : recs) {
+                if (rec.getName().equals(filter.getParameter())) {
+                    filter.apply(rec, keep);
                 }
             }
-
         }
 
-        IntegerDataRecord idr = new IntegerDataRecord("id", "", correlatedIds);
-        recList.add(idr);
-        return PointDataContainer
-                .build(recList.toArray(new IDataRecord[recList.size()]));
+        // both are ascending, keep each record whose row was kept
+        int matched = 0;
+        int r = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            while (r < retrievedPoints.length
+                    && retrievedPoints[r].x < indexes[i]) {
+                r++;
+            }
+            if (r < retrievedPoints.length && retrievedPoints[r].x == indexes[i]
+                    && keep[r]) {
+                indexes[matched] = indexes[i];
+                ids[matched] = ids[i];
+                matched++;
+            }
+        }
+        return matched;
     }
 
     public abstract String[] getKeysRequiredForFileName();
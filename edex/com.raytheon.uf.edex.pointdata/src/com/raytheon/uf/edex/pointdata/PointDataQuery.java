@@ -64,6 +64,7 @@ import com.raytheon.uf.edex.pointdata.PointDataPluginDao.LevelRequest;
  * May 09, 2013 1869       bsteffen    Modified D2D time series of point data to
  *                                     work without dataURI.
  * Nov 16, 2017 6367       tgurney     Send timing information to log file
+ * Oct 15, 2026            agent       Add hdf5 value filters
  *
  * </pre>
  *
@@ -80,6 +81,8 @@ public class PointDataQuery {
 
     protected PointDataPluginDao.LevelRequest requestStyle = LevelRequest.NONE;
 
+    protected List<PointDataValueFilter> filters = new ArrayList<>();
+
     private static final IUFStatusHandler statusHandler = UFStatus
             .getHandler(PointDataQuery.class);
 
@@ -117,6 +120,16 @@ public class PointDataQuery {
         query.addQueryParam(name, value, operand);
     }
 
+    /**
+     * Only return rows whose hdf5 value passes the filter. Filters are applied
+     * before the requested parameters are retrieved.
+     * 
+     * @param filter
+     */
+    public void addValueFilter(PointDataValueFilter filter) {
+        filters.add(filter);
+    }
+
     public void requestAllLevels() {
         this.requestStyle = LevelRequest.ALL;
     }
@@ -226,7 +239,8 @@ public class PointDataQuery {
         }
 
         dbAttribSet.add("id");
-        if (!hdf5attribList.isEmpty()) {
+        boolean hdf5 = !hdf5attribList.isEmpty() || !filters.isEmpty();
+        if (hdf5) {
             dbAttribSet.add("pointDataView.curIdx");
             dbAttribSet.addAll(Arrays.asList(dao.getKeysRequiredForFileName()));
         }
@@ -241,7 +255,7 @@ public class PointDataQuery {
         Map<Integer, Map<String, Object>> dbResultMap = new HashMap<>();
         PointDataContainer masterPDC = null;
 
-        if (hdf5attribList.isEmpty()) {
+        if (!hdf5) {
             int[] idArr = new int[dbResults.size()];
             for (int j = 0; j < dbResults.size(); j++) {
                 Map<String, Object> workingMap = dbResults.get(j);
@@ -277,6 +291,8 @@ public class PointDataQuery {
                 indexes.get(listIndex).add(idx);
             }
             long t0 = System.currentTimeMillis();
+            List<int[]> filteredIds = new ArrayList<>();
+            int filteredCount = 0;
             for (int i = 0; i < files.size(); i++) {
                 File file = new File(files.get(i));
                 List<String> attribSet = new ArrayList<>(hdf5attribList);
@@ -286,6 +302,21 @@ public class PointDataQuery {
                     idxArr[j] = indexes.get(i).get(j);
                     idArr[j] = ids.get(i).get(j);
                 }
+                if (!filters.isEmpty()) {
+                    int matched = dao.filterPointData(file, idxArr, idArr,
+                            filters);
+                    if (matched == 0) {
+                        continue;
+                    }
+                    idxArr = Arrays.copyOf(idxArr, matched);
+                    idArr = Arrays.copyOf(idArr, matched);
+                }
+                if (hdf5attribList.isEmpty()) {
+                    // only filtered, the parameters all come from the db
+                    filteredIds.add(idArr);
+                    filteredCount += idArr.length;
+                    continue;
+                }
                 PointDataContainer pdc = dao.getPointData(file, idxArr, idArr,
                         attribSet.toArray(new String[0]), this.requestStyle);
                 if (masterPDC == null) {
@@ -300,6 +331,22 @@ public class PointDataQuery {
             statusHandler
                     .info("Total time spent on pointdata hdf5 retrieval (all files): "
                             + (t1 - t0));
+            if (hdf5attribList.isEmpty() && filteredCount > 0) {
+                int[] idArr = new int[filteredCount];
+                int offset = 0;
+                for (int[] fileIds : filteredIds) {
+                    System.arraycopy(fileIds, 0, idArr, offset,
+                            fileIds.length);
+                    offset += fileIds.length;
+                }
+                masterPDC = PointDataContainer.build(new IDataRecord[] {
+                        new IntegerDataRecord("id", "", idArr) });
+                masterPDC.setCurrentSz(masterPDC.getAllocatedSz());
+            }
+            if (masterPDC == null) {
+                // nothing passed the filters
+                return null;
+            }
         }
 
         if (!dbParamDesc.isEmpty()) {
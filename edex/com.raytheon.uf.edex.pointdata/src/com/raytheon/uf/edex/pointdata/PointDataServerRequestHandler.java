@@ -40,6 +40,7 @@ import com.raytheon.uf.common.serialization.comm.IRequestHandler;
  * Aug 09, 2011  9696     gzhou       add handle for request from nativeLib
  * May 15, 2013  1869     bsteffen    Remove DataURI column from ldadmesonet.
  * Nov 26, 2013  2537     bsteffen    Use constants in the request class.
+ * Oct 15, 2026           agent       Route value filter constraints to hdf5.
  * 
  * </pre>
  * 
@@ -100,6 +101,11 @@ public class PointDataServerRequestHandler implements
         // add all remaining constraints
         for (String key : map.keySet()) {
             RequestConstraint rc = map.get(key);
+            if (PointDataValueFilter.isFilterKey(key)) {
+                query.addValueFilter(PointDataValueFilter.fromConstraint(key,
+                        rc.getConstraintType(), rc.getConstraintValue()));
+                continue;
+            }
             String value = rc.getConstraintValue();
             String type = rc.getConstraintType().getOperand();
             query.addParameter(key, value, type);
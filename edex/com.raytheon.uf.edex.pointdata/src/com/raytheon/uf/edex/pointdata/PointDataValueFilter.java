@@ -0,0 +1,201 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.pointdata;
+
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint.ConstraintType;
+import com.raytheon.uf.common.datastorage.records.IDataRecord;
+import com.raytheon.uf.common.pointdata.PointDataServerRequest;
+
+/**
+ * A predicate on the value of a point data parameter that is stored in hdf5
+ * rather than the database. Filters are evaluated by
+ * {@link PointDataPluginDao#filterPointData} before the requested parameters
+ * are retrieved, so only matching rows are read and returned.
+ * 
+ * Filters are requested with a constraint on the parameter name prefixed by
+ * {@link PointDataServerRequest#REQUEST_VALUE_FILTER_PREFIX}, using one of the
+ * EQUALS, GREATER_THAN(_EQUALS), LESS_THAN(_EQUALS) or BETWEEN constraint
+ * types. NaN never matches, fill values only match if they are in range.
+ * 
+ * <pre>
+ * 
+ * SOFTWARE HISTORY
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 15, 2026           agent       Initial creation
+ * 
+ * </pre>
+ * 
+ * @author agent
+ */
+public class PointDataValueFilter {
+
+    private static final String PREFIX = PointDataServerRequest.REQUEST_VALUE_FILTER_PREFIX;
+
+    private final String parameter;
+
+    private final double min;
+
+    private final boolean minInclusive;
+
+    private final double max;
+
+    private final boolean maxInclusive;
+
+    public PointDataValueFilter(String parameter, double min,
+            boolean minInclusive, double max, boolean maxInclusive) {
+        this.parameter = parameter;
+        this.min = min;
+        this.minInclusive = minInclusive;
+        this.max = max;
+        this.maxInclusive = maxInclusive;
+    }
+
+    /**
+     * @param key
+     *            a constraint key
+     * @return true if the key names a value filter
+     */
+    public static boolean isFilterKey(String key) {
+        return key.startsWith(PREFIX);
+    }
+
+    /**
+     * Create a filter from a constraint on a value filter key.
+     * 
+     * @param key
+     *            the prefixed parameter name
+     * @param type
+     *            the constraint type
+     * @param value
+     *            the constraint value
+     * @return the filter
+     * @throws IllegalArgumentException
+     *             if the constraint type is not supported or the value is not
+     *             numeric
+     */
+    public static PointDataValueFilter fromConstraint(String key,
+            ConstraintType type, String value) {
+        String parameter = key.substring(PREFIX.length());
+        switch (type) {
+        case EQUALS:
+            double v = Double.parseDouble(value);
+            return new PointDataValueFilter(parameter, v, true, v, true);
+        case GREATER_THAN:
+            return new PointDataValueFilter(parameter,
+                    Double.parseDouble(value), false, Double.POSITIVE_INFINITY,
+                    true);
+        case GREATER_THAN_EQUALS:
+            return new PointDataValueFilter(parameter,
+                    Double.parseDouble(value), true, Double.POSITIVE_INFINITY,
+                    true);
+        case LESS_THAN:
+            return new PointDataValueFilter(parameter,
+                    Double.NEGATIVE_INFINITY, true, Double.parseDouble(value),
+                    false);
+        case LESS_THAN_EQUALS:
+            return new PointDataValueFilter(parameter,
+                    Double.NEGATIVE_INFINITY, true, Double.parseDouble(value),
+                    true);
+        case BETWEEN:
+            String[] tokens = value.split("--");
+            if (tokens.length != 2) {
+                throw new IllegalArgumentException(
+                        "Invalid between value for " + parameter + ": "
+                                + value);
+            }
+            return new PointDataValueFilter(parameter,
+                    Double.parseDouble(tokens[0].trim()), true,
+                    Double.parseDouble(tokens[1].trim()), true);
+        default:
+            throw new IllegalArgumentException("Unsupported value filter on "
+                    + parameter + ": " + type.getOperand());
+        }
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public boolean accept(double value) {
+        if (minInclusive ? value < min : value <= min) {
+            return false;
+        }
+        if (maxInclusive ? value > max : value >= max) {
+            return false;
+        }
+        // NaN fails both comparisons above
+        return !Double.isNaN(value);
+    }
+
+    /**
+     * Clear the keep flag of every row of a retrieved record whose value does
+     * not pass this filter.
+     * 
+     * @param rec
+     *            single level record with one value per row
+     * @param keep
+     *            flag per row
+     */
+    public void apply(IDataRecord rec, boolean[] keep) {
+        Object data = rec.getDataObject();
+        if (data instanceof float[]) {
+            float[] values = (float[]) data;
+            for (int i = 0; i < keep.length; i++) {
+                keep[i] &= accept(values[i]);
+            }
+        } else if (data instanceof int[]) {
+            int[] values = (int[]) data;
+            for (int i = 0; i < keep.length; i++) {
+                keep[i] &= accept(values[i]);
+            }
+        } else if (data instanceof long[]) {
+            long[] values = (long[]) data;
+            for (int i = 0; i < keep.length; i++) {
+                keep[i] &= accept(values[i]);
+            }
+        } else if (data instanceof double[]) {
+            double[] values = (double[]) data;
+            for (int i = 0; i < keep.length; i++) {
+                keep[i] &= accept(values[i]);
+            }
+        } else if (data instanceof short[]) {
+            short[] values = (short[]) data;
+            for (int i = 0; i < keep.length; i++) {
+                keep[i] &= accept(values[i]);
+            }
+        } else if (data instanceof byte[]) {
+            byte[] values = (byte[]) data;
+            for (int i = 0; i < keep.length; i++) {
+                keep[i] &= accept(values[i]);
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot filter on parameter "
+                    + parameter + ", it is not numeric");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (minInclusive ? "[" : "(") + min + ", " + max
+                + (maxInclusive ? "]" : ")") + " " + parameter;
+    }
+
+}
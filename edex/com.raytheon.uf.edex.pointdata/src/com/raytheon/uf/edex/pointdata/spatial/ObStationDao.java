@@ -21,15 +21,19 @@
 package com.raytheon.uf.edex.pointdata.spatial;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.criterion.Disjunction;
 import org.hibernate.criterion.Expression;
 
+import com.raytheon.uf.common.dataplugin.persist.PersistableDataObject;
 import com.raytheon.uf.common.pointdata.spatial.ObStation;
 import com.raytheon.uf.edex.database.DataAccessLayerException;
 import com.raytheon.uf.edex.database.dao.CoreDao;
 import com.raytheon.uf.edex.database.dao.DaoConfig;
+import com.raytheon.uf.edex.database.query.DatabaseQuery;
 import com.vividsolutions.jts.geom.Coordinate;
 
 /**
@@ -46,6 +50,7 @@ import com.vividsolutions.jts.geom.Coordinate;
  * 10/12/07     391         jkorman     Modified queryByIcao and queryByWmoIndex
  *                                      to guard for an empty list.
  * Feb 27, 2013 1638        mschenke    Moved ObStationDao to edex pointdata plugin
+ * Oct 15, 2026             agent       Writes notify ObStationSpatialCache
  * </pre>
  * 
  * @author bphillip
@@ -61,6 +66,77 @@ public class ObStationDao extends CoreDao {
 		
 	}
 
+	@Override
+	public void saveOrUpdate(Object obj) {
+		super.saveOrUpdate(obj);
+		ObStationSpatialCache.notifyStationsChanged();
+	}
+
+	@Override
+	public void persistAll(Collection<? extends Object> objs) {
+		super.persistAll(objs);
+		ObStationSpatialCache.notifyStationsChanged();
+	}
+
+	@Override
+	public <T> void delete(Object obj) {
+		super.delete(obj);
+		ObStationSpatialCache.notifyStationsChanged();
+	}
+
+	@Override
+	public void persist(Object obj) {
+		super.persist(obj);
+		ObStationSpatialCache.notifyStationsChanged();
+	}
+
+	@Override
+	public void create(Object obj) {
+		super.create(obj);
+		ObStationSpatialCache.notifyStationsChanged();
+	}
+
+	@Override
+	public <T> void update(PersistableDataObject<T> obj) {
+		super.update(obj);
+		ObStationSpatialCache.notifyStationsChanged();
+	}
+
+	@Override
+	public void deleteAll(List<?> objs) {
+		super.deleteAll(objs);
+		ObStationSpatialCache.notifyStationsChanged();
+	}
+
+	@Override
+	public int deleteByCriteria(DatabaseQuery query)
+			throws DataAccessLayerException {
+		int rows = super.deleteByCriteria(query);
+		ObStationSpatialCache.notifyStationsChanged();
+		return rows;
+	}
+
+	@Override
+	public void bulkSaveOrUpdateAndDelete(Collection<? extends Object> updates,
+			Collection<? extends Object> deletes) {
+		super.bulkSaveOrUpdateAndDelete(updates, deletes);
+		ObStationSpatialCache.notifyStationsChanged();
+	}
+
+	@Override
+	public int executeHQLStatement(String hqlStmt, Map<String, Object> paramMap) {
+		int rows = super.executeHQLStatement(hqlStmt, paramMap);
+		ObStationSpatialCache.notifyStationsChanged();
+		return rows;
+	}
+
+	@Override
+	public int executeSQLUpdate(String sql, Map<String, Object> paramMap) {
+		int rows = super.executeSQLUpdate(sql, paramMap);
+		ObStationSpatialCache.notifyStationsChanged();
+		return rows;
+	}
+
 	/**
 	 * 
 	 * @param gid
@@ -0,0 +1,540 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ *
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ *
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ *
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.edex.pointdata.spatial;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.raytheon.uf.common.dataquery.requests.DbQueryRequest.RequestField;
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint;
+import com.raytheon.uf.common.dataquery.requests.RequestConstraint.ConstraintType;
+import com.raytheon.uf.common.dataquery.responses.DbQueryResponse;
+import com.raytheon.uf.common.geospatial.ISpatialQuery.SearchMode;
+import com.raytheon.uf.common.geospatial.request.SpatialDbQueryRequest;
+import com.raytheon.uf.common.pointdata.spatial.ObStation;
+import com.raytheon.uf.common.status.IPerformanceStatusHandler;
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.PerformanceStatus;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.uf.common.status.UFStatus.Priority;
+import com.raytheon.uf.common.time.util.TimeUtil;
+import com.raytheon.uf.edex.core.EDEXUtil;
+import com.raytheon.uf.edex.core.EdexException;
+import com.raytheon.uf.edex.database.DataAccessLayerException;
+import com.raytheon.uf.edex.database.handlers.ISpatialQueryCache;
+import com.raytheon.uf.edex.database.query.DatabaseQuery;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.Point;
+import com.vividsolutions.jts.geom.prep.PreparedGeometry;
+import com.vividsolutions.jts.geom.prep.PreparedGeometryFactory;
+import com.vividsolutions.jts.index.strtree.STRtree;
+import com.vividsolutions.jts.io.ByteOrderValues;
+import com.vividsolutions.jts.io.WKBWriter;
+
+/**
+ * In memory copy of the common_obs_spatial table with an {@link STRtree} over
+ * the station locations. The station table rarely changes, so spatial
+ * requests against it are answered from the tree instead of PostGIS. Results
+ * are built from the column values and the WKB of each location, the cached
+ * stations themselves are never handed out.
+ *
+ * The cache is loaded on first use and reloaded on the next use after
+ * {@link #invalidate()}, which is called when a change notification arrives
+ * on {@link #CHANGED_TOPIC}, or after {@value #MAX_AGE_PROPERTY} minutes so
+ * that changes made outside of EDEX are eventually picked up. As a
+ * {@link ISpatialQueryCache} it answers {@link SpatialDbQueryRequest}s on the
+ * station location that use only INTERSECTS, CONTAINS or CLOSEST searches,
+ * EQUALS or IN constraints and plain column fields; everything else is left
+ * to PostGIS.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date         Ticket#    Engineer    Description
+ * ------------ ---------- ----------- --------------------------
+ * Oct 15, 2026            agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class ObStationSpatialCache implements ISpatialQueryCache {
+
+    private static final IUFStatusHandler statusHandler = UFStatus
+            .getHandler(ObStationSpatialCache.class);
+
+    private static final IPerformanceStatusHandler perfLog = PerformanceStatus
+            .getHandler("ObStationSpatialCache:");
+
+    /** Topic that station table changes are announced on */
+    public static final String CHANGED_TOPIC = "jms-generic:topic:edex.alerts.obstation?timeToLive=60000";
+
+    /** System property used to disable the cache */
+    public static final String ENABLED_PROPERTY = "obstation.spatial.cache";
+
+    /** System property for the maximum age of the cache in minutes */
+    public static final String MAX_AGE_PROPERTY = "obstation.spatial.cache.max.age";
+
+    private static final String DATABASE = "metadata";
+
+    private static final String SCHEMA = "awips";
+
+    private static final String TABLE = "common_obs_spatial";
+
+    private static final String GEOMETRY_FIELD = "the_geom";
+
+    /** Distance in degrees the CLOSEST search mode is limited to */
+    private static final double CLOSEST_DISTANCE = 4.5;
+
+    private static final ObStationSpatialCache instance = new ObStationSpatialCache();
+
+    /**
+     * The columns of common_obs_spatial that can be returned from the cache
+     */
+    private static enum Column {
+        GID(false) {
+            @Override
+            Object get(ObStation station) {
+                return station.getGid();
+            }
+        },
+        ICAO(false) {
+            @Override
+            Object get(ObStation station) {
+                return station.getIcao();
+            }
+        },
+        WMOINDEX(true) {
+            @Override
+            Object get(ObStation station) {
+                return station.getWmoIndex();
+            }
+        },
+        STATIONID(false) {
+            @Override
+            Object get(ObStation station) {
+                return station.getStationId();
+            }
+        },
+        CATALOGTYPE(true) {
+            @Override
+            Object get(ObStation station) {
+                return station.getCatalogType();
+            }
+        },
+        NAME(false) {
+            @Override
+            Object get(ObStation station) {
+                return station.getName();
+            }
+        },
+        COUNTRY(false) {
+            @Override
+            Object get(ObStation station) {
+                return station.getCountry();
+            }
+        },
+        STATE(false) {
+            @Override
+            Object get(ObStation station) {
+                return station.getState();
+            }
+        },
+        WMOREGION(true) {
+            @Override
+            Object get(ObStation station) {
+                return station.getWmoRegion();
+            }
+        },
+        ELEVATION(true) {
+            @Override
+            Object get(ObStation station) {
+                return station.getElevation();
+            }
+        },
+        UPPERAIRELEVATION(true) {
+            @Override
+            Object get(ObStation station) {
+                return station.getUpperAirElevation();
+            }
+        };
+
+        private final boolean integer;
+
+        private Column(boolean integer) {
+            this.integer = integer;
+        }
+
+        abstract Object get(ObStation station);
+
+        /**
+         * Convert a constraint value to the type of this column
+         *
+         * @return the converted value or null if the database would reject it
+         */
+        Object convert(String value) {
+            if (!integer) {
+                return value;
+            }
+            try {
+                return Integer.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        static Column forName(String name) {
+            try {
+                return valueOf(name.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * An immutable copy of the station table
+     */
+    private static class Snapshot {
+
+        private final List<ObStation> stations;
+
+        private final STRtree tree;
+
+        private final long loadTime;
+
+        Snapshot(List<ObStation> stations, long loadTime) {
+            this.stations = stations;
+            this.loadTime = loadTime;
+            this.tree = new STRtree();
+            for (ObStation station : stations) {
+                Point location = station.getLocation();
+                if (location != null) {
+                    tree.insert(location.getEnvelopeInternal(), station);
+                }
+            }
+            tree.build();
+        }
+    }
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty(
+            ENABLED_PROPERTY, "true"));
+
+    private final long maxAge = Long.getLong(MAX_AGE_PROPERTY, 60)
+            * TimeUtil.MILLIS_PER_MINUTE;
+
+    private volatile Snapshot snapshot;
+
+    private volatile boolean stale;
+
+    private ObStationSpatialCache() {
+    }
+
+    /**
+     * @return the singleton instance
+     */
+    public static ObStationSpatialCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return true if lookups should be answered from the cache
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Mark the cache as out of date, it is reloaded on the next lookup.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Announce that the station table has changed so that the cache is
+     * reloaded in every EDEX instance, including this one.
+     */
+    public static void notifyStationsChanged() {
+        instance.invalidate();
+        try {
+            EDEXUtil.getMessageProducer().sendAsyncUri(CHANGED_TOPIC, TABLE);
+        } catch (EdexException e) {
+            statusHandler.handle(Priority.PROBLEM,
+                    "Error sending station change notification", e);
+        }
+    }
+
+    private Snapshot getSnapshot() throws DataAccessLayerException {
+        Snapshot current = snapshot;
+        if (needsLoad(current)) {
+            synchronized (this) {
+                current = snapshot;
+                if (needsLoad(current)) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private boolean needsLoad(Snapshot current) {
+        return current == null || stale
+                || System.currentTimeMillis() - current.loadTime > maxAge;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Snapshot load() throws DataAccessLayerException {
+        long t0 = System.currentTimeMillis();
+        /* clear first so a change during the load causes another load */
+        stale = false;
+        List<ObStation> stations;
+        try {
+            stations = (List<ObStation>) new ObStationDao()
+                    .queryByCriteria(new DatabaseQuery(ObStation.class));
+        } catch (DataAccessLayerException e) {
+            stale = true;
+            throw e;
+        }
+        Snapshot loaded = new Snapshot(Collections.unmodifiableList(
+                new ArrayList<ObStation>(stations)), t0);
+        perfLog.logDuration("Loaded " + stations.size() + " stations",
+                System.currentTimeMillis() - t0);
+        return loaded;
+    }
+
+    @Override
+    public DbQueryResponse query(SpatialDbQueryRequest request)
+            throws Exception {
+        if (!enabled || !isStationTable(request)
+                || request.getOrderBy() != null) {
+            return null;
+        }
+        String geometryField = request.getGeometryField();
+        boolean returnGeom = request.isReturnGeometry();
+        Geometry geom = request.getGeometry();
+        if ((returnGeom || geom != null)
+                && !GEOMETRY_FIELD.equalsIgnoreCase(geometryField)) {
+            return null;
+        }
+        SearchMode mode = request.getSearchMode();
+        if (geom != null && mode != SearchMode.INTERSECTS
+                && mode != SearchMode.CONTAINS && mode != SearchMode.CLOSEST) {
+            return null;
+        }
+
+        List<RequestField> fields = request.getFields();
+        Column[] columns = new Column[fields.size()];
+        for (int i = 0; i < columns.length; i++) {
+            RequestField field = fields.get(i);
+            columns[i] = field.max ? null : Column.forName(field.field);
+            if (columns[i] == null) {
+                return null;
+            }
+        }
+        Map<Column, Set<Object>> filters = getFilters(request.getConstraints());
+        if (filters == null) {
+            return null;
+        }
+
+        Snapshot current;
+        try {
+            current = getSnapshot();
+        } catch (DataAccessLayerException e) {
+            statusHandler.handle(Priority.PROBLEM,
+                    "Unable to load stations, querying the database instead",
+                    e);
+            return null;
+        }
+
+        List<ObStation> stations;
+        if (geom == null) {
+            stations = filter(current.stations, filters);
+        } else if (mode == SearchMode.CLOSEST) {
+            stations = closest(current, geom, filters);
+        } else {
+            stations = intersecting(current, geom, mode, filters);
+        }
+        Integer limit = request.getLimit();
+        if (limit != null && stations.size() > limit) {
+            stations = stations.subList(0, Math.max(0, limit));
+        }
+
+        WKBWriter wkbWriter = returnGeom ? new WKBWriter(2,
+                ByteOrderValues.LITTLE_ENDIAN) : null;
+        List<Map<String, Object>> resultMaps = new ArrayList<Map<String, Object>>(
+                stations.size());
+        for (ObStation station : stations) {
+            Map<String, Object> resultMap = new HashMap<String, Object>(
+                    (columns.length + 1) * 2);
+            if (returnGeom) {
+                Point location = station.getLocation();
+                resultMap.put(geometryField, location == null ? null
+                        : wkbWriter.write(location));
+            }
+            for (int i = 0; i < columns.length; i++) {
+                resultMap.put(fields.get(i).field, columns[i].get(station));
+            }
+            resultMaps.add(resultMap);
+        }
+        DbQueryResponse response = new DbQueryResponse();
+        response.setResults(resultMaps);
+        return response;
+    }
+
+    private static boolean isStationTable(SpatialDbQueryRequest request) {
+        String schema = request.getSchema();
+        return DATABASE.equalsIgnoreCase(request.getDatabase())
+                && TABLE.equalsIgnoreCase(request.getTable())
+                && (schema == null || SCHEMA.equalsIgnoreCase(schema));
+    }
+
+    /**
+     * Convert request constraints to the values allowed for each column
+     *
+     * @return the allowed values or null if a constraint is not supported
+     */
+    private static Map<Column, Set<Object>> getFilters(
+            Map<String, RequestConstraint> constraints) {
+        Map<Column, Set<Object>> filters = new HashMap<Column, Set<Object>>();
+        for (Entry<String, RequestConstraint> entry : constraints.entrySet()) {
+            Column column = Column.forName(entry.getKey());
+            RequestConstraint constraint = entry.getValue();
+            ConstraintType type = constraint.getConstraintType();
+            String value = constraint.getConstraintValue();
+            if (column == null || value == null
+                    || filters.containsKey(column)) {
+                return null;
+            }
+            List<String> values = new ArrayList<String>();
+            if (type == ConstraintType.EQUALS) {
+                values.add(value);
+            } else if (type == ConstraintType.IN) {
+                /* same quoting rules as SpatialDbQueryHandler */
+                boolean quoted = value.startsWith("'") && value.endsWith("'");
+                for (String item : value.split(",")) {
+                    if (quoted) {
+                        item = item.trim();
+                        if (item.length() < 2 || !item.startsWith("'")
+                                || !item.endsWith("'")) {
+                            return null;
+                        }
+                        item = item.substring(1, item.length() - 1);
+                    }
+                    values.add(item);
+                }
+            } else {
+                return null;
+            }
+            Set<Object> allowed = new HashSet<Object>();
+            for (String item : values) {
+                if (item.indexOf('\'') >= 0) {
+                    return null;
+                }
+                Object converted = column.convert(item);
+                if (converted == null) {
+                    return null;
+                }
+                allowed.add(converted);
+            }
+            filters.put(column, allowed);
+        }
+        return filters;
+    }
+
+    private static boolean accept(ObStation station,
+            Map<Column, Set<Object>> filters) {
+        for (Entry<Column, Set<Object>> filter : filters.entrySet()) {
+            Object value = filter.getKey().get(station);
+            if (value == null || !filter.getValue().contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<ObStation> filter(List<ObStation> stations,
+            Map<Column, Set<Object>> filters) {
+        if (filters.isEmpty()) {
+            return stations;
+        }
+        List<ObStation> accepted = new ArrayList<ObStation>();
+        for (ObStation station : stations) {
+            if (accept(station, filters)) {
+                accepted.add(station);
+            }
+        }
+        return accepted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ObStation> intersecting(Snapshot current,
+            Geometry geom, SearchMode mode, Map<Column, Set<Object>> filters) {
+        List<ObStation> candidates = current.tree.query(geom
+                .getEnvelopeInternal());
+        PreparedGeometry prepared = PreparedGeometryFactory.prepare(geom);
+        List<ObStation> stations = new ArrayList<ObStation>(candidates.size());
+        for (ObStation station : candidates) {
+            Point location = station.getLocation();
+            boolean match = mode == SearchMode.CONTAINS ? prepared
+                    .contains(location) : prepared.intersects(location);
+            if (match && accept(station, filters)) {
+                stations.add(station);
+            }
+        }
+        return stations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ObStation> closest(Snapshot current,
+            final Geometry geom, Map<Column, Set<Object>> filters) {
+        Envelope envelope = new Envelope(geom.getEnvelopeInternal());
+        envelope.expandBy(CLOSEST_DISTANCE);
+        List<ObStation> candidates = current.tree.query(envelope);
+        final Map<ObStation, Double> distances = new HashMap<ObStation, Double>(
+                candidates.size() * 2);
+        List<ObStation> stations = new ArrayList<ObStation>(candidates.size());
+        for (ObStation station : candidates) {
+            double distance = geom.distance(station.getLocation());
+            if (distance < CLOSEST_DISTANCE && accept(station, filters)) {
+                distances.put(station, distance);
+                stations.add(station);
+            }
+        }
+        Collections.sort(stations, new Comparator<ObStation>() {
+            @Override
+            public int compare(ObStation o1, ObStation o2) {
+                return Double.compare(distances.get(o1), distances.get(o2));
+            }
+        });
+        return stations;
+    }
+
+}
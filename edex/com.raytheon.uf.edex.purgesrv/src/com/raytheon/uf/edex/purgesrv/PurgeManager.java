@@ -23,15 +23,21 @@ import java.lang.Thread.State;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.raytheon.uf.common.dataplugin.PluginException;
+import com.raytheon.uf.common.time.util.TimeUtil;
+import com.raytheon.uf.common.util.concurrent.NamedThreadFactory;
 import com.raytheon.uf.edex.core.EDEXUtil;
 import com.raytheon.uf.edex.core.dataplugin.PluginRegistry;
 import com.raytheon.uf.edex.database.cluster.ClusterLockUtils;
@@ -39,6 +45,7 @@ import com.raytheon.uf.edex.database.cluster.ClusterLockUtils.LockState;
 import com.raytheon.uf.edex.database.cluster.ClusterTask;
 import com.raytheon.uf.edex.database.plugin.PluginDao;
 import com.raytheon.uf.edex.database.plugin.PluginFactory;
+import com.raytheon.uf.edex.database.plugin.PurgePlan;
 import com.raytheon.uf.edex.database.purge.PurgeLogger;
 import com.raytheon.uf.edex.database.status.StatusConstants;
 import com.raytheon.uf.edex.purgesrv.PurgeJob.PURGE_JOB_TYPE;
@@ -75,7 +82,13 @@ import com.raytheon.uf.edex.purgesrv.PurgeJob.PURGE_JOB_TYPE;
  * another cluster member at the next purge interval.<br>
  * · If the purge manager attempts to purge a plugin that has been running for
  * longer than the 20 minute threshold, it is considered a failure, and the
- * failure count is updated.
+ * failure count is updated.<br>
+ * · Optionally, plugins with the most data to purge are started first. When
+ * purge planning is enabled, the cluster member holding the purge lock orders
+ * the plugins by the estimated run time of their purge plans and makes new
+ * plans in the background for the next run. It is disabled by default since it
+ * replaces the least recently purged first ordering and adds the planning
+ * queries to the purge load.
  * <p>
  *
  *
@@ -90,6 +103,8 @@ import com.raytheon.uf.edex.purgesrv.PurgeJob.PURGE_JOB_TYPE;
  * Aug 18, 2013 #2280      dhladky     Made OGC method of only purging active plugins the standard practice
  * Jun 24, 2014 #3314      randerso    Purge least recently purged first.
  * Jul 30, 2015 #1574      nabowle     Add purging of orphan data.
+ * Oct 15, 2026            agent       Purge plugins with the most expensive purge plans first.
+ * Oct 15, 2026            agent       Made purge plan ordering opt-in and only plan while holding the purge lock.
  *
  * </pre>
  *
@@ -148,6 +163,20 @@ public class PurgeManager {
 
     private PurgeDao dao = new PurgeDao();
 
+    /** Switch to enable ordering plugins by purge plans */
+    private boolean purgePlanningEnabled = false;
+
+    /** Latest purge plan of each plugin */
+    private final Map<String, PurgePlan> purgePlans = new ConcurrentHashMap<String, PurgePlan>();
+
+    /** Plugins waiting for a new purge plan */
+    private final Set<String> pendingPlans = Collections
+            .newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /** Plans are made one at a time to limit the load on the database */
+    private final ExecutorService planExecutor = Executors
+            .newSingleThreadExecutor(new NamedThreadFactory("PurgePlanner"));
+
     /**
      * Creates a new PurgeManager
      */
@@ -185,6 +214,84 @@ public class PurgeManager {
         purgeRunner(dbPluginList);
     }
 
+    /**
+     * Sorts the plugins by the estimated run time of their purge plans, most
+     * expensive first. Plugins without a plan yet are moved to the front and
+     * plugins with equal estimates keep the least recently purged order. Plans
+     * older than the purge frequency are remade in the background for the next
+     * run. Only called while holding the purge lock, so only the member that is
+     * about to start purge jobs makes plans.
+     *
+     * @param pluginList
+     */
+    protected void orderByPurgePlan(List<String> pluginList) {
+        long planTimeout = System.currentTimeMillis() - purgeFrequency
+                * TimeUtil.MILLIS_PER_MINUTE;
+        purgePlans.keySet().retainAll(pluginList);
+        /*
+         * The planner thread replaces plans while the list is sorted, so the
+         * estimates are read once up front to keep the comparator consistent.
+         */
+        final Map<String, Long> estimates = new HashMap<>(
+                pluginList.size());
+        for (String plugin : pluginList) {
+            PurgePlan plan = purgePlans.get(plugin);
+            if (plan == null || plan.getCreatedTime() < planTimeout) {
+                schedulePurgePlan(plugin);
+            }
+            estimates.put(plugin,
+                    plan == null ? Long.MAX_VALUE : plan.getEstimatedMillis());
+        }
+
+        Collections.sort(pluginList, new Comparator<String>() {
+            @Override
+            public int compare(String plugin1, String plugin2) {
+                return Long.compare(estimates.get(plugin2),
+                        estimates.get(plugin1));
+            }
+        });
+    }
+
+    private void schedulePurgePlan(final String plugin) {
+        if (!pendingPlans.add(plugin)) {
+            return;
+        }
+        planExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (!EDEXUtil.isShuttingDown()) {
+                        PurgePlan plan = PluginFactory.getInstance()
+                                .getPluginDao(plugin)
+                                .planExpiredDataPurge(false);
+                        purgePlans.put(plugin, plan);
+                        PurgeLogger.logDebug(plan.toString(), plugin);
+                    }
+                } catch (Throwable e) {
+                    PurgeLogger.logError("Unable to plan purge", plugin, e);
+                } finally {
+                    pendingPlans.remove(plugin);
+                }
+            }
+        });
+    }
+
+    /**
+     * Make a detailed purge plan for a plugin, including the hdf5 files that
+     * would be purged. Nothing is deleted.
+     *
+     * @param plugin
+     *            The plugin to plan the purge for
+     * @return the plan
+     * @throws PluginException
+     */
+    public PurgePlan planPurge(String plugin) throws PluginException {
+        PurgePlan plan = PluginFactory.getInstance().getPluginDao(plugin)
+                .planExpiredDataPurge(true);
+        purgePlans.put(plugin, plan);
+        return plan;
+    }
+
     /**
      * The guts of the actual purge process
      *
@@ -227,6 +334,10 @@ public class PurgeManager {
                                     fatalFailureCount), serverLimit
                             - getNumberRunningJobsOnServer(purgeTimeOutLimit));
 
+            if (purgePlanningEnabled && maxNumberOfJobsToStart > 0) {
+                orderByPurgePlan(pluginList);
+            }
+
             if (!pluginList.isEmpty()) {
                 for (String plugin : pluginList) {
                     try {
@@ -524,4 +635,12 @@ public class PurgeManager {
     public boolean getPurgeEnabled() {
         return purgeEnabled;
     }
+
+    public void setPurgePlanningEnabled(boolean purgePlanningEnabled) {
+        this.purgePlanningEnabled = purgePlanningEnabled;
+    }
+
+    public boolean getPurgePlanningEnabled() {
+        return purgePlanningEnabled;
+    }
 }
@@ -28,6 +28,7 @@ import org.apache.commons.lang3.time.StopWatch;
 
 import com.raytheon.uf.common.dataplugin.PluginException;
 import com.raytheon.uf.edex.core.dataplugin.PluginRegistry;
+import com.raytheon.uf.edex.database.plugin.PurgePlan;
 import com.raytheon.uf.edex.database.purge.PurgeLogger;
 import com.raytheon.uf.edex.database.status.StatusConstants;
 
@@ -47,6 +48,7 @@ import com.raytheon.uf.edex.database.status.StatusConstants;
  * 02/06/09     1990        bphillip    Refactored to use plugin daos. Moved initialization code out
  * Apr 19, 2012 #470        bphillip    Refactored to use PurgeManager
  * May 09, 2014 3138        ekladstr    Wait for purge jobs to finish before executing the next one
+ * Oct 15, 2026             agent       Add PLAN_PURGE_PLUGIN
  * 
  * </pre>
  * 
@@ -72,6 +74,12 @@ public class PurgeSrv {
      */
     public static final String DELETE_ALL_PLUGIN_DATA = "PURGE_ALL_PLUGIN=";
 
+    /**
+     * Message to log what would be purged for a specific plugin without
+     * deleting anything
+     */
+    public static final String PLAN_PLUGIN_PURGE = "PLAN_PURGE_PLUGIN=";
+
     /** The purge cron message */
     public static final String PURGE_CRON = "PURGE_CRON";
 
@@ -108,6 +116,8 @@ public class PurgeSrv {
      * rules specified<br>
      * PURGE_ALL_PLUGIN=pluginName - All data for the specified plugin will be
      * purged<br>
+     * PLAN_PURGE_PLUGIN=pluginName - The data that would be purged for the
+     * specified plugin is logged, nothing is deleted<br>
      * 
      * @param message
      *            The message in the format described above
@@ -140,6 +150,13 @@ public class PurgeSrv {
         } else if (message.startsWith(DELETE_ALL_PLUGIN_DATA)) {
             String pluginToPurge = message.replace(DELETE_ALL_PLUGIN_DATA, "");
             purgeManager.purgeAllData(pluginToPurge);
+        } else if (message.startsWith(PLAN_PLUGIN_PURGE)) {
+            String pluginToPlan = message.replace(PLAN_PLUGIN_PURGE, "");
+            PurgePlan plan = purgeManager.planPurge(pluginToPlan);
+            PurgeLogger.logInfo(plan.toString(), pluginToPlan);
+            for (PurgePlan.KeyPlan keyPlan : plan.getKeys()) {
+                PurgeLogger.logInfo(keyPlan.toString(), pluginToPlan);
+            }
         } else if (message.equals(PURGE_CRON)
                 || message.equals(DELETE_EXPIRED_DATA)) {
             purgeExpiredData();
@@ -39,6 +39,7 @@ import com.raytheon.uf.edex.requestsrv.serialization.StreamSerializer;
  * ------------ ---------- ----------- --------------------------
  * Aug 21, 2014 3541       mschenke    Initial creation
  * Jan 06, 2015 3789       bclement    added getContentType()
+ * Oct 15, 2026            agent       Deserialize through a pooled buffer
  * 
  * </pre>
  * 
@@ -74,7 +75,7 @@ public class ThriftStreamSerializer implements StreamSerializer {
     @Override
     public Object deserialize(InputStream in) throws SerializationException {
         return DynamicSerializationManager.getManager(SerializationType.Thrift)
-                .deserialize(in);
+                .deserializeStreaming(in);
     }
 
     /*
@@ -36,6 +36,7 @@ import com.raytheon.uf.viz.core.rsc.IDisposeListener;
  * Date         Ticket#    Engineer    Description
  * ------------ ---------- ----------- --------------------------
  * Jul 5, 2007             chammack    Initial Creation.
+ * Oct 15, 2026            agent       Rebalance after incremental updates.
  * 
  * </pre>
  * 
@@ -46,6 +47,12 @@ import com.raytheon.uf.viz.core.rsc.IDisposeListener;
 public class DataUpdateTree extends DecisionTree<AbstractVizResource<?, ?>>
         implements IDisposeListener {
 
+    /**
+     * Resources are added and removed one at a time as displays change, so
+     * updates are made incrementally and the tree is rebalanced shortly after
+     */
+    private static final long REBALANCE_DELAY = 10 * 1000;
+
     private static DataUpdateTree instance;
 
     public static synchronized DataUpdateTree getInstance() {
@@ -68,6 +75,7 @@ public class DataUpdateTree extends DecisionTree<AbstractVizResource<?, ?>>
 
     protected DataUpdateTree() {
         super();
+        setRebalanceDelay(REBALANCE_DELAY);
     }
 
     @Override
@@ -26,11 +26,14 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import com.raytheon.uf.common.inventory.exception.DataCubeException;
 import com.raytheon.uf.common.dataplugin.HDF5Util;
 import com.raytheon.uf.common.dataplugin.PluginDataObject;
 import com.raytheon.uf.common.datastorage.DataStoreFactory;
+import com.raytheon.uf.common.datastorage.IAsyncDataStore;
 import com.raytheon.uf.common.datastorage.IDataStore;
 import com.raytheon.uf.common.datastorage.Request;
 import com.raytheon.uf.common.datastorage.records.IDataRecord;
@@ -49,6 +52,8 @@ import com.raytheon.uf.common.status.UFStatus.Priority;
  * Jan 16, 2008            njensen     Initial creation
  * Jan 14, 2013 1469       bkowal      The hdf5 root will no longer be appended to the
  *                                     beginning of the file name.
+ * Oct 15, 2026            agent       Retrieve the files of retrieveData
+ *                                     concurrently.
  * 
  * </pre>
  * 
@@ -330,27 +335,44 @@ public class CubeUtil {
 
         IDataRecord[] records = new IDataRecord[objects.size()];
 
-        for (String file : fileMap.keySet()) {
-            List<PluginDataObject> objs = fileMap.get(file);
-            String[] groups = new String[objs.size()];
+        /*
+         * Every file is requested before waiting on any of them so the reads
+         * of different files overlap.
+         */
+        Map<String, CompletableFuture<IDataRecord[]>> futures = new HashMap<String, CompletableFuture<IDataRecord[]>>();
+        try {
+            for (String file : fileMap.keySet()) {
+                List<PluginDataObject> objs = fileMap.get(file);
+                String[] groups = new String[objs.size()];
+
+                for (int i = 0; i < objs.size(); i++) {
+                    groups[i] = objs.get(i).getDataURI();
+                }
 
-            for (int i = 0; i < objs.size(); i++) {
-                groups[i] = objs.get(i).getDataURI();
+                IAsyncDataStore ds = DataStoreFactory
+                        .getAsyncDataStore(new File(file));
+                futures.put(file, ds.retrieveGroups(groups, Request.ALL));
             }
 
-            try {
-                IDataStore ds = DataStoreFactory.getDataStore(new File(file));
-                Request request = Request.ALL;
-                IDataRecord[] dr = ds.retrieveGroups(groups, request);
+            for (String file : futures.keySet()) {
+                List<PluginDataObject> objs = fileMap.get(file);
+                IDataRecord[] dr = futures.get(file).get();
 
                 for (int i = 0; i < dr.length; i++) {
                     records[objects.indexOf(objs.get(i))] = dr[i];
                 }
-            } catch (Exception e) {
-                throw new DataCubeException(
-                        "Error retrieving data for record.", e);
             }
-
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataCubeException(
+                    "Interrupted retrieving data for record.", e);
+        } catch (ExecutionException e) {
+            throw new DataCubeException("Error retrieving data for record.",
+                    e.getCause());
+        } finally {
+            for (CompletableFuture<IDataRecord[]> future : futures.values()) {
+                future.cancel(false);
+            }
         }
         return Arrays.asList(records);
     }
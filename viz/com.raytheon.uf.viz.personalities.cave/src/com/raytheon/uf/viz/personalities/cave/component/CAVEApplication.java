@@ -50,12 +50,14 @@ import org.osgi.framework.FrameworkUtil;
 import com.raytheon.uf.common.datastorage.DataStoreFactory;
 import com.raytheon.uf.common.localization.IPathManager;
 import com.raytheon.uf.common.localization.PathManagerFactory;
+import com.raytheon.uf.common.pypies.DataRecordCache;
 import com.raytheon.uf.common.pypies.PyPiesDataStoreFactory;
 import com.raytheon.uf.common.pypies.PypiesProperties;
 import com.raytheon.uf.common.status.IUFStatusHandler;
 import com.raytheon.uf.common.status.UFStatus;
 import com.raytheon.uf.common.status.UFStatus.Priority;
 import com.raytheon.uf.common.time.SimulatedTime;
+import com.raytheon.uf.common.util.format.BytesFormat;
 import com.raytheon.uf.viz.application.component.IStandaloneComponent;
 import com.raytheon.uf.viz.core.ProgramArguments;
 import com.raytheon.uf.viz.core.RecordFactory;
@@ -90,6 +92,7 @@ import com.raytheon.viz.core.units.UnitRegistrar;
  * Jan 11, 2016 5232       njensen     Apply css style at startup
  * May 31, 2016            mjames@ucar Mute CAVEMode.performStartupDuties()
  * Jun 27, 2017 6316       njensen     Pass along start time
+ * Oct 15, 2026            agent       Cache hdf5 retrievals
  * 
  * </pre>
  * 
@@ -101,6 +104,10 @@ public class CAVEApplication implements IStandaloneComponent {
     protected static final transient IUFStatusHandler statusHandler = UFStatus
             .getHandler(CAVEApplication.class, "CAVE");
 
+    /** Memory limit of the hdf5 retrieval cache, 0 to disable caching */
+    private static final long DATA_RECORD_CACHE_SIZE = BytesFormat
+            .parseSystemProperty("pypies.cache.size", "256MiB");
+
     /** The name of the component launched */
     private String componentName;
 
@@ -312,8 +319,14 @@ public class CAVEApplication implements IStandaloneComponent {
     protected void initializeDataStoreFactory() {
         PypiesProperties pypiesProps = new PypiesProperties();
         pypiesProps.setAddress(VizApp.getPypiesServer());
+        DataRecordCache cache = null;
+        if (DATA_RECORD_CACHE_SIZE > 0) {
+            cache = new DataRecordCache(DATA_RECORD_CACHE_SIZE);
+            NotificationManagerJob.addObserver("edex.alerts",
+                    new DataRecordCacheInvalidator(cache));
+        }
         DataStoreFactory.getInstance().setUnderlyingFactory(
-                new PyPiesDataStoreFactory(pypiesProps));
+                new PyPiesDataStoreFactory(pypiesProps, cache));
     }
 
     /**
@@ -0,0 +1,86 @@
+/**
+ * This software was developed and / or modified by Raytheon Company,
+ * pursuant to Contract DG133W-05-CQ-1067 with the US Government.
+ * 
+ * U.S. EXPORT CONTROLLED TECHNICAL DATA
+ * This software product contains export-restricted data whose
+ * export/transfer/disclosure is restricted by U.S. law. Dissemination
+ * to non-U.S. persons whether in the United States or abroad requires
+ * an export license or other authorization.
+ * 
+ * Contractor Name:        Raytheon Company
+ * Contractor Address:     6825 Pine Street, Suite 340
+ *                         Mail Stop B8
+ *                         Omaha, NE 68106
+ *                         402.291.0100
+ * 
+ * See the AWIPS II Master Rights File ("Master Rights File.pdf") for
+ * further licensing information.
+ **/
+package com.raytheon.uf.viz.personalities.cave.component;
+
+import com.raytheon.uf.common.dataplugin.message.DataURINotificationMessage;
+import com.raytheon.uf.common.dataplugin.message.PracticeDataURINotificationMessage;
+import com.raytheon.uf.common.jms.notification.INotificationObserver;
+import com.raytheon.uf.common.jms.notification.NotificationException;
+import com.raytheon.uf.common.jms.notification.NotificationMessage;
+import com.raytheon.uf.common.pypies.DataRecordCache;
+import com.raytheon.uf.common.status.IUFStatusHandler;
+import com.raytheon.uf.common.status.UFStatus;
+import com.raytheon.viz.core.mode.CAVEMode;
+
+/**
+ * Removes responses from a {@link DataRecordCache} when data is stored to the
+ * same hdf5 file, as announced by a {@link DataURINotificationMessage}.
+ *
+ * <pre>
+ *
+ * SOFTWARE HISTORY
+ *
+ * Date          Ticket#  Engineer    Description
+ * ------------- -------- ----------- --------------------------
+ * Oct 15, 2026           agent       Initial creation
+ *
+ * </pre>
+ *
+ * @author agent
+ */
+public class DataRecordCacheInvalidator implements INotificationObserver {
+
+    private static final transient IUFStatusHandler statusHandler = UFStatus
+            .getHandler(DataRecordCacheInvalidator.class);
+
+    private final DataRecordCache cache;
+
+    public DataRecordCacheInvalidator(DataRecordCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void notificationArrived(NotificationMessage[] messages) {
+        for (NotificationMessage msg : messages) {
+            Object payload;
+            try {
+                payload = msg.getMessagePayload();
+            } catch (NotificationException e) {
+                /*
+                 * the cache may now be stale, dropping it is safer than
+                 * serving old data
+                 */
+                statusHandler.debug("Unable to read data notification, "
+                        + "clearing hdf5 cache", e);
+                cache.clear();
+                continue;
+            }
+            if (payload instanceof DataURINotificationMessage) {
+                cache.invalidate(((DataURINotificationMessage) payload)
+                        .getDataURIs());
+            } else if (payload instanceof PracticeDataURINotificationMessage
+                    && CAVEMode.getMode().equals(CAVEMode.PRACTICE)) {
+                cache.invalidate(((PracticeDataURINotificationMessage) payload)
+                        .getDataURIs());
+            }
+        }
+    }
+
+}